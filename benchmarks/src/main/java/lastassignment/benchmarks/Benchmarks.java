@@ -0,0 +1,61 @@
+package lastassignment.benchmarks;
+
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+
+/**
+ * @version 1.0
+ *
+ * Runs the benchmarks, taking the same options as JMH itself. Unless told otherwise with -rf and -rff,
+ * the results are also written as JSON to jmh-result-VERSION.json, so that the results of two
+ * releases can be put side by side.
+ *
+ *   java -jar target/benchmarks.jar                       # everything, into jmh-result-1.0-SNAPSHOT.json
+ *   java -jar target/benchmarks.jar DialogBenchmark -rff dialogs.json
+ *   java -jar target/benchmarks.jar -h                    # every option JMH has
+ */
+public class Benchmarks {
+
+    public static void main(String[] args) throws RunnerException, IOException {
+        CommandLineOptions commandLine;
+        try {
+            commandLine = new CommandLineOptions(args);
+        } catch (CommandLineOptionException e) {
+            System.err.println("Error parsing command line: " + e.getMessage());
+            System.exit(1);
+            return;
+        }
+        if (commandLine.shouldHelp()) {
+            commandLine.showHelp();
+            return;
+        }
+        if (commandLine.shouldList() || commandLine.shouldListWithParams() || commandLine.shouldListProfilers()
+                || commandLine.shouldListResultFormats()) {
+            //NOTE: JMH's own main knows how to list everything, there's nothing to add to that.
+            org.openjdk.jmh.Main.main(args);
+            return;
+        }
+
+        OptionsBuilder options = new OptionsBuilder();
+        options.parent(commandLine);
+        if (!commandLine.getResultFormat().hasValue())
+            options.resultFormat(ResultFormatType.JSON);
+        if (!commandLine.getResult().hasValue())
+            options.result("jmh-result-" + getVersion() + "." + options.getResultFormat().get().toString().toLowerCase());
+        new Runner(options.build()).run();
+    }
+
+    /**
+     * @return The version the benchmarks were built for, as written into the manifest of benchmarks.jar.
+     */
+    private static String getVersion() {
+        String version = Benchmarks.class.getPackage().getImplementationVersion();
+        return version != null ? version : "dev";
+    }
+}
@@ -0,0 +1,117 @@
+package lastassignment.benchmarks;
+
+import lastassignment.Game;
+import lastassignment.Room;
+import lastassignment.io.SaveJournal;
+import lastassignment.utils.Console;
+import lastassignment.utils.ScriptedConsoleBackend;
+import lastassignment.world.WorldLoader;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @version 1.0
+ *
+ * Measures how long it takes to start a new Game in a JVM that just started, which includes
+ * loading the world for the first time. Only the very first Game in a JVM is a cold start, so
+ * firstNewGame is measured once in each of many forks. Afterwards loadText and loadCompiled show
+ * how long loading the world takes from both forms of the world file once everything is warmed up.
+ *
+ *   java -jar target/benchmarks.jar ColdStartBenchmark
+ *
+ * @see WorldLoader
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ColdStartBenchmark {
+
+    /**
+     * A Console that picks "Play" in the start menu.
+     */
+    @State(Scope.Thread)
+    public static class PlayPicked {
+
+        @Setup(Level.Invocation)
+        public void setUp() {
+            Console.setBackend(new ScriptedConsoleBackend(Collections.singletonList("1")));
+        }
+
+        @TearDown(Level.Invocation)
+        public void tearDown() {
+            Console.setBackend(null);
+        }
+    }
+
+    /**
+     * Both forms of the default world file, read into memory before anything is measured.
+     */
+    @State(Scope.Thread)
+    public static class WorldFiles {
+
+        private byte[] text;
+        private ByteBuffer compiled;
+
+        @Setup(Level.Trial)
+        public void setUp() throws IOException {
+            text = read(WorldLoader.DEFAULT_WORLD);
+            compiled = ByteBuffer.wrap(read(WorldLoader.DEFAULT_WORLD + WorldLoader.COMPILED_EXTENSION));
+        }
+
+        /**
+         * @return The contents of a resource stored next to the WorldLoader, where the game keeps its worlds.
+         */
+        private static byte[] read(String name) throws IOException {
+            try (InputStream in = WorldLoader.class.getResourceAsStream(name)) {
+                if (in == null)
+                    throw new IOException("There is no " + name + " next to the WorldLoader");
+                ByteArrayOutputStream out = new ByteArrayOutputStream();
+                byte[] buffer = new byte[8192];
+                int read;
+                while ((read = in.read(buffer)) > 0)
+                    out.write(buffer, 0, read);
+                return out.toByteArray();
+            }
+        }
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    @Warmup(iterations = 0)
+    @Measurement(iterations = 1)
+    @Fork(10)
+    public Game firstNewGame(PlayPicked console) {
+        return new Game(null, null, SaveJournal.DEFAULT_PATH, false);
+    }
+
+    @Benchmark
+    public Room loadText(WorldFiles files) throws IOException {
+        return WorldLoader.loadText(files.text, WorldLoader.DEFAULT_WORLD);
+    }
+
+    @Benchmark
+    public Room loadCompiled(WorldFiles files) throws IOException {
+        return WorldLoader.loadCompiled(files.compiled.duplicate(), WorldLoader.DEFAULT_WORLD);
+    }
+}
@@ -0,0 +1,65 @@
+package lastassignment.benchmarks;
+
+import lastassignment.combat.CombatResolver;
+import lastassignment.utils.SessionRandom;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @version 1.0
+ *
+ * Measures resolving a round of combat with a CombatResolver, without any dialog, the way a
+ * simulation would. Every fight is between a player and an enemy with health and damage in the
+ * same range as the university's, and the player attacks 3 rounds out of 4 and tries to run away
+ * otherwise. Once a fight is over, the next round starts a new one. Add -prof gc to see how many
+ * bytes a round allocates.
+ *
+ *   java -jar target/benchmarks.jar CombatBenchmark -prof gc
+ *
+ * @see CombatResolver
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CombatBenchmark {
+
+    private CombatResolver resolver;
+    private SessionRandom random;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        resolver = new CombatResolver(null);
+        random = new SessionRandom(42);
+        startFight();
+    }
+
+    @Benchmark
+    public int round() {
+        if (resolver.isOver())
+            startFight();
+        if (random.nextInt(4) == 0)
+            resolver.flee();
+        else
+            resolver.attack();
+        return resolver.getEnemyHealth();
+    }
+
+    private void startFight() {
+        resolver.start(10 + random.nextInt(91), 1 + random.nextInt(20), 0,
+                5 + random.nextInt(60), 1 + random.nextInt(15), random);
+    }
+}
@@ -0,0 +1,89 @@
+package lastassignment.benchmarks;
+
+import lastassignment.utils.Console;
+import lastassignment.utils.Dialogue;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @version 1.0
+ *
+ * Measures rendering output through the Console into a NullSinkConsoleBackend, so everything is
+ * formatted, encoded and buffered, but never reaches a terminal:
+ *
+ *   menu        the main menu of the game loop, followed by reading the answer
+ *   formatted   a line with a couple of formatted numbers in it
+ *   pause       a formatted line followed by a pause
+ *   dialogue    a preassembled Dialogue of five lines, with a pause after each of them
+ *
+ *   java -jar target/benchmarks.jar ConsoleBenchmark
+ *
+ * @see Console
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ConsoleBenchmark {
+
+    private static final Dialogue DIALOGUE = new Dialogue(
+            "You wake up in front of the university building",
+            "Your assignment is due at midnight",
+            "The only computer that still works is somewhere inside",
+            "Everyone around you seems to be coughing",
+            "You'd better hurry");
+
+    private int hitPoints;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Console.setBackend(new NullSinkConsoleBackend(""));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        Console.setBackend(null);
+    }
+
+    @Benchmark
+    public String menu() {
+        Console.printLine("What do you want to do?");
+        Console.printLine("  (1) Look around the room");
+        Console.printLine("  (2) Look for a way out");
+        Console.printLine("  (3) Look for company");
+        Console.printLine("  (4) Check your backpack");
+        Console.printLine("  (5) Examine yourself more closely");
+        return Console.readInput();
+    }
+
+    @Benchmark
+    public void formatted() {
+        hitPoints = (hitPoints + 1) & 0xFF;
+        Console.printLine("You attack the enemy for %s hit points, leaving them with %s hit points", 3, hitPoints);
+    }
+
+    @Benchmark
+    public void pause() {
+        hitPoints = (hitPoints + 1) & 0xFF;
+        Console.printWithPause("You have %d hit points", hitPoints);
+    }
+
+    @Benchmark
+    public void dialogue() {
+        Console.printDialogue(DIALOGUE);
+    }
+}
@@ -0,0 +1,166 @@
+package lastassignment.benchmarks;
+
+import lastassignment.utils.Console;
+import lastassignment.utils.ConsoleBackend;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.PrintStream;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.Charset;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @version 1.0
+ *
+ * Measures printing the main menu of the Game through the Console to a file descriptor, flushed
+ * after every menu just like it would be before reading the player's choice. Unlike
+ * ConsoleBenchmark the bytes really are written out, to the null device, so every write costs a
+ * system call:
+ *
+ *   lines   the way the Console used to print, a separate System.out.print for every line
+ *   menus   buffered like the StandardConsoleBackend, which writes out a whole menu at once
+ *
+ *   java -jar target/benchmarks.jar ConsoleOutputBenchmark
+ *
+ * @see lastassignment.utils.StandardConsoleBackend
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ConsoleOutputBenchmark {
+
+    private static final String[] MENU = {
+            "What do you want to do?",
+            "  (1) Look around the room",
+            "  (2) Look for a way out",
+            "  (3) Look for company",
+            "  (4) Check your backpack",
+            "  (5) Examine yourself more closely",
+            "  (6) Look at your map",
+            "  (7) approach your companion",
+            "  (J) Open up your journal",
+            "  (S) QuickSave",
+            "  (L) QuickLoad",
+            "  (X) Give up",
+    };
+
+    private static final String NULL_DEVICE = File.separatorChar == '\\' ? "NUL" : "/dev/null";
+
+    @Param({ "lines", "menus" })
+    public String writes;
+
+    private FileOutputStream device;
+
+    /**
+     * The backend the Console had before output was buffered, every write goes straight to a PrintStream like System.out.
+     */
+    private static class PrintStreamBackend implements ConsoleBackend {
+
+        private final PrintStream output;
+
+        PrintStreamBackend(FileOutputStream device) {
+            output = new PrintStream(device, true);
+        }
+
+        @Override
+        public String readLine() {
+            return null;
+        }
+
+        @Override
+        public void write(String text) {
+            output.print(text);
+        }
+
+        @Override
+        public void flush() {
+            output.flush();
+        }
+
+        @Override
+        public boolean discardsOutput() {
+            return false;
+        }
+    }
+
+    /**
+     * Buffers output the same way the StandardConsoleBackend does, but writes it to the given device instead of the standard output.
+     */
+    private static class BufferedBackend implements ConsoleBackend {
+
+        private final Writer output;
+
+        BufferedBackend(FileOutputStream device) {
+            output = new BufferedWriter(new OutputStreamWriter(device, Charset.defaultCharset()), 8192);
+        }
+
+        @Override
+        public String readLine() {
+            return null;
+        }
+
+        @Override
+        public void write(String text) {
+            try {
+                output.write(text);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        @Override
+        public void flush() {
+            try {
+                output.flush();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        @Override
+        public boolean discardsOutput() {
+            return false;
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() throws FileNotFoundException {
+        device = new FileOutputStream(NULL_DEVICE);
+        Console.setBackend(writes.equals("lines") ? new PrintStreamBackend(device) : new BufferedBackend(device));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        Console.setBackend(null);
+        device.close();
+    }
+
+    @Benchmark
+    public void menu() {
+        for (String line : MENU)
+            Console.printLine(line);
+        Console.flush();
+    }
+}
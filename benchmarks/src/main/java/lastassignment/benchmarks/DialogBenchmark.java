@@ -0,0 +1,142 @@
+package lastassignment.benchmarks;
+
+import lastassignment.Game;
+import lastassignment.Player;
+import lastassignment.Room;
+import lastassignment.items.HealingItem;
+import lastassignment.items.Weapon;
+import lastassignment.npcs.Enemy;
+import lastassignment.npcs.Shopkeeper;
+import lastassignment.utils.Console;
+import lastassignment.world.WorldCopier;
+import lastassignment.world.WorldTemplate;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @version 1.0
+ *
+ * Measures whole conversations with the player, with every line rendered to a NullSinkConsoleBackend
+ * and the player always giving the same answer:
+ *
+ *   fight         a fight against a fresh Enemy with 10 hit points, attacking every turn
+ *   shop          talking to a fresh Shopkeeper, and not buying anything
+ *   lookAround    looking around the starting Room while hallucinating, and picking nothing
+ *
+ * Game.lookAroundRoom is private, so it is called through reflection.
+ *
+ *   java -jar target/benchmarks.jar DialogBenchmark
+ *
+ * @see Enemy#startFighting(Player)
+ * @see Shopkeeper#interact(Player)
+ * @see Game
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DialogBenchmark {
+
+    /**
+     * A Player in a fresh session, who answers every question with the same reply.
+     */
+    public abstract static class Session {
+
+        protected Player player;
+
+        @Setup(Level.Trial)
+        public void setUp() throws ReflectiveOperationException {
+            Console.setBackend(new NullSinkConsoleBackend(getReply()));
+            WorldCopier copier = new WorldCopier(42);
+            player = new Player(WorldTemplate.getDefault().instantiate(copier));
+            player.setWorldCopier(copier);
+            prepare();
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() {
+            Console.setBackend(null);
+        }
+
+        protected abstract String getReply();
+
+        protected void prepare() throws ReflectiveOperationException {
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Fighting extends Session {
+
+        @Override
+        protected String getReply() {
+            return "2"; //NOTE: Attack!
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Shopping extends Session {
+
+        @Override
+        protected String getReply() {
+            return "2"; //NOTE: "Nothing, I was just leaving", and then "No, thanks"
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class LookingAround extends Session {
+
+        private Game game;
+        private Method lookAroundRoom;
+
+        @Override
+        protected void prepare() throws ReflectiveOperationException {
+            player.setHallucinating(true);
+            game = new Game(player);
+            lookAroundRoom = Game.class.getDeclaredMethod("lookAroundRoom");
+            lookAroundRoom.setAccessible(true);
+        }
+
+        @Override
+        protected String getReply() {
+            return "0"; //NOTE: Nothing
+        }
+    }
+
+    @Benchmark
+    public Enemy fight(Fighting session) {
+        Enemy enemy = new Enemy("a coughing student", 10, 0, false);
+        enemy.startFighting(session.player);
+        return enemy;
+    }
+
+    @Benchmark
+    public Shopkeeper shop(Shopping session) {
+        Shopkeeper shopkeeper = new Shopkeeper("a student selling things out of a backpack", 10, 1, false,
+                new Room("a classroom"));
+        shopkeeper.addItemToInventory(new HealingItem("energy bar", "eat", 4), 2.5);
+        shopkeeper.addItemToInventory(new Weapon("a heavy textbook", 3), 6.0);
+        shopkeeper.interact(session.player);
+        return shopkeeper;
+    }
+
+    @Benchmark
+    public Room lookAround(LookingAround session) throws IllegalAccessException, InvocationTargetException {
+        session.lookAroundRoom.invoke(session.game);
+        return session.player.getCurrentRoom();
+    }
+}
@@ -0,0 +1,167 @@
+package lastassignment.benchmarks;
+
+import lastassignment.Player;
+import lastassignment.Room;
+import lastassignment.io.Serializer;
+import lastassignment.io.WorldIndex;
+import lastassignment.roomcontents.Computer;
+import lastassignment.utils.Interactable;
+import lastassignment.world.RoomGraph;
+import lastassignment.world.WorldCopier;
+import lastassignment.world.WorldGenerator;
+import lastassignment.world.WorldTemplate;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @version 1.0
+ *
+ * Measures every step of playing in a generated world: generating it, indexing it for save files,
+ * starting a session, copying all of it, saving a new session, saving a session that has copied
+ * everything (from scratch, and again right after), and loading that save. How big the world and
+ * its saves are, and how far the Computer is from where the Player starts, is printed once during setup.
+ *
+ *   java -jar target/benchmarks.jar GeneratedWorldBenchmark -p rooms=1000000 -jvmArgs -Xmx4g
+ *
+ * @see WorldGenerator
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GeneratedWorldBenchmark {
+
+    private static final long SEED = 42;
+
+    @Param({ "10000" })
+    public int rooms;
+
+    private WorldTemplate template;
+    private Player newPlayer;
+    private Player exploredPlayer;
+    private byte[] exploredSave;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        template = WorldTemplate.generated(rooms, SEED);
+        newPlayer = startSession();
+        exploredPlayer = startSession();
+        RoomGraph graph = copyWorld(exploredPlayer.getWorldCopier());
+        byte[] newSave = saveNewSession();
+        exploredSave = saveExplored();
+
+        int distance = distanceToComputer(graph, graph.getRoomId(exploredPlayer.getCurrentRoom()));
+        System.out.printf("%n%d rooms, %d visible doors, %d objects indexed for save files, the computer is %s%n",
+                graph.getRoomCount(), graph.getDoorCount(), WorldIndex.of(template).size(),
+                distance < 0 ? "unreachable!" : distance + " doors away from the entrance");
+        System.out.printf("Save of a new session %d bytes, of a session that copied everything %d bytes%n",
+                newSave.length, exploredSave.length);
+    }
+
+    @Benchmark
+    public Room generate() {
+        return WorldGenerator.generate(rooms, SEED);
+    }
+
+    @Benchmark
+    public WorldIndex index() {
+        return new WorldIndex(template);
+    }
+
+    @Benchmark
+    public Player startSession() {
+        WorldCopier copier = new WorldCopier(SEED);
+        Player player = new Player(template.instantiate(copier));
+        player.setWorldCopier(copier);
+        return player;
+    }
+
+    @Benchmark
+    public RoomGraph copyWorld() {
+        return copyWorld(new WorldCopier(SEED));
+    }
+
+    @Benchmark
+    public byte[] saveNewSession() throws IOException {
+        newPlayer.setSaveCheckpoint(null);
+        return save(newPlayer);
+    }
+
+    @Benchmark
+    public byte[] saveExplored() throws IOException {
+        exploredPlayer.setSaveCheckpoint(null);
+        return save(exploredPlayer);
+    }
+
+    @Benchmark
+    public byte[] saveExploredAgain() throws IOException {
+        return save(exploredPlayer);
+    }
+
+    @Benchmark
+    public Player load() throws IOException {
+        return Serializer.readPlayer(new ByteArrayInputStream(exploredSave));
+    }
+
+    private RoomGraph copyWorld(WorldCopier copier) {
+        template.instantiateFully(copier);
+        RoomGraph graph = copier.getRoomGraph();
+        //NOTE: Asking for the doors of every Room gives every visible door an ID.
+        for (int room = 0; room < graph.getRoomCount(); ++room)
+            graph.getDegree(room);
+        return graph;
+    }
+
+    private static byte[] save(Player player) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        Serializer.writePlayer(player, out);
+        return out.toByteArray();
+    }
+
+    /**
+     * Walks through the visible doors, ignoring whether they are locked or blocked, to find the Computer.
+     *
+     * @return The number of doors between the start and the closest Computer, or -1 if there is none.
+     */
+    private static int distanceToComputer(RoomGraph graph, int startId) {
+        int[] distances = new int[graph.getRoomCount()];
+        Arrays.fill(distances, -1);
+        int[] queue = new int[graph.getRoomCount()];
+        distances[startId] = 0;
+        queue[0] = startId;
+        int tail = 1;
+        for (int head = 0; head < tail; ++head) {
+            int room = queue[head];
+            for (Interactable content : graph.getRoom(room).getContents()) {
+                if (content instanceof Computer)
+                    return distances[room];
+            }
+            for (int i = 0; i < graph.getDegree(room); ++i) {
+                int neighbour = graph.getNeighbour(room, i);
+                if (distances[neighbour] < 0) {
+                    distances[neighbour] = distances[room] + 1;
+                    queue[tail++] = neighbour;
+                }
+            }
+        }
+        return -1;
+    }
+}
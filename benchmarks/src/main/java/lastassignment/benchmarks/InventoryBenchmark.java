@@ -0,0 +1,139 @@
+package lastassignment.benchmarks;
+
+import lastassignment.items.Clothes;
+import lastassignment.items.HealingItem;
+import lastassignment.items.Inventory;
+import lastassignment.items.Item;
+import lastassignment.items.Key;
+import lastassignment.items.Map;
+import lastassignment.items.Weapon;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @version 1.0
+ *
+ * Compares an Inventory against the plain ArrayList the Player used to carry their Items in, as
+ * the backpack gets fuller and fuller. The backpacks are generated: mostly Keys, Weapons, Clothes
+ * and HealingItems, with a single Map at the very bottom. For every size it measures looking up
+ * Items that are half of the time in the backpack, looking for the Map, and taking an Item out
+ * and putting it back in:
+ *
+ *   contains    listContains, inventoryContains
+ *   find map    listFindMap, inventoryFindMap
+ *   remove+add  listRemoveAdd, inventoryRemoveAdd
+ *
+ *   java -jar target/benchmarks.jar InventoryBenchmark
+ *
+ * @see Inventory
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class InventoryBenchmark {
+
+    @Param({ "10", "100", "1000", "10000", "100000" })
+    public int size;
+
+    private Random random;
+    private Item[] items;
+    private Item[] lookups;
+    private List<Item> list;
+    private Inventory inventory;
+    private int nextLookup;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        random = new Random(42);
+        items = generate(size, random);
+        Item[] strangers = generate(size, random);
+        list = new ArrayList<>();
+        inventory = new Inventory();
+        for (Item item : items) {
+            list.add(item);
+            inventory.add(item);
+        }
+        lookups = new Item[1024];
+        for (int i = 0; i < lookups.length; ++i)
+            lookups[i] = random.nextBoolean() ? items[random.nextInt(size)] : strangers[random.nextInt(size)];
+    }
+
+    @Benchmark
+    public boolean listContains() {
+        return list.contains(lookups[nextLookup++ & 1023]);
+    }
+
+    @Benchmark
+    public boolean inventoryContains() {
+        return inventory.contains(lookups[nextLookup++ & 1023]);
+    }
+
+    @Benchmark
+    public Map listFindMap() {
+        //NOTE: The way the Player used to look for the Map, by going through the whole backpack.
+        for (Item item : list) {
+            if (item instanceof Map)
+                return (Map)item;
+        }
+        return null;
+    }
+
+    @Benchmark
+    public Item inventoryFindMap() {
+        return inventory.first(Inventory.Slot.MAP);
+    }
+
+    @Benchmark
+    public boolean listRemoveAdd() {
+        Item item = items[random.nextInt(size)];
+        list.remove(item);
+        return list.add(item);
+    }
+
+    @Benchmark
+    public boolean inventoryRemoveAdd() {
+        Item item = items[random.nextInt(size)];
+        inventory.remove(item);
+        return inventory.add(item);
+    }
+
+    private static Item[] generate(int size, Random random) {
+        Item[] items = new Item[size];
+        for (int i = 0; i < size - 1; ++i) {
+            switch (random.nextInt(4)) {
+                case 0:
+                    items[i] = new Key("a key with the number " + i);
+                    break;
+                case 1:
+                    items[i] = new Weapon("a weapon with the number " + i, 1 + random.nextInt(20));
+                    break;
+                case 2:
+                    items[i] = new Clothes("some clothes with the number " + i, random.nextBoolean());
+                    break;
+                default:
+                    items[i] = new HealingItem("a snack with the number " + i, "eat", 1 + random.nextInt(10));
+                    break;
+            }
+        }
+        items[size - 1] = new Map("a map of the university");
+        return items;
+    }
+}
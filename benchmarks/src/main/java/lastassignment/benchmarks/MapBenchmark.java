@@ -0,0 +1,119 @@
+package lastassignment.benchmarks;
+
+import lastassignment.Player;
+import lastassignment.Room;
+import lastassignment.world.RoomGraph;
+import lastassignment.world.WorldCopier;
+import lastassignment.world.WorldMap;
+import lastassignment.world.WorldTemplate;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @version 1.0
+ *
+ * Measures how long showing the map takes as more and more of a large generated world is explored.
+ * The Player walks into every Room of the world, one after the other, in the order they are found
+ * going outward from the start, until they have explored as many Rooms as asked for. showNextRoom
+ * then walks into the next Room and shows the map, which only redraws what changed. Every iteration
+ * starts over from the same point, so it walks into a batch of new Rooms. fromScratch draws the
+ * same map without anything to reuse.
+ *
+ *   java -jar target/benchmarks.jar MapBenchmark
+ *
+ * @see WorldMap
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, batchSize = MapBenchmark.STEPS)
+@Measurement(iterations = 5, batchSize = MapBenchmark.STEPS)
+@Fork(1)
+public class MapBenchmark {
+
+    private static final long SEED = 42;
+    private static final int ROOMS = 20000;
+
+    /**
+     * How many Rooms are walked into in every iteration of showNextRoom.
+     */
+    static final int STEPS = 50;
+
+    @Param({ "10", "100", "1000", "10000" })
+    public int explored;
+
+    private WorldCopier copier;
+    private RoomGraph graph;
+    private int[] order;
+    private Player player;
+    private WorldMap map;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        copier = new WorldCopier(SEED);
+        Room startingRoom = WorldTemplate.generated(ROOMS, SEED).instantiateFully(copier);
+        graph = copier.getRoomGraph();
+        order = exploringOrder(graph, graph.getRoomId(startingRoom));
+    }
+
+    @Setup(Level.Iteration)
+    public void explore() {
+        //NOTE: A new Player every time, who hasn't been to the Rooms the last iteration walked into yet.
+        player = new Player(graph.getRoom(order[0]));
+        player.setWorldCopier(copier);
+        for (next = 1; next < explored; ++next)
+            player.setCurrentRoom(graph.getRoom(order[next]));
+        map = player.getWorldMap();
+        map.render();
+    }
+
+    @Benchmark
+    public String showNextRoom() {
+        player.setCurrentRoom(graph.getRoom(order[next++]));
+        return map.render();
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @Warmup(iterations = 3, time = 1)
+    @Measurement(iterations = 5, time = 1)
+    public String fromScratch() {
+        return new WorldMap(graph, player).render();
+    }
+
+    /**
+     * @return Every Room of the world that can be reached from the start, in the order a breadth first search finds them.
+     */
+    private static int[] exploringOrder(RoomGraph graph, int startId) {
+        int[] order = new int[graph.getRoomCount()];
+        boolean[] found = new boolean[graph.getRoomCount()];
+        order[0] = startId;
+        found[startId] = true;
+        int tail = 1;
+        for (int head = 0; head < tail; ++head) {
+            int room = order[head];
+            for (int i = 0; i < graph.getDegree(room); ++i) {
+                int neighbour = graph.getNeighbour(room, i);
+                if (neighbour < found.length && !found[neighbour]) {
+                    found[neighbour] = true;
+                    order[tail++] = neighbour;
+                }
+            }
+        }
+        return Arrays.copyOf(order, tail);
+    }
+}
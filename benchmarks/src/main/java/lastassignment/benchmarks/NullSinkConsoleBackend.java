@@ -0,0 +1,81 @@
+package lastassignment.benchmarks;
+
+import lastassignment.utils.ConsoleBackend;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.Charset;
+
+/**
+ * @version 1.0
+ *
+ * A ConsoleBackend that renders everything just like the terminal would, encoding and buffering
+ * included, but throws the bytes away instead of writing them to a file descriptor. Unlike the
+ * ScriptedConsoleBackend it claims to show its output, so the Console still formats every line.
+ * Every read gets the same reply, which is enough to click through pauses and to keep picking
+ * the same option in a menu.
+ *
+ * @see lastassignment.utils.StandardConsoleBackend
+ */
+class NullSinkConsoleBackend implements ConsoleBackend {
+
+    private static final int BUFFER_SIZE = 8192;
+
+    private final String reply;
+    private final Writer output = new BufferedWriter(
+            new OutputStreamWriter(new NullOutputStream(), Charset.defaultCharset()), BUFFER_SIZE);
+
+    /**
+     * @param reply What every read returns.
+     */
+    NullSinkConsoleBackend(String reply) {
+        this.reply = reply;
+    }
+
+    @Override
+    public String readLine() {
+        flush();
+        return reply;
+    }
+
+    @Override
+    public void write(String text) {
+        try {
+            output.write(text);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public void flush() {
+        try {
+            output.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * @return false, so that nothing gets skipped.
+     */
+    @Override
+    public boolean discardsOutput() {
+        return false;
+    }
+
+    private static class NullOutputStream extends OutputStream {
+
+        @Override
+        public void write(int b) {
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package lastassignment.benchmarks;
+
+import lastassignment.Player;
+import lastassignment.io.AutoSaveWriter;
+import lastassignment.io.Serializer;
+import lastassignment.simulation.Simulator;
+import lastassignment.simulation.StandardPolicy;
+import lastassignment.world.WorldTemplate;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @version 1.0
+ *
+ * Measures loading and saving compressed saves from all kinds of points in the game. The saves are
+ * the autosaves of simulated playthroughs, taken every time the player walked into a Room, and
+ * every invocation takes the next one of them. How many bytes they take up on disk is printed once
+ * during setup, along with whether every one of them comes out the same when it is loaded and saved again.
+ *
+ *   java -jar target/benchmarks.jar SaveCompressionBenchmark
+ *
+ * @see Serializer
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SaveCompressionBenchmark {
+
+    private static final long SEED = 42;
+    private static final int PLAYTHROUGHS = 200;
+    private static final int MAX_TURNS = 500;
+
+    private List<byte[]> saves;
+    private List<Player> players;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        saves = collectSaves();
+        players = new ArrayList<>(saves.size());
+        long bytes = 0;
+        int differentSaves = 0;
+        for (byte[] save : saves) {
+            bytes += save.length;
+            Player player = Serializer.readPlayer(ByteBuffer.wrap(save));
+            players.add(player);
+            ByteArrayOutputStream savedAgain = new ByteArrayOutputStream(save.length);
+            Serializer.writePlayer(player, savedAgain);
+            if (!Arrays.equals(savedAgain.toByteArray(), save))
+                ++differentSaves;
+        }
+        System.out.printf("%n%d autosaves, %.0f bytes per save%n", saves.size(), bytes / (double)saves.size());
+        if (differentSaves != 0)
+            System.out.printf("%d saves came out differently when they were loaded and saved again!%n", differentSaves);
+    }
+
+    @Benchmark
+    public Player load() throws IOException {
+        return Serializer.readPlayer(ByteBuffer.wrap(saves.get(nextSave())));
+    }
+
+    @Benchmark
+    public byte[] save() throws IOException {
+        //NOTE: A Player that was just loaded has nothing to save incrementally against.
+        Player player = players.get(nextSave());
+        player.setSaveCheckpoint(null);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        Serializer.writePlayer(player, out);
+        return out.toByteArray();
+    }
+
+    private int nextSave() {
+        if (++next == saves.size())
+            next = 0;
+        return next;
+    }
+
+    /**
+     * Plays the playthroughs on a single thread, so the saves always come out in the same order.
+     */
+    private static List<byte[]> collectSaves() {
+        List<byte[]> saves = Collections.synchronizedList(new ArrayList<>());
+        try (AutoSaveWriter collector = new AutoSaveWriter() {
+            @Override
+            public void submit(Path path, byte[] save) {
+                saves.add(save);
+            }
+        }) {
+            Simulator simulator = new Simulator(WorldTemplate.getDefault(), StandardPolicy.RANDOM, MAX_TURNS);
+            simulator.setAutoSaveWriter(collector);
+            simulator.run(PLAYTHROUGHS, SEED, 1);
+        }
+        return saves;
+    }
+}
@@ -0,0 +1,154 @@
+package lastassignment.benchmarks;
+
+import lastassignment.Player;
+import lastassignment.Room;
+import lastassignment.doors.Door;
+import lastassignment.io.Serializer;
+import lastassignment.items.Item;
+import lastassignment.utils.Interactable;
+import lastassignment.world.WorldCopier;
+import lastassignment.world.WorldTemplate;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @version 1.0
+ *
+ * Compares the binary save format of Serializer against plain Java serialization
+ * (the .ser files the game used to write), for a game that was just started and for a game
+ * where the whole world has been explored and every Item picked up. The size of each save
+ * is printed once during setup. binarySave measures saving again after the player changed
+ * rooms, binaryFullSave measures a save that has to write everything from scratch.
+ *
+ *   java -jar target/benchmarks.jar SaveFormatBenchmark
+ *
+ * @see Serializer
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SaveFormatBenchmark {
+
+    @Param({ "fresh", "explored" })
+    public String progress;
+
+    private Player player;
+    private Player javaPlayer;
+    private byte[] binarySave;
+    private byte[] javaSave;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        //NOTE: Java serialization drags the whole world along with the Player, which would
+        //      materialize every Room of a fresh game, so it gets a world of its own.
+        player = newPlayer();
+        javaPlayer = newPlayer();
+
+        binarySave = binaryFullSave();
+        javaSave = javaSave();
+        System.out.printf("%n%s game: binary save %d bytes, Java serialization %d bytes%n",
+                progress, binarySave.length, javaSave.length);
+    }
+
+    @Benchmark
+    public byte[] binarySave() throws IOException {
+        //NOTE: Going back and forth between two rooms, so that something changed since the last save.
+        Door door = player.getCurrentRoom().getDoors().get(0);
+        player.setCurrentRoom(door.getRoom1() == player.getCurrentRoom() ? door.getRoom2() : door.getRoom1());
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        Serializer.writePlayer(player, out);
+        return out.toByteArray();
+    }
+
+    @Benchmark
+    public byte[] binaryFullSave() throws IOException {
+        player.setSaveCheckpoint(null);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        Serializer.writePlayer(player, out);
+        return out.toByteArray();
+    }
+
+    @Benchmark
+    public byte[] javaSave() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (ObjectOutputStream objectOut = new ObjectOutputStream(out)) {
+            objectOut.writeObject(javaPlayer);
+        }
+        return out.toByteArray();
+    }
+
+    @Benchmark
+    public Player binaryLoad() throws IOException {
+        return Serializer.readPlayer(new ByteArrayInputStream(binarySave));
+    }
+
+    @Benchmark
+    public Player javaLoad() throws IOException, ClassNotFoundException {
+        try (ObjectInputStream objectIn = new ObjectInputStream(new ByteArrayInputStream(javaSave))) {
+            return (Player)objectIn.readObject();
+        }
+    }
+
+    private Player newPlayer() {
+        WorldCopier copier = new WorldCopier(42);
+        Player newPlayer = new Player(WorldTemplate.getDefault().instantiate(copier));
+        newPlayer.setWorldCopier(copier);
+        if (progress.equals("explored"))
+            exploreEverything(newPlayer);
+        return newPlayer;
+    }
+
+    /**
+     * Walks through every Room in the world, and picks up every Item lying around in them.
+     */
+    private static void exploreEverything(Player player) {
+        Room startingRoom = player.getCurrentRoom();
+        Deque<Room> unvisited = new ArrayDeque<>();
+        Set<Room> visited = Collections.newSetFromMap(new IdentityHashMap<>());
+        List<Room> visitOrder = new ArrayList<>();
+        unvisited.add(startingRoom);
+        visited.add(startingRoom);
+        while (!unvisited.isEmpty()) {
+            Room room = unvisited.poll();
+            visitOrder.add(room);
+            for (Interactable content : room.getContents()) {
+                if (content instanceof Item)
+                    player.addItemToBackpack((Item)content);
+            }
+            room.removeContentsIf(content -> content instanceof Item);
+            for (Door door : room.getDoors()) {
+                Room otherRoom = door.getRoom1() == room ? door.getRoom2() : door.getRoom1();
+                if (visited.add(otherRoom))
+                    unvisited.add(otherRoom);
+            }
+        }
+        player.setCurrentRoom(visitOrder.get(visitOrder.size() - 1));
+    }
+}
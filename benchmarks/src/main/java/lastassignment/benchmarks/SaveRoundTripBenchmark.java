@@ -0,0 +1,75 @@
+package lastassignment.benchmarks;
+
+import lastassignment.Player;
+import lastassignment.doors.Door;
+import lastassignment.io.SaveJournal;
+import lastassignment.io.Serializer;
+import lastassignment.utils.Console;
+import lastassignment.world.WorldCopier;
+import lastassignment.world.WorldTemplate;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @version 1.0
+ *
+ * Measures saving a game to the journal and loading it back, the way the game menu does it,
+ * messages included. Every save is appended to savedgames/journal.sav in the working directory,
+ * so that file grows by a few megabytes per run. The player walks back and forth between two
+ * rooms before every save, so that there is always something new to write. The journal is kept
+ * open the whole time, like it is during a session on a server.
+ *
+ *   java -jar target/benchmarks.jar SaveRoundTripBenchmark
+ *
+ * @see Serializer#savePlayer(Player, String)
+ * @see Serializer#loadPlayer(String)
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SaveRoundTripBenchmark {
+
+    private static final String TITLE = "benchmark";
+
+    private Player player;
+    private SaveJournal journal;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        journal = SaveJournal.open(SaveJournal.DEFAULT_PATH);
+        Console.setBackend(new NullSinkConsoleBackend(""));
+        WorldCopier copier = new WorldCopier(42);
+        player = new Player(WorldTemplate.getDefault().instantiate(copier));
+        player.setWorldCopier(copier);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        Console.setBackend(null);
+        journal.close();
+    }
+
+    @Benchmark
+    public Player saveAndLoad() throws IOException {
+        Door door = player.getCurrentRoom().getDoors().get(0);
+        player.setCurrentRoom(door.getRoom1() == player.getCurrentRoom() ? door.getRoom2() : door.getRoom1());
+        Serializer.savePlayer(player, TITLE, SaveJournal.DEFAULT_PATH);
+        return Serializer.loadPlayer(TITLE, SaveJournal.DEFAULT_PATH);
+    }
+}
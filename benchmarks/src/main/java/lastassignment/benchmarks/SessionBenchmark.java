@@ -0,0 +1,67 @@
+package lastassignment.benchmarks;
+
+import lastassignment.Player;
+import lastassignment.Room;
+import lastassignment.doors.Door;
+import lastassignment.utils.GameInitializer;
+import lastassignment.world.WorldTemplate;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @version 1.0
+ *
+ * Measures starting a new game, and asking a Room for its doors. initGameAndGetPlayer goes
+ * through the GameInitializer just like the start menu does, so it includes writing
+ * config/rpgConfig.properties into the working directory. firstGetDoors asks the starting Room of a
+ * new session for its doors, which is when they get copied from the template, getDoors asks a
+ * Room that already has its doors.
+ *
+ *   java -jar target/benchmarks.jar SessionBenchmark
+ *
+ * @see GameInitializer
+ * @see Room#getDoors()
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SessionBenchmark {
+
+    private Room room;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        room = WorldTemplate.getDefault().instantiate();
+        room.getDoors();
+    }
+
+    @Benchmark
+    public Player initGameAndGetPlayer() {
+        return new GameInitializer(GameInitializer.InitMethod.NORMAL).initGameAndGetPlayer();
+    }
+
+    @Benchmark
+    public List<Door> firstGetDoors() {
+        return WorldTemplate.getDefault().instantiate().getDoors();
+    }
+
+    @Benchmark
+    public List<Door> getDoors() {
+        return room.getDoors();
+    }
+}
@@ -0,0 +1,88 @@
+package lastassignment.benchmarks;
+
+import lastassignment.Room;
+import lastassignment.utils.GameInitializer;
+import lastassignment.world.WorldTemplate;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * @version 1.0
+ *
+ * Measures what it costs to set up the world for a new session, both when the world is built from
+ * scratch for every session (freshBuild) and when it is copied from a shared WorldTemplate
+ * (templateCopy, and templateCopyFullyExplored for a session that will have seen every Room).
+ * How much heap every world keeps alive for as long as its session is played is printed once during setup.
+ *
+ *   java -jar target/benchmarks.jar SessionCostBenchmark
+ *
+ * @see WorldTemplate
+ * @see GameInitializer
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SessionCostBenchmark {
+
+    /**
+     * How many worlds are kept alive at once to measure their heap usage.
+     */
+    private static final int RETAINED_WORLDS = 10000;
+
+    private WorldTemplate template;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        template = WorldTemplate.getDefault();
+        System.out.printf("%nBytes retained per world: fresh build %.0f, template copy %.0f, fully explored %.0f%n",
+                retainedBytes(GameInitializer::buildWorld), retainedBytes(template::instantiate),
+                retainedBytes(template::instantiateFully));
+    }
+
+    @Benchmark
+    public Room freshBuild() {
+        return GameInitializer.buildWorld();
+    }
+
+    @Benchmark
+    public Room templateCopy() {
+        return template.instantiate();
+    }
+
+    @Benchmark
+    public Room templateCopyFullyExplored() {
+        return template.instantiateFully();
+    }
+
+    private static double retainedBytes(Supplier<Room> worldFactory) {
+        //NOTE: Keep every world alive at once, so that the heap they retain can be measured.
+        Room[] worlds = new Room[RETAINED_WORLDS];
+        long heapBefore = usedHeapAfterGc();
+        for (int i = 0; i < worlds.length; ++i)
+            worlds[i] = worldFactory.get();
+        long heapAfter = usedHeapAfterGc();
+        return (heapAfter - heapBefore) / (double)worlds.length;
+    }
+
+    private static long usedHeapAfterGc() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; ++i)
+            System.gc();
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
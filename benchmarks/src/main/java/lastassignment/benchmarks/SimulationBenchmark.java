@@ -0,0 +1,85 @@
+package lastassignment.benchmarks;
+
+import lastassignment.simulation.Outcome;
+import lastassignment.simulation.SimulationResults;
+import lastassignment.simulation.Simulator;
+import lastassignment.simulation.StandardPolicy;
+import lastassignment.world.WorldTemplate;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @version 1.0
+ *
+ * Measures how long the Simulator takes to play a batch of playthroughs on 1, 2, 4 and 8 threads,
+ * to see how close that comes to scaling linearly with the number of threads. Every batch plays the
+ * same playthroughs, so it has to come up with the same results as a single thread does, which is
+ * checked after every iteration.
+ *
+ *   java -jar target/benchmarks.jar SimulationBenchmark
+ *
+ * @see Simulator
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SimulationBenchmark {
+
+    private static final long SEED = 42;
+    private static final int PLAYTHROUGHS = 500;
+    private static final int MAX_TURNS = 500;
+
+    @Param({ "1", "2", "4", "8" })
+    public int threads;
+
+    private Simulator simulator;
+    private SimulationResults singleThreadedResults;
+    private SimulationResults results;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        simulator = new Simulator(WorldTemplate.getDefault(), StandardPolicy.RANDOM, MAX_TURNS);
+        singleThreadedResults = simulator.run(PLAYTHROUGHS, SEED, 1);
+    }
+
+    @TearDown(Level.Iteration)
+    public void checkResults() {
+        if (!haveSameResults(results, singleThreadedResults))
+            throw new IllegalStateException("The results on " + threads + " threads differ from the results on 1 thread");
+    }
+
+    @Benchmark
+    public SimulationResults run() {
+        results = simulator.run(PLAYTHROUGHS, SEED, threads);
+        return results;
+    }
+
+    private static boolean haveSameResults(SimulationResults results, SimulationResults otherResults) {
+        for (Outcome outcome : Outcome.values()) {
+            if (results.getCount(outcome) != otherResults.getCount(outcome))
+                return false;
+        }
+        for (int turn = 0; turn < MAX_TURNS; ++turn) {
+            if (results.getPlayersAt(turn) != otherResults.getPlayersAt(turn)
+                    || results.getAverageMoneyAt(turn) != otherResults.getAverageMoneyAt(turn))
+                return false;
+        }
+        return results.getTurnsToWin(0.5) == otherResults.getTurnsToWin(0.5);
+    }
+}
@@ -0,0 +1,159 @@
+package lastassignment.benchmarks;
+
+import lastassignment.world.WorldTemplate;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * @version 1.0
+ *
+ * Measures how long the game takes to start, the way a player sees it, by starting it in a new JVM
+ * for every invocation. firstMenu takes the time from starting the JVM until the start menu is
+ * printed. play picks "Play" in a game that is already showing its start menu, and takes the time
+ * until the game asks for its first input. That is measured once with "Play" picked right away, like
+ * a script would, and once after a pause, like a player reading the menu would, since the world is
+ * built in the background while the start menu waits. Every JVM runs in an empty directory of its
+ * own, so its autosave and command log don't get in each other's way.
+ *
+ *   java -jar target/benchmarks.jar StartupBenchmark
+ *
+ * @see WorldTemplate#preloadDefault()
+ * @see ColdStartBenchmark
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 10)
+@Fork(1)
+public class StartupBenchmark {
+
+    private static final String MENU = "(4) Play in a generated world";
+    private static final String PAUSE = " ...";
+
+    private StartedGame game;
+
+    /**
+     * A game in a JVM of its own, in an empty directory of its own.
+     */
+    private static class StartedGame implements AutoCloseable {
+
+        private final Path directory;
+        private final Process process;
+        private final StringBuilder seen = new StringBuilder();
+
+        StartedGame() throws IOException {
+            String java = System.getProperty("java.home") + File.separator + "bin" + File.separator + "java";
+            directory = Files.createTempDirectory("startup");
+            ProcessBuilder builder = new ProcessBuilder(java, "-cp", System.getProperty("java.class.path"), "lastassignment.Main");
+            builder.directory(directory.toFile());
+            builder.redirectErrorStream(true);
+            process = builder.start();
+        }
+
+        void waitFor(String text) throws IOException {
+            InputStream out = process.getInputStream();
+            byte[] buffer = new byte[8192];
+            while (seen.indexOf(text) < 0) {
+                int read = out.read(buffer);
+                if (read < 0)
+                    throw new IOException("The game stopped before printing \"" + text + "\": " + seen);
+                seen.append(new String(buffer, 0, read, StandardCharsets.UTF_8));
+            }
+            seen.setLength(0);
+        }
+
+        void pick(String option) throws IOException {
+            OutputStream in = process.getOutputStream();
+            in.write((option + System.lineSeparator()).getBytes(StandardCharsets.UTF_8));
+            in.flush();
+        }
+
+        /**
+         * Stops the game, and deletes its directory.
+         */
+        @Override
+        public void close() {
+            process.destroy();
+            try {
+                process.waitFor();
+            } catch (InterruptedException e) {
+                //NOTE: The directory is still deleted, JMH gets to see the interrupt when it checks for it.
+                Thread.currentThread().interrupt();
+            }
+            try (Stream<Path> paths = Files.walk(directory)) {
+                //NOTE: The deepest paths come first, so that every directory is empty by the time it is deleted.
+                for (Path path : (Iterable<Path>)paths.sorted(Comparator.reverseOrder())::iterator)
+                    Files.deleteIfExists(path);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    /**
+     * A game that is showing its start menu, and has been for as long as the player reads it.
+     */
+    @State(Scope.Thread)
+    public static class AtStartMenu {
+
+        @Param({ "0", "1000" })
+        public long readingMillis;
+
+        private StartedGame game;
+
+        @Setup(Level.Invocation)
+        public void setUp() throws IOException, InterruptedException {
+            game = new StartedGame();
+            game.waitFor(MENU);
+            Thread.sleep(readingMillis);
+        }
+
+        @TearDown(Level.Invocation)
+        public void tearDown() {
+            game.close();
+        }
+    }
+
+    @TearDown(Level.Invocation)
+    public void tearDown() {
+        if (game != null)
+            game.close();
+        game = null;
+    }
+
+    @Benchmark
+    public void firstMenu() throws IOException {
+        game = new StartedGame();
+        game.waitFor(MENU);
+    }
+
+    @Benchmark
+    public void play(AtStartMenu menu) throws IOException {
+        menu.game.pick("1");
+        menu.game.waitFor(PAUSE);
+    }
+}
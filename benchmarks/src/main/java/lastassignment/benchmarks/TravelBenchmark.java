@@ -0,0 +1,147 @@
+package lastassignment.benchmarks;
+
+import lastassignment.Player;
+import lastassignment.Room;
+import lastassignment.doors.AmbushDoor;
+import lastassignment.doors.BreakableDoor;
+import lastassignment.doors.Door;
+import lastassignment.doors.LockedDoor;
+import lastassignment.doors.OneWayDoor;
+import lastassignment.items.Key;
+import lastassignment.npcs.Enemy;
+import lastassignment.world.RoomGraph;
+import lastassignment.world.TravelPlanner;
+import lastassignment.world.WorldCopier;
+import lastassignment.world.WorldTemplate;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @version 1.0
+ *
+ * Measures answering path queries with a TravelPlanner on a large generated world. The world is a
+ * square grid of Rooms, where every Room has a door to its neighbours to the right and below. Most
+ * of them are plain Doors, the rest are OneWayDoors, LockedDoors, AmbushDoors and BreakableDoors,
+ * so plenty of paths have to go around. The LockedDoors share a few different Keys between them,
+ * and the Player has half of those, like a janitor with a small bunch of keys. newSearch starts
+ * from a different Room every time, so every query needs a new search, cachedSearch starts from one
+ * of a few Rooms whose searches are all kept in the cache.
+ *
+ *   java -jar target/benchmarks.jar TravelBenchmark -p rooms=1000000
+ *
+ * @see TravelPlanner
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TravelBenchmark {
+
+    /**
+     * The number of Rooms the cached queries start from. Even for a million Rooms, the searches from
+     * these all fit into the cache of a TravelPlanner.
+     */
+    private static final int CACHED_STARTS = 16;
+
+    /**
+     * The number of different Keys the LockedDoors are locked with.
+     */
+    private static final int KEY_KINDS = 8;
+
+    @Param({ "10000" })
+    public int rooms;
+
+    private Random random;
+    private TravelPlanner planner;
+    private int roomCount;
+    private int[] starts;
+    private int[] path;
+    private int queries;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        int side = Math.max(2, (int)Math.ceil(Math.sqrt(rooms)));
+        random = new Random(42);
+        Room[] grid = new Room[side * side];
+        for (int i = 0; i < grid.length; ++i)
+            grid[i] = new Room("room " + i);
+        Key[] keys = new Key[KEY_KINDS];
+        for (int i = 0; i < keys.length; ++i)
+            keys[i] = new Key("key " + i);
+        for (int y = 0; y < side; ++y) {
+            for (int x = 0; x < side; ++x) {
+                int i = y * side + x;
+                if (x + 1 < side)
+                    connect(grid[i], grid[i + 1], random, keys);
+                if (y + 1 < side)
+                    connect(grid[i], grid[i + side], random, keys);
+            }
+        }
+
+        WorldCopier copier = new WorldCopier(42);
+        Room start = new WorldTemplate(grid[0]).instantiate(copier);
+        Player player = new Player(start);
+        player.setWorldCopier(copier);
+        for (int i = 0; i < keys.length; i += 2)
+            player.addItemToBackpack(keys[i]);
+        planner = player.getTravelPlanner();
+        RoomGraph graph = planner.getGraph();
+        path = new int[grid.length];
+
+        long startTime = System.nanoTime();
+        planner.findPath(graph.addRoom(start), graph.addRoom(start), path);
+        System.out.printf("%n%d rooms, %d doors, %.2f ms to copy the world and find the first path%n",
+                graph.getRoomCount(), graph.getDoorCount(), (System.nanoTime() - startTime) / 1e6);
+        roomCount = graph.getRoomCount();
+        starts = new int[CACHED_STARTS];
+        for (int i = 0; i < starts.length; ++i) {
+            starts[i] = random.nextInt(roomCount);
+            planner.findPath(starts[i], starts[i], path);
+        }
+    }
+
+    @Benchmark
+    public int newSearch() {
+        //NOTE: Walks through the Rooms in big strides, so no start comes around again until long after it left the cache.
+        int from = (int)((++queries * 7919L) % roomCount);
+        return planner.findPath(from, random.nextInt(roomCount), path);
+    }
+
+    @Benchmark
+    public int cachedSearch() {
+        return planner.findPath(starts[++queries % starts.length], random.nextInt(roomCount), path);
+    }
+
+    /**
+     * Connects two Rooms with a random kind of Door. A LockedDoor gets one of the keys at random.
+     */
+    private static void connect(Room room1, Room room2, Random random, Key[] keys) {
+        int kind = random.nextInt(100);
+        if (kind < 70) {
+            new Door("a door", room1, room2);
+        } else if (kind < 80) {
+            new OneWayDoor("a one-way door", room1, room2);
+        } else if (kind < 88) {
+            new LockedDoor("a locked door", room1, room2, keys[random.nextInt(keys.length)]);
+        } else if (kind < 94) {
+            new AmbushDoor("a guarded door", room1, room2, new Enemy("a guard", 10, 1, false));
+        } else {
+            new BreakableDoor("a rotten door", room1, room2, 1);
+        }
+    }
+}
@@ -6,16 +6,31 @@ import lastassignment.items.BunnyRabbit;
 import lastassignment.items.HallucinatedItem;
 import lastassignment.items.Item;
 import lastassignment.items.Map;
+import lastassignment.metrics.Command;
+import lastassignment.metrics.CommandMetrics;
+import lastassignment.metrics.GameEvents;
 import lastassignment.utils.Console;
+import lastassignment.utils.ConsoleBackend;
+import lastassignment.utils.Dialogue;
 import lastassignment.utils.GameInitializer;
 import lastassignment.utils.GameStateLoader;
 import lastassignment.utils.Interactable;
+import lastassignment.utils.InteractableView;
+import lastassignment.utils.RecordingConsoleBackend;
+import lastassignment.utils.SessionRandom;
+import lastassignment.io.AutoSaver;
+import lastassignment.io.CommandLog;
+import lastassignment.io.SaveJournal;
 import lastassignment.io.Serializer;
 import lastassignment.npcs.HallucinatedNPC;
 import lastassignment.npcs.NPC;
+import lastassignment.world.WorldGenerator;
+import lastassignment.world.WorldTemplate;
 
 import java.io.*;
+import java.nio.file.Path;
 import java.util.*;
+import java.util.concurrent.ThreadLocalRandom;
 
 /**
  * @author Boris
@@ -36,28 +51,130 @@ public class Game implements Serializable {
 
     private static final long serialVersionUID = 3L;
 
+    /**
+     * How the story starts, the Player wakes up and realizes their assignment is gone.
+     */
+    private static final Dialogue EXPOSITION_OPENING = new Dialogue(
+            "You wake up with a terrible throbbing headache",
+            "Its the middle of the night",
+            "You pull yourself up, and stand up on two feet, and then it hits you",
+            "You forgot to hand in your assignment, AND THE DEADLINE IS TOMORROW MORNING!",
+            "Growling thunder echoes through the air, spreading through your room",
+            "\"Maybe it's a good thing that I woke up.\", you think to yourself",
+            "\"At least I didn't forget.\"",
+            "You turn on your computer, eager to hand in your work",
+            "\"Oh no.. no no NO!\" your cries drown out the sounds of thunder outside",
+            "You forgot to save your work. It's all gone");
+
+    /**
+     * How the Player decides to break into the school, right before the Game begins.
+     */
+    private static final Dialogue EXPOSITION_ENDING = new Dialogue(
+            "\n\"Hmm..\" you spend a few minutes scratching your head",
+            "And then you recall: you worked though this assignment on the university computers",
+            "There must be a backup on those computers!",
+            "That was already over a week ago. The school has since been closed due to the virus outbreak",
+            "The work may be a week old, but at least its partially complete",
+            "Maybe you could redo the few bits that were missing, and be done before the deadline!",
+            "The school might be closed now",
+            "But you're willing to risk breaking in for a good grade",
+            "Get in, finish the assignment, get the backup, get out, it should be easy",
+            "You put on some clothes and a rain-coat, and start heading towards the school",
+            "",
+            "After a few minutes in the rain, you finally reach the entrance of one of the campus buildings",
+            "Good thing you live so close to the school, otherwise you would have been soaked!",
+            "You walk over to the entrance, and then you notice the sign",
+            "\"Closed until further notice due to the virus outbreak, Sorry!\"",
+            "Despite this sign, the inside of the building is actually lit up, how strange",
+            "Applying a forceful nudge, you push through the revolving doors of the university building",
+            "You're in",
+            "And thus, your quest for the school computer room begins!");
+
+    /**
+     * The title banner shown once the exposition is over.
+     */
+    private static final Dialogue TITLE = new Dialogue(
+            "\n=================================" +
+            "\n Quarantine: The Last Assignment" +
+            "\n=================================\n");
+
+    /**
+     * Printed when the Player makes it back home after finishing the assignment.
+     */
+    private static final Dialogue WIN_DIALOGUE = new Dialogue(
+            "You get home and fall face first into bed",
+            "You did it!",
+            "Now you can finally get some sleep!",
+            "Thank god for the quarantine, you don't have any classes today\n",
+            "\n=================================" +
+            "\n        YOU WON - THE END       " +
+            "\n=================================");
+
+    /**
+     * Printed when the Player dies.
+     */
+    private static final Dialogue LOSE_DIALOGUE = new Dialogue(
+            "\n=================================" +
+            "\n      GAME OVER... YOU LOST!     " +
+            "\n=================================");
+
     private Player player;
+    private transient AutoSaver autoSaver;
+    private transient CommandLog commandLog;
+    private transient Path saveJournalPath = SaveJournal.DEFAULT_PATH;
+    private transient List<String> commandsToReplay;
 
     /**
      * Initializes the Game from one of several methods. The player
      * can choose to initialize the game from a configuration file,
      * or to set the configuration file to the default one and play the
      * game with the default configuration, or to play the game normally
-     * without using a config file.
+     * without using a config file, or to play in a generated world of a
+     * size and seed they choose. If the last game was interrupted before
+     * it was over, the player can also pick it up again from its CommandLog.
      * This constructor makes use of the GameInitializer helper class,
      * and it will initialize the entire state of the game so that
-     * Game.play() can be called.
+     * Game.play() can be called. The game is autosaved to AutoSaver.DEFAULT_PATH,
+     * its commands are logged to CommandLog.DEFAULT_PATH, and it is saved to SaveJournal.DEFAULT_PATH.
      *
      * @see GameInitializer
      */
     public Game() {
+        this(AutoSaver.DEFAULT_PATH, CommandLog.DEFAULT_PATH, SaveJournal.DEFAULT_PATH, true);
+    }
+
+    /**
+     * Initializes the Game from the start menu, like Game(), but autosaves, logs its commands and
+     * keeps its saves wherever the owner of the Game wants them to go. The last game can only be picked
+     * up again if the owner allows it, since the log might not have been written by the same player.
+     *
+     * @param autoSavePath Where to autosave to, or null to not autosave.
+     * @param commandLogPath Where to log the commands to, or null to not log them.
+     * @param saveJournalPath The journal the saves of the player go to, and are loaded from.
+     * @param canResume Whether the player may pick up the game that was interrupted in the log at commandLogPath.
+     * @see GameInitializer
+     */
+    public Game(Path autoSavePath, Path commandLogPath, Path saveJournalPath, boolean canResume) {
+        this.saveJournalPath = saveJournalPath;
 
         Console.printLine("Welcome to The Last Assignment");
         Console.printLine("  (1) Play");
         Console.printLine("  (2) Load settings from config file");
         Console.printLine("  (3) Load default settings");
+        Console.printLine("  (4) Play in a generated world");
+        canResume = canResume && commandLogPath != null && CommandLog.canResume(commandLogPath);
+        if (canResume)
+            Console.printLine("  (5) Pick up where your last game was interrupted");
+        //NOTE: The world is built while the player makes up their mind, instead of after, but only once they can see the menu.
+        Console.flush();
+        WorldTemplate.preloadDefault();
         String input = Console.readInput();
-        GameInitializer.InitMethod initMethod;
+        GameInitializer.InitMethod initMethod = GameInitializer.InitMethod.NORMAL;
+        int generatedRooms = 0;
+        long generatorSeed = 0;
+        //NOTE: If the last game can't be picked up after all, the player gets a new one, like for any choice that isn't on the menu.
+        if (input.equals("5") && canResume)
+            resumeInterruptedGame(commandLogPath);
         switch (input) {
             default: //NOTE(Boris): If the player mistypes assume they just want to play normally
             case "1":
@@ -69,10 +186,44 @@ public class Game implements Serializable {
             case "3":
                 initMethod = GameInitializer.InitMethod.RESET_CONFIG;
                 break;
+            case "4":
+                initMethod = GameInitializer.InitMethod.GENERATED;
+                Console.printLine("How many rooms should the world have? (%d to %d)", WorldGenerator.MIN_ROOMS, WorldGenerator.MAX_ROOMS);
+                generatedRooms = Console.readInt();
+                while (generatedRooms < WorldGenerator.MIN_ROOMS || generatedRooms > WorldGenerator.MAX_ROOMS) {
+                    Console.printLine("How many rooms should the world have? (%d to %d)", WorldGenerator.MIN_ROOMS, WorldGenerator.MAX_ROOMS);
+                    generatedRooms = Console.readInt();
+                }
+                Console.printLine("Which seed should it be generated from? (leave empty for a random one)");
+                String seed = Console.readString();
+                try {
+                    generatorSeed = seed.isEmpty() ? ThreadLocalRandom.current().nextLong() : Long.parseLong(seed);
+                } catch (NumberFormatException e) {
+                    generatorSeed = seed.hashCode();
+                }
+                break;
+        }
+
+        if (player == null) {
+            GameInitializer initializer = new GameInitializer(initMethod, generatedRooms, generatorSeed);
+            player = initializer.initGameAndGetPlayer();
         }
+        if (autoSavePath != null)
+            setAutoSaver(new AutoSaver(autoSavePath));
+        if (commandLogPath != null)
+            setCommandLog(new CommandLog(commandLogPath));
+    }
 
-        GameInitializer initializer = new GameInitializer(initMethod);
-        player = initializer.initGameAndGetPlayer();
+    /**
+     * Creates a Game for a Player that was already set up, without going through the start menu,
+     * for example for a simulated playthrough. The game isn't autosaved, and its commands aren't logged.
+     * It is saved to SaveJournal.DEFAULT_PATH.
+     *
+     * @param player The Player, along with the world they play in.
+     * @see lastassignment.simulation.Simulator
+     */
+    public Game(Player player) {
+        setPlayer(player);
     }
 
     /**
@@ -83,10 +234,44 @@ public class Game implements Serializable {
      */
     public void play() {
 
-        dumpExposition();
+        if (commandsToReplay == null)
+            dumpExposition();
+        resume(commandsToReplay == null ? Collections.<String>emptyList() : commandsToReplay);
+        commandsToReplay = null;
+    }
+
+    /**
+     * Runs the game loop from wherever the Player currently is, without the exposition.
+     * If the Game has a CommandLog, every command is logged, and the log is compacted into
+     * a new snapshot of the Player at the start of a turn whenever it asks for one.
+     *
+     * @param replay Logged commands to replay first, to bring the Game back to where it was interrupted.
+     * @see CommandLog
+     */
+    public void resume(List<String> replay) {
+
+        if (commandLog == null) {
+            runGameLoop();
+            return;
+        }
+        ConsoleBackend backend = Console.getBackend();
+        Console.setBackend(new RecordingConsoleBackend(backend, commandLog, replay));
+        try {
+            runGameLoop();
+            commandLog.end();
+        } finally {
+            Console.setBackend(backend);
+        }
+    }
+
+    private void runGameLoop() {
 
         while (player.isAlive() && !player.hasWon()) {
 
+            //NOTE: The commands of a turn only replay the same from the Player they were typed in for.
+            if (commandLog != null && commandLog.needsSnapshot())
+                commandLog.snapshot(player);
+
             Room currentRoom = player.getCurrentRoom();
 
             currentRoom.inspect(player);
@@ -100,83 +285,122 @@ public class Game implements Serializable {
                 Console.printLine("  (6) Look at your map");
             if (player.getCompanion() != null)
                 Console.printLine("  (7) approach your companion");
+            if (player.getVisitedRooms().size() > 1)
+                Console.printLine("  (T) Travel to a room you've been in");
             Console.printLine("  (J) Open up your journal");
             Console.printLine("  (S) QuickSave");
             Console.printLine("  (L) QuickLoad");
             Console.printLine("  (X) Give up");
 
             String input = Console.readInput();
-            switch (input) {
-                case "1":
-                    lookAroundRoom();
-                    break;
-                case "2":
-                    lookForDoors();
-                    break;
-                case "3":
-                    lookForNPCs();
-                    break;
-                case "4":
-                    checkoutBackpack();
-                    break;
-                case "5":
-                    player.inspect(player);
-                    break;
-                case "6":
-                    if (player.hasMap()) {
-                        Map map = player.getMap();
-                        map.interact(player);
-                    }
-                    break;
-                case "7":
-                    if (player.getCompanion() != null) {
-                        player.getCompanion().interact(player);
-                    }
-                case "S":
-                    Serializer.savePlayer(player, "quicksave");
-                    break;
-                case "L":
-                    GameStateLoader.loadFrom(this, "quicksave");
-                    break;
-                case "J":
-                    Journal.open(this, player);
-                    break;
-                case "X":
-                    Console.printLine("Are you sure you just want to give up now?");
-                    Console.printLine("  (Y)es, this is too much to handle!");
-                    Console.printLine("  (N)o, I wanna keep going for now");
-                    String selection = Console.readInput();
-                    if (selection.equals("Y")) {
-                        player.die();
-                    }
+            CommandMetrics.begin();
+            try {
+                runCommand(input);
+            } finally {
+                CommandMetrics.end(Command.ofInput(input));
             }
         }
     }
 
+    /**
+     * Does whatever the player picked from the menu.
+     *
+     * @param input What the player typed in, in uppercase.
+     */
+    private void runCommand(String input) {
+        switch (input) {
+            case "1":
+                lookAroundRoom();
+                break;
+            case "2":
+                lookForDoors();
+                break;
+            case "3":
+                lookForNPCs();
+                break;
+            case "4":
+                checkoutBackpack();
+                break;
+            case "5":
+                player.inspect(player);
+                break;
+            case "6":
+                if (player.hasMap()) {
+                    Map map = player.getMap();
+                    map.interact(player);
+                }
+                break;
+            case "7":
+                if (player.getCompanion() != null) {
+                    player.getCompanion().interact(player);
+                }
+            case "S":
+                Serializer.savePlayer(player, "quicksave", saveJournalPath);
+                requestSnapshot();
+                break;
+            case "L":
+                GameStateLoader.loadFrom(this, "quicksave");
+                requestSnapshot();
+                break;
+            case "J":
+                Journal.open(this, player);
+                requestSnapshot();
+                break;
+            case "T":
+                if (player.getVisitedRooms().size() > 1)
+                    travel();
+                break;
+            case "X":
+                Console.printLine("Are you sure you just want to give up now?");
+                Console.printLine("  (Y)es, this is too much to handle!");
+                Console.printLine("  (N)o, I wanna keep going for now");
+                String selection = Console.readInput();
+                if (selection.equals("Y")) {
+                    player.die();
+                }
+        }
+    }
+
+    /**
+     * Saving and loading depend on what is on disk rather than on what the player typed in, so
+     * a new snapshot is taken right after, instead of replaying them.
+     */
+    private void requestSnapshot() {
+        if (commandLog != null)
+            commandLog.requestSnapshot();
+    }
+
+    /**
+     * Brings back the Player from the snapshot in the CommandLog of the last game, along with
+     * the commands to replay on top of it once the Game is played.
+     *
+     * @param path The log of the last game.
+     * @return true if the log could be read.
+     */
+    private boolean resumeInterruptedGame(Path path) {
+        try {
+            CommandLog.Contents log = CommandLog.read(path);
+            player = log.getPlayer();
+            commandsToReplay = log.getCommands();
+            return true;
+        } catch (IOException e) {
+            Console.printLine("Could not pick up the last game, starting a new one");
+            return false;
+        }
+    }
+
     /**
      * Prints out a congratulations banner saying.
      */
     public static void winGame(){
-        Console.printConversationWithPauses(
-                "You get home and fall face first into bed",
-                "You did it!",
-                "Now you can finally get some sleep!",
-                "Thank god for the quarantine, you don't have any classes today\n",
-                "\n=================================" +
-                "\n        YOU WON - THE END       " +
-                "\n================================="
-        );
+        Console.printDialogue(WIN_DIALOGUE);
     }
 
     /**
      * Prints out a game over message.
      */
     public static void loseGame(){
-        Console.printWithPause(
-                "\n=================================" +
-                "\n      GAME OVER... YOU LOST!     " +
-                "\n================================="
-        );
+        Console.printDialogue(LOSE_DIALOGUE);
     }
 
     /**
@@ -189,11 +413,14 @@ public class Game implements Serializable {
      */
     private void lookForDoors() {
         Room currentRoom = player.getCurrentRoom();
-        List<Door> doors = new ArrayList<>(currentRoom.getDoors());
+        InteractableView<Door> doors = new InteractableView<>(currentRoom.getDoors(), null);
 
         if (player.isHallucinating()) {
-            while (new Random().nextInt(10) < 2) {
-                doors.add(new HallucinatedDoor());
+            SessionRandom random = player.getRandom();
+            while (random.nextInt(10) < 2) {
+                HallucinatedDoor door = new HallucinatedDoor(random);
+                doors.overlay(door);
+                GameEvents.hallucinationSpawned(currentRoom.getDescription(), "door", door.getDescription(player));
             }
         }
 
@@ -203,6 +430,45 @@ public class Game implements Serializable {
                 "Which door do you take? (0 : stay here)");
     }
 
+    /**
+     * Prints out a dialogue where the Player picks one of the Rooms they have been in before,
+     * and then walks there through the shortest way they know of, one Door at a time. Every Door
+     * is walked through as if the Player picked it themselves, so anything that could happen on
+     * the way still happens. If the Player ends up somewhere else along the way, for example
+     * because they had to flee from a fight, they stop travelling.
+     *
+     * @see Player#getTravelPlanner()
+     * @see Door#canTravelThrough
+     */
+    private void travel() {
+        Room currentRoom = player.getCurrentRoom();
+        List<Room> destinations = new ArrayList<>(player.getVisitedRooms());
+        destinations.remove(currentRoom);
+
+        Console.printLine("Where do you want to go? (0 : stay here)");
+        for (int i = 0; i < destinations.size(); ++i)
+            Console.printLine("  (%d) %s", i + 1, destinations.get(i).getDescription());
+        int selection = Console.readInt();
+        while (selection < 0 || selection > destinations.size()) {
+            Console.printLine("Where do you want to go? (0 : stay here)");
+            selection = Console.readInt();
+        }
+        if (selection == 0)
+            return;
+
+        List<Door> path = player.getTravelPlanner().findPath(currentRoom, destinations.get(selection - 1));
+        if (path == null) {
+            Console.printWithPause("You can't think of a way to get there from here");
+            return;
+        }
+        for (Door door : path) {
+            Room nextRoom = door.getOtherSide(player.getCurrentRoom());
+            door.interact(player);
+            if (!player.isAlive() || player.getCurrentRoom() != nextRoom)
+                return;
+        }
+    }
+
     /**
      * Prints out a dialogue where the Player looks around the current Room they
      * are in for any NPCs they could interact with. The player then selects an NPC
@@ -213,11 +479,13 @@ public class Game implements Serializable {
      */
     private void lookForNPCs() {
         Room currentRoom = player.getCurrentRoom();
-        List<NPC> NPCs = new ArrayList<>(currentRoom.getNPCs());
+        InteractableView<NPC> NPCs = new InteractableView<>(currentRoom.getNPCs(), currentRoom::removeNPC);
 
         if (player.isHallucinating()) {
-            while (new Random().nextInt(10) < 2) {
-                NPCs.add(new HallucinatedNPC());
+            while (player.getRandom().nextInt(10) < 2) {
+                HallucinatedNPC npc = new HallucinatedNPC(player.getRandom());
+                NPCs.overlay(npc);
+                GameEvents.hallucinationSpawned(currentRoom.getDescription(), "NPC", npc.getDescription());
             }
         }
 
@@ -225,9 +493,6 @@ public class Game implements Serializable {
                 "You look to see if there's someone here",
                 "But there isn't",
                 "Who do you approach? (0 : keep your distance)");
-
-        List<NPC> roomNPCs = currentRoom.getNPCs();
-        roomNPCs.removeIf(npc -> !NPCs.contains(npc));
     }
 
     /**
@@ -240,11 +505,13 @@ public class Game implements Serializable {
      */
     private void lookAroundRoom() {
         Room currentRoom = player.getCurrentRoom();
-        List<Interactable> contents = new ArrayList<>(currentRoom.getContents());
+        InteractableView<Interactable> contents = new InteractableView<>(currentRoom.getContents(), currentRoom::removeContents);
 
         if (player.isHallucinating()) {
-            while (new Random().nextInt(10) < 2) {
-                contents.add(new HallucinatedItem());
+            while (player.getRandom().nextInt(10) < 2) {
+                HallucinatedItem item = new HallucinatedItem(player.getRandom());
+                contents.overlay(item);
+                GameEvents.hallucinationSpawned(currentRoom.getDescription(), "item", item.getDescription());
             }
         }
 
@@ -252,9 +519,6 @@ public class Game implements Serializable {
                 "You examine the room more closely",
                 "But there's nothing here, its just " + currentRoom.getDescription(),
                 "What do you want to interact with? (0 : nothing)");
-
-        List<Interactable> roomContents = currentRoom.getContents();
-        roomContents.removeIf(item -> !contents.contains(item));
     }
 
     /**
@@ -265,11 +529,14 @@ public class Game implements Serializable {
      * @see Item
      */
     private void checkoutBackpack() {
-        List<Item> inventory = new ArrayList<>(player.getItemsInBackpack());
+        //NOTE: Items that get used up take themselves out of the backpack, the ones that are left stay in it.
+        InteractableView<Item> inventory = new InteractableView<>(player.getItemsInBackpack(), null);
 
         if (player.isHallucinating()) {
-            while (new Random().nextInt(10) < 2) {
-                inventory.add(new HallucinatedItem());
+            while (player.getRandom().nextInt(10) < 2) {
+                HallucinatedItem item = new HallucinatedItem(player.getRandom());
+                inventory.overlay(item);
+                GameEvents.hallucinationSpawned(player.getCurrentRoom().getDescription(), "item", item.getDescription());
             }
         }
 
@@ -277,16 +544,14 @@ public class Game implements Serializable {
                 "You check your backpack",
                 "But there's nothing useful in it.. Just some candy wrappers and broken pencils",
                 "Which one do you use? (0 : none of them)");
-
-        List<Item> playerInventory = player.getItemsInBackpack();
-        playerInventory.removeIf(item -> !inventory.contains(item));
     }
 
     /**
      * Helper function for running a dialogue with the player about which item
      * from a list they want to interact with.
      *
-     * @param interactables The list of Interactables that the Player can choose from.
+     * @param interactables The Interactables that the Player can choose from. An Item that the Player
+     *                      picks up is taken out of it, and thereby out of wherever it was.
      * @param actionDescription Prints what the player does when looking through the list, for example "you look through your backpack".
      * @param emptyListDescription What to print if the list is empty
      * @param promptDescription What prompt to use for the player input, for example "What do you choose?"
@@ -300,9 +565,9 @@ public class Game implements Serializable {
         Console.printWithPause(actionDescription);
         if (interactables.size() > 0) {
             Console.printLine("You see:");
-            for (int i = 0; i < interactables.size(); ++i) {
-                Interactable interactable = interactables.get(i);
-                Console.print("  (%d) ", i + 1);
+            int number = 0;
+            for (Interactable interactable : interactables) {
+                Console.print("  (%d) ", ++number);
                 interactable.inspect(player);
             }
 
@@ -332,17 +597,7 @@ public class Game implements Serializable {
      */
     private void dumpExposition() {
 
-        Console.printConversationWithPauses(
-                "You wake up with a terrible throbbing headache",
-                "Its the middle of the night",
-                "You pull yourself up, and stand up on two feet, and then it hits you",
-                "You forgot to hand in your assignment, AND THE DEADLINE IS TOMORROW MORNING!",
-                "Growling thunder echoes through the air, spreading through your room",
-                "\"Maybe it's a good thing that I woke up.\", you think to yourself",
-                "\"At least I didn't forget.\"",
-                "You turn on your computer, eager to hand in your work",
-                "\"Oh no.. no no NO!\" your cries drown out the sounds of thunder outside",
-                "You forgot to save your work. It's all gone");
+        Console.printDialogue(EXPOSITION_OPENING);
 
         boolean playerSelectedOption = false;
         boolean playerTriedBlamingVirus = false;
@@ -417,32 +672,9 @@ public class Game implements Serializable {
             }
         }
 
-        Console.printConversationWithPauses(
-                "\n\"Hmm..\" you spend a few minutes scratching your head",
-                "And then you recall: you worked though this assignment on the university computers",
-                "There must be a backup on those computers!",
-                "That was already over a week ago. The school has since been closed due to the virus outbreak",
-                "The work may be a week old, but at least its partially complete",
-                "Maybe you could redo the few bits that were missing, and be done before the deadline!",
-                "The school might be closed now",
-                "But you're willing to risk breaking in for a good grade",
-                "Get in, finish the assignment, get the backup, get out, it should be easy",
-                "You put on some clothes and a rain-coat, and start heading towards the school",
-                "",
-                "After a few minutes in the rain, you finally reach the entrance of one of the campus buildings",
-                "Good thing you live so close to the school, otherwise you would have been soaked!",
-                "You walk over to the entrance, and then you notice the sign",
-                "\"Closed until further notice due to the virus outbreak, Sorry!\"",
-                "Despite this sign, the inside of the building is actually lit up, how strange",
-                "Applying a forceful nudge, you push through the revolving doors of the university building",
-                "You're in",
-                "And thus, your quest for the school computer room begins!");
-
-        Console.printWithPause(
-                "\n=================================" +
-                        "\n Quarantine: The Last Assignment" +
-                        "\n=================================\n"
-        );
+        Console.printDialogue(EXPOSITION_ENDING);
+
+        Console.printDialogue(TITLE);
     }
 
     /**
@@ -451,6 +683,56 @@ public class Game implements Serializable {
      */
     public void setPlayer(Player player){
         this.player = player;
+        player.setAutoSaver(autoSaver);
+    }
+
+    /**
+     * Gets the AutoSaver that autosaves this Game.
+     * @return the AutoSaver, or null if the Game isn't autosaved
+     */
+    public AutoSaver getAutoSaver() {
+        return autoSaver;
+    }
+
+    /**
+     * Sets the AutoSaver that autosaves this Game whenever the player enters a room.
+     * @param autoSaver the AutoSaver, or null to turn autosaving off
+     */
+    public void setAutoSaver(AutoSaver autoSaver) {
+        this.autoSaver = autoSaver;
+        player.setAutoSaver(autoSaver);
+    }
+
+    /**
+     * Gets the journal this Game is saved to.
+     * @return the path of the SaveJournal
+     */
+    public Path getSaveJournalPath() {
+        return saveJournalPath;
+    }
+
+    /**
+     * Sets the journal this Game is saved to, and loaded from.
+     * @param saveJournalPath the path of the SaveJournal
+     */
+    public void setSaveJournalPath(Path saveJournalPath) {
+        this.saveJournalPath = saveJournalPath;
+    }
+
+    /**
+     * Gets the CommandLog that the commands of this Game are logged to.
+     * @return the CommandLog, or null if the Game isn't logged
+     */
+    public CommandLog getCommandLog() {
+        return commandLog;
+    }
+
+    /**
+     * Sets the CommandLog that every command typed in during this Game is logged to.
+     * @param commandLog the CommandLog, or null to turn logging off
+     */
+    public void setCommandLog(CommandLog commandLog) {
+        this.commandLog = commandLog;
     }
 
 }
\ No newline at end of file
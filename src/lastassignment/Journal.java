@@ -1,18 +1,22 @@
 package lastassignment;
 
+import lastassignment.metrics.Command;
+import lastassignment.metrics.CommandMetrics;
 import lastassignment.utils.Console;
 import lastassignment.utils.GameStateLoader;
 import lastassignment.io.Serializer;
 
-import java.io.File;
-import java.io.IOException;
+import lastassignment.io.SaveJournal;
+
+import java.util.List;
 
 /**
  * @author Boris
  * @author Jana
- * @version 1.2
+ * @version 1.3
  *
  * The Player uses his Journal to save and load a specific state of Player from a file.
+ * All entries are kept in a single SaveJournal file.
  *
  * @see Game
  * @see Player
@@ -28,17 +32,29 @@ public class Journal {
      * @see Game
      */
     public static void open(Game game, Player player) {
+        CommandMetrics.begin();
+        try {
+            openDialogue(game, player);
+        } finally {
+            CommandMetrics.end(Command.JOURNAL_DIALOG);
+        }
+    }
+
+    private static void openDialogue(Game game, Player player) {
         Console.printWithPause("You take your leather bound journal out of your backpack");
         boolean playerResponded = false;
         while (!playerResponded) {
             Console.printLine("What would you like to do? (0: nothing)");
             Console.printLine("  (1) Write a new entry (Save game-state)");
             Console.printLine("  (2) Read an old entry (Load game-state)");
+            boolean hasAutosave = game.getAutoSaver() != null && game.getAutoSaver().exists();
+            if (hasAutosave)
+                Console.printLine("  (3) Go back to the last dog-eared page (Load autosave)");
             Console.print("");
             String input = Console.readInput();
             switch (input) {
                 case "1":
-                    if (addNewEntryDialogue(player)) {
+                    if (addNewEntryDialogue(game, player)) {
                         playerResponded = true;
                     }
                     break;
@@ -47,6 +63,13 @@ public class Journal {
                         playerResponded = true;
                     }
                     break;
+                case "3":
+                    if (hasAutosave) {
+                        Console.printWithPause("You flip to the page you dog-eared when you last entered a room");
+                        GameStateLoader.loadAutosave(game);
+                        playerResponded = true;
+                    }
+                    break;
                 case "0":
                     playerResponded = true;
                     break;
@@ -56,31 +79,29 @@ public class Journal {
     }
 
     /**
-     * Opens a dialogue with the Player asking them to name their save file.
-     * If the filename the player enters in response is valid, the given Game is then
-     * saved to the given filename. The Player is notified of any problems if they
+     * Opens a dialogue with the Player asking them to title their save.
+     * If the title the player enters in response is valid, the given Game is then
+     * saved under the given title. The Player is notified of any problems if they
      * occur during saving, or if they would be overwriting another file.
      *
+     * @param game The game whose journal to save to.
      * @param player the state of Player to save.
      * @return true if the state of Player is successfully saved.
      * @see Player
      */
-    private static boolean addNewEntryDialogue(Player player) {
+    private static boolean addNewEntryDialogue(Game game, Player player) {
 
         Console.print("What will be the title of your new entry?");
-        String saveFilename = Console.readString();
-        File saveDirectory = new File("savedgames");
-        String saveFilepath = saveDirectory + File.separator + saveFilename + ".ser";
+        String saveTitle = Console.readString();
 
-        if (!isValidFilename(saveFilename)) {
-            Console.printWithPause("%s is not a valid title", saveFilename);
+        if (!isValidTitle(saveTitle)) {
+            Console.printWithPause("%s is not a valid title", saveTitle);
             Console.printWithPause("You decide not to write it in the end");
             return false;
         }
 
-        File saveFile = new File(saveFilepath);
-        if (saveFile.exists()) {
-            Console.printWithPause("You already have an entry called \"%s\"", saveFilename);
+        if (Serializer.hasSave(saveTitle, game.getSaveJournalPath())) {
+            Console.printWithPause("You already have an entry called \"%s\"", saveTitle);
             boolean playerResponded = false;
             while (!playerResponded) {
                 Console.printLine("Would you like to overwrite it?");
@@ -100,7 +121,7 @@ public class Journal {
             }
         }
 
-        Serializer.savePlayer(player, saveFilename);
+        Serializer.savePlayer(player, saveTitle, game.getSaveJournalPath());
         return true;
     }
 
@@ -118,8 +139,8 @@ public class Journal {
      * @see Player
      */
     private static boolean readOldEntryDialogue(Game game, Player player) {
-        String[] oldParagraphs = getListOfFilesIn("savedgames");
-        if (oldParagraphs.length == 0) {
+        List<String> oldParagraphs = Serializer.listSaves(game.getSaveJournalPath());
+        if (oldParagraphs.isEmpty()) {
             Console.printWithPause("You realize that you haven't written any paragraphs yet");
             return false;
         }
@@ -129,17 +150,17 @@ public class Journal {
         boolean playerMadeSelection = false;
         while (!playerMadeSelection) {
             Console.printLine("Which journal entry would you like to read?");
-            for (int i = 0; i < oldParagraphs.length; ++i) {
-                Console.printLine("  (%d) %s", i + 1, oldParagraphs[i]);
+            for (int i = 0; i < oldParagraphs.size(); ++i) {
+                Console.printLine("  (%d) %s", i + 1, oldParagraphs.get(i));
             }
             Console.printLine("  (0) None of them - I changed my mind");
 
             int selectedParagraph = Console.readInt();
             if (selectedParagraph == 0) {
                 return false;
-            } else if (selectedParagraph > 0 && selectedParagraph <= oldParagraphs.length) {
+            } else if (selectedParagraph > 0 && selectedParagraph <= oldParagraphs.size()) {
                 playerMadeSelection = true;
-                String paragraphTitle = oldParagraphs[selectedParagraph - 1].split("\\.")[0];
+                String paragraphTitle = oldParagraphs.get(selectedParagraph - 1);
 
                 Console.printWithPause("You prepare to read the entry titled '%s'", paragraphTitle);
                 boolean playerResponded = false;
@@ -150,7 +171,7 @@ public class Journal {
                     String input = Console.readInput();
                     switch (input) {
                         case "1":
-                            addNewEntryDialogue(player);
+                            addNewEntryDialogue(game, player);
                             playerResponded = true;
                             break;
                         case "2":
@@ -169,34 +190,18 @@ public class Journal {
 
 
     /**
-     * @param filename The filename to check, for example "savedgames/save1.bin" or "::save1::".
-     * @return true if the given String would make for a valid filename.
+     * @param title The title to check, for example "save1" or "::save1::".
+     * @return true if the given String would make for a valid journal entry title.
      */
-    private static boolean isValidFilename(String filename) {
+    private static boolean isValidTitle(String title) {
 
-        if (filename.equals("")) return false;
+        if (title.equals("")) return false;
 
-        final char[] ILLEGAL_CHARACTERS = { '/', '\n', '\r', '\t', '\0', '\f', '`', '?', '*', '\\', '<', '>', '|', '\"', ':' };
-        for (char fc : filename.toCharArray())
-            for (char illegal : ILLEGAL_CHARACTERS)
-                if (fc == illegal)
-                    return false;
-
-        File file = new File(filename);
-        try {
-            file.getCanonicalFile();
-            return true;
-        } catch (IOException io) {
-            return false;
-        }
-    }
+        for (char tc : title.toCharArray())
+            if (Character.isISOControl(tc))
+                return false;
 
-    /**
-     * @param directory A directory whose files to list out.
-     * @return An array of filenames of the files located in the given directory.
-     */
-    private static String[] getListOfFilesIn(String directory) {
-        String dir = directory + File.separator;
-        return new File(dir).list();
+        //NOTE: Titles are stored as UTF-8, which takes at most 3 bytes per char.
+        return title.length() * 3 <= SaveJournal.MAX_TITLE_LENGTH;
     }
 }
\ No newline at end of file
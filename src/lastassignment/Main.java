@@ -1,10 +1,95 @@
 package lastassignment;
 
+import lastassignment.metrics.CommandMetrics;
+import lastassignment.metrics.MetricsReporter;
+import lastassignment.server.GameServer;
+import lastassignment.server.LoadGenerator;
+import lastassignment.simulation.Policy;
+import lastassignment.simulation.Simulator;
+import lastassignment.simulation.StandardPolicy;
+import lastassignment.utils.Console;
+import lastassignment.world.WorldLoader;
+import lastassignment.world.WorldTemplate;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.List;
+
 public class Main {
 
-    public static void main(String[] args) {
-        Game game = new Game();
-        game.play();
+    /**
+     * Simulated playthroughs are stopped after this many turns, unless told otherwise.
+     */
+    private static final int DEFAULT_SIMULATED_TURNS = 500;
+
+    /**
+     * Starts the Game. How long every command takes is measured while playing, see MetricsReporter.
+     * Besides normal play, a couple of command line flags are supported:
+     *   --replay script.txt                   plays through the script and shows the output
+     *   --replay-log commands.log             replays a logged game from its last snapshot and shows the output
+     *   --benchmark script.txt [playthroughs] replays the script headlessly and reports playthroughs/s
+     *   --server [port]                       hosts many simultaneous games over TCP
+     *   --loadtest sessions commands [port]   plays many sessions against a server and reports latencies,
+     *                                         a server is started in-process if no port is given, which
+     *                                         also reports what every command took on its side
+     *   --compile-world in.world out.bin      compiles a world file into its binary form, which loads faster
+     *   --simulate [playthroughs] [threads] [policy] [turns]
+     *                                         plays without a player, and reports win rate, deaths, turns and money
+     *
+     * @param args Command line arguments.
+     * @see MetricsReporter
+     * @see ScriptReplayer
+     * @see GameServer
+     * @see LoadGenerator
+     * @see WorldLoader
+     * @see Simulator
+     */
+    public static void main(String[] args) throws IOException, InterruptedException {
+        try {
+            if (args.length >= 2 && args[0].equals("--replay")) {
+                List<String> script = ScriptReplayer.readScript(args[1]);
+                ScriptReplayer.playOnce(script, System.out);
+            } else if (args.length >= 2 && args[0].equals("--replay-log")) {
+                ScriptReplayer.replayLog(Paths.get(args[1]), System.out);
+            } else if (args.length >= 2 && args[0].equals("--benchmark")) {
+                List<String> script = ScriptReplayer.readScript(args[1]);
+                int playthroughs = args.length >= 3 ? Integer.parseInt(args[2]) : 1000;
+                ScriptReplayer.benchmark(script, playthroughs);
+            } else if (args.length >= 1 && args[0].equals("--server")) {
+                int port = args.length >= 2 ? Integer.parseInt(args[1]) : GameServer.DEFAULT_PORT;
+                new GameServer(port).serve();
+            } else if (args.length >= 3 && args[0].equals("--loadtest")) {
+                int sessions = Integer.parseInt(args[1]);
+                int commands = Integer.parseInt(args[2]);
+                if (args.length >= 4) {
+                    LoadGenerator.run("localhost", Integer.parseInt(args[3]), sessions, commands);
+                } else {
+                    GameServer server = new GameServer(0);
+                    Thread serverThread = new Thread(server::serve, "game-server");
+                    serverThread.setDaemon(true);
+                    serverThread.start();
+                    LoadGenerator.run("localhost", server.getPort(), sessions, commands);
+                    server.close();
+                    Console.printLine("Measured by the server:");
+                    Console.print("%s", CommandMetrics.getDefault().getReport());
+                }
+            } else if (args.length >= 3 && args[0].equals("--compile-world")) {
+                WorldLoader.compile(Paths.get(args[1]), Paths.get(args[2]));
+            } else if (args.length >= 1 && args[0].equals("--simulate")) {
+                int playthroughs = args.length >= 2 ? Integer.parseInt(args[1]) : 100000;
+                int threads = args.length >= 3 ? Integer.parseInt(args[2]) : Runtime.getRuntime().availableProcessors();
+                Policy policy = args.length >= 4 ? StandardPolicy.valueOf(args[3].toUpperCase()) : StandardPolicy.RANDOM;
+                int maxTurns = args.length >= 5 ? Integer.parseInt(args[4]) : DEFAULT_SIMULATED_TURNS;
+                new Simulator(WorldTemplate.getDefault(), policy, maxTurns).run(playthroughs, System.nanoTime(), threads).report();
+            } else {
+                MetricsReporter.start(MetricsReporter.DEFAULT_PATH);
+                Game game = new Game();
+                game.play();
+            }
+        } finally {
+            //NOTE: Whatever the Console is still holding on to shouldn't get lost on the way out.
+            Console.flush();
+        }
     }
 
 }
\ No newline at end of file
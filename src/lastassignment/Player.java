@@ -1,18 +1,33 @@
 package lastassignment;
 
+import lastassignment.combat.CombatResolver;
 import lastassignment.doors.Door;
 import lastassignment.items.Clothes;
+import lastassignment.items.Inventory;
 import lastassignment.items.Item;
 import lastassignment.items.Map;
 import lastassignment.items.Weapon;
+import lastassignment.metrics.GameEvents;
 import lastassignment.npcs.Shopkeeper;
 import lastassignment.roomcontents.VendingMachine;;
 import lastassignment.npcs.CompanionRobot;
 import lastassignment.utils.*;
-
+import lastassignment.io.AutoSaver;
+import lastassignment.io.SaveCheckpoint;
+import lastassignment.io.SaveReader;
+import lastassignment.io.SaveWriter;
+import lastassignment.io.Saveable;
+import lastassignment.world.RoomGraph;
+import lastassignment.world.TravelPlanner;
+import lastassignment.world.WorldCopier;
+import lastassignment.world.WorldMap;
+
+import java.io.IOException;
 import java.io.Serializable;
-import java.util.ArrayList;
-import java.util.List;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
 
 /**
  * @author Boris
@@ -25,13 +40,14 @@ import java.util.List;
  * @see Attackable
  * @see Infectable
  * @see Serializable
+ * @see Saveable
  * @see Room
  * @see Door
  * @see CompanionRobot
  * @see Clothes
  * @see Weapon
  */
-public class Player implements Inspectable, Attackable, Infectable, Serializable {
+public class Player implements Inspectable, Attackable, Infectable, Serializable, Saveable {
     /**
      * The name of the player before they introduces themselves in the "default" configuration.
      */
@@ -71,6 +87,13 @@ public class Player implements Inspectable, Attackable, Infectable, Serializable
 
     private static final long serialVersionUID = 42L;
 
+    /**
+     * Mixed into the seed of the WorldCopier, so that the rolls of the player never line up with
+     * the numbers the WorldCopier picks from the same seed.
+     * @see WorldCopier#random(String)
+     */
+    private static final long RANDOM_SALT = 0x5DEECE66DL;
+
     private String name;
     private Room currentRoom;
     private int health;
@@ -82,7 +105,9 @@ public class Player implements Inspectable, Attackable, Infectable, Serializable
     private Clothes currentOutfit;
     private Weapon currentWeapon;
     private CompanionRobot companion;
-    private final List<Item> inventory;
+    private final Inventory inventory;
+    private final Set<Room> visitedRooms;
+    private final SessionRandom random;
 
     private boolean hasCompletedAssignment;
     private boolean hasWonGame;
@@ -91,6 +116,13 @@ public class Player implements Inspectable, Attackable, Infectable, Serializable
     private boolean wasAskedForName;
     private boolean isHallucinating;
 
+    private transient WorldCopier worldCopier;
+    private transient AutoSaver autoSaver;
+    private transient SaveCheckpoint saveCheckpoint;
+    private transient TravelPlanner travelPlanner;
+    private transient WorldMap worldMap;
+    private transient CombatResolver combatResolver;
+
     /**
      * Initialises a player in a given starting Room.
      *
@@ -106,7 +138,10 @@ public class Player implements Inspectable, Attackable, Infectable, Serializable
         maxHealth = DEFAULT_MAX_HEALTH;
         fistDamage = DEFAULT_FIST_DAMAGE;
         money = DEFAULT_STARTING_MONEY;
-        inventory = new ArrayList<>();
+        inventory = new Inventory();
+        visitedRooms = new LinkedHashSet<>();
+        visitedRooms.add(startingRoom);
+        random = new SessionRandom(ThreadLocalRandom.current().nextLong());
         hasCompletedAssignment = false;
         hasWonGame = false;
         isInfected = false;
@@ -201,21 +236,39 @@ public class Player implements Inspectable, Attackable, Infectable, Serializable
 
         if (companion != null) {
             companion.getAttackedFor(damage);
-            if (!companion.isAlive()) {
-                currentRoom.removeNPC(companion);
-                companion = null;
-            }
+            if (!companion.isAlive())
+                loseCompanion();
         } else {
-            health -= damage;
+            takeHit(damage);
             Console.printWithPause("The enemy retaliates for %d hit points, bringing you down to %d hit points!",
                     damage, health);
-            if (!this.isAlive()) {
-                health = 0;
+            if (!this.isAlive())
                 this.die();
-            }
         }
     }
 
+    /**
+     * Lowers the Player's health by the damage of a hit, but not below 0, without telling the player about it.
+     * Whatever hit the Player is the one telling them, and letting them die if this killed them.
+     *
+     * @param damage damage that the player is hit for.
+     * @see lastassignment.combat.CombatResolver
+     */
+    public void takeHit(int damage) {
+        assert damage >= 0;
+        health -= damage;
+        if (health < 0)
+            health = 0;
+    }
+
+    /**
+     * The Player's companion was destroyed, and is left behind in the current room.
+     */
+    public void loseCompanion() {
+        currentRoom.removeNPC(companion);
+        companion = null;
+    }
+
     public void getDamagedFor(int damage) {
         assert damage >= 0;
 
@@ -335,9 +388,9 @@ public class Player implements Inspectable, Attackable, Infectable, Serializable
     }
 
     /**
-     * @return List of Items in the backpack/inventory of the Player.
+     * @return The Items in the backpack/inventory of the Player, in the order they were put in.
      */
-    public List<Item> getItemsInBackpack() {
+    public Inventory getItemsInBackpack() {
         return inventory;
     }
 
@@ -373,12 +426,7 @@ public class Player implements Inspectable, Attackable, Infectable, Serializable
      * @see Map
      */
     public Map getMap() {
-        for (Item item : inventory) {
-            if (item instanceof Map) {
-                return (Map)item;
-            }
-        }
-        return null;
+        return (Map)inventory.first(Inventory.Slot.MAP);
     }
 
     /**
@@ -387,7 +435,7 @@ public class Player implements Inspectable, Attackable, Infectable, Serializable
      * @see Map
      */
     public boolean hasMap() {
-        return getMap() != null;
+        return inventory.count(Inventory.Slot.MAP) > 0;
     }
 
     /**
@@ -400,11 +448,14 @@ public class Player implements Inspectable, Attackable, Infectable, Serializable
     }
 
     /**
-     * Lets the player change rooms.
+     * Lets the player change rooms. The game is autosaved every time the player enters a room.
      * @param room new room
      * @see Room
+     * @see AutoSaver
      */
     public void setCurrentRoom(Room room) {
+        Object event = GameEvents.beginRoomTransition();
+        Room fromRoom = currentRoom;
 
         if (companion != null) {
             currentRoom.removeNPC(companion);
@@ -412,6 +463,74 @@ public class Player implements Inspectable, Attackable, Infectable, Serializable
         }
 
         currentRoom = room;
+        visitedRooms.add(room);
+        if (autoSaver != null)
+            autoSaver.snapshot(this);
+        GameEvents.endRoomTransition(event, fromRoom != null ? fromRoom.getDescription() : null, room.getDescription());
+    }
+
+    /**
+     * Gets all the rooms the player has been in, in the order they first got there.
+     * @return visited rooms
+     */
+    public Set<Room> getVisitedRooms() {
+        return Collections.unmodifiableSet(visitedRooms);
+    }
+
+    /**
+     * Gets the planner that finds the way from room to room for the player. It is kept around for as
+     * long as the player plays in the same world, so that the paths it found can be used again.
+     * @return travel planner
+     * @see TravelPlanner
+     */
+    public TravelPlanner getTravelPlanner() {
+        //NOTE: Without a copier, nothing tells the RoomGraph about changes, so it can't be kept around.
+        if (worldCopier == null)
+            return new TravelPlanner(new RoomGraph(), this);
+        if (travelPlanner == null || travelPlanner.getGraph() != worldCopier.getRoomGraph())
+            travelPlanner = new TravelPlanner(worldCopier.getRoomGraph(), this);
+        return travelPlanner;
+    }
+
+    /**
+     * Gets the map of the part of the world the player has explored. It is kept around for as long
+     * as the player plays in the same world, so that only what changed has to be drawn again.
+     * @return world map
+     * @see WorldMap
+     */
+    public WorldMap getWorldMap() {
+        if (worldCopier == null)
+            return new WorldMap(new RoomGraph(), this);
+        if (worldMap == null || worldMap.getGraph() != worldCopier.getRoomGraph())
+            worldMap = new WorldMap(worldCopier.getRoomGraph(), this);
+        return worldMap;
+    }
+
+    /**
+     * Gets the CombatResolver the player's fights are resolved with. It is started over for every
+     * fight, so that fighting doesn't need a new one every time.
+     * @return combat resolver, or null if the player hasn't fought yet
+     * @see lastassignment.npcs.Enemy#startFighting
+     */
+    public CombatResolver getCombatResolver() {
+        return combatResolver;
+    }
+
+    /**
+     * Sets the CombatResolver the player's fights are resolved with.
+     * @param combatResolver combat resolver
+     */
+    public void setCombatResolver(CombatResolver combatResolver) {
+        this.combatResolver = combatResolver;
+    }
+
+    /**
+     * Gets the random number generator of the session, which decides everything that happens by chance.
+     * @return the generator, which must only be used on the thread the game is played on
+     * @see SessionRandom
+     */
+    public SessionRandom getRandom() {
+        return random;
     }
 
     /**
@@ -597,4 +716,126 @@ public class Player implements Inspectable, Attackable, Infectable, Serializable
         this.money = money;
     }
 
+    /**
+     * Gets the copier that copied the world the player is playing in.
+     * @return the copier, or null if the world wasn't copied from a template
+     * @see WorldCopier
+     */
+    public WorldCopier getWorldCopier() {
+        return worldCopier;
+    }
+
+    /**
+     * Sets the copier that copied the world the player is playing in.
+     * The random number generator of the session starts over from the seed of the copier,
+     * so every session copied with the same seed plays out the same.
+     * @param worldCopier the copier
+     */
+    public void setWorldCopier(WorldCopier worldCopier) {
+        this.worldCopier = worldCopier;
+        if (worldCopier != null)
+            random.setState(worldCopier.getSeed() ^ RANDOM_SALT);
+    }
+
+    /**
+     * Gets the AutoSaver that autosaves the player whenever they enter a room.
+     * @return the AutoSaver, or null if the player isn't autosaved
+     * @see AutoSaver
+     */
+    public AutoSaver getAutoSaver() {
+        return autoSaver;
+    }
+
+    /**
+     * Sets the AutoSaver that autosaves the player whenever they enter a room.
+     * @param autoSaver the AutoSaver, or null to stop autosaving
+     */
+    public void setAutoSaver(AutoSaver autoSaver) {
+        this.autoSaver = autoSaver;
+    }
+
+    /**
+     * Gets what the last save of the player looked like, so the next save only needs to write what changed.
+     * @return the checkpoint, or null if the player wasn't saved yet
+     * @see SaveCheckpoint
+     */
+    public SaveCheckpoint getSaveCheckpoint() {
+        return saveCheckpoint;
+    }
+
+    /**
+     * Sets what the last save of the player looked like.
+     * @param saveCheckpoint the checkpoint, or null to write everything from scratch next time
+     */
+    public void setSaveCheckpoint(SaveCheckpoint saveCheckpoint) {
+        this.saveCheckpoint = saveCheckpoint;
+    }
+
+    /**
+     * Writes the state of the player for a save file.
+     * @param out where to write the state to
+     * @throws IOException if the state could not be written
+     */
+    @Override
+    public void writeState(SaveWriter out) throws IOException {
+        out.writeString(name);
+        out.writeRef(currentRoom);
+        out.writeInt(health);
+        out.writeInt(maxHealth);
+        out.writeInt(fistDamage);
+        out.writeInt(damageModifier);
+        out.writeInt(naughtiness);
+        out.writeDouble(money);
+        out.writeRef(currentOutfit);
+        out.writeRef(currentWeapon);
+        out.writeRef(companion);
+        out.writeRefs(inventory);
+        out.writeBoolean(hasCompletedAssignment);
+        out.writeBoolean(hasWonGame);
+        out.writeBoolean(isInfected);
+        out.writeBoolean(isImmune);
+        out.writeBoolean(wasAskedForName);
+        out.writeBoolean(isHallucinating);
+        out.writeRefs(visitedRooms);
+        out.writeLong(random.getState());
+    }
+
+    /**
+     * Reads back the state of the player from a save file.
+     * @param in where to read the state from
+     * @throws IOException if the state could not be read
+     */
+    @Override
+    public void readState(SaveReader in) throws IOException {
+        name = in.readString();
+        currentRoom = in.readRef();
+        health = in.readInt();
+        maxHealth = in.readInt();
+        fistDamage = in.readInt();
+        damageModifier = in.readInt();
+        naughtiness = in.readInt();
+        money = in.readDouble();
+        currentOutfit = in.readRef();
+        currentWeapon = in.readRef();
+        companion = in.readRef();
+        inventory.clear();
+        in.readRefs(inventory);
+        hasCompletedAssignment = in.readBoolean();
+        hasWonGame = in.readBoolean();
+        isInfected = in.readBoolean();
+        isImmune = in.readBoolean();
+        wasAskedForName = in.readBoolean();
+        isHallucinating = in.readBoolean();
+        visitedRooms.clear();
+        //NOTE: Saves from before the player remembered where they had been only know the current room.
+        if (in.getFormatVersion() >= 2)
+            in.readRefs(visitedRooms);
+        visitedRooms.add(currentRoom);
+        //NOTE: The map only ever adds to where the player has been, so after a load it starts over.
+        worldMap = null;
+        //NOTE: Older saves didn't keep the generator, so it just goes on from the seed of the world.
+        if (in.getFormatVersion() >= 4)
+            random.setState(in.readLong());
+    }
+
 }
\ No newline at end of file
@@ -6,22 +6,40 @@ import lastassignment.utils.Console;
 import lastassignment.utils.Inspectable;
 import lastassignment.utils.Interactable;
 import lastassignment.npcs.NPC;
+import lastassignment.io.SaveReader;
+import lastassignment.io.SaveWriter;
+import lastassignment.io.Saveable;
+import lastassignment.world.Copyable;
+import lastassignment.world.DirtyTracker;
+import lastassignment.world.RoomGraph;
+import lastassignment.world.WorldCopier;
 
+import java.io.IOException;
+import java.io.ObjectOutputStream;
 import java.io.Serializable;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.function.Predicate;
 
 /**
  * A room in the game.
  */
-public class Room implements Inspectable, Serializable {
+public class Room implements Inspectable, Serializable, Copyable, Saveable {
 
     private static final long serialVersionUID = 42L;
 
     private final String description;
-    private final List<NPC> NPCs;
-    private final List<Interactable> contents;
-    private final ArrayList<Door> doors; //NOTE(Boris): Assignment requirements state this needs to be an ArrayList specifically and not a List.
+    private List<NPC> NPCs;
+    private List<Interactable> contents;
+    private ArrayList<Door> doors; //NOTE(Boris): Assignment requirements state this needs to be an ArrayList specifically and not a List.
+
+    //NOTE: Only set for copies of a template Room whose NPCs, contents and doors haven't been copied yet.
+    private transient Room template;
+    private transient WorldCopier copier;
+    private transient DirtyTracker dirtyTracker;
+    private transient RoomGraph roomGraph;
+    private transient List<Door> doorsView;
 
     /**
      * Initialises a Room with a description and empty arrays for NPCs, contents and doors.
@@ -34,6 +52,115 @@ public class Room implements Inspectable, Serializable {
         contents = new ArrayList<>();
     }
 
+    /**
+     * Copies a Room for a new session. The NPCs, contents and doors are copied on first use,
+     * so a session only pays for the rooms it actually gets to.
+     * @param template the room to copy
+     * @param copier the copier copying the world
+     */
+    private Room(Room template, WorldCopier copier) {
+        this.description = template.description;
+        this.template = template;
+        this.copier = copier;
+        this.dirtyTracker = copier.getDirtyTracker();
+        this.roomGraph = copier.getRoomGraph();
+        copier.register(template, this);
+        roomGraph.addRoom(this);
+    }
+
+    /**
+     * Tells the DirtyTracker of the session, if any, that the room changed.
+     */
+    private void markDirty() {
+        if (dirtyTracker != null)
+            dirtyTracker.markDirty(this);
+    }
+
+    /**
+     * Copies the NPCs, contents and doors of the template room, if that hasn't happened yet.
+     * The doors copy the rooms on their other side, but those again only copy their own
+     * contents once they are used.
+     */
+    private void materialize() {
+        if (template == null)
+            return;
+        NPCs = new ArrayList<>(template.NPCs.size());
+        contents = new ArrayList<>(template.contents.size());
+        doors = new ArrayList<>(template.doors.size());
+        doorsView = null;
+        copier.copyAll(template.NPCs, NPCs);
+        copier.copyAll(template.contents, contents);
+        copier.copyAll(template.doors, doors);
+        template = null;
+        copier = null;
+        markDirty();
+    }
+
+    /**
+     * Checks whether this is a copy of a template room that is still exactly the same as
+     * the template, because its NPCs, contents and doors haven't even been copied yet.
+     * @return true if the room hasn't been used since it was copied
+     */
+    public boolean isCopyPending() {
+        return template != null;
+    }
+
+    /**
+     * Makes sure a saved room holds its own NPCs, contents and doors, instead of a reference to the template.
+     * @param out stream the room is written to
+     * @throws IOException if the room could not be written
+     */
+    private void writeObject(ObjectOutputStream out) throws IOException {
+        materialize();
+        out.defaultWriteObject();
+    }
+
+    /**
+     * Writes which NPCs, contents and doors are in the room.
+     * @param out where to write the state to
+     * @throws IOException if the state could not be written
+     */
+    @Override
+    public void writeState(SaveWriter out) throws IOException {
+        materialize();
+        out.writeRefs(NPCs);
+        out.writeRefs(contents);
+        out.writeRefs(doors);
+    }
+
+    /**
+     * Reads back which NPCs, contents and doors are in the room.
+     * @param in where to read the state from
+     * @throws IOException if the state could not be read
+     */
+    @Override
+    public void readState(SaveReader in) throws IOException {
+        List<NPC> savedNPCs = new ArrayList<>();
+        List<Interactable> savedContents = new ArrayList<>();
+        ArrayList<Door> savedDoors = new ArrayList<>();
+        in.readRefs(savedNPCs);
+        in.readRefs(savedContents);
+        in.readRefs(savedDoors);
+        NPCs = savedNPCs;
+        contents = savedContents;
+        doors = savedDoors;
+        doorsView = null;
+        template = null;
+        copier = null;
+        if (roomGraph != null)
+            roomGraph.doorsReplaced(this);
+    }
+
+    /**
+     * Copies the room for a new session.
+     * @param copier the copier copying the world
+     * @return the copy
+     */
+    @Override
+    public Room copy(WorldCopier copier) {
+        return new Room(this, copier);
+    }
+
     /**
      * Lets the player inspect the room, i.e. see the description.
      * @param player current player
@@ -44,10 +171,12 @@ public class Room implements Inspectable, Serializable {
     }
 
     /**
-     * Gets contents of the room.
+     * Gets contents of the room. The contents should only be changed through the
+     * methods of the Room, so that the change gets saved.
      * @return contents
      */
     public List<Interactable> getContents() {
+        materialize();
         return contents;
     }
 
@@ -64,19 +193,42 @@ public class Room implements Inspectable, Serializable {
      * @param item interactable item
      */
     public void addContents(Interactable item) {
+        materialize();
         contents.add(item);
+        markDirty();
     }
 
     /**
-     * Gets all visible doors (not the hidden ones)
+     * Removes an item from the contents.
+     * @param item interactable item that is removed
+     */
+    public void removeContents(Interactable item) {
+        materialize();
+        if (item != null && contents.remove(item))
+            markDirty();
+    }
+
+    /**
+     * Removes all contents that match a condition.
+     * @param condition which contents to remove
+     */
+    public void removeContentsIf(Predicate<Interactable> condition) {
+        materialize();
+        if (contents.removeIf(condition))
+            markDirty();
+    }
+
+    /**
+     * Gets all visible doors (not the hidden ones). HiddenDoors are part of the contents of a room
+     * until they are revealed, so all the doors of the room are visible. The returned list is a
+     * read-only view, new doors should only be added through addDoor().
      * @return doors that are visible
      */
     public List<Door> getDoors() {
-        List<Door> nonHiddenDoors = new ArrayList<>();
-        for (Door d : doors) {
-            if (!(d instanceof HiddenDoor)) nonHiddenDoors.add(d);
-        }
-        return nonHiddenDoors;
+        materialize();
+        if (doorsView == null)
+            doorsView = Collections.unmodifiableList(doors);
+        return doorsView;
     }
 
     /**
@@ -84,15 +236,22 @@ public class Room implements Inspectable, Serializable {
      * @param door new door
      */
     public void addDoor(Door door) {
-        if (door != null)
+        materialize();
+        if (door != null) {
             doors.add(door);
+            markDirty();
+            if (roomGraph != null)
+                roomGraph.doorAdded(this, door);
+        }
     }
 
     /**
-     * Gets all NPCs that are in the room
+     * Gets all NPCs that are in the room. The NPCs should only be changed through the
+     * methods of the Room, so that the change gets saved.
      * @return list of NPS
      */
     public List<NPC> getNPCs() {
+        materialize();
         return NPCs;
     }
 
@@ -101,8 +260,11 @@ public class Room implements Inspectable, Serializable {
      * @param npc new NPC
      */
     public void addNPC(NPC npc) {
-        if (npc != null)
+        materialize();
+        if (npc != null) {
             NPCs.add(npc);
+            markDirty();
+        }
     }
 
     /**
@@ -110,8 +272,19 @@ public class Room implements Inspectable, Serializable {
      * @param npc NPC that is removed
      */
     public void removeNPC(NPC npc) {
-        if (npc != null)
-            NPCs.remove(npc);
+        materialize();
+        if (npc != null && NPCs.remove(npc))
+            markDirty();
+    }
+
+    /**
+     * Removes all NPCs that match a condition.
+     * @param condition which NPCs to remove
+     */
+    public void removeNPCsIf(Predicate<NPC> condition) {
+        materialize();
+        if (NPCs.removeIf(condition))
+            markDirty();
     }
 
     /**
@@ -119,8 +292,9 @@ public class Room implements Inspectable, Serializable {
      * @param hiddenDoor hidden door that is removed
      */
     public void removeHiddenDoorFromContents(HiddenDoor hiddenDoor) {
-        if (hiddenDoor != null) {
-            contents.remove(hiddenDoor);
+        materialize();
+        if (hiddenDoor != null && contents.remove(hiddenDoor)) {
+            markDirty();
         }
     }
 
@@ -0,0 +1,142 @@
+package lastassignment;
+
+import lastassignment.io.CommandLog;
+import lastassignment.utils.Console;
+import lastassignment.utils.ConsoleBackend;
+import lastassignment.utils.InputExhaustedException;
+import lastassignment.utils.ScriptedConsoleBackend;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * @version 1.0
+ *
+ * Plays through the Game headlessly, by feeding it a script of inputs instead of
+ * waiting for a player at the keyboard. A script is just a text file with one input
+ * per line, starting with the choice from the Game's start menu.
+ *
+ * @see Game
+ * @see ScriptedConsoleBackend
+ */
+public class ScriptReplayer {
+
+    /**
+     * Reads a script file.
+     *
+     * @param filename The path of the script file.
+     * @return All of the lines in the script.
+     * @throws IOException If the file could not be read.
+     */
+    public static List<String> readScript(String filename) throws IOException {
+        return Files.readAllLines(Paths.get(filename), StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Plays through a new Game using the given script as input. The playthrough ends once
+     * the player wins, dies, or the script runs out of lines. Replays aren't autosaved or logged,
+     * so they don't overwrite the autosave or the CommandLog of an actual playthrough, and they save
+     * to a throwaway journal, so they don't add to or overwrite the saves of an actual player either.
+     *
+     * @param script The inputs to play back.
+     * @param output Where to print the Game's output to, or null to throw it away.
+     * @return The number of script lines that were used up.
+     * @throws UncheckedIOException If the throwaway journal could not be created.
+     */
+    public static int playOnce(List<String> script, PrintStream output) {
+        ConsoleBackend previousBackend = Console.getBackend();
+        ScriptedConsoleBackend scriptedBackend = new ScriptedConsoleBackend(script, output);
+        Path journal = createThrowawayJournal();
+        Console.setBackend(scriptedBackend);
+        try {
+            Game game = new Game(null, null, journal, false);
+            game.play();
+        } catch (InputExhaustedException e) {
+            //NOTE: Running out of script is the normal way for a playthrough to end.
+        } finally {
+            scriptedBackend.flush();
+            Console.setBackend(previousBackend);
+            deleteThrowawayJournal(journal);
+        }
+        return scriptedBackend.getLinesConsumed();
+    }
+
+    /**
+     * Replays a CommandLog, starting from its snapshot, to see exactly what happened in a game
+     * that was logged, for example in a session on a GameServer that went wrong. The replay
+     * ends where the log does, and isn't autosaved or logged itself. It saves to a throwaway journal.
+     *
+     * @param path The log file.
+     * @param output Where to print the Game's output to.
+     * @throws IOException If the log could not be read.
+     * @see CommandLog
+     */
+    public static void replayLog(Path path, PrintStream output) throws IOException {
+        CommandLog.Contents log = CommandLog.read(path);
+        ConsoleBackend previousBackend = Console.getBackend();
+        ScriptedConsoleBackend scriptedBackend = new ScriptedConsoleBackend(log.getCommands(), output);
+        Path journal = createThrowawayJournal();
+        Console.setBackend(scriptedBackend);
+        try {
+            Game game = new Game(log.getPlayer());
+            game.setSaveJournalPath(journal);
+            game.resume(Collections.<String>emptyList());
+        } catch (InputExhaustedException e) {
+            //NOTE: The log ends before the game did, so that is where the replay ends too.
+        } finally {
+            scriptedBackend.flush();
+            Console.setBackend(previousBackend);
+            deleteThrowawayJournal(journal);
+        }
+    }
+
+    /**
+     * @return The path of a new, empty journal file in the temporary directory, for a replay to save to.
+     */
+    private static Path createThrowawayJournal() {
+        try {
+            return Files.createTempFile("replay-journal-", ".sav");
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static void deleteThrowawayJournal(Path journal) {
+        try {
+            Files.deleteIfExists(journal);
+        } catch (IOException e) {
+            //NOTE: It's in the temporary directory, so it gets cleaned up sooner or later anyway.
+        }
+    }
+
+    /**
+     * Plays through the given script as fast as possible, with all output thrown away,
+     * and reports how many playthroughs per second were achieved.
+     *
+     * @param script The inputs to play back.
+     * @param playthroughs How many times to play through the script.
+     */
+    public static void benchmark(List<String> script, int playthroughs) {
+        int warmupPlaythroughs = Math.min(playthroughs, 100);
+        for (int i = 0; i < warmupPlaythroughs; ++i)
+            playOnce(script, null);
+
+        long linesConsumed = 0;
+        long startTime = System.nanoTime();
+        for (int i = 0; i < playthroughs; ++i)
+            linesConsumed += playOnce(script, null);
+        long elapsedNanos = System.nanoTime() - startTime;
+
+        double seconds = elapsedNanos / 1e9;
+        Console.printLine("Replayed %d playthroughs (%d inputs) in %.3f s", playthroughs, linesConsumed, seconds);
+        Console.printLine("  %.1f playthroughs/s", playthroughs / seconds);
+        Console.printLine("  %.1f inputs/s", linesConsumed / seconds);
+    }
+}
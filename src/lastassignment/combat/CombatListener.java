@@ -0,0 +1,70 @@
+package lastassignment.combat;
+
+/**
+ * @version 1.0
+ *
+ * Hears about everything that happens in a fight that a CombatResolver resolves, in the order it
+ * happens. The CombatResolver only keeps track of the numbers, a CombatListener is what tells the
+ * player about them, and what applies them to the Player, their companion and the enemy. Everything
+ * is passed along as primitives, so resolving a fight doesn't allocate anything by itself.
+ *
+ * @see CombatResolver
+ */
+public interface CombatListener {
+
+    /**
+     * The player hit the enemy.
+     *
+     * @param damage How many hit points the enemy lost.
+     * @param enemyHealth How many hit points the enemy has left.
+     */
+    void enemyHit(int damage, int enemyHealth);
+
+    /**
+     * The enemy was knocked out, which ends the fight.
+     */
+    void enemyKnockedOut();
+
+    /**
+     * The player tries to run away, right before it's decided whether that works.
+     */
+    void fleeAttempted();
+
+    /**
+     * The player got away, which ends the fight.
+     *
+     * @param withCompanion true if the player's companion got away with them.
+     */
+    void fled(boolean withCompanion);
+
+    /**
+     * The enemy caught up with the player when they tried to run away, and is about to hit them.
+     */
+    void caught();
+
+    /**
+     * The player's companion took a hit that was meant for the player.
+     *
+     * @param damage How many hit points the companion lost.
+     * @param companionHealth How many hit points the companion has left.
+     */
+    void companionHit(int damage, int companionHealth);
+
+    /**
+     * The player's companion was destroyed, from now on the player takes the hits themselves.
+     */
+    void companionDestroyed();
+
+    /**
+     * The enemy hit the player.
+     *
+     * @param damage How many hit points the player lost.
+     * @param playerHealth How many hit points the player has left.
+     */
+    void playerHit(int damage, int playerHealth);
+
+    /**
+     * The player was killed, which ends the fight, and the game.
+     */
+    void playerKilled();
+}
@@ -0,0 +1,166 @@
+package lastassignment.combat;
+
+import lastassignment.utils.SessionRandom;
+
+/**
+ * @version 1.0
+ *
+ * The rules of a fight between the player and an enemy, without any of the dialog around it.
+ * A fight is resolved one round at a time: in every round the player either attacks or tries to
+ * run away. An attack hits the enemy for the player's damage, and unless that knocks them out, the
+ * enemy hits back. Running away works 8 times out of 10, otherwise the enemy catches up and hits
+ * the player. As long as the player has a companion, the companion takes the enemy's hits instead.
+ *
+ * All of the state of a fight is kept in a handful of ints, and everything that happens is passed
+ * on to a CombatListener as it happens, so the dialog of a fight is just a listener that prints
+ * what happened. A CombatResolver can be reused for fight after fight by calling start() again,
+ * so resolving a fight doesn't allocate anything, which lets simulations resolve millions of rounds.
+ * Every Player keeps one around, along with its listener, for all of their fights.
+ *
+ * @see CombatListener
+ */
+public class CombatResolver {
+
+    /**
+     * Out of 10 attempts to run away, this many work.
+     */
+    private static final int FLEE_CHANCE = 8;
+
+    private final CombatListener listener;
+    private SessionRandom random;
+    private int playerHealth;
+    private int playerDamage;
+    private int companionHealth;
+    private int enemyHealth;
+    private int enemyDamage;
+    private boolean playerFled;
+
+    /**
+     * @param listener Hears about everything that happens, or null to resolve fights silently.
+     */
+    public CombatResolver(CombatListener listener) {
+        this.listener = listener;
+    }
+
+    /**
+     * @return What hears about everything that happens, or null if fights are resolved silently.
+     */
+    public CombatListener getListener() {
+        return listener;
+    }
+
+    /**
+     * Starts a new fight.
+     *
+     * @param playerHealth The hit points of the player.
+     * @param playerDamage The damage the player does with an attack.
+     * @param companionHealth The hit points of the player's companion, or 0 if they don't have one.
+     * @param enemyHealth The hit points of the enemy.
+     * @param enemyDamage The damage the enemy does with an attack.
+     * @param random Decides whether running away works, this should be the random number generator of the player.
+     */
+    public void start(int playerHealth, int playerDamage, int companionHealth,
+                      int enemyHealth, int enemyDamage, SessionRandom random) {
+        this.playerHealth = playerHealth;
+        this.playerDamage = playerDamage;
+        this.companionHealth = companionHealth;
+        this.enemyHealth = enemyHealth;
+        this.enemyDamage = enemyDamage;
+        this.random = random;
+        playerFled = false;
+    }
+
+    /**
+     * Resolves a round where the player attacks the enemy.
+     */
+    public void attack() {
+        assert !isOver();
+        enemyHealth -= playerDamage;
+        if (enemyHealth < 0)
+            enemyHealth = 0;
+        if (listener != null)
+            listener.enemyHit(playerDamage, enemyHealth);
+        if (enemyHealth == 0) {
+            if (listener != null)
+                listener.enemyKnockedOut();
+        } else {
+            enemyStrikes();
+        }
+    }
+
+    /**
+     * Resolves a round where the player tries to run away.
+     */
+    public void flee() {
+        assert !isOver();
+        if (listener != null)
+            listener.fleeAttempted();
+        if (random.nextInt(10) < FLEE_CHANCE) {
+            playerFled = true;
+            if (listener != null)
+                listener.fled(companionHealth > 0);
+        } else {
+            if (listener != null)
+                listener.caught();
+            enemyStrikes();
+        }
+    }
+
+    /**
+     * The enemy hits the companion if the player has one, or the player otherwise.
+     */
+    private void enemyStrikes() {
+        if (companionHealth > 0) {
+            companionHealth -= enemyDamage;
+            if (companionHealth < 0)
+                companionHealth = 0;
+            if (listener != null)
+                listener.companionHit(enemyDamage, companionHealth);
+            if (companionHealth == 0 && listener != null)
+                listener.companionDestroyed();
+        } else {
+            playerHealth -= enemyDamage;
+            if (playerHealth < 0)
+                playerHealth = 0;
+            if (listener != null)
+                listener.playerHit(enemyDamage, playerHealth);
+            if (playerHealth == 0 && listener != null)
+                listener.playerKilled();
+        }
+    }
+
+    /**
+     * @return true once the player got away, or either the player or the enemy is down.
+     */
+    public boolean isOver() {
+        return playerFled || playerHealth == 0 || enemyHealth == 0;
+    }
+
+    /**
+     * @return true if the fight ended with the player running away.
+     */
+    public boolean hasPlayerFled() {
+        return playerFled;
+    }
+
+    /**
+     * @return The hit points the player has left.
+     */
+    public int getPlayerHealth() {
+        return playerHealth;
+    }
+
+    /**
+     * @return The hit points the player's companion has left, 0 if they have none (anymore).
+     */
+    public int getCompanionHealth() {
+        return companionHealth;
+    }
+
+    /**
+     * @return The hit points the enemy has left.
+     */
+    public int getEnemyHealth() {
+        return enemyHealth;
+    }
+}
@@ -6,6 +6,11 @@ import lastassignment.utils.Interactable;
 import lastassignment.Player;
 import lastassignment.Room;
 import lastassignment.npcs.Enemy;
+import lastassignment.io.SaveReader;
+import lastassignment.io.SaveWriter;
+import lastassignment.world.WorldCopier;
+
+import java.io.IOException;
 
 /**
  * @author Jana
@@ -60,6 +65,29 @@ public class AmbushDoor extends Door {
         this(description, description, room1, room2, enemy);
     }
 
+    private AmbushDoor(AmbushDoor original, WorldCopier copier) {
+        super(original, copier);
+        this.enemy = copier.copy(original.enemy);
+        this.blocked = original.blocked;
+    }
+
+    @Override
+    public AmbushDoor copy(WorldCopier copier) {
+        return new AmbushDoor(this, copier);
+    }
+
+    @Override
+    public void writeState(SaveWriter out) throws IOException {
+        super.writeState(out);
+        out.writeBoolean(blocked);
+    }
+
+    @Override
+    public void readState(SaveReader in) throws IOException {
+        super.readState(in);
+        blocked = in.readBoolean();
+    }
+
     /**
      * Inspects the door by the given player. If the Enemy was not defeated yet
      * the player will be informed that the door is guarded.
@@ -99,6 +127,7 @@ public class AmbushDoor extends Door {
             enemy.interact(player);
             if (!enemy.isAlive())
                 blocked = false;
+                markDirty();
         }
 
         if (!blocked) {
@@ -109,4 +138,16 @@ public class AmbushDoor extends Door {
         }
 
     }
+
+    /**
+     * The Player can only travel through the door once the Enemy guarding it was defeated.
+     *
+     * @param player The player.
+     * @param from The room the player would walk through the door from.
+     * @return true if the door isn't blocked anymore.
+     */
+    @Override
+    public boolean canTravelThrough(Player player, Room from) {
+        return !blocked;
+    }
 }
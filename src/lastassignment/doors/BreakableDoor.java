@@ -4,6 +4,11 @@ import lastassignment.Player;
 import lastassignment.utils.Attackable;
 import lastassignment.utils.Console;
 import lastassignment.Room;
+import lastassignment.io.SaveReader;
+import lastassignment.io.SaveWriter;
+import lastassignment.world.WorldCopier;
+
+import java.io.IOException;
 
 /**
  * @author Jana
@@ -59,6 +64,29 @@ public class BreakableDoor extends Door {
         this(description, description, room1, room2, damage);
     }
 
+    private BreakableDoor(BreakableDoor original, WorldCopier copier) {
+        super(original, copier);
+        this.damage = original.damage;
+        this.crackedOpen = original.crackedOpen;
+    }
+
+    @Override
+    public BreakableDoor copy(WorldCopier copier) {
+        return new BreakableDoor(this, copier);
+    }
+
+    @Override
+    public void writeState(SaveWriter out) throws IOException {
+        super.writeState(out);
+        out.writeBoolean(crackedOpen);
+    }
+
+    @Override
+    public void readState(SaveReader in) throws IOException {
+        super.readState(in);
+        crackedOpen = in.readBoolean();
+    }
+
     /**
      * If the door hasn't been crackedOpen yet, the Player will be prompted to break it
      * down. If he does so he gets damaged appropriately. Once this BreakableDoor has been
@@ -89,6 +117,7 @@ public class BreakableDoor extends Door {
                     Console.printWithPause("You kick against the door and it cracks open!");
                     player.getAttackedFor(damage);
                     crackedOpen = true;
+                    markDirty();
                     Console.printWithPause("Ouch, cracking the door open damaged you for " + damage + "hit points");
                     Console.printWithPause("You now have " + player.getHealth() + " hit points");
                     break;
@@ -100,4 +129,16 @@ public class BreakableDoor extends Door {
         }
     }
 
+    /**
+     * The Player can only travel through the door once it has been broken down, since breaking it hurts.
+     *
+     * @param player The player.
+     * @param from The room the player would walk through the door from.
+     * @return true if the door has been cracked open.
+     */
+    @Override
+    public boolean canTravelThrough(Player player, Room from) {
+        return crackedOpen;
+    }
+
 }
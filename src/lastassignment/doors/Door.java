@@ -1,5 +1,6 @@
 package lastassignment.doors;
 
+import lastassignment.metrics.GameEvents;
 import lastassignment.npcs.Enemy;
 import lastassignment.npcs.NPC;
 import lastassignment.utils.Console;
@@ -7,10 +8,17 @@ import lastassignment.Player;
 import lastassignment.Room;
 import lastassignment.utils.Inspectable;
 import lastassignment.utils.Interactable;
+import lastassignment.world.Copyable;
+import lastassignment.world.DirtyTracker;
+import lastassignment.world.RoomGraph;
+import lastassignment.io.SaveReader;
+import lastassignment.io.SaveWriter;
+import lastassignment.io.Saveable;
+import lastassignment.world.WorldCopier;
 
+import java.io.IOException;
 import java.io.Serializable;
 import java.util.List;
-import java.util.Random;
 
 /**
  * @author Boris
@@ -23,7 +31,7 @@ import java.util.Random;
  * @see Interactable
  * @see Serializable
  */
-public class Door implements Interactable, Serializable {
+public class Door implements Interactable, Serializable, Copyable, Saveable {
 
     private static final long serialVersionUID = 42L;
 
@@ -31,6 +39,8 @@ public class Door implements Interactable, Serializable {
     private final Room room2;
     protected String descriptionFromRoom1;
     protected String descriptionFromRoom2;
+    private transient DirtyTracker dirtyTracker;
+    private transient RoomGraph roomGraph;
 
     /**
      * Constructs a Room from 2 descriptions that will be shown when the player is in the corresponding Rooms.
@@ -62,6 +72,93 @@ public class Door implements Interactable, Serializable {
         this(description, description, room1, room2);
     }
 
+    /**
+     * Copies a Door for a new session. Unlike the other constructors, this does not add the door
+     * to its Rooms, since the copied Rooms copy their own list of doors.
+     *
+     * @param original The Door to copy.
+     * @param copier The copier that is copying the whole world.
+     * @see WorldCopier
+     */
+    protected Door(Door original, WorldCopier copier) {
+        copier.register(original, this);
+        this.dirtyTracker = copier.getDirtyTracker();
+        this.roomGraph = copier.getRoomGraph();
+        this.descriptionFromRoom1 = original.descriptionFromRoom1;
+        this.descriptionFromRoom2 = original.descriptionFromRoom2;
+        this.room1 = copier.copy(original.room1);
+        this.room2 = copier.copy(original.room2);
+    }
+
+    /**
+     * Tells the DirtyTracker of the session, if any, that the state of the Door changed.
+     * Subclasses must call this whenever they change something they save in writeState().
+     * The RoomGraph of the session is told as well, since the change might open or close the door.
+     *
+     * @see DirtyTracker
+     * @see RoomGraph
+     */
+    protected void markDirty() {
+        if (dirtyTracker != null)
+            dirtyTracker.markDirty(this);
+        if (roomGraph != null)
+            roomGraph.doorChanged();
+    }
+
+    /**
+     * Every subclass of Door must override this, so that the copy is of the same class.
+     *
+     * @param copier The copier that is copying the whole world.
+     * @return A copy of this Door for a new session.
+     */
+    @Override
+    public Door copy(WorldCopier copier) {
+        return new Door(this, copier);
+    }
+
+    private Door(Room room1, Room room2) {
+        this.room1 = room1;
+        this.room2 = room2;
+    }
+
+    /**
+     * Creates a Door between two Rooms without adding it to them, and without any descriptions.
+     * This is used to restore a Door that was created during the game from a save file,
+     * where the Rooms already list the door, and the descriptions are read afterwards.
+     *
+     * @param room1 The first room that the door belongs to.
+     * @param room2 The second room that the door belongs to.
+     * @return The new Door.
+     * @see Saveable
+     */
+    public static Door createDetached(Room room1, Room room2) {
+        return new Door(room1, room2);
+    }
+
+    /**
+     * Writes the descriptions of the Door, since those can change during the game.
+     *
+     * @param out Where to write the state to.
+     * @throws IOException If the state could not be written.
+     */
+    @Override
+    public void writeState(SaveWriter out) throws IOException {
+        out.writeString(descriptionFromRoom1);
+        out.writeString(descriptionFromRoom2);
+    }
+
+    /**
+     * Reads back the descriptions of the Door.
+     *
+     * @param in Where to read the state from.
+     * @throws IOException If the state could not be read.
+     */
+    @Override
+    public void readState(SaveReader in) throws IOException {
+        descriptionFromRoom1 = in.readString();
+        descriptionFromRoom2 = in.readString();
+    }
+
     /**
      * Add this door to the door list of both rooms.
      * Used because some subclasses (HiddenDoor) might not want
@@ -95,6 +192,7 @@ public class Door implements Interactable, Serializable {
     public void setDescription(String description) {
         descriptionFromRoom1 = description;
         descriptionFromRoom2 = description;
+        markDirty();
     }
 
     /**
@@ -128,27 +226,24 @@ public class Door implements Interactable, Serializable {
         Room currentRoom = player.getCurrentRoom();
         assert currentRoom == room1 || currentRoom == room2;
 
-        if (currentRoom == room1) {
-            Console.printWithPause("You go through %s and into another room", descriptionFromRoom1.toLowerCase());
-            player.setCurrentRoom(room2);
-        } else {
-            Console.printWithPause("You go through %s and into another room", descriptionFromRoom2.toLowerCase());
-            player.setCurrentRoom(room1);
-        }
+        Room nextRoom = getOtherSide(currentRoom);
+        String description = currentRoom == room1 ? descriptionFromRoom1 : descriptionFromRoom2;
+        Console.printWithPause("You go through %s and into another room", description.toLowerCase());
+        player.setCurrentRoom(nextRoom);
 
         if (player.getCompanion() != null)
             Console.printWithPause("Your companion robot follows");
 
-        Room nextRoom = player.getCurrentRoom();
         List<NPC> npcsInNextRoom = nextRoom.getNPCs();
-        Random rand = new Random();
 
         for (NPC npc : npcsInNextRoom) {
             if (npc instanceof Enemy) {
                 Enemy enemy = (Enemy)npc;
-                if (rand.nextInt(10) < 7) {
+                if (player.getRandom().nextInt(10) < 7) {
                     Console.printWithPause("As soon as you step foot into the next room, you are jumped by %s!", enemy.getDescription());
+                    Object ambush = GameEvents.beginAmbush();
                     enemy.startFighting(player);
+                    GameEvents.endAmbush(ambush, nextRoom.getDescription(), enemy.getDescription(), !enemy.isAlive(), player.isAlive());
                     if (!enemy.isAlive())
                         Console.printWithPause("Phew.. You finally get a chance to take in your surroundings");
                     break;
@@ -157,6 +252,31 @@ public class Door implements Interactable, Serializable {
         }
     }
 
+    /**
+     * Checks whether the Player could walk through this door right now without anything getting
+     * in their way, so that they can travel through it without having to decide anything.
+     * Subclasses that can stop the Player must override this. Whatever the answer depends on,
+     * apart from the Player's Keys, must be saved in writeState(), so that it is marked dirty when it changes.
+     *
+     * @param player The player.
+     * @param from The room the player would walk through the door from.
+     * @return true if the Player would end up on the other side of the door.
+     * @see lastassignment.world.TravelPlanner
+     */
+    public boolean canTravelThrough(Player player, Room from) {
+        return true;
+    }
+
+    /**
+     * Gets the room on the other side of the door.
+     * @param room One of the two rooms the door is connected to.
+     * @return The other room the door is connected to.
+     * @see Room
+     */
+    public Room getOtherSide(Room room) {
+        return room == room1 ? room2 : room1;
+    }
+
     /**
      * Gets the first room the door is connected to.
      * @return room
@@ -1,17 +1,21 @@
 package lastassignment.doors;
 
 import lastassignment.utils.Console;
+import lastassignment.utils.SessionRandom;
 import lastassignment.Player;
 import lastassignment.Room;
+import lastassignment.world.WorldCopier;
 
-import java.util.Random;
 
 public class HallucinatedDoor extends Door {
 
-    public HallucinatedDoor() {
+    /**
+     * @param random Decides what the player sees.
+     */
+    public HallucinatedDoor(SessionRandom random) {
         super("", null, null);
 
-        switch (new Random().nextInt(20)) {
+        switch (random.nextInt(20)) {
             case 0:
                 setDescription("plain wooden door");
                 break;
@@ -75,6 +79,15 @@ public class HallucinatedDoor extends Door {
         }
     }
 
+    private HallucinatedDoor(HallucinatedDoor original, WorldCopier copier) {
+        super(original, copier);
+    }
+
+    @Override
+    public HallucinatedDoor copy(WorldCopier copier) {
+        return new HallucinatedDoor(this, copier);
+    }
+
     @Override
     protected void addDoorToRooms(Room room1, Room room2) {}
 
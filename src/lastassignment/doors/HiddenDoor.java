@@ -4,6 +4,11 @@ import lastassignment.utils.Console;
 import lastassignment.utils.Interactable;
 import lastassignment.Player;
 import lastassignment.Room;
+import lastassignment.io.SaveReader;
+import lastassignment.io.SaveWriter;
+import lastassignment.world.WorldCopier;
+
+import java.io.IOException;
 
 /**
  * @author Boris
@@ -67,6 +72,30 @@ public class HiddenDoor extends Door {
         this(hiddenDescription, revealedDescription, hiddenDescription, revealedDescription, room1, room2);
     }
 
+    private HiddenDoor(HiddenDoor original, WorldCopier copier) {
+        super(original, copier);
+        this.revealedDescription = original.revealedDescription;
+        this.revealedDescriptionFromRoom2 = original.revealedDescriptionFromRoom2;
+        this.hidden = original.hidden;
+    }
+
+    @Override
+    public HiddenDoor copy(WorldCopier copier) {
+        return new HiddenDoor(this, copier);
+    }
+
+    @Override
+    public void writeState(SaveWriter out) throws IOException {
+        super.writeState(out);
+        out.writeBoolean(hidden);
+    }
+
+    @Override
+    public void readState(SaveReader in) throws IOException {
+        super.readState(in);
+        hidden = in.readBoolean();
+    }
+
     /**
      * Adds this HiddenDoor as the *contents* of both of it's respective rooms.
      * A regular Door adds itself to the *doors*.
@@ -98,6 +127,7 @@ public class HiddenDoor extends Door {
         Console.printWithPause("Its just " + descriptionFromCurrentRoom.toLowerCase() + ".. hmm");
         Console.printWithPause("Maybe you can use this as a way out of here");
         hidden = false;
+        markDirty();
         HiddenDoorConverter.convertHiddenDoor(this);
     }
 
@@ -124,4 +154,17 @@ public class HiddenDoor extends Door {
     public String getRevealedDescriptionFromRoom2() {
         return revealedDescriptionFromRoom2;
     }
+
+    /**
+     * A HiddenDoor only ever gets revealed, the Player never walks through it.
+     *
+     * @param player The player.
+     * @param from The room the player would walk through the door from.
+     * @return false
+     * @see HiddenDoorConverter
+     */
+    @Override
+    public boolean canTravelThrough(Player player, Room from) {
+        return false;
+    }
 }
@@ -16,12 +16,14 @@ public class HiddenDoorConverter {
     /**
      * Converts the given HiddenDoor into a regular Door. The HiddenDoor
      * is removed from a Rooms list of *contents* and gets placed in the
-     * Rooms list of *doors*.
+     * Rooms list of *doors*. Adding the new Door to the Rooms also adds it to the
+     * RoomGraph of the session, so the graph never has to be rebuilt.
      *
      * @param hiddenDoor The HiddenDoor which to convert.
      * @see Door
      * @see HiddenDoor
      * @see Room
+     * @see lastassignment.world.RoomGraph
      */
     public static void convertHiddenDoor(HiddenDoor hiddenDoor) {
 
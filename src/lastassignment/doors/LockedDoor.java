@@ -5,6 +5,11 @@ import lastassignment.utils.Console;
 import lastassignment.utils.Interactable;
 import lastassignment.Player;
 import lastassignment.Room;
+import lastassignment.io.SaveReader;
+import lastassignment.io.SaveWriter;
+import lastassignment.world.WorldCopier;
+
+import java.io.IOException;
 
 /**
  * @author Boris
@@ -62,6 +67,29 @@ public class LockedDoor extends Door {
         this(description, description, room1, room2, key);
     }
 
+    private LockedDoor(LockedDoor original, WorldCopier copier) {
+        super(original, copier);
+        this.locked = original.locked;
+        this.key = copier.copy(original.key);
+    }
+
+    @Override
+    public LockedDoor copy(WorldCopier copier) {
+        return new LockedDoor(this, copier);
+    }
+
+    @Override
+    public void writeState(SaveWriter out) throws IOException {
+        super.writeState(out);
+        out.writeBoolean(locked);
+    }
+
+    @Override
+    public void readState(SaveReader in) throws IOException {
+        super.readState(in);
+        locked = in.readBoolean();
+    }
+
     /**
      * The Player tries to go through the door. If the LockedDoor is unlocked,
      * the Player can pass through and this acts like a regular Door. However,
@@ -83,6 +111,7 @@ public class LockedDoor extends Door {
                 Console.printWithPause("But you think you might have the key");
                 Console.printWithPause("You jam the %s into the door, and it opens!", key.getDescription());
                 locked = false;
+                markDirty();
                 super.interact(player);
             } else {
                 Console.printWithPause("But it seems like you don't have a key that would fit the lock");
@@ -93,4 +122,30 @@ public class LockedDoor extends Door {
         }
     }
 
+    /**
+     * The Player can only travel through the door once it is unlocked, or if they have the Key.
+     *
+     * @param player The player.
+     * @param from The room the player would walk through the door from.
+     * @return true if the door is unlocked, or the Player has the Key.
+     */
+    @Override
+    public boolean canTravelThrough(Player player, Room from) {
+        return !locked || player.hasItem(key);
+    }
+
+    /**
+     * @return true if the door wasn't unlocked yet.
+     */
+    public boolean isLocked() {
+        return locked;
+    }
+
+    /**
+     * @return The Key that unlocks the door.
+     */
+    public Key getKey() {
+        return key;
+    }
+
 }
@@ -3,6 +3,11 @@ package lastassignment.doors;
 import lastassignment.utils.Console;
 import lastassignment.Player;
 import lastassignment.Room;
+import lastassignment.io.SaveReader;
+import lastassignment.io.SaveWriter;
+import lastassignment.world.WorldCopier;
+
+import java.io.IOException;
 
 public class OneWayDoor extends Door {
 
@@ -19,6 +24,31 @@ public class OneWayDoor extends Door {
         this(description, description, room1, room2);
     }
 
+    private OneWayDoor(OneWayDoor original, WorldCopier copier) {
+        super(original, copier);
+        isOpenFromRoom2 = original.isOpenFromRoom2;
+        playerTriedToOpenDoorFromRoom2 = original.playerTriedToOpenDoorFromRoom2;
+    }
+
+    @Override
+    public OneWayDoor copy(WorldCopier copier) {
+        return new OneWayDoor(this, copier);
+    }
+
+    @Override
+    public void writeState(SaveWriter out) throws IOException {
+        super.writeState(out);
+        out.writeBoolean(isOpenFromRoom2);
+        out.writeBoolean(playerTriedToOpenDoorFromRoom2);
+    }
+
+    @Override
+    public void readState(SaveReader in) throws IOException {
+        super.readState(in);
+        isOpenFromRoom2 = in.readBoolean();
+        playerTriedToOpenDoorFromRoom2 = in.readBoolean();
+    }
+
     @Override
     public void interact(Player player) {
         if (isOpenFromRoom2)
@@ -31,6 +61,7 @@ public class OneWayDoor extends Door {
                 super.interact(player);
                 Console.printWithPause("As you go through, something clicks");
                 isOpenFromRoom2 = true;
+                markDirty();
                 if (playerTriedToOpenDoorFromRoom2) {
                     Console.printWithPause("You are now in %s", getRoom1().getDescription());
                     Console.printWithPause("Aha! So that's where this damned %s leads to", getDescription(player));
@@ -47,10 +78,15 @@ public class OneWayDoor extends Door {
                 Console.printWithPause("Maybe you can open it from the other side, wherever that is");
                 Console.printWithPause("For now, you go back to the center of the room\n");
                 playerTriedToOpenDoorFromRoom2 = true;
+                markDirty();
 
             }
 
         }
     }
 
+    @Override
+    public boolean canTravelThrough(Player player, Room from) {
+        return isOpenFromRoom2 || from == getRoom1();
+    }
 }
\ No newline at end of file
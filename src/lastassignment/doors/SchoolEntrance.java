@@ -5,6 +5,7 @@ import lastassignment.utils.Console;
 import lastassignment.utils.Interactable;
 import lastassignment.Player;
 import lastassignment.Room;
+import lastassignment.world.WorldCopier;
 
 /**
  * @author Boris
@@ -39,6 +40,15 @@ public class SchoolEntrance extends Door {
         super("annoyingly slow revolving door", room1, room2);
     }
 
+    private SchoolEntrance(SchoolEntrance original, WorldCopier copier) {
+        super(original, copier);
+    }
+
+    @Override
+    public SchoolEntrance copy(WorldCopier copier) {
+        return new SchoolEntrance(this, copier);
+    }
+
     /**
      * The Player tries to pass through the SchoolEntrance. If the Player
      * completed the assignment, then they can pass through both ways. However,
@@ -78,4 +88,15 @@ public class SchoolEntrance extends Door {
 
     }
 
+    /**
+     * Travelling never takes the Player out of the school, since leaving is how they win the game.
+     *
+     * @param player The player.
+     * @param from The room the player would walk through the door from.
+     * @return true if the player would walk into the school.
+     */
+    @Override
+    public boolean canTravelThrough(Player player, Room from) {
+        return from == getRoom1();
+    }
 }
\ No newline at end of file
@@ -0,0 +1,269 @@
+package lastassignment.io;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * @version 1.0
+ *
+ * Writes autosaves to disk on a background thread, so that the game never has to wait for the disk.
+ * Snapshots are handed over with submit(), which returns right away. If a newer snapshot for the same
+ * file comes in before the previous one was written, the previous one is simply dropped, since only the
+ * latest autosave matters. Every autosave is first written to a temporary file which then replaces the
+ * old autosave, so a crash halfway through writing never leaves a broken autosave behind.
+ *
+ * Every writer has a thread of its own, which runs until the writer is closed. The shared writer
+ * is never closed, it writes whatever is still pending when the JVM shuts down.
+ *
+ * @see AutoSaver
+ */
+public class AutoSaveWriter implements AutoCloseable {
+
+    /**
+     * How long to wait for pending autosaves to be written when the game shuts down.
+     */
+    private static final long SHUTDOWN_TIMEOUT_MILLIS = 2000;
+
+    private static AutoSaveWriter defaultWriter;
+
+    private final Map<Path, byte[]> pending;
+    private boolean isWriting;
+    private boolean isClosed;
+    private final Thread thread;
+    private final Thread shutdownHook;
+
+    private final AtomicLong snapshotsTaken;
+    private final AtomicLong snapshotsCoalesced;
+    private final AtomicLong snapshotsWritten;
+    private final AtomicLong failures;
+    private final AtomicLong totalWriteNanos;
+    private final AtomicLong maxWriteNanos;
+
+    /**
+     * Gets the writer shared by all sessions, starting it if it isn't running yet.
+     *
+     * @return The shared AutoSaveWriter.
+     */
+    public static synchronized AutoSaveWriter getDefault() {
+        if (defaultWriter == null || defaultWriter.isClosed())
+            defaultWriter = new AutoSaveWriter();
+        return defaultWriter;
+    }
+
+    /**
+     * Starts a new background thread that writes autosaves.
+     */
+    public AutoSaveWriter() {
+        pending = new LinkedHashMap<>();
+        snapshotsTaken = new AtomicLong();
+        snapshotsCoalesced = new AtomicLong();
+        snapshotsWritten = new AtomicLong();
+        failures = new AtomicLong();
+        totalWriteNanos = new AtomicLong();
+        maxWriteNanos = new AtomicLong();
+
+        thread = new Thread(this::writeLoop, "autosave-writer");
+        thread.setDaemon(true);
+        thread.start();
+        //NOTE: The writer thread is a daemon so it doesn't keep the game running, but the last autosave
+        //      shouldn't be lost just because the player quit right after changing rooms.
+        shutdownHook = new Thread(() -> awaitIdle(SHUTDOWN_TIMEOUT_MILLIS), "autosave-shutdown");
+        Runtime.getRuntime().addShutdownHook(shutdownHook);
+    }
+
+    /**
+     * Writes whatever is still pending, waiting for it as long as it would be waited for when the
+     * game shuts down, and then stops the thread of the writer. Snapshots submitted after that are
+     * counted as failures.
+     */
+    @Override
+    public void close() {
+        synchronized (this) {
+            if (isClosed)
+                return;
+            isClosed = true;
+        }
+        awaitIdle(SHUTDOWN_TIMEOUT_MILLIS);
+        thread.interrupt();
+        try {
+            Runtime.getRuntime().removeShutdownHook(shutdownHook);
+        } catch (IllegalStateException e) {
+            //NOTE: The JVM is already shutting down, and the hook is already waiting for the same thing.
+        }
+    }
+
+    /**
+     * @return true if the writer was closed.
+     */
+    public synchronized boolean isClosed() {
+        return isClosed;
+    }
+
+    /**
+     * Hands a snapshot over to be written in the background. Any snapshot for the same file that
+     * hasn't been written yet is replaced.
+     *
+     * @param path The file to write the snapshot to.
+     * @param save The snapshot. It must not be changed after it was submitted.
+     */
+    public synchronized void submit(Path path, byte[] save) {
+        if (isClosed) {
+            failures.incrementAndGet();
+            return;
+        }
+        snapshotsTaken.incrementAndGet();
+        if (pending.put(path, save) != null)
+            snapshotsCoalesced.incrementAndGet();
+        notifyAll();
+    }
+
+    /**
+     * Waits until every submitted snapshot has been written.
+     *
+     * @param timeoutMillis How long to wait at most.
+     * @return true if everything was written, false if the time ran out or the wait was interrupted.
+     */
+    public synchronized boolean awaitIdle(long timeoutMillis) {
+        long deadline = System.currentTimeMillis() + timeoutMillis;
+        try {
+            while (!pending.isEmpty() || isWriting) {
+                long remaining = deadline - System.currentTimeMillis();
+                if (remaining <= 0)
+                    return false;
+                wait(remaining);
+            }
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    /**
+     * Gets the number of snapshots that were submitted.
+     * @return snapshotsTaken
+     */
+    public long getSnapshotsTaken() {
+        return snapshotsTaken.get();
+    }
+
+    /**
+     * Gets the number of snapshots that were dropped because a newer one came in before they were written.
+     * @return snapshotsCoalesced
+     */
+    public long getSnapshotsCoalesced() {
+        return snapshotsCoalesced.get();
+    }
+
+    /**
+     * Gets the number of snapshots that were written to disk.
+     * @return snapshotsWritten
+     */
+    public long getSnapshotsWritten() {
+        return snapshotsWritten.get();
+    }
+
+    /**
+     * Gets the number of snapshots that could not be taken or written.
+     * @return failures
+     */
+    public long getFailures() {
+        return failures.get();
+    }
+
+    /**
+     * Gets the average time it took to write a snapshot to disk.
+     * @return The average write latency in nanoseconds, or 0 if nothing was written yet.
+     */
+    public long getAverageWriteNanos() {
+        long written = snapshotsWritten.get();
+        return written == 0 ? 0 : totalWriteNanos.get() / written;
+    }
+
+    /**
+     * Gets the longest time it took to write a snapshot to disk.
+     * @return The maximum write latency in nanoseconds.
+     */
+    public long getMaxWriteNanos() {
+        return maxWriteNanos.get();
+    }
+
+    /**
+     * Counts a snapshot that couldn't even be taken.
+     */
+    void recordFailure() {
+        failures.incrementAndGet();
+    }
+
+    /**
+     * Keeps writing out pending snapshots, oldest file first.
+     */
+    private void writeLoop() {
+        while (true) {
+            Path path;
+            byte[] save;
+            synchronized (this) {
+                try {
+                    while (pending.isEmpty())
+                        wait();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                Iterator<Map.Entry<Path, byte[]>> it = pending.entrySet().iterator();
+                Map.Entry<Path, byte[]> next = it.next();
+                it.remove();
+                path = next.getKey();
+                save = next.getValue();
+                isWriting = true;
+            }
+
+            long startTime = System.nanoTime();
+            try {
+                writeAtomically(path, save);
+                long elapsedNanos = System.nanoTime() - startTime;
+                snapshotsWritten.incrementAndGet();
+                totalWriteNanos.addAndGet(elapsedNanos);
+                maxWriteNanos.accumulateAndGet(elapsedNanos, Math::max);
+            } catch (IOException e) {
+                failures.incrementAndGet();
+            }
+
+            synchronized (this) {
+                isWriting = false;
+                notifyAll();
+            }
+        }
+    }
+
+    /**
+     * Writes the save to a temporary file next to the given path, makes sure it reached the disk,
+     * and then moves it over the given path.
+     */
+    private static void writeAtomically(Path path, byte[] save) throws IOException {
+        if (path.getParent() != null)
+            Files.createDirectories(path.getParent());
+        Path temporaryPath = path.resolveSibling(path.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(temporaryPath,
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer buffer = ByteBuffer.wrap(save);
+            while (buffer.hasRemaining())
+                channel.write(buffer);
+            channel.force(true);
+        }
+        try {
+            Files.move(temporaryPath, path, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(temporaryPath, path, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+}
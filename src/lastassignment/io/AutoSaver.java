@@ -0,0 +1,129 @@
+package lastassignment.io;
+
+import lastassignment.Player;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+/**
+ * @version 1.0
+ *
+ * Autosaves a single session every time the Player enters a new Room. Taking a snapshot only
+ * serializes and compresses the Player into memory, which takes some tens of microseconds.
+ * Writing the snapshot to disk is left to an AutoSaveWriter running in the background.
+ *
+ * @see AutoSaveWriter
+ * @see Player#setCurrentRoom
+ */
+public class AutoSaver {
+
+    /**
+     * Where the game autosaves to, unless told otherwise.
+     */
+    public static final Path DEFAULT_PATH = Paths.get("savedgames", "autosave.sav");
+
+    /**
+     * How long to wait for pending autosaves to be written before loading.
+     */
+    private static final long LOAD_TIMEOUT_MILLIS = 5000;
+
+    private final Path path;
+    private final AutoSaveWriter writer;
+    private boolean hasSnapshot;
+
+    /**
+     * @param path The file to autosave to.
+     */
+    public AutoSaver(Path path) {
+        this(path, AutoSaveWriter.getDefault());
+    }
+
+    /**
+     * @param path The file to autosave to.
+     * @param writer The writer that writes the autosaves to disk.
+     */
+    public AutoSaver(Path path, AutoSaveWriter writer) {
+        this.path = path;
+        this.writer = writer;
+    }
+
+    /**
+     * Takes a snapshot of the Player and the world they are playing in, and hands it over to the
+     * writer. The game carries on right away. Problems are only counted, since the player didn't
+     * ask for the autosave, and shouldn't be bothered if it fails.
+     *
+     * @param player The Player to autosave.
+     */
+    public void snapshot(Player player) {
+        ByteArrayOutputStream save = new ByteArrayOutputStream();
+        try {
+            Serializer.writePlayer(player, save);
+        } catch (IOException e) {
+            writer.recordFailure();
+            return;
+        }
+        writer.submit(path, save.toByteArray());
+        hasSnapshot = true;
+    }
+
+    /**
+     * Checks whether there is an autosave to load. Only autosaves taken by this AutoSaver count,
+     * whatever is already in the file could have been left there by anyone.
+     *
+     * @return true if an autosave was taken, and is written or about to be.
+     */
+    public boolean exists() {
+        return hasSnapshot;
+    }
+
+    /**
+     * Loads the latest autosave, after waiting for it to be written.
+     *
+     * @return The autosaved Player.
+     * @throws IOException If the autosave could not be read, or is not a valid save.
+     */
+    public Player load() throws IOException {
+        writer.awaitIdle(LOAD_TIMEOUT_MILLIS);
+        try (InputStream in = new BufferedInputStream(Files.newInputStream(path))) {
+            return Serializer.readPlayer(in);
+        }
+    }
+
+    /**
+     * Deletes the autosave, once the writer is done writing what was submitted before,
+     * for an autosave that shouldn't outlive the session it was taken in.
+     *
+     * @return true if the file is gone, false if it could not be deleted.
+     */
+    public boolean delete() {
+        writer.awaitIdle(LOAD_TIMEOUT_MILLIS);
+        hasSnapshot = false;
+        try {
+            Files.deleteIfExists(path);
+            return true;
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Gets the file this AutoSaver writes to.
+     * @return path
+     */
+    public Path getPath() {
+        return path;
+    }
+
+    /**
+     * Gets the writer that writes the autosaves to disk.
+     * @return writer
+     */
+    public AutoSaveWriter getWriter() {
+        return writer;
+    }
+}
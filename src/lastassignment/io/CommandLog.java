@@ -0,0 +1,358 @@
+package lastassignment.io;
+
+import lastassignment.Player;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * @version 1.0
+ *
+ * Logs everything the player types in during a Game, so that the game can be rebuilt exactly as it
+ * was if it crashes, or if someone wants to see what went wrong in somebody else's game. Since the
+ * world and every roll of the dice only depend on the seed of the session, a save of the Player
+ * followed by everything the player typed in after it describes the game completely. Logging a
+ * command only appends a few bytes to the end of the file, however big the world is.
+ *
+ * Once enough commands pile up, the log is compacted: a new snapshot of the Player is taken, and
+ * the file is replaced by one with only that snapshot in it. The new file is written next to the
+ * old one first, so a crash never leaves a log without a snapshot behind. A log file looks like this:
+ *
+ *   magic number, format version
+ *   the snapshot: its length shifted left by 2, plus 1, followed by a save written by the Serializer
+ *   for every command: its length shifted left by 2, followed by the command in UTF-8
+ *   3 once the game is over
+ *
+ * If the game crashed while a command was being appended, that command is cut off, and is simply
+ * left out when the log is read.
+ *
+ * Problems while logging are only remembered, since logging is not something the player asked for,
+ * and the game shouldn't be interrupted if it fails. A log that failed stops logging altogether.
+ *
+ * @see Serializer
+ * @see lastassignment.utils.RecordingConsoleBackend
+ */
+public class CommandLog {
+
+    /**
+     * Where the game logs commands to, unless told otherwise.
+     */
+    public static final Path DEFAULT_PATH = Paths.get("savedgames", "commands.log");
+
+    /**
+     * After this many commands, the log is compacted into a new snapshot.
+     */
+    public static final int COMMANDS_PER_SNAPSHOT = 1000;
+
+    private static final int MAGIC = 0x544C4143; //NOTE: "TLAC"
+    private static final short VERSION = 1;
+
+    private static final int COMMAND = 0;
+    private static final int SNAPSHOT = 1;
+    private static final int END = 3;
+
+    private final Path path;
+    private final ByteBuffer record;
+    private FileChannel channel;
+    private int commandsSinceSnapshot;
+    private boolean isSnapshotRequested;
+    private boolean hasFailed;
+
+    /**
+     * Creates a log that starts writing once the first snapshot is taken.
+     *
+     * @param path The file to log to.
+     */
+    public CommandLog(Path path) {
+        this.path = path;
+        record = ByteBuffer.allocate(1024);
+    }
+
+    /**
+     * @return true if the log should be compacted into a new snapshot, which is also true before the first one.
+     */
+    public boolean needsSnapshot() {
+        return !hasFailed && (channel == null || isSnapshotRequested || commandsSinceSnapshot >= COMMANDS_PER_SNAPSHOT);
+    }
+
+    /**
+     * Makes sure the next call to needsSnapshot() returns true, for example because the commands
+     * that were just logged load or save a game, which would not replay the same later on.
+     */
+    public void requestSnapshot() {
+        isSnapshotRequested = true;
+    }
+
+    /**
+     * @return true if something went wrong while logging, in which case nothing is logged anymore.
+     */
+    public boolean hasFailed() {
+        return hasFailed;
+    }
+
+    /**
+     * Replaces the log with a new one that starts from a snapshot of the Player.
+     *
+     * @param player The Player, at a point where the game waits for the next command in the main menu.
+     */
+    public void snapshot(Player player) {
+        if (hasFailed)
+            return;
+        try {
+            close();
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            DataOutputStream file = new DataOutputStream(bytes);
+            file.writeInt(MAGIC);
+            file.writeShort(VERSION);
+            ByteArrayOutputStream save = new ByteArrayOutputStream();
+            Serializer.writePlayer(player, save);
+            writeVarint(file, (save.size() << 2) | SNAPSHOT);
+            save.writeTo(file);
+            file.flush();
+
+            if (path.getParent() != null)
+                Files.createDirectories(path.getParent());
+            Path temporaryPath = path.resolveSibling(path.getFileName() + ".tmp");
+            Files.write(temporaryPath, bytes.toByteArray());
+            try {
+                Files.move(temporaryPath, path, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temporaryPath, path, StandardCopyOption.REPLACE_EXISTING);
+            }
+            channel = FileChannel.open(path, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+            commandsSinceSnapshot = 0;
+            isSnapshotRequested = false;
+        } catch (IOException e) {
+            fail();
+        }
+    }
+
+    /**
+     * Appends a command to the end of the log. Nothing is logged before the first snapshot.
+     *
+     * @param command The line the player typed in.
+     */
+    public void append(String command) {
+        if (channel == null)
+            return;
+        byte[] bytes = command.getBytes(StandardCharsets.UTF_8);
+        appendRecord((bytes.length << 2) | COMMAND, bytes);
+        ++commandsSinceSnapshot;
+    }
+
+    /**
+     * Marks the game as over and closes the log. The log is kept around, to see what happened in the game.
+     */
+    public void end() {
+        if (channel == null)
+            return;
+        appendRecord(END, new byte[0]);
+        try {
+            close();
+        } catch (IOException e) {
+            fail();
+        }
+    }
+
+    /**
+     * Reads back a log.
+     *
+     * @param path The log file.
+     * @return What is in the log.
+     * @throws IOException If the log can't be read, or doesn't have a valid snapshot.
+     */
+    public static Contents read(Path path) throws IOException {
+        return read(path, true);
+    }
+
+    /**
+     * Checks whether a game that was logged to the given file was interrupted before it was over.
+     * The snapshot isn't loaded, so this is cheap enough to check every time a Game starts.
+     *
+     * @param path The log file.
+     * @return true if there is a log that can be picked up again.
+     */
+    public static boolean canResume(Path path) {
+        try {
+            return !read(path, false).isOver();
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    private static Contents read(Path path, boolean shouldLoadSnapshot) throws IOException {
+        ByteBuffer file = ByteBuffer.wrap(Files.readAllBytes(path));
+        try {
+            if (file.getInt() != MAGIC)
+                throw new IOException("Not a command log");
+            short version = file.getShort();
+            if (version != VERSION)
+                throw new IOException("Unsupported command log version " + version);
+        } catch (BufferUnderflowException e) {
+            throw new IOException("Command log ended unexpectedly");
+        }
+
+        ByteBuffer snapshot = null;
+        List<String> commands = new ArrayList<>();
+        boolean isOver = false;
+        while (file.hasRemaining() && !isOver) {
+            int start = file.position();
+            long header = readVarint(file);
+            long length = header >>> 2;
+            if (header < 0 || length > file.remaining()) {
+                //NOTE: Cut off by a crash, everything before it is still fine.
+                file.position(start);
+                break;
+            }
+            ByteBuffer body = file.slice();
+            body.limit((int)length);
+            file.position(file.position() + (int)length);
+            switch ((int)(header & 3)) {
+                case COMMAND:
+                    commands.add(StandardCharsets.UTF_8.decode(body).toString());
+                    break;
+                case SNAPSHOT:
+                    snapshot = body;
+                    commands.clear();
+                    break;
+                case END:
+                    isOver = true;
+                    break;
+                default:
+                    throw new IOException("Invalid record in the command log");
+            }
+        }
+        if (snapshot == null)
+            throw new IOException("The command log has no snapshot");
+        Player player = shouldLoadSnapshot ? Serializer.readPlayer(snapshot) : null;
+        return new Contents(player, commands, isOver);
+    }
+
+    private void appendRecord(int header, byte[] body) {
+        if (hasFailed)
+            return;
+        try {
+            record.clear();
+            if (record.capacity() < body.length + 5) {
+                //NOTE: A whole record goes into a single write, so a crash can only ever cut off the last one.
+                ByteBuffer bigRecord = ByteBuffer.allocate(body.length + 5);
+                putVarint(bigRecord, header);
+                bigRecord.put(body);
+                bigRecord.flip();
+                writeFully(bigRecord);
+                return;
+            }
+            putVarint(record, header);
+            record.put(body);
+            record.flip();
+            writeFully(record);
+        } catch (IOException e) {
+            fail();
+        }
+    }
+
+    private void writeFully(ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining())
+            channel.write(buffer);
+    }
+
+    private void fail() {
+        hasFailed = true;
+        try {
+            close();
+        } catch (IOException e) {
+            //NOTE: Already failed, there's nothing more to do.
+        }
+    }
+
+    private void close() throws IOException {
+        if (channel != null) {
+            FileChannel oldChannel = channel;
+            channel = null;
+            oldChannel.close();
+        }
+    }
+
+    private static void putVarint(ByteBuffer buffer, int value) {
+        while ((value & ~0x7F) != 0) {
+            buffer.put((byte)((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        buffer.put((byte)value);
+    }
+
+    private static void writeVarint(DataOutputStream out, int value) throws IOException {
+        while ((value & ~0x7F) != 0) {
+            out.writeByte((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.writeByte(value);
+    }
+
+    /**
+     * @return The varint, or -1 if the buffer ends in the middle of it.
+     */
+    private static long readVarint(ByteBuffer buffer) {
+        long value = 0;
+        for (int shift = 0; shift < 35; shift += 7) {
+            if (!buffer.hasRemaining())
+                return -1;
+            byte b = buffer.get();
+            value |= (long)(b & 0x7F) << shift;
+            if ((b & 0x80) == 0)
+                return value;
+        }
+        return -1;
+    }
+
+    /**
+     * What was read from a log: the Player as they were at the snapshot, and every command after it.
+     */
+    public static class Contents {
+
+        private final Player player;
+        private final List<String> commands;
+        private final boolean isOver;
+
+        private Contents(Player player, List<String> commands, boolean isOver) {
+            this.player = player;
+            this.commands = Collections.unmodifiableList(commands);
+            this.isOver = isOver;
+        }
+
+        /**
+         * @return The Player as they were when the snapshot was taken, in a fresh copy of their world.
+         */
+        public Player getPlayer() {
+            return player;
+        }
+
+        /**
+         * @return Everything the player typed in after the snapshot, in order.
+         */
+        public List<String> getCommands() {
+            return commands;
+        }
+
+        /**
+         * @return true if the game was over, rather than interrupted.
+         */
+        public boolean isOver() {
+            return isOver;
+        }
+    }
+}
@@ -11,6 +11,15 @@ import java.util.Properties;
 
 public class Initializer {
 
+    private static final String DEFAULT_PROPERTIES = String.join(System.lineSeparator(),
+            "#These are the default properties of a Player",
+            "playerName=DefaultPlayer",
+            "playerFistDamage=5",
+            "playerMaxHealth=15",
+            "playerStartingHealth=10",
+            "playerStartingMoney=10.0",
+            "");
+
     /**
      * Creates a default Java properties config file containing some default properties of the
      * player. These default properties are then written to the config file. If the file
@@ -23,17 +32,11 @@ public class Initializer {
         File configDirectory = new File("config");
         configDirectory.mkdir();
 
-        Properties defaultProperties = new Properties();
-        defaultProperties.setProperty("playerName", "DefaultPlayer");
-        defaultProperties.setProperty("playerFistDamage", "5");
-        defaultProperties.setProperty("playerMaxHealth", "15");
-        defaultProperties.setProperty("playerStartingHealth", "10");
-        defaultProperties.setProperty("playerStartingMoney", "10.0");
-
+        //NOTE: Properties.store() also writes down the date, and looking up the time zone for it is slow.
         try(FileWriter fileWriter = new FileWriter(configDirectory + File.separator + fileName + ".properties")) {
-            defaultProperties.store(fileWriter, "These are the default properties of a Player");
+            fileWriter.write(DEFAULT_PROPERTIES);
         } catch (IOException e) {
-            System.out.println("Could not write to file");
+            Console.printLine("Could not write to file");
         }
     }
 
@@ -79,7 +82,7 @@ public class Initializer {
         try(FileWriter fileWriter = new FileWriter(configDirectory + File.separator + fileName + ".properties")) {
             defaultProperties.store(fileWriter, "These are the default properties of a Player");
         } catch (IOException e) {
-            System.out.println("Could not write to file");
+            Console.printLine("Could not write to file");
         }
     }
 
@@ -0,0 +1,153 @@
+package lastassignment.io;
+
+import lastassignment.Room;
+import lastassignment.world.Copyable;
+import lastassignment.world.DirtyTracker;
+import lastassignment.world.WorldCopier;
+
+import java.io.IOException;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * @version 1.0
+ *
+ * Remembers what the last save of a session looked like, so that the next save only has to look
+ * at the objects that changed since then. For every object that differs from the template, the
+ * state it was last saved with is kept around, and written out again as is unless the object is
+ * marked dirty. Every save is still a complete save on its own, it just costs as much as the
+ * number of objects that changed, instead of as much as the whole world.
+ *
+ * In case some change slipped past the DirtyTracker, every FULL_CHECKPOINT_INTERVAL saves the
+ * state of every object is written again from scratch.
+ *
+ * @see DirtyTracker
+ * @see Serializer
+ */
+public class SaveCheckpoint {
+
+    /**
+     * How many saves can reuse the state of a checkpoint before everything is written from scratch again.
+     */
+    static final int FULL_CHECKPOINT_INTERVAL = 16;
+
+    /**
+     * Stands in for the state of objects that refer to objects created during the game. Those are
+     * numbered in the order they are first written, so these objects have to be written again every time.
+     */
+    private static final byte[] WRITE_EVERY_TIME = new byte[0];
+
+    private final WorldCopier copier;
+    private final WorldIndex index;
+    private final Map<Object, Integer> ids;
+    private final TreeMap<Integer, byte[]> savedStates;
+    private final SaveWriter scratch;
+    private int savesSinceFullCheckpoint;
+
+    /**
+     * Creates a full checkpoint, by writing the state of every object in the session's world.
+     *
+     * @param copier The copier of the session.
+     * @param index The IDs of all the objects in the world.
+     * @throws IOException If the state of some object could not be written.
+     */
+    SaveCheckpoint(WorldCopier copier, WorldIndex index) throws IOException {
+        this.copier = copier;
+        this.index = index;
+        ids = new IdentityHashMap<>(index.size() * 2);
+        savedStates = new TreeMap<>();
+        scratch = new SaveWriter(ids, index.size());
+
+        //NOTE: Everything is about to be written anyway.
+        copier.getDirtyTracker().takeDirtyObjects();
+        for (int id = 0; id < index.size(); ++id) {
+            Object original = index.getObject(id);
+            Object copy = original instanceof Copyable ? copier.getExistingCopy(original) : original;
+            if (copy != null)
+                ids.put(copy, id);
+        }
+        for (int id = 0; id < index.size(); ++id) {
+            Object copy = copier.getExistingCopy(index.getObject(id));
+            if (copy != null)
+                update(copy, id);
+        }
+    }
+
+    /**
+     * @param copier The copier of a session.
+     * @return true if this checkpoint can be used for the next save of that session.
+     */
+    boolean canBeUsedFor(WorldCopier copier) {
+        return this.copier == copier && savesSinceFullCheckpoint < FULL_CHECKPOINT_INTERVAL;
+    }
+
+    /**
+     * Writes the state of every object that was marked dirty since the last save again.
+     *
+     * @throws IOException If the state of some object could not be written.
+     */
+    void updateDirtyObjects() throws IOException {
+        Set<Object> dirtyObjects = copier.getDirtyTracker().takeDirtyObjects();
+        //NOTE: New copies need an ID before anything refers to them.
+        for (Object copy : dirtyObjects) {
+            if (!ids.containsKey(copy)) {
+                int id = index.getId(copier.getOriginal(copy));
+                if (id >= 0)
+                    ids.put(copy, id);
+            }
+        }
+        for (Object copy : dirtyObjects) {
+            Integer id = ids.get(copy);
+            if (id != null)
+                update(copy, id);
+        }
+    }
+
+    /**
+     * @return The IDs of all the objects in the session's world.
+     */
+    Map<Object, Integer> getIds() {
+        return ids;
+    }
+
+    /**
+     * Writes a record for every object that differs from the template, made up of its ID followed by its state.
+     *
+     * @param out Where to write the records to.
+     * @throws IOException If the state of some object could not be written.
+     */
+    void writeRecords(SaveWriter out) throws IOException {
+        for (Map.Entry<Integer, byte[]> entry : savedStates.entrySet()) {
+            int id = entry.getKey();
+            out.writeVarint(id + 1);
+            if (entry.getValue() == WRITE_EVERY_TIME)
+                ((Saveable)copier.getExistingCopy(index.getObject(id))).writeState(out);
+            else
+                out.writeBytes(entry.getValue());
+        }
+        ++savesSinceFullCheckpoint;
+    }
+
+    /**
+     * Writes the current state of an object, and remembers it if it differs from the template.
+     */
+    private void update(Object copy, int id) throws IOException {
+        if (!(copy instanceof Saveable))
+            return;
+        //NOTE: A Room that hasn't been used yet is still the same as in the template.
+        if (copy instanceof Room && ((Room)copy).isCopyPending()) {
+            savedStates.remove(id);
+            return;
+        }
+        scratch.reset();
+        ((Saveable)copy).writeState(scratch);
+        if (scratch.writtenSinceEquals(0, index.getTemplateState(id)))
+            savedStates.remove(id);
+        else if (scratch.hasWrittenNewObjects())
+            savedStates.put(id, WRITE_EVERY_TIME);
+        else
+            savedStates.put(id, scratch.writtenSince(0));
+    }
+}
@@ -0,0 +1,272 @@
+package lastassignment.io;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.CRC32;
+
+/**
+ * @version 1.0
+ *
+ * A single file holding all of the saves written to it, one after the other. Saves are only ever
+ * appended to the end of the file, saving again under the same title just appends a newer save
+ * that replaces the old one. The file is memory mapped, so loading a save doesn't copy it anywhere,
+ * the save is read straight out of the mapping. A journal file looks like this:
+ *
+ *   magic number, format version
+ *   for every save: the length of the record, the CRC32 of the record, the title, the save itself
+ *
+ * The record headers double as the index of the journal. When the journal is opened they are
+ * scanned once to find out where every save is, after which listing the saves doesn't touch the disk.
+ * If the game crashed while writing a save, the record at the end of the file will be cut off or
+ * have the wrong checksum. Such a record is thrown away when the journal is opened.
+ *
+ * Everyone who opens a journal has to close it again once they are done with it. A journal that
+ * is opened by several sessions at the same time is only really closed when the last one closes it.
+ * Whoever keeps using the same journal, like a session on a server, should keep it open for as long
+ * as the session lasts, so that it isn't scanned again every time a save is listed, written or read.
+ *
+ * @see Serializer
+ */
+public class SaveJournal implements Closeable {
+
+    /**
+     * The journal the saves of a Game go to, unless the owner of the Game picks another one.
+     */
+    public static final Path DEFAULT_PATH = Paths.get("savedgames", "journal.sav");
+
+    /**
+     * The longest title a save can have, in UTF-8 bytes.
+     */
+    public static final int MAX_TITLE_LENGTH = 0xFFFF;
+
+    private static final int MAGIC = 0x544C414A; //NOTE: "TLAJ"
+    private static final short VERSION = 1;
+    private static final int FILE_HEADER_SIZE = 6;
+    private static final int RECORD_HEADER_SIZE = 8;
+
+    /**
+     * The journals that are currently open, so that every session writing to the same file
+     * goes through the same SaveJournal.
+     */
+    private static final Map<Path, SaveJournal> openJournals = new HashMap<>();
+
+    private final Path path;
+    private final FileChannel channel;
+    private final Map<String, Entry> entries;
+    private MappedByteBuffer mapping;
+    private long size;
+    private int references;
+
+    /**
+     * Where a save is located in the journal file.
+     */
+    private static class Entry {
+        final long offset;
+        final int length;
+
+        Entry(long offset, int length) {
+            this.offset = offset;
+            this.length = length;
+        }
+    }
+
+    /**
+     * Gets the journal stored at the given path, opening it if it isn't already open.
+     * A new journal is created if the file doesn't exist yet. Every call has to be matched
+     * by a call to close() on the returned journal.
+     *
+     * @param path The path of the journal file.
+     * @return The journal at the given path.
+     * @throws IOException If the journal could not be opened, or the file isn't a journal.
+     */
+    public static SaveJournal open(Path path) throws IOException {
+        Path key = path.toAbsolutePath().normalize();
+        synchronized (openJournals) {
+            SaveJournal journal = openJournals.get(key);
+            if (journal == null) {
+                journal = new SaveJournal(key);
+                openJournals.put(key, journal);
+            }
+            ++journal.references;
+            return journal;
+        }
+    }
+
+    private SaveJournal(Path path) throws IOException {
+        this.path = path;
+        if (path.getParent() != null)
+            Files.createDirectories(path.getParent());
+        channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        entries = new LinkedHashMap<>();
+        try {
+            recover();
+        } catch (IOException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Gives up one of the references to the journal that open() handed out. Once every one of them
+     * is given up the file is closed, and the next open() scans it again.
+     *
+     * @throws IOException If the file could not be closed.
+     */
+    @Override
+    public void close() throws IOException {
+        synchronized (openJournals) {
+            if (references == 0 || --references > 0)
+                return;
+            openJournals.remove(path);
+        }
+        synchronized (this) {
+            channel.close();
+        }
+    }
+
+    /**
+     * Gets the titles of all saves in the journal, in the order they were first written.
+     *
+     * @return The titles of all saves.
+     */
+    public synchronized List<String> getTitles() {
+        return new ArrayList<>(entries.keySet());
+    }
+
+    /**
+     * Checks whether there is a save with the given title.
+     *
+     * @param title The title of the save.
+     * @return true if there is a save with the given title.
+     */
+    public synchronized boolean contains(String title) {
+        return entries.containsKey(title);
+    }
+
+    /**
+     * Appends a save to the end of the journal. If there already is a save with the same title,
+     * the new save replaces it.
+     *
+     * @param title The title of the save.
+     * @param save The save itself.
+     * @throws IOException If the save could not be written.
+     */
+    public synchronized void write(String title, byte[] save) throws IOException {
+        byte[] titleBytes = title.getBytes(StandardCharsets.UTF_8);
+        if (titleBytes.length > MAX_TITLE_LENGTH)
+            throw new IOException("Title is too long");
+
+        ByteBuffer record = ByteBuffer.allocate(RECORD_HEADER_SIZE + 2 + titleBytes.length + save.length);
+        record.putInt(record.capacity() - RECORD_HEADER_SIZE);
+        record.putInt(0);
+        record.putShort((short)titleBytes.length);
+        record.put(titleBytes);
+        record.put(save);
+        CRC32 crc = new CRC32();
+        crc.update(record.array(), RECORD_HEADER_SIZE, record.capacity() - RECORD_HEADER_SIZE);
+        record.putInt(4, (int)crc.getValue());
+        record.flip();
+        if (size + record.capacity() > Integer.MAX_VALUE)
+            throw new IOException("Journal file is full");
+
+        long recordStart = size;
+        while (record.hasRemaining())
+            channel.write(record, recordStart + record.position());
+        size = recordStart + record.capacity();
+        entries.put(title, new Entry(size - save.length, save.length));
+    }
+
+    /**
+     * Reads the save with the given title. The returned buffer is a read-only view straight into the
+     * memory mapped journal file. It stays valid even after newer saves are written to the journal.
+     *
+     * @param title The title of the save.
+     * @return The save, or null if there is no save with the given title.
+     * @throws IOException If the journal file could not be mapped.
+     */
+    public synchronized ByteBuffer read(String title) throws IOException {
+        Entry entry = entries.get(title);
+        if (entry == null)
+            return null;
+        if (entry.offset + entry.length > mapping.capacity())
+            mapping = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+        ByteBuffer save = mapping.duplicate();
+        save.position((int)entry.offset);
+        save.limit((int)entry.offset + entry.length);
+        return save.slice();
+    }
+
+    /**
+     * Checks the header of the journal file, and scans through all of the records in it to
+     * build the index. The file is cut off after the last intact record.
+     */
+    private void recover() throws IOException {
+        long fileSize = channel.size();
+        if (fileSize > Integer.MAX_VALUE)
+            throw new IOException("Journal file is too large");
+        if (fileSize < FILE_HEADER_SIZE) {
+            //NOTE: Either a brand new journal, or we crashed while creating it.
+            ByteBuffer header = ByteBuffer.allocate(FILE_HEADER_SIZE);
+            header.putInt(MAGIC);
+            header.putShort(VERSION);
+            header.flip();
+            channel.truncate(0);
+            while (header.hasRemaining())
+                channel.write(header, header.position());
+            fileSize = FILE_HEADER_SIZE;
+        }
+
+        mapping = channel.map(FileChannel.MapMode.READ_ONLY, 0, fileSize);
+        if (mapping.getInt(0) != MAGIC)
+            throw new IOException("Not a journal file");
+        short version = mapping.getShort(4);
+        if (version != VERSION)
+            throw new IOException("Unsupported journal version " + version);
+
+        int position = FILE_HEADER_SIZE;
+        CRC32 crc = new CRC32();
+        while (fileSize - position >= RECORD_HEADER_SIZE + 2) {
+            int length = mapping.getInt(position);
+            if (length < 2 || length > fileSize - position - RECORD_HEADER_SIZE)
+                break;
+            int bodyStart = position + RECORD_HEADER_SIZE;
+            ByteBuffer body = mapping.duplicate();
+            body.position(bodyStart);
+            body.limit(bodyStart + length);
+            crc.reset();
+            crc.update(body);
+            if ((int)crc.getValue() != mapping.getInt(position + 4))
+                break;
+
+            int titleLength = mapping.getShort(bodyStart) & 0xFFFF;
+            if (titleLength > length - 2)
+                break;
+            byte[] titleBytes = new byte[titleLength];
+            for (int i = 0; i < titleLength; ++i)
+                titleBytes[i] = mapping.get(bodyStart + 2 + i);
+            int saveStart = bodyStart + 2 + titleLength;
+            entries.put(new String(titleBytes, StandardCharsets.UTF_8), new Entry(saveStart, length - 2 - titleLength));
+            position = bodyStart + length;
+        }
+
+        size = position;
+        if (size < fileSize) {
+            //NOTE: Whatever comes after the last intact record is a save that didn't make it to the disk.
+            channel.truncate(size);
+            mapping = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+        }
+    }
+}
@@ -0,0 +1,222 @@
+package lastassignment.io;
+
+import lastassignment.Room;
+import lastassignment.doors.Door;
+import lastassignment.items.DamagingItem;
+import lastassignment.items.Hallucinogen;
+import lastassignment.items.HealingItem;
+import lastassignment.items.StrengthPotion;
+import lastassignment.items.Vaccine;
+import lastassignment.items.VirusMedicine;
+import lastassignment.world.WorldCopier;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * @version 1.0
+ *
+ * Reads back the state written by a SaveWriter. References to objects in the world are
+ * resolved to the copies of those objects in the session that is being loaded. Objects
+ * that haven't been copied for the session yet are copied as they are referenced.
+ * The state is read from a stream through a small buffer, so that a compressed save is
+ * decompressed bit by bit as it is read, instead of all at once up front.
+ *
+ * @see SaveWriter
+ * @see Saveable
+ * @see Serializer
+ */
+public class SaveReader {
+
+    private static final int BUFFER_SIZE = 512;
+
+    private final InputStream data;
+    private final byte[] buffer;
+    private int bufferPosition;
+    private int bufferLimit;
+    private long unbuffered;
+    private final int formatVersion;
+    private final WorldIndex index;
+    private final WorldCopier copier;
+    private final List<Object> newObjects;
+
+    /**
+     * @param data The stream to read from.
+     * @param length How many bytes of state there are in the stream, nothing past them is read.
+     * @param formatVersion The version of the save format the bytes were written in.
+     * @param index The IDs of all the objects in the world.
+     * @param copier The copier of the session that is being loaded.
+     */
+    SaveReader(InputStream data, long length, int formatVersion, WorldIndex index, WorldCopier copier) {
+        this.data = data;
+        buffer = new byte[BUFFER_SIZE];
+        unbuffered = length;
+        this.formatVersion = formatVersion;
+        this.index = index;
+        this.copier = copier;
+        newObjects = new ArrayList<>();
+    }
+
+    /**
+     * @return The version of the save format that is being read, so that state added in later versions can be skipped.
+     */
+    public int getFormatVersion() {
+        return formatVersion;
+    }
+
+    public boolean readBoolean() throws IOException {
+        return readByte() != 0;
+    }
+
+    public int readInt() throws IOException {
+        int value = readVarint();
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    public double readDouble() throws IOException {
+        return Double.longBitsToDouble(readLong());
+    }
+
+    /**
+     * Reads a long written by SaveWriter.writeLong().
+     *
+     * @return The number.
+     * @throws IOException If the save ended in the middle of the number.
+     */
+    public long readLong() throws IOException {
+        long value = 0;
+        for (int i = 0; i < 8; ++i)
+            value = (value << 8) | readByte();
+        return value;
+    }
+
+    /**
+     * Reads a String written by SaveWriter.writeString().
+     *
+     * @return The String.
+     * @throws IOException If the save ended in the middle of the String.
+     */
+    public String readString() throws IOException {
+        int header = readVarint();
+        int length = header >>> 1;
+        if (length > unbuffered + bufferLimit - bufferPosition)
+            throw new EOFException("Save file ended in the middle of a string");
+        byte[] bytes = new byte[length];
+        for (int read = 0; read < length; ) {
+            if (bufferPosition == bufferLimit)
+                fillBuffer();
+            int chunk = Math.min(length - read, bufferLimit - bufferPosition);
+            System.arraycopy(buffer, bufferPosition, bytes, read, chunk);
+            bufferPosition += chunk;
+            read += chunk;
+        }
+        //NOTE: Strings without the UTF-8 flag are plain ASCII, which ISO-8859-1 decodes the quickest.
+        return new String(bytes, (header & 1) == 0 ? StandardCharsets.ISO_8859_1 : StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Reads a reference written by SaveWriter.writeRef().
+     *
+     * @return The object that was referred to, or null.
+     * @throws IOException If the reference is invalid.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T readRef() throws IOException {
+        int value = readVarint();
+        if (value == SaveWriter.NULL_REFERENCE)
+            return null;
+        if (value == SaveWriter.NEW_OBJECT)
+            return (T)readNewObject();
+        int id = value - SaveWriter.FIRST_ID;
+        if (id < index.size())
+            return (T)copier.copy(index.getObject(id));
+        if (id - index.size() < newObjects.size())
+            return (T)newObjects.get(id - index.size());
+        throw new IOException("Invalid object reference " + id);
+    }
+
+    /**
+     * Reads references written by SaveWriter.writeRefs() into a collection.
+     *
+     * @param objects The collection to add the objects to.
+     * @throws IOException If one of the references is invalid.
+     */
+    public <T> void readRefs(Collection<T> objects) throws IOException {
+        int count = readVarint();
+        for (int i = 0; i < count; ++i)
+            objects.add(readRef());
+    }
+
+    int readVarint() throws IOException {
+        int value = 0;
+        for (int shift = 0; shift < 32; shift += 7) {
+            int b = readByte();
+            value |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0)
+                return value;
+        }
+        throw new IOException("Malformed number in save file");
+    }
+
+    private int readByte() throws IOException {
+        if (bufferPosition == bufferLimit)
+            fillBuffer();
+        return buffer[bufferPosition++] & 0xFF;
+    }
+
+    private void fillBuffer() throws IOException {
+        int read = unbuffered == 0 ? -1 : data.read(buffer, 0, (int)Math.min(buffer.length, unbuffered));
+        if (read <= 0)
+            throw new EOFException("Save file ended unexpectedly");
+        bufferPosition = 0;
+        bufferLimit = read;
+        unbuffered -= read;
+    }
+
+    /**
+     * Recreates an object that was created while the game was played.
+     */
+    private Object readNewObject() throws IOException {
+        int type = readVarint();
+        //NOTE: The slot is reserved first, so that the IDs line up with the writer's.
+        int slot = newObjects.size();
+        newObjects.add(null);
+        Object object;
+        switch (type) {
+            case SaveWriter.DOOR:
+                Room room1 = readRef();
+                Room room2 = readRef();
+                Door door = Door.createDetached(room1, room2);
+                door.readState(this);
+                object = door;
+                break;
+            case SaveWriter.HEALING_ITEM:
+                object = new HealingItem(readString(), readString(), readInt());
+                break;
+            case SaveWriter.DAMAGING_ITEM:
+                object = new DamagingItem(readString(), readString(), readInt());
+                break;
+            case SaveWriter.HALLUCINOGEN:
+                object = new Hallucinogen(readString(), readString());
+                break;
+            case SaveWriter.STRENGTH_POTION:
+                object = new StrengthPotion(readString(), readString(), readInt());
+                break;
+            case SaveWriter.VACCINE:
+                object = new Vaccine(readString());
+                break;
+            case SaveWriter.VIRUS_MEDICINE:
+                object = new VirusMedicine(readString(), readInt());
+                break;
+            default:
+                throw new IOException("Unknown kind of object in save file: " + type);
+        }
+        newObjects.set(slot, object);
+        return object;
+    }
+}
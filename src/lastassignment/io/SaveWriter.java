@@ -0,0 +1,296 @@
+package lastassignment.io;
+
+import lastassignment.doors.Door;
+import lastassignment.items.DamagingItem;
+import lastassignment.items.Hallucinogen;
+import lastassignment.items.HealingItem;
+import lastassignment.items.StrengthPotion;
+import lastassignment.items.Vaccine;
+import lastassignment.items.VirusMedicine;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+/**
+ * @version 1.0
+ *
+ * Writes the state of Saveable objects into an in-memory buffer, in a compact binary form.
+ * Numbers are written as variable length integers, so the small numbers that make up most of
+ * the game state only take up a single byte. Strings are written as their length followed by
+ * their UTF-8 bytes. References to other objects are written as the stable ID of the object,
+ * so nothing is ever written twice.
+ *
+ * Objects that don't have an ID, because they were created while the game was played (like a
+ * potion brewed in a FumeHood, or a HiddenDoor that was revealed), are written in full the first
+ * time they are referenced, and given the next free ID for every later reference.
+ *
+ * @see SaveReader
+ * @see Saveable
+ * @see Serializer
+ */
+public class SaveWriter {
+
+    static final int NULL_REFERENCE = 0;
+    static final int NEW_OBJECT = 1;
+    static final int FIRST_ID = 2;
+
+    static final int DOOR = 1;
+    static final int HEALING_ITEM = 2;
+    static final int DAMAGING_ITEM = 3;
+    static final int HALLUCINOGEN = 4;
+    static final int STRENGTH_POTION = 5;
+    static final int VACCINE = 6;
+    static final int VIRUS_MEDICINE = 7;
+
+    private byte[] buffer;
+    private int count;
+    private final Map<Object, Integer> ids;
+    private final Map<Object, Integer> newIds;
+    private final int worldSize;
+
+    /**
+     * @param ids The IDs of all the objects that are part of the world. The map is only read from.
+     * @param worldSize The number of objects that are part of the world,
+     *                  objects created during the game get IDs after these.
+     */
+    SaveWriter(Map<Object, Integer> ids, int worldSize) {
+        buffer = new byte[1024];
+        this.ids = ids;
+        this.worldSize = worldSize;
+        newIds = new IdentityHashMap<>();
+    }
+
+    public void writeBoolean(boolean value) throws IOException {
+        ensureCapacity(1);
+        buffer[count++] = (byte)(value ? 1 : 0);
+    }
+
+    /**
+     * Writes an int as a variable length integer, so that small numbers take up less space.
+     * Negative numbers are zig-zag encoded, so that small negative numbers are also short.
+     *
+     * @param value The number to write.
+     * @throws IOException If the number could not be written.
+     */
+    public void writeInt(int value) throws IOException {
+        writeVarint((value << 1) ^ (value >> 31));
+    }
+
+    public void writeDouble(double value) throws IOException {
+        writeLong(Double.doubleToLongBits(value));
+    }
+
+    /**
+     * Writes a long as all of its 8 bytes, for numbers that are random anyway and wouldn't get any shorter.
+     *
+     * @param value The number to write.
+     * @throws IOException If the number could not be written.
+     */
+    public void writeLong(long value) throws IOException {
+        ensureCapacity(8);
+        for (int shift = 56; shift >= 0; shift -= 8)
+            buffer[count++] = (byte)(value >>> shift);
+    }
+
+    /**
+     * Writes a String as its length followed by its characters. The lowest bit of the length tells
+     * whether the String is plain ASCII, which nearly all of the strings in the game are, and can
+     * be copied over directly. Otherwise, the String is written as UTF-8.
+     *
+     * @param value The String to write.
+     * @throws IOException If the String could not be written.
+     */
+    public void writeString(String value) throws IOException {
+        int length = value.length();
+        if (isAscii(value)) {
+            writeVarint(length << 1);
+            ensureCapacity(length);
+            for (int i = 0; i < length; ++i)
+                buffer[count++] = (byte)value.charAt(i);
+        } else {
+            byte[] utf8 = value.getBytes(StandardCharsets.UTF_8);
+            writeVarint((utf8.length << 1) | 1);
+            ensureCapacity(utf8.length);
+            System.arraycopy(utf8, 0, buffer, count, utf8.length);
+            count += utf8.length;
+        }
+    }
+
+    private static boolean isAscii(String value) {
+        for (int i = 0; i < value.length(); ++i) {
+            if (value.charAt(i) >= 0x80)
+                return false;
+        }
+        return true;
+    }
+
+    /**
+     * Writes a reference to another object in the world, or null.
+     *
+     * @param object The object to refer to.
+     * @throws IOException If the object was created during the game and isn't a kind of object that can be saved.
+     */
+    public void writeRef(Object object) throws IOException {
+        if (object == null) {
+            writeVarint(NULL_REFERENCE);
+            return;
+        }
+        Integer id = ids.get(object);
+        if (id == null)
+            id = newIds.get(object);
+        if (id != null) {
+            writeVarint(id + FIRST_ID);
+        } else {
+            newIds.put(object, worldSize + newIds.size());
+            writeVarint(NEW_OBJECT);
+            writeNewObject(object);
+        }
+    }
+
+    /**
+     * Writes references to every object in a collection.
+     *
+     * @param objects The objects to refer to.
+     * @throws IOException If one of the objects can't be saved.
+     */
+    public void writeRefs(Collection<?> objects) throws IOException {
+        writeVarint(objects.size());
+        for (Object object : objects)
+            writeRef(object);
+    }
+
+    void writeVarint(int value) {
+        ensureCapacity(5);
+        while ((value & ~0x7F) != 0) {
+            buffer[count++] = (byte)((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        buffer[count++] = (byte)value;
+    }
+
+    private void ensureCapacity(int extraBytes) {
+        if (count + extraBytes > buffer.length)
+            buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, count + extraBytes));
+    }
+
+    /**
+     * Writes out everything needed to recreate an object that was created while the game was played.
+     */
+    private void writeNewObject(Object object) throws IOException {
+        if (object.getClass() == Door.class) {
+            Door door = (Door)object;
+            writeVarint(DOOR);
+            writeRef(door.getRoom1());
+            writeRef(door.getRoom2());
+            door.writeState(this);
+        } else if (object instanceof HealingItem) {
+            HealingItem item = (HealingItem)object;
+            writeVarint(HEALING_ITEM);
+            writeString(item.getDescription());
+            writeString(item.getIngestionMethod());
+            writeInt(item.getHealingPower());
+        } else if (object instanceof DamagingItem) {
+            DamagingItem item = (DamagingItem)object;
+            writeVarint(DAMAGING_ITEM);
+            writeString(item.getDescription());
+            writeString(item.getIngestionMethod());
+            writeInt(item.getDamageAmount());
+        } else if (object instanceof Hallucinogen) {
+            Hallucinogen item = (Hallucinogen)object;
+            writeVarint(HALLUCINOGEN);
+            writeString(item.getDescription());
+            writeString(item.getIngestionMethod());
+        } else if (object instanceof StrengthPotion) {
+            StrengthPotion item = (StrengthPotion)object;
+            writeVarint(STRENGTH_POTION);
+            writeString(item.getDescription());
+            writeString(item.getIngestionMethod());
+            writeInt(item.getDamageModifier());
+        } else if (object instanceof Vaccine) {
+            writeVarint(VACCINE);
+            writeString(((Vaccine)object).getDescription());
+        } else if (object instanceof VirusMedicine) {
+            VirusMedicine item = (VirusMedicine)object;
+            writeVarint(VIRUS_MEDICINE);
+            writeString(item.getDescription());
+            writeInt(item.getHealingPower());
+        } else {
+            throw new IOException("Cannot save a " + object.getClass().getSimpleName() + " created during the game");
+        }
+    }
+
+    /**
+     * @return The number of bytes written so far.
+     */
+    int position() {
+        return count;
+    }
+
+    /**
+     * @return true if anything written so far referred to an object that was created during the game.
+     * What was written then depends on what was written before it, since those objects are numbered
+     * in the order they are first referred to.
+     */
+    boolean hasWrittenNewObjects() {
+        return !newIds.isEmpty();
+    }
+
+    /**
+     * Throws away everything that was written, including the numbering of objects created during the game.
+     */
+    void reset() {
+        count = 0;
+        newIds.clear();
+    }
+
+    /**
+     * Writes bytes that were written by another SaveWriter with the same IDs before.
+     */
+    void writeBytes(byte[] bytes) {
+        ensureCapacity(bytes.length);
+        System.arraycopy(bytes, 0, buffer, count, bytes.length);
+        count += bytes.length;
+    }
+
+    /**
+     * @return true if the bytes written since the given position are exactly the given bytes.
+     */
+    boolean writtenSinceEquals(int position, byte[] bytes) {
+        if (count - position != bytes.length)
+            return false;
+        for (int i = 0; i < bytes.length; ++i) {
+            if (buffer[position + i] != bytes[i])
+                return false;
+        }
+        return true;
+    }
+
+    /**
+     * @return A copy of everything written since the given position.
+     */
+    byte[] writtenSince(int position) {
+        return Arrays.copyOfRange(buffer, position, count);
+    }
+
+    /**
+     * Writes everything in the buffer to a stream.
+     */
+    void writeTo(OutputStream stream) throws IOException {
+        stream.write(buffer, 0, count);
+    }
+
+    /**
+     * @return A writer for the state of a template, to compare the state of a session against.
+     */
+    static SaveWriter forTemplate(WorldIndex index) {
+        Map<Object, Integer> ids = new IdentityHashMap<>();
+        for (int id = 0; id < index.size(); ++id)
+            ids.put(index.getObject(id), id);
+        return new SaveWriter(ids, index.size());
+    }
+}
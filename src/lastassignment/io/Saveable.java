@@ -0,0 +1,33 @@
+package lastassignment.io;
+
+import java.io.IOException;
+
+/**
+ * @version 1.0
+ *
+ * Saveable objects can write the parts of their state that change while the game is played
+ * to a save file, and read them back again. Things that can never change, like descriptions
+ * that are fixed when the world is built, are not written at all.
+ *
+ * @see Serializer
+ * @see SaveWriter
+ * @see SaveReader
+ */
+public interface Saveable {
+
+    /**
+     * Writes the current state of this object.
+     *
+     * @param out Where to write the state to.
+     * @throws IOException If the state could not be written.
+     */
+    void writeState(SaveWriter out) throws IOException;
+
+    /**
+     * Reads back the state written by writeState(), replacing the current state of this object.
+     *
+     * @param in Where to read the state from.
+     * @throws IOException If the state could not be read.
+     */
+    void readState(SaveReader in) throws IOException;
+}
@@ -1,60 +1,368 @@
 package lastassignment.io;
 
 import lastassignment.Player;
+import lastassignment.Room;
+import lastassignment.metrics.Command;
+import lastassignment.metrics.CommandMetrics;
+import lastassignment.metrics.GameEvents;
 import lastassignment.utils.Console;
+import lastassignment.world.WorldCopier;
+import lastassignment.world.WorldGenerator;
+import lastassignment.world.WorldTemplate;
 
 import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.List;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.Inflater;
+import java.util.zip.InflaterInputStream;
 
 /**
  * @author Jana
- * @version 1.0
+ * @version 2.0
  *
  * A class containing static methods to call in order to save and load a current state of Player.
+ *
+ * Save files use a compact binary format. Since every session is a copy of a WorldTemplate,
+ * only the state of the Player and of the parts of the world that differ from the template are
+ * written, everything else is restored by copying the template again. A save file looks like this:
+ *
+ *   magic number, format version, world fingerprint, world seed
+ *   the number of rooms and the seed of a generated world, or 0 and 0 for the university
+ *   the length of the rest of the save before it was compressed
+ *   compressed:
+ *     the state of the Player, including where the random number generator of the session is at
+ *     for every object that differs from the template: its ID followed by its state
+ *     0
+ *
+ * The rest is compressed with Deflate, preset with the state of the template itself as a dictionary
+ * (see WorldIndex.getSaveDictionary()). Most of a save is descriptions of rooms, doors, NPCs and items
+ * that are already in there, so they come out as a few bytes each, and a save takes up about a
+ * quarter of what it would uncompressed. Loading decompresses the save bit by bit as it is read.
+ * Saves from before version 5 aren't compressed, and are still read as they are.
+ *
+ * The world fingerprint changes whenever anything about the world does, so a save made before the
+ * world file was edited is turned down instead of being loaded into objects that aren't what they
+ * were. Saves from before version 6 only had the layout of the world in their fingerprint, so that
+ * is all they can be checked against.
+ *
+ * All saves are kept in a SaveJournal, under the title the player gave them. Every Game picks its
+ * own journal file, so that players who share a server don't see or overwrite each other's saves.
+ *
+ * @see Saveable
+ * @see SaveJournal
+ * @see WorldIndex
+ * @see WorldTemplate
  */
 public class Serializer {
 
+    private static final int MAGIC = 0x544C4153; //NOTE: "TLAS"
+    private static final short VERSION = 6;
+    private static final short OLDEST_READABLE_VERSION = 1;
+    private static final short FIRST_GENERATED_WORLD_VERSION = 3;
+    private static final short FIRST_COMPRESSED_VERSION = 5;
+    private static final short FIRST_CONTENT_FINGERPRINT_VERSION = 6;
+    private static final int STREAM_BUFFER_SIZE = 512;
+
+    /**
+     * The size of the header of a save, the part in front of what is compressed.
+     */
+    private static final int HEADER_SIZE = 34;
+
     /**
-     * Saves the state of the Player to a given filename.
-     * The given filename is prepended with "savedgames/", so
-     * all save files are saved in the same directory. The user
-     * is notified if a problem occurs during saving.
+     * The size of the header of versions 3 and 4, which have no length of the uncompressed rest.
+     */
+    private static final int HEADER_SIZE_BEFORE_COMPRESSION = HEADER_SIZE - 4;
+
+    /**
+     * The size of the header of versions 1 and 2, which have no number of rooms and seed of a generated world either.
+     */
+    private static final int HEADER_SIZE_BEFORE_GENERATED_WORLDS = HEADER_SIZE_BEFORE_COMPRESSION - 12;
+
+    /**
+     * Saves the state of the Player to a journal under the given title.
+     * The user is notified if a problem occurs during saving.
      *
      * @param player The state of Player that needs to be saved.
-     * @param filename The filename to save the Player state to.
+     * @param title The title to save the Player state under.
+     * @param journal The journal file of the Player, see SaveJournal.open().
      */
-    public static void savePlayer(Player player, String filename) {
-        File saveDirectory = new File("savedgames");
-        saveDirectory.mkdir();
-
-        Console.print("Saving %s.. ", filename);
-        try (FileOutputStream fileOutputStream = new FileOutputStream(saveDirectory + File.separator + filename + ".ser");
-             ObjectOutputStream objectOutputStream = new ObjectOutputStream(fileOutputStream)) {
-            objectOutputStream.writeObject(player);
+    public static void savePlayer(Player player, String title, Path journal) {
+        CommandMetrics.begin();
+        Object event = GameEvents.beginSave();
+        String room = player.getCurrentRoom().getDescription();
+        try {
+            Console.print("Saving %s.. ", title);
+            ByteArrayOutputStream save = new ByteArrayOutputStream();
+            writePlayer(player, save);
+            try (SaveJournal saves = SaveJournal.open(journal)) {
+                saves.write(title, save.toByteArray());
+            }
+            GameEvents.endSave(event, room, title, save.size(), true);
             Console.printWithPause("Save successful!");
-        } catch (FileNotFoundException e) {
-            Console.printWithPause("File could not be found");
-            Console.printWithPause("Game not saved!");
         } catch (IOException e) {
+            GameEvents.endSave(event, room, title, 0, false);
             Console.printWithPause("Couldn't write to file");
             Console.printWithPause("Game not saved!");
+        } finally {
+            CommandMetrics.end(Command.SAVE);
+        }
+    }
+
+    /**
+     * Loads the state of the Game saved under the given title in a journal.
+     *
+     * @param title The title of the save to load the Game state from.
+     * @param journal The journal file of the Player, see SaveJournal.open().
+     * @throws IOException If the journal could not be read, or there is no valid save with that title.
+     */
+    public static Player loadPlayer(String title, Path journal) throws IOException {
+
+        Console.printLine("Loading %s.. ", title);
+        Object event = GameEvents.beginLoad();
+        long size = 0;
+        try {
+            ByteBuffer save;
+            try (SaveJournal saves = SaveJournal.open(journal)) {
+                save = saves.read(title);
+            }
+            if (save == null)
+                throw new FileNotFoundException("No save called " + title);
+            size = save.remaining();
+            Player player = readPlayer(save);
+            GameEvents.endLoad(event, player.getCurrentRoom().getDescription(), title, size, true);
+            return player;
+        } catch (IOException e) {
+            GameEvents.endLoad(event, null, title, size, false);
+            throw e;
         }
     }
 
     /**
-     * Loads the state of the Game from a given filename. The filename
-     * is prepended with "savedgames/". The user is notified if a
-     * problem occurs during loading.
+     * Gets the titles of all saves in a journal.
      *
-     * @param filename The filename from which to load the Game state.
+     * @param journal The journal file of the Player, see SaveJournal.open().
+     * @return The titles of all saves, or an empty list if the journal could not be opened.
      */
-    public static Player loadPlayer(String filename) throws IOException, ClassNotFoundException{
+    public static List<String> listSaves(Path journal) {
+        try (SaveJournal saves = SaveJournal.open(journal)) {
+            return saves.getTitles();
+        } catch (IOException e) {
+            return Collections.emptyList();
+        }
+    }
 
-        Console.printLine("Loading %s.. ", filename);
-        File saveDirectory = new File("savedgames");
+    /**
+     * Checks whether there already is a save with the given title in a journal.
+     *
+     * @param title The title of the save.
+     * @param journal The journal file of the Player, see SaveJournal.open().
+     * @return true if there is a save with that title.
+     */
+    public static boolean hasSave(String title, Path journal) {
+        try (SaveJournal saves = SaveJournal.open(journal)) {
+            return saves.contains(title);
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Writes the state of a Player, and the world they are playing in, to a stream.
+     * Only the objects that changed since the Player was last saved are looked at,
+     * the rest is taken from the Player's SaveCheckpoint.
+     *
+     * @param player The Player to save.
+     * @param stream Where to write the save to.
+     * @throws IOException If the save could not be written.
+     * @see SaveCheckpoint
+     */
+    public static void writePlayer(Player player, OutputStream stream) throws IOException {
+        WorldCopier copier = player.getWorldCopier();
+        if (copier == null)
+            throw new IOException("The player isn't playing in a copy of the world template");
+
+        WorldTemplate template = copier.getTemplate() != null ? copier.getTemplate() : WorldTemplate.getDefault();
+        WorldIndex index = WorldIndex.of(template);
+        SaveCheckpoint checkpoint = player.getSaveCheckpoint();
+        //NOTE: If anything goes wrong the dirty objects are lost, so the next save has to start from scratch.
+        player.setSaveCheckpoint(null);
+        if (checkpoint != null && checkpoint.canBeUsedFor(copier))
+            checkpoint.updateDirtyObjects();
+        else
+            checkpoint = new SaveCheckpoint(copier, index);
+
+        SaveWriter out = new SaveWriter(checkpoint.getIds(), index.size());
+        player.writeState(out);
+        checkpoint.writeRecords(out);
+        out.writeVarint(0);
+
+        DataOutputStream header = new DataOutputStream(stream);
+        header.writeInt(MAGIC);
+        header.writeShort(VERSION);
+        header.writeInt(index.getFingerprint());
+        header.writeLong(copier.getSeed());
+        header.writeInt(template.getGeneratedRooms());
+        header.writeLong(template.getGeneratorSeed());
+        header.writeInt(out.position());
+        header.flush();
+
+        //NOTE: The Deflater holds native memory, so it is given back right away instead of when it is collected.
+        Deflater deflater = new Deflater(Deflater.DEFAULT_COMPRESSION, true);
+        try {
+            deflater.setDictionary(index.getSaveDictionary());
+            DeflaterOutputStream body = new DeflaterOutputStream(stream, deflater, STREAM_BUFFER_SIZE);
+            out.writeTo(body);
+            body.finish();
+        } finally {
+            deflater.end();
+        }
+        player.setSaveCheckpoint(checkpoint);
+    }
+
+    /**
+     * Reads back a Player written by writePlayer(), along with a new copy of the world they were playing in.
+     *
+     * @param stream The stream to read the save from.
+     * @return The loaded Player.
+     * @throws IOException If the save could not be read, or isn't a valid save.
+     */
+    public static Player readPlayer(InputStream stream) throws IOException {
+        return readPlayer(stream, -1);
+    }
+
+    /**
+     * Reads back a Player written by writePlayer(), along with a new copy of the world they were playing in.
+     *
+     * @param save The save, from its position up to its limit. The buffer itself is left untouched.
+     * @return The loaded Player.
+     * @throws IOException If the save isn't a valid save.
+     */
+    public static Player readPlayer(ByteBuffer save) throws IOException {
+        return readPlayer(new ByteBufferInputStream(save.duplicate()), save.remaining());
+    }
+
+    /**
+     * @param stream The stream to read the save from, nothing past the end of the save is read.
+     * @param size The size of the save, or -1 if it isn't known and the save goes up to the end of the stream.
+     */
+    private static Player readPlayer(InputStream stream, long size) throws IOException {
+        DataInputStream header = new DataInputStream(stream);
+        WorldCopier copier;
+        short version;
+        int fingerprint;
+        int generatedRooms = 0;
+        long generatorSeed = 0;
+        long bodyLength = -1;
+        try {
+            if (header.readInt() != MAGIC)
+                throw new IOException("Not a save file");
+            version = header.readShort();
+            if (version < OLDEST_READABLE_VERSION || version > VERSION)
+                throw new IOException("Unsupported save file version " + version);
+            fingerprint = header.readInt();
+            copier = new WorldCopier(header.readLong());
+            if (version >= FIRST_GENERATED_WORLD_VERSION) {
+                generatedRooms = header.readInt();
+                generatorSeed = header.readLong();
+            }
+            if (version >= FIRST_COMPRESSED_VERSION) {
+                bodyLength = header.readInt();
+                if (bodyLength < 0)
+                    throw new IOException("Invalid save file length " + bodyLength);
+            }
+        } catch (EOFException e) {
+            throw new EOFException("Save file ended unexpectedly");
+        }
+        //NOTE: The header could say anything, and a world of a billion rooms would take all memory just to generate.
+        if (generatedRooms != 0 && (generatedRooms < WorldGenerator.MIN_ROOMS || generatedRooms > WorldGenerator.MAX_ROOMS))
+            throw new IOException("Invalid number of generated rooms " + generatedRooms);
+        WorldTemplate template = generatedRooms == 0
+                ? WorldTemplate.getDefault()
+                : WorldTemplate.generated(generatedRooms, generatorSeed);
+        WorldIndex index = WorldIndex.of(template);
+        int expectedFingerprint = version >= FIRST_CONTENT_FINGERPRINT_VERSION
+                ? index.getFingerprint()
+                : index.getLayoutFingerprint();
+        if (fingerprint != expectedFingerprint)
+            throw new IOException("Save file was made for a different world");
+        Room startingRoom = template.instantiate(copier);
+
+        Inflater inflater = null;
+        InputStream body = stream;
+        if (version >= FIRST_COMPRESSED_VERSION) {
+            inflater = new Inflater(true);
+            inflater.setDictionary(index.getSaveDictionary());
+            body = new InflaterInputStream(stream, inflater, STREAM_BUFFER_SIZE);
+        } else if (size >= 0) {
+            bodyLength = size - (version >= FIRST_GENERATED_WORLD_VERSION
+                    ? HEADER_SIZE_BEFORE_COMPRESSION : HEADER_SIZE_BEFORE_GENERATED_WORLDS);
+        } else {
+            byte[] rest = readRemaining(stream);
+            body = new ByteArrayInputStream(rest);
+            bodyLength = rest.length;
+        }
+        try {
+            SaveReader in = new SaveReader(body, bodyLength, version, index, copier);
+            Player player = new Player(startingRoom);
+            player.setWorldCopier(copier);
+            player.readState(in);
+            for (int record = in.readVarint(); record != 0; record = in.readVarint()) {
+                int id = record - 1;
+                if (id >= index.size())
+                    throw new IOException("Invalid object ID " + id);
+                Object copy = copier.copy(index.getObject(id));
+                if (!(copy instanceof Saveable))
+                    throw new IOException("Object " + id + " has no saved state");
+                ((Saveable)copy).readState(in);
+            }
+            return player;
+        } finally {
+            if (inflater != null)
+                inflater.end();
+        }
+    }
+
+    /**
+     * @return Everything left in the stream.
+     */
+    private static byte[] readRemaining(InputStream stream) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        byte[] chunk = new byte[4096];
+        int read;
+        while ((read = stream.read(chunk)) > 0)
+            bytes.write(chunk, 0, read);
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Reads a ByteBuffer, like a save in the memory mapped SaveJournal, without copying it first.
+     */
+    private static class ByteBufferInputStream extends InputStream {
+
+        private final ByteBuffer buffer;
+
+        ByteBufferInputStream(ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        @Override
+        public int read() {
+            return buffer.hasRemaining() ? buffer.get() & 0xFF : -1;
+        }
 
-        try(FileInputStream fileInputStream = new FileInputStream(saveDirectory + File.separator + filename + ".ser");
-            ObjectInputStream objectInputStream = new ObjectInputStream(fileInputStream)) {
-            return (Player)objectInputStream.readObject();
+        @Override
+        public int read(byte[] bytes, int offset, int length) {
+            if (length == 0)
+                return 0;
+            if (!buffer.hasRemaining())
+                return -1;
+            length = Math.min(length, buffer.remaining());
+            buffer.get(bytes, offset, length);
+            return length;
         }
     }
 }
@@ -0,0 +1,190 @@
+package lastassignment.io;
+
+import lastassignment.world.WorldCopier;
+import lastassignment.world.WorldTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.zip.CRC32;
+
+/**
+ * @version 1.0
+ *
+ * Gives every object in a WorldTemplate a stable ID, so that save files can refer to Rooms,
+ * Doors, NPCs and Items by a small number. The IDs are handed out by walking through the world
+ * in the same order every time, starting from the starting room, so they stay the same between
+ * runs of the game as long as the world itself doesn't change.
+ *
+ * @see WorldTemplate
+ * @see Serializer
+ */
+public class WorldIndex {
+
+    /**
+     * Deflate only looks back this far, so a longer dictionary would be wasted.
+     */
+    private static final int MAX_SAVE_DICTIONARY_SIZE = 32 * 1024;
+
+    private static final Map<WorldTemplate, WorldIndex> indexes = new WeakHashMap<>();
+
+    private final List<Object> objects;
+    private final Map<Object, Integer> ids;
+    private final int layoutFingerprint;
+    private final int fingerprint;
+    private final byte[][] templateStates;
+    private byte[] saveDictionary;
+
+    /**
+     * @param template The template whose objects to index.
+     */
+    public WorldIndex(WorldTemplate template) {
+        objects = new ArrayList<>();
+        ids = new IdentityHashMap<>();
+        template.instantiateFully(new WorldCopier() {
+            @Override
+            public <T> T copy(T original) {
+                if (original != null && !ids.containsKey(original)) {
+                    ids.put(original, objects.size());
+                    objects.add(original);
+                }
+                return super.copy(original);
+            }
+        });
+
+        int hash = objects.size();
+        for (Object object : objects)
+            hash = 31 * hash + object.getClass().getName().hashCode();
+        layoutFingerprint = hash;
+
+        //NOTE: The template never changes, so its state only needs to be written once.
+        SaveWriter out = SaveWriter.forTemplate(this);
+        templateStates = new byte[objects.size()][];
+        try {
+            for (int id = 0; id < objects.size(); ++id) {
+                Object object = objects.get(id);
+                if (object instanceof Saveable) {
+                    int start = out.position();
+                    ((Saveable)object).writeState(out);
+                    templateStates[id] = out.writtenSince(start);
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        //NOTE: The state of the template covers descriptions of Doors and NPCs and which Rooms and Items
+        //      are where, the checksum of the world file covers everything else that can be edited in it.
+        CRC32 crc = new CRC32();
+        for (byte[] state : templateStates) {
+            if (state != null)
+                crc.update(state, 0, state.length);
+        }
+        hash = 31 * hash + (int)crc.getValue();
+        fingerprint = 31 * hash + template.getSourceChecksum();
+    }
+
+    /**
+     * @return The index of the default WorldTemplate.
+     * @see WorldTemplate#getDefault()
+     */
+    public static WorldIndex getDefault() {
+        return of(WorldTemplate.getDefault());
+    }
+
+    /**
+     * Gets the index of a WorldTemplate, which is only built the first time it is asked for.
+     *
+     * @param template The template whose objects to index.
+     * @return The index of the template.
+     */
+    public static synchronized WorldIndex of(WorldTemplate template) {
+        WorldIndex index = indexes.get(template);
+        if (index == null) {
+            index = new WorldIndex(template);
+            indexes.put(template, index);
+        }
+        return index;
+    }
+
+    /**
+     * @return The number of objects in the world.
+     */
+    public int size() {
+        return objects.size();
+    }
+
+    /**
+     * @param id The ID of an object.
+     * @return The object from the template with the given ID.
+     */
+    public Object getObject(int id) {
+        return objects.get(id);
+    }
+
+    /**
+     * @param object An object from the template.
+     * @return The ID of the object, or -1 if it isn't part of the template.
+     */
+    public int getId(Object object) {
+        Integer id = ids.get(object);
+        return id == null ? -1 : id;
+    }
+
+    /**
+     * @param id The ID of an object.
+     * @return The state of the object in the template, as written by Saveable.writeState(),
+     * or null if the object has no state.
+     */
+    byte[] getTemplateState(int id) {
+        return templateStates[id];
+    }
+
+    /**
+     * Gets what saves of this world are compressed against: the state of every object in the
+     * template, written the same way a save writes an object that differs from the template. The
+     * descriptions of Doors, NPCs and Items that make up most of a save are all in there already,
+     * so a save mostly refers back to it. In large worlds only the objects closest to the starting
+     * room fit in, since those are found first.
+     *
+     * @return The dictionary, which must not be changed.
+     * @see Serializer#writePlayer
+     */
+    synchronized byte[] getSaveDictionary() {
+        if (saveDictionary == null) {
+            SaveWriter out = new SaveWriter(Collections.emptyMap(), objects.size());
+            for (int id = 0; id < objects.size(); ++id) {
+                byte[] state = templateStates[id];
+                if (state == null)
+                    continue;
+                if (out.position() + 5 + state.length > MAX_SAVE_DICTIONARY_SIZE)
+                    break;
+                out.writeVarint(id + 1);
+                out.writeBytes(state);
+            }
+            saveDictionary = out.writtenSince(0);
+        }
+        return saveDictionary;
+    }
+
+    /**
+     * @return A number that changes whenever anything about the world changes, its layout as well as
+     * what is in it, used to recognize save files made for a different version of the world.
+     */
+    public int getFingerprint() {
+        return fingerprint;
+    }
+
+    /**
+     * @return A number that only changes when the layout of the world changes, which is what
+     * save files from before the fingerprint covered the whole world were checked against.
+     */
+    public int getLayoutFingerprint() {
+        return layoutFingerprint;
+    }
+}
@@ -2,6 +2,14 @@ package lastassignment.items;
 
 import lastassignment.Player;
 import lastassignment.utils.Console;
+import lastassignment.world.Copyable;
+import lastassignment.world.DirtyTracker;
+import lastassignment.world.WorldCopier;
+import lastassignment.io.SaveReader;
+import lastassignment.io.SaveWriter;
+import lastassignment.io.Saveable;
+
+import java.io.IOException;
 
 /**
  * @author Boris
@@ -10,10 +18,11 @@ import lastassignment.utils.Console;
  * Represents a bunny rabbit that the player can rescue and carry around in their bag.
  * The player can cuddle the bunny in order to decrease their naughtiness level.
  */
-public class BunnyRabbit extends Item {
+public class BunnyRabbit extends Item implements Copyable, Saveable {
 
     private int conversationPointer;
     private String name;
+    private transient DirtyTracker dirtyTracker;
 
     /**
      * Initializes the BunnyRabbit.
@@ -26,6 +35,56 @@ public class BunnyRabbit extends Item {
         conversationPointer = 0;
     }
 
+    /**
+     * Copies a BunnyRabbit for a new session, since it remembers where it left off the conversation.
+     *
+     * @param original The BunnyRabbit to copy.
+     * @param copier The copier that is copying the whole world.
+     * @see WorldCopier
+     */
+    private BunnyRabbit(BunnyRabbit original, WorldCopier copier) {
+        super(original.getDescription());
+        copier.register(original, this);
+        this.dirtyTracker = copier.getDirtyTracker();
+        this.name = original.name;
+        conversationPointer = original.conversationPointer;
+    }
+
+    /**
+     * Tells the DirtyTracker of the session, if any, that the state of the BunnyRabbit changed.
+     */
+    private void markDirty() {
+        if (dirtyTracker != null)
+            dirtyTracker.markDirty(this);
+    }
+
+    @Override
+    public BunnyRabbit copy(WorldCopier copier) {
+        return new BunnyRabbit(this, copier);
+    }
+
+    /**
+     * Writes where the rabbit left off the conversation.
+     *
+     * @param out Where to write the state to.
+     * @throws IOException If the state could not be written.
+     */
+    @Override
+    public void writeState(SaveWriter out) throws IOException {
+        out.writeInt(conversationPointer);
+    }
+
+    /**
+     * Reads back where the rabbit left off the conversation.
+     *
+     * @param in Where to read the state from.
+     * @throws IOException If the state could not be read.
+     */
+    @Override
+    public void readState(SaveReader in) throws IOException {
+        conversationPointer = in.readInt();
+    }
+
     /**
      * @return The Rabbits name.
      */
@@ -104,6 +163,7 @@ public class BunnyRabbit extends Item {
                             break;
                     }
                     conversationPointer += 1;
+                    markDirty();
                     conversationPointer %= 5;
                     Console.printWithPause("The bunny looks at you with dead eyes");
                     Console.printWithPause("It has no idea what's going on");
@@ -32,4 +32,19 @@ public class DamagingItem extends Item {
         }
     }
 
+    /**
+     * Gets how the item is taken, e.g. "drink".
+     * @return ingestionMethod
+     */
+    public String getIngestionMethod() {
+        return ingestionMethod;
+    }
+
+    /**
+     * Gets how much damage the item does.
+     * @return damageAmount
+     */
+    public int getDamageAmount() {
+        return damageAmount;
+    }
 }
\ No newline at end of file
@@ -1,16 +1,19 @@
 package lastassignment.items;
 
 import lastassignment.utils.Console;
+import lastassignment.utils.SessionRandom;
 import lastassignment.Player;
 
-import java.util.Random;
 
 public class HallucinatedItem extends Item {
 
-    public HallucinatedItem() {
+    /**
+     * @param random Decides what the player sees.
+     */
+    public HallucinatedItem(SessionRandom random) {
         super("");
 
-        switch (new Random().nextInt(20)) {
+        switch (random.nextInt(20)) {
             case 0:
                 setDescription("suspiciously placed bottle opener");
                 break;
@@ -24,4 +24,11 @@ public class Hallucinogen extends Item {
             player.setHallucinating(true);
     }
 
+    /**
+     * Gets how the item is taken, e.g. "drink".
+     * @return ingestionMethod
+     */
+    public String getIngestionMethod() {
+        return ingestionMethod;
+    }
 }
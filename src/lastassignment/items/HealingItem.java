@@ -59,4 +59,19 @@ public class HealingItem extends Item {
         }
     }
 
+    /**
+     * Gets how the item is taken, e.g. "drink".
+     * @return ingestionMethod
+     */
+    public String getIngestionMethod() {
+        return ingestionMethod;
+    }
+
+    /**
+     * Gets how much the item heals.
+     * @return healingPower
+     */
+    public int getHealingPower() {
+        return healingPower;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,338 @@
+package lastassignment.items;
+
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.util.AbstractCollection;
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * @version 1.0
+ *
+ * The Items in a Player's backpack, in the order they were put in, which is the order they are
+ * shown in. Whether an Item is in the backpack, adding it and taking it out all take constant time,
+ * however full the backpack gets: Items are looked up by identity in an open addressing hash table
+ * that maps them to their place in the order. Taking an Item out leaves a gap in the order, which
+ * is closed up once there are as many gaps as Items.
+ *
+ * The Items the game looks for by type, like the Map or the Keys, are also counted per Slot, so
+ * checking whether there are any of them doesn't have to go through the whole backpack.
+ *
+ * An Item is either in the backpack or not, putting it in a second time does nothing.
+ *
+ * @see Item
+ * @see lastassignment.Player
+ */
+public class Inventory extends AbstractCollection<Item> implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private static final int INITIAL_CAPACITY = 8;
+
+    /**
+     * The kinds of Items that the game looks for in the backpack.
+     */
+    public enum Slot {
+        MAP,
+        KEYS,
+        CLOTHES,
+        WEAPONS;
+
+        private static final Slot[] SLOTS = values();
+
+        /**
+         * @param item An Item.
+         * @return The Slot of the Item, or null if it's not one of the kinds the game looks for.
+         */
+        public static Slot of(Item item) {
+            if (item instanceof Map)
+                return MAP;
+            if (item instanceof Key)
+                return KEYS;
+            if (item instanceof Clothes)
+                return CLOTHES;
+            if (item instanceof Weapon)
+                return WEAPONS;
+            return null;
+        }
+    }
+
+    //NOTE: The Items in order, with null where an Item was taken out.
+    private transient Item[] order;
+    private transient int end;
+    private transient int size;
+    //NOTE: The hash table, with the place of each Item in the order next to it.
+    private transient Item[] table;
+    private transient int[] places;
+    private transient int[] slotCounts;
+    //NOTE: There are no Items of a Slot in the order before its first place.
+    private transient int[] slotFirstPlaces;
+    private transient int modifications;
+
+    /**
+     * Creates an empty Inventory.
+     */
+    public Inventory() {
+        init();
+    }
+
+    private void init() {
+        order = new Item[INITIAL_CAPACITY];
+        end = 0;
+        size = 0;
+        table = new Item[INITIAL_CAPACITY * 2];
+        places = new int[INITIAL_CAPACITY * 2];
+        slotCounts = new int[Slot.SLOTS.length];
+        slotFirstPlaces = new int[Slot.SLOTS.length];
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public boolean contains(Object object) {
+        return object instanceof Item && indexOf((Item)object) >= 0;
+    }
+
+    /**
+     * Puts an Item into the backpack, after all of the others.
+     *
+     * @param item The Item.
+     * @return false if the Item was already in the backpack.
+     */
+    @Override
+    public boolean add(Item item) {
+        if (item == null)
+            throw new NullPointerException();
+        int index = indexFor(item);
+        if (table[index] != null)
+            return false;
+
+        if (end == order.length) {
+            if (size < end / 2)
+                compact();
+            else
+                growOrder();
+            index = indexFor(item);
+        }
+        table[index] = item;
+        places[index] = end;
+        order[end] = item;
+        Slot slot = Slot.of(item);
+        if (slot != null && slotCounts[slot.ordinal()]++ == 0)
+            slotFirstPlaces[slot.ordinal()] = end;
+        ++end;
+        ++size;
+        ++modifications;
+        if (size * 2 > table.length)
+            growTable();
+        return true;
+    }
+
+    /**
+     * Takes an Item out of the backpack.
+     *
+     * @param object The Item.
+     * @return false if the Item wasn't in the backpack.
+     */
+    @Override
+    public boolean remove(Object object) {
+        if (!(object instanceof Item))
+            return false;
+        int index = indexOf((Item)object);
+        if (index < 0)
+            return false;
+        removeAt(index);
+        return true;
+    }
+
+    @Override
+    public void clear() {
+        init();
+        ++modifications;
+    }
+
+    /**
+     * @param slot A kind of Item.
+     * @return How many Items of that kind are in the backpack.
+     */
+    public int count(Slot slot) {
+        return slotCounts[slot.ordinal()];
+    }
+
+    /**
+     * @param slot A kind of Item.
+     * @return The Item of that kind that was put into the backpack first, or null if there are none.
+     */
+    public Item first(Slot slot) {
+        int s = slot.ordinal();
+        if (slotCounts[s] == 0)
+            return null;
+        for (int place = slotFirstPlaces[s]; place < end; ++place) {
+            Item item = order[place];
+            if (item != null && Slot.of(item) == slot) {
+                slotFirstPlaces[s] = place;
+                return item;
+            }
+        }
+        throw new IllegalStateException("Slot " + slot + " is out of sync with the inventory");
+    }
+
+    @Override
+    public Iterator<Item> iterator() {
+        return new Iterator<Item>() {
+
+            private int next = skipGaps(0);
+            private int last = -1;
+            private int expectedModifications = modifications;
+
+            @Override
+            public boolean hasNext() {
+                return next < end;
+            }
+
+            @Override
+            public Item next() {
+                if (modifications != expectedModifications)
+                    throw new ConcurrentModificationException();
+                if (next >= end)
+                    throw new NoSuchElementException();
+                last = next;
+                next = skipGaps(next + 1);
+                return order[last];
+            }
+
+            @Override
+            public void remove() {
+                if (last < 0)
+                    throw new IllegalStateException();
+                if (modifications != expectedModifications)
+                    throw new ConcurrentModificationException();
+                //NOTE: Taking an Item out only leaves a gap, the order is only ever compacted when adding.
+                removeAt(indexOf(order[last]));
+                last = -1;
+                expectedModifications = modifications;
+            }
+        };
+    }
+
+    private int skipGaps(int place) {
+        while (place < end && order[place] == null)
+            ++place;
+        return place;
+    }
+
+    private void removeAt(int index) {
+        Item item = table[index];
+        int place = places[index];
+        order[place] = null;
+        --size;
+        Slot slot = Slot.of(item);
+        if (slot != null)
+            --slotCounts[slot.ordinal()];
+        deleteFromTable(index);
+        ++modifications;
+    }
+
+    /**
+     * Deletes an entry from the hash table, moving back the entries after it that would no longer
+     * be found otherwise, since linear probing stops at the first empty entry.
+     */
+    private void deleteFromTable(int index) {
+        int mask = table.length - 1;
+        int gap = index;
+        int next = (index + 1) & mask;
+        while (table[next] != null) {
+            int home = hash(table[next]) & mask;
+            //NOTE: The entry can fill the gap if its home isn't cyclically between the gap and itself.
+            if (((next - home) & mask) >= ((next - gap) & mask)) {
+                table[gap] = table[next];
+                places[gap] = places[next];
+                gap = next;
+            }
+            next = (next + 1) & mask;
+        }
+        table[gap] = null;
+    }
+
+    private int indexOf(Item item) {
+        int index = indexFor(item);
+        return table[index] == null ? -1 : index;
+    }
+
+    /**
+     * @return The index of the Item in the hash table, or the empty index where it would go.
+     */
+    private int indexFor(Item item) {
+        int mask = table.length - 1;
+        int index = hash(item) & mask;
+        while (table[index] != null && table[index] != item)
+            index = (index + 1) & mask;
+        return index;
+    }
+
+    private static int hash(Item item) {
+        int h = System.identityHashCode(item);
+        return h ^ (h >>> 16);
+    }
+
+    private void growOrder() {
+        Item[] newOrder = new Item[order.length * 2];
+        System.arraycopy(order, 0, newOrder, 0, end);
+        order = newOrder;
+    }
+
+    /**
+     * Closes up the gaps in the order, and moves the places in the hash table along.
+     */
+    private void compact() {
+        int newEnd = 0;
+        for (int place = 0; place < end; ++place) {
+            Item item = order[place];
+            if (item != null) {
+                order[newEnd] = item;
+                places[indexFor(item)] = newEnd;
+                ++newEnd;
+            }
+        }
+        Arrays.fill(order, newEnd, end, null);
+        end = newEnd;
+        Arrays.fill(slotFirstPlaces, 0);
+    }
+
+    private void growTable() {
+        int capacity = table.length * 2;
+        table = new Item[capacity];
+        places = new int[capacity];
+        for (int place = 0; place < end; ++place) {
+            Item item = order[place];
+            if (item != null) {
+                int index = indexFor(item);
+                table[index] = item;
+                places[index] = place;
+            }
+        }
+    }
+
+    private void writeObject(ObjectOutputStream out) throws IOException {
+        out.defaultWriteObject();
+        out.writeInt(size);
+        for (Item item : this)
+            out.writeObject(item);
+    }
+
+    private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+        in.defaultReadObject();
+        //NOTE: Identity hash codes don't survive serialization, so the hash table is built from scratch.
+        init();
+        int count = in.readInt();
+        for (int i = 0; i < count; ++i)
+            add((Item)in.readObject());
+    }
+}
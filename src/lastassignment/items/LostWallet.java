@@ -2,11 +2,20 @@ package lastassignment.items;
 
 import lastassignment.utils.Console;
 import lastassignment.Player;
+import lastassignment.world.Copyable;
+import lastassignment.world.DirtyTracker;
+import lastassignment.world.WorldCopier;
+import lastassignment.io.SaveReader;
+import lastassignment.io.SaveWriter;
+import lastassignment.io.Saveable;
 
-public class LostWallet extends Item {
+import java.io.IOException;
+
+public class LostWallet extends Item implements Copyable, Saveable {
 
     private double initialMoney;
     private double money;
+    private transient DirtyTracker dirtyTracker;
 
     public LostWallet(String description, double money) {
         super(description);
@@ -14,6 +23,56 @@ public class LostWallet extends Item {
         this.initialMoney = money;
     }
 
+    /**
+     * Copies a LostWallet for a new session, so that emptying it doesn't affect other sessions.
+     *
+     * @param original The LostWallet to copy.
+     * @param copier The copier that is copying the whole world.
+     * @see WorldCopier
+     */
+    private LostWallet(LostWallet original, WorldCopier copier) {
+        super(original.getDescription());
+        copier.register(original, this);
+        this.dirtyTracker = copier.getDirtyTracker();
+        this.money = original.money;
+        this.initialMoney = original.initialMoney;
+    }
+
+    /**
+     * Tells the DirtyTracker of the session, if any, that the state of the LostWallet changed.
+     */
+    private void markDirty() {
+        if (dirtyTracker != null)
+            dirtyTracker.markDirty(this);
+    }
+
+    @Override
+    public LostWallet copy(WorldCopier copier) {
+        return new LostWallet(this, copier);
+    }
+
+    /**
+     * Writes how much money is left in the wallet.
+     *
+     * @param out Where to write the state to.
+     * @throws IOException If the state could not be written.
+     */
+    @Override
+    public void writeState(SaveWriter out) throws IOException {
+        out.writeDouble(money);
+    }
+
+    /**
+     * Reads back how much money is left in the wallet.
+     *
+     * @param in Where to read the state from.
+     * @throws IOException If the state could not be read.
+     */
+    @Override
+    public void readState(SaveReader in) throws IOException {
+        money = in.readDouble();
+    }
+
     @Override
     public void interact(Player player) {
         Console.printWithPause("You walk over to the %s and pick it up", getDescription());
@@ -74,6 +133,7 @@ public class LostWallet extends Item {
                     }
 
                     money = 0;
+                    markDirty();
 
                 } else if (response == 2) {
                     playerResponded = true;
@@ -28,4 +28,19 @@ public class StrengthPotion extends Item {
         player.setDamageModifier(damageModifier);
     }
 
+    /**
+     * Gets how the item is taken, e.g. "drink".
+     * @return ingestionMethod
+     */
+    public String getIngestionMethod() {
+        return ingestionMethod;
+    }
+
+    /**
+     * Gets how much the potion changes the player's damage.
+     * @return damageModifier
+     */
+    public int getDamageModifier() {
+        return damageModifier;
+    }
 }
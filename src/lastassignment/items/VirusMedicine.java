@@ -61,4 +61,12 @@ public class VirusMedicine extends Item {
             super.interact(player);
         }
     }
+
+    /**
+     * Gets how much the medicine heals.
+     * @return healingPower
+     */
+    public int getHealingPower() {
+        return healingPower;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,27 @@
+package lastassignment.metrics;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * @version 1.0
+ *
+ * An Enemy jumped the Player as they came through a Door, the duration is the whole fight that followed.
+ *
+ * @see GameEvents#beginAmbush()
+ */
+@Name("lastassignment.Ambush")
+@Label("Ambush")
+@Description("An enemy jumped the player as they came through a door, including the whole fight")
+class AmbushEvent extends GameEvent {
+
+    @Label("Enemy")
+    String enemy;
+
+    @Label("Enemy Knocked Out")
+    boolean enemyKnockedOut;
+
+    @Label("Player Alive")
+    boolean playerAlive;
+}
@@ -0,0 +1,31 @@
+package lastassignment.metrics;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * @version 1.0
+ *
+ * One round of a fight, from the Player picking what to do until everything that happened was told.
+ *
+ * @see GameEvents#beginCombatRound()
+ */
+@Name("lastassignment.CombatRound")
+@Label("Combat Round")
+@Description("One round of a fight, including telling the player what happened")
+class CombatRoundEvent extends GameEvent {
+
+    @Label("Enemy")
+    String enemy;
+
+    @Label("Action")
+    @Description("What the player did, attack or flee")
+    String action;
+
+    @Label("Player Health")
+    int playerHealth;
+
+    @Label("Enemy Health")
+    int enemyHealth;
+}
@@ -0,0 +1,61 @@
+package lastassignment.metrics;
+
+/**
+ * @version 1.0
+ *
+ * What CommandMetrics keeps apart: every choice of the main menu of the game, and the dialogs
+ * that can be started from more than one place. A dialog is measured by itself as well as being
+ * part of the choice it was started from.
+ *
+ * @see CommandMetrics
+ */
+public enum Command {
+    LOOK_AROUND("1", "look around the room"),
+    LOOK_FOR_DOORS("2", "look for a way out"),
+    LOOK_FOR_COMPANY("3", "look for company"),
+    BACKPACK("4", "check your backpack"),
+    EXAMINE("5", "examine yourself"),
+    MAP("6", "look at your map"),
+    COMPANION("7", "approach your companion"),
+    TRAVEL("T", "travel"),
+    JOURNAL("J", "open up your journal"),
+    QUICKSAVE("S", "quicksave"),
+    QUICKLOAD("L", "quickload"),
+    GIVE_UP("X", "give up"),
+    OTHER(null, "anything else typed in"),
+    FIGHT(null, "fight"),
+    SHOP(null, "shop"),
+    JOURNAL_DIALOG(null, "journal dialog"),
+    SAVE(null, "save");
+
+    private static final Command[] VALUES = values();
+
+    private final String input;
+    private final String description;
+
+    Command(String input, String description) {
+        this.input = input;
+        this.description = description;
+    }
+
+    /**
+     * Finds the choice of the main menu that was picked.
+     *
+     * @param input What the player typed in, in uppercase.
+     * @return The choice, or OTHER if nothing on the menu was picked.
+     */
+    public static Command ofInput(String input) {
+        for (Command command : VALUES) {
+            if (input.equals(command.input))
+                return command;
+        }
+        return OTHER;
+    }
+
+    /**
+     * @return What the command is called in reports, with what to type in for it if it's on the main menu.
+     */
+    public String getDescription() {
+        return input == null ? description : "(" + input + ") " + description;
+    }
+}
@@ -0,0 +1,232 @@
+package lastassignment.metrics;
+
+import lastassignment.utils.Console;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * @version 1.0
+ *
+ * Measures how long every Command takes and how much it allocates, in every session that is played
+ * in this JVM. A Command is measured by calling begin() right before it and end() right after it,
+ * in a finally block:
+ *
+ *   CommandMetrics.begin();
+ *   try {
+ *       ...
+ *   } finally {
+ *       CommandMetrics.end(Command.FIGHT);
+ *   }
+ *
+ * The time spent waiting for the player to type something in is left out, so what is measured is
+ * how long the game itself took. Measuring allocates nothing and takes no locks, it reads the clock
+ * and the bytes the thread allocated so far twice, and records into a Histogram, so it is cheap
+ * enough to always be on. Some threads, like the virtual threads the sessions of a server run on,
+ * don't keep track of what they allocate. Commands run on them are timed, but leave the bytes per
+ * command alone.
+ *
+ * @see Histogram
+ * @see MetricsReporter
+ */
+public class CommandMetrics implements CommandMetricsMXBean {
+
+    private static final CommandMetrics defaultMetrics = new CommandMetrics();
+    private static final ThreadLocal<Measurements> threadMeasurements = ThreadLocal.withInitial(Measurements::new);
+    private static final com.sun.management.ThreadMXBean allocationCounter = findAllocationCounter();
+    private static final MethodHandle currentThreadAllocatedBytes = findCurrentThreadAllocatedBytes();
+
+    private final long startTime;
+    private final Histogram[] latencies;
+    private final LongAdder[] allocatedBytes;
+    private final LongAdder[] allocationSamples;
+
+    /**
+     * Gets the metrics every session records into.
+     *
+     * @return The shared CommandMetrics.
+     */
+    public static CommandMetrics getDefault() {
+        return defaultMetrics;
+    }
+
+    /**
+     * Creates metrics where nothing was measured yet.
+     */
+    public CommandMetrics() {
+        startTime = System.nanoTime();
+        latencies = new Histogram[Command.values().length];
+        allocatedBytes = new LongAdder[latencies.length];
+        allocationSamples = new LongAdder[latencies.length];
+        for (int i = 0; i < latencies.length; ++i) {
+            latencies[i] = new Histogram();
+            allocatedBytes[i] = new LongAdder();
+            allocationSamples[i] = new LongAdder();
+        }
+    }
+
+    /**
+     * Starts measuring a Command on the calling thread. Commands started from within other
+     * Commands are measured by themselves, and are still part of the Command around them.
+     */
+    public static void begin() {
+        threadMeasurements.get().push(busyNanos(), getAllocatedBytes());
+    }
+
+    /**
+     * Stops measuring the Command that was started last on the calling thread, and records it into the default metrics.
+     *
+     * @param command What was measured.
+     */
+    public static void end(Command command) {
+        Measurements measurements = threadMeasurements.get();
+        long elapsedNanos = busyNanos() - measurements.peekStartNanos();
+        long startBytes = measurements.peekStartBytes();
+        long endBytes = getAllocatedBytes();
+        long allocated = startBytes < 0 || endBytes < 0 ? -1 : endBytes - startBytes;
+        measurements.pop();
+        defaultMetrics.record(command, elapsedNanos, allocated);
+    }
+
+    /**
+     * Records a single run of a Command.
+     *
+     * @param command The Command that was run.
+     * @param elapsedNanos How long it took.
+     * @param allocated The bytes it allocated, or -1 if the thread it ran on doesn't keep track of that.
+     */
+    public void record(Command command, long elapsedNanos, long allocated) {
+        latencies[command.ordinal()].record(elapsedNanos);
+        if (allocated >= 0) {
+            allocatedBytes[command.ordinal()].add(allocated);
+            allocationSamples[command.ordinal()].increment();
+        }
+    }
+
+    @Override
+    public CommandStatistics[] getCommands() {
+        double seconds = Math.max(1e-9, (System.nanoTime() - startTime) / 1e9);
+        List<CommandStatistics> commands = new ArrayList<>();
+        for (Command command : Command.values()) {
+            Histogram latency = latencies[command.ordinal()];
+            long count = latency.getCount();
+            if (count == 0)
+                continue;
+            long samples = allocationSamples[command.ordinal()].sum();
+            long bytesPerCommand = samples == 0 ? -1 : allocatedBytes[command.ordinal()].sum() / samples;
+            commands.add(new CommandStatistics(command.getDescription(), count, count / seconds,
+                    latency.getPercentile(0.5) / 1e3, latency.getPercentile(0.99) / 1e3,
+                    latency.getMean() / 1e3, bytesPerCommand));
+        }
+        return commands.toArray(new CommandStatistics[0]);
+    }
+
+    @Override
+    public long getTotalCount() {
+        return Arrays.stream(latencies).mapToLong(Histogram::getCount).sum();
+    }
+
+    @Override
+    public String getReport() {
+        StringBuilder report = new StringBuilder();
+        report.append(String.format("%-32s %9s %9s %10s %10s %10s %12s%n",
+                "command", "count", "per s", "p50 us", "p99 us", "mean us", "bytes/cmd"));
+        for (CommandStatistics command : getCommands()) {
+            report.append(String.format("%-32s %9d %9.2f %10.1f %10.1f %10.1f %12d%n",
+                    command.getCommand(), command.getCount(), command.getPerSecond(), command.getP50Micros(),
+                    command.getP99Micros(), command.getMeanMicros(), command.getAllocatedBytesPerCommand()));
+        }
+        return report.toString();
+    }
+
+    /**
+     * @return The bytes the calling thread allocated so far, or -1 if the JVM or the thread doesn't keep track of that.
+     */
+    public static long getAllocatedBytes() {
+        if (allocationCounter == null)
+            return -1;
+        if (currentThreadAllocatedBytes != null) {
+            try {
+                return (long)currentThreadAllocatedBytes.invokeExact();
+            } catch (Throwable e) {
+                return -1;
+            }
+        }
+        return allocationCounter.getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+
+    /**
+     * @return A clock for the calling thread that stands still while it waits for input.
+     */
+    private static long busyNanos() {
+        return System.nanoTime() - Console.getInputWaitNanos();
+    }
+
+    private static com.sun.management.ThreadMXBean findAllocationCounter() {
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        if (threads instanceof com.sun.management.ThreadMXBean) {
+            com.sun.management.ThreadMXBean sunThreads = (com.sun.management.ThreadMXBean)threads;
+            if (sunThreads.isThreadAllocatedMemorySupported() && sunThreads.isThreadAllocatedMemoryEnabled())
+                return sunThreads;
+        }
+        return null;
+    }
+
+    /**
+     * Finds getCurrentThreadAllocatedBytes() of the allocation counter, which doesn't have to look the
+     * thread up by its ID first, but only exists since Java 14.
+     *
+     * @return A handle that takes no arguments, or null if there is no such method.
+     */
+    private static MethodHandle findCurrentThreadAllocatedBytes() {
+        if (allocationCounter == null)
+            return null;
+        try {
+            //NOTE: Looked up reflectively, because we still compile for Java 8.
+            return MethodHandles.publicLookup()
+                    .findVirtual(com.sun.management.ThreadMXBean.class, "getCurrentThreadAllocatedBytes", MethodType.methodType(long.class))
+                    .bindTo(allocationCounter);
+        } catch (ReflectiveOperationException e) {
+            return null;
+        }
+    }
+
+    /**
+     * The Commands that are being measured on a single thread, innermost last.
+     */
+    private static class Measurements {
+
+        private long[] startNanos = new long[4];
+        private long[] startBytes = new long[4];
+        private int depth;
+
+        void push(long nanos, long bytes) {
+            if (depth == startNanos.length) {
+                startNanos = Arrays.copyOf(startNanos, depth * 2);
+                startBytes = Arrays.copyOf(startBytes, depth * 2);
+            }
+            startNanos[depth] = nanos;
+            startBytes[depth] = bytes;
+            ++depth;
+        }
+
+        long peekStartNanos() {
+            return startNanos[depth - 1];
+        }
+
+        long peekStartBytes() {
+            return startBytes[depth - 1];
+        }
+
+        void pop() {
+            --depth;
+        }
+    }
+}
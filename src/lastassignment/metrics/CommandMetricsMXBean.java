@@ -0,0 +1,27 @@
+package lastassignment.metrics;
+
+/**
+ * @version 1.0
+ *
+ * What CommandMetrics shows over JMX, for example in JConsole or VisualVM under
+ * "lastassignment:type=CommandMetrics".
+ *
+ * @see CommandMetrics
+ */
+public interface CommandMetricsMXBean {
+
+    /**
+     * @return What was measured for every Command that was run at least once.
+     */
+    CommandStatistics[] getCommands();
+
+    /**
+     * @return How many Commands were run in total.
+     */
+    long getTotalCount();
+
+    /**
+     * @return Everything that was measured as a table, the same as the one MetricsReporter writes to its file.
+     */
+    String getReport();
+}
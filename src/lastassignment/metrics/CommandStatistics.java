@@ -0,0 +1,87 @@
+package lastassignment.metrics;
+
+/**
+ * @version 1.0
+ *
+ * What CommandMetrics measured for one Command, as it was when it was read. JMX clients see every
+ * getter as an attribute of their own.
+ *
+ * @see CommandMetricsMXBean#getCommands()
+ */
+public class CommandStatistics {
+
+    private final String command;
+    private final long count;
+    private final double perSecond;
+    private final double p50Micros;
+    private final double p99Micros;
+    private final double meanMicros;
+    private final long allocatedBytesPerCommand;
+
+    CommandStatistics(String command, long count, double perSecond, double p50Micros, double p99Micros,
+                      double meanMicros, long allocatedBytesPerCommand) {
+        this.command = command;
+        this.count = count;
+        this.perSecond = perSecond;
+        this.p50Micros = p50Micros;
+        this.p99Micros = p99Micros;
+        this.meanMicros = meanMicros;
+        this.allocatedBytesPerCommand = allocatedBytesPerCommand;
+    }
+
+    /**
+     * Gets what the Command is called.
+     * @return command
+     */
+    public String getCommand() {
+        return command;
+    }
+
+    /**
+     * Gets how often the Command was run.
+     * @return count
+     */
+    public long getCount() {
+        return count;
+    }
+
+    /**
+     * Gets how often the Command was run per second, on average since the metrics were started.
+     * @return perSecond
+     */
+    public double getPerSecond() {
+        return perSecond;
+    }
+
+    /**
+     * Gets the time half of the runs of the Command took at most, not counting the time spent waiting for input.
+     * @return p50Micros
+     */
+    public double getP50Micros() {
+        return p50Micros;
+    }
+
+    /**
+     * Gets the time 99 out of 100 runs of the Command took at most, not counting the time spent waiting for input.
+     * @return p99Micros
+     */
+    public double getP99Micros() {
+        return p99Micros;
+    }
+
+    /**
+     * Gets the average time a run of the Command took, not counting the time spent waiting for input.
+     * @return meanMicros
+     */
+    public double getMeanMicros() {
+        return meanMicros;
+    }
+
+    /**
+     * Gets the bytes a run of the Command allocated on average.
+     * @return allocatedBytesPerCommand, or -1 if the JVM, or the threads it ran on, don't keep track of allocations.
+     */
+    public long getAllocatedBytesPerCommand() {
+        return allocatedBytesPerCommand;
+    }
+}
@@ -0,0 +1,128 @@
+package lastassignment.metrics;
+
+/**
+ * @version 1.0
+ *
+ * Creates, fills in and commits the JFR events of the game. This is the only class outside the
+ * events themselves that mentions them, and GameEvents only calls it once it knows that JFR is there,
+ * so on a JVM without JFR neither this class nor any of the events is ever loaded. The events are
+ * passed around as plain Objects for the same reason.
+ *
+ * @see GameEvents
+ */
+class FlightRecorderEvents {
+
+    static Object beginRoomTransition() {
+        RoomTransitionEvent event = new RoomTransitionEvent();
+        event.begin();
+        return event;
+    }
+
+    static void endRoomTransition(Object begunEvent, int sessionId, String fromRoom, String room) {
+        RoomTransitionEvent event = (RoomTransitionEvent)begunEvent;
+        if (!end(event, sessionId, room))
+            return;
+        event.fromRoom = fromRoom;
+        event.commit();
+    }
+
+    static Object beginCombatRound() {
+        CombatRoundEvent event = new CombatRoundEvent();
+        event.begin();
+        return event;
+    }
+
+    static void endCombatRound(Object begunEvent, int sessionId, String room, String enemy, String action,
+                               int playerHealth, int enemyHealth) {
+        CombatRoundEvent event = (CombatRoundEvent)begunEvent;
+        if (!end(event, sessionId, room))
+            return;
+        event.enemy = enemy;
+        event.action = action;
+        event.playerHealth = playerHealth;
+        event.enemyHealth = enemyHealth;
+        event.commit();
+    }
+
+    static Object beginAmbush() {
+        AmbushEvent event = new AmbushEvent();
+        event.begin();
+        return event;
+    }
+
+    static void endAmbush(Object begunEvent, int sessionId, String room, String enemy, boolean enemyKnockedOut, boolean playerAlive) {
+        AmbushEvent event = (AmbushEvent)begunEvent;
+        if (!end(event, sessionId, room))
+            return;
+        event.enemy = enemy;
+        event.enemyKnockedOut = enemyKnockedOut;
+        event.playerAlive = playerAlive;
+        event.commit();
+    }
+
+    static Object beginSave() {
+        SaveEvent event = new SaveEvent();
+        event.begin();
+        return event;
+    }
+
+    static void endSave(Object begunEvent, int sessionId, String room, String title, long size, boolean succeeded) {
+        SaveEvent event = (SaveEvent)begunEvent;
+        if (!end(event, sessionId, room))
+            return;
+        event.title = title;
+        event.size = size;
+        event.succeeded = succeeded;
+        event.commit();
+    }
+
+    static Object beginLoad() {
+        LoadEvent event = new LoadEvent();
+        event.begin();
+        return event;
+    }
+
+    static void endLoad(Object begunEvent, int sessionId, String room, String title, long size, boolean succeeded) {
+        LoadEvent event = (LoadEvent)begunEvent;
+        if (!end(event, sessionId, room))
+            return;
+        event.title = title;
+        event.size = size;
+        event.succeeded = succeeded;
+        event.commit();
+    }
+
+    static void purchased(int sessionId, String room, String seller, String item, double price, double moneyLeft) {
+        PurchaseEvent event = new PurchaseEvent();
+        if (!end(event, sessionId, room))
+            return;
+        event.seller = seller;
+        event.item = item;
+        event.price = price;
+        event.moneyLeft = moneyLeft;
+        event.commit();
+    }
+
+    static void hallucinationSpawned(int sessionId, String room, String kind, String description) {
+        HallucinationEvent event = new HallucinationEvent();
+        if (!end(event, sessionId, room))
+            return;
+        event.kind = kind;
+        event.description = description;
+        event.commit();
+    }
+
+    /**
+     * Ends an event, and fills in what every event has if it is going to be recorded.
+     *
+     * @return true if the event should be filled in and committed.
+     */
+    private static boolean end(GameEvent event, int sessionId, String room) {
+        event.end();
+        if (!event.shouldCommit())
+            return false;
+        event.sessionId = sessionId;
+        event.room = room;
+        return true;
+    }
+}
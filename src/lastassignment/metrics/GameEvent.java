@@ -0,0 +1,24 @@
+package lastassignment.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+
+/**
+ * @version 1.0
+ *
+ * What every JFR event of the game has in common: which session it happened in, and in which Room,
+ * so that everything that happened in one session can be picked out of a recording of a server.
+ * Only FlightRecorderEvents fills these in, since none of them can even be loaded on a JVM without JFR.
+ *
+ * @see FlightRecorderEvents
+ */
+@Category("The Last Assignment")
+abstract class GameEvent extends Event {
+
+    @Label("Session")
+    int sessionId;
+
+    @Label("Room")
+    String room;
+}
@@ -0,0 +1,169 @@
+package lastassignment.metrics;
+
+/**
+ * @version 1.0
+ *
+ * Emits Java Flight Recorder events for what happens in the game, so that a recording of a server
+ * shows when players walked into Rooms, fought, saved, loaded, bought something or hallucinated,
+ * right next to the GC pauses and lock contention at the same time. Every event carries the session
+ * it happened in and the Room, and events that span time, like a fight, have a duration:
+ *
+ *   Object event = GameEvents.beginRoomTransition();
+ *   ...
+ *   GameEvents.endRoomTransition(event, from, to);
+ *
+ * The events themselves extend jdk.jfr.Event, which older Java 8 JVMs don't have, so callers only
+ * ever get them as plain Objects, and they are only created by FlightRecorderEvents, which isn't
+ * loaded until it is known that JFR is there. Without JFR every begin returns null and every end
+ * does nothing. With JFR, but without a recording, an event is created and thrown away.
+ *
+ * @see FlightRecorderEvents
+ */
+public class GameEvents {
+
+    private static final boolean IS_AVAILABLE = isFlightRecorderAvailable();
+    private static final ThreadLocal<int[]> threadSessionId = ThreadLocal.withInitial(() -> new int[1]);
+
+    /**
+     * Sets the session the events of the calling thread belong to. Sessions that were never given one are session 0.
+     *
+     * @param sessionId The number of the session.
+     */
+    public static void setSessionId(int sessionId) {
+        threadSessionId.get()[0] = sessionId;
+    }
+
+    /**
+     * @return An event for the Player walking into another Room, or null if there's no JFR.
+     */
+    public static Object beginRoomTransition() {
+        return IS_AVAILABLE ? FlightRecorderEvents.beginRoomTransition() : null;
+    }
+
+    /**
+     * @param event The event that was begun when the Player started walking into the Room.
+     * @param fromRoom The Room the Player came from.
+     * @param room The Room the Player walked into.
+     */
+    public static void endRoomTransition(Object event, String fromRoom, String room) {
+        if (event != null)
+            FlightRecorderEvents.endRoomTransition(event, sessionId(), fromRoom, room);
+    }
+
+    /**
+     * @return An event for a round of a fight, or null if there's no JFR.
+     */
+    public static Object beginCombatRound() {
+        return IS_AVAILABLE ? FlightRecorderEvents.beginCombatRound() : null;
+    }
+
+    /**
+     * @param event The event that was begun when the Player picked what to do.
+     * @param room The Room the fight is in.
+     * @param enemy Who the Player is fighting.
+     * @param action What the Player did, attack or flee.
+     * @param playerHealth The health the Player has left.
+     * @param enemyHealth The health the Enemy has left.
+     */
+    public static void endCombatRound(Object event, String room, String enemy, String action,
+                                      int playerHealth, int enemyHealth) {
+        if (event != null)
+            FlightRecorderEvents.endCombatRound(event, sessionId(), room, enemy, action, playerHealth, enemyHealth);
+    }
+
+    /**
+     * @return An event for an Enemy jumping the Player, or null if there's no JFR.
+     */
+    public static Object beginAmbush() {
+        return IS_AVAILABLE ? FlightRecorderEvents.beginAmbush() : null;
+    }
+
+    /**
+     * @param event The event that was begun when the Enemy jumped the Player.
+     * @param room The Room the Player was jumped in.
+     * @param enemy Who jumped the Player.
+     * @param enemyKnockedOut Whether the Enemy was knocked out in the fight.
+     * @param playerAlive Whether the Player survived the fight.
+     */
+    public static void endAmbush(Object event, String room, String enemy, boolean enemyKnockedOut, boolean playerAlive) {
+        if (event != null)
+            FlightRecorderEvents.endAmbush(event, sessionId(), room, enemy, enemyKnockedOut, playerAlive);
+    }
+
+    /**
+     * @return An event for saving the Player, or null if there's no JFR.
+     */
+    public static Object beginSave() {
+        return IS_AVAILABLE ? FlightRecorderEvents.beginSave() : null;
+    }
+
+    /**
+     * @param event The event that was begun before the Player was serialized.
+     * @param room The Room the Player was saved in.
+     * @param title The title the Player was saved under.
+     * @param size The size of the save in bytes, or 0 if it couldn't be serialized.
+     * @param succeeded Whether the save was written.
+     */
+    public static void endSave(Object event, String room, String title, long size, boolean succeeded) {
+        if (event != null)
+            FlightRecorderEvents.endSave(event, sessionId(), room, title, size, succeeded);
+    }
+
+    /**
+     * @return An event for loading a Player, or null if there's no JFR.
+     */
+    public static Object beginLoad() {
+        return IS_AVAILABLE ? FlightRecorderEvents.beginLoad() : null;
+    }
+
+    /**
+     * @param event The event that was begun before the save was read.
+     * @param room The Room the loaded Player is in, or null if nothing could be loaded.
+     * @param title The title of the save.
+     * @param size The size of the save in bytes, or 0 if it couldn't be read.
+     * @param succeeded Whether a Player was loaded.
+     */
+    public static void endLoad(Object event, String room, String title, long size, boolean succeeded) {
+        if (event != null)
+            FlightRecorderEvents.endLoad(event, sessionId(), room, title, size, succeeded);
+    }
+
+    /**
+     * Tells that the Player bought something.
+     *
+     * @param room The Room the Player bought it in.
+     * @param seller Who or what sold it.
+     * @param item What the Player bought.
+     * @param price What the Player paid for it.
+     * @param moneyLeft The money the Player has left.
+     */
+    public static void purchased(String room, String seller, String item, double price, double moneyLeft) {
+        if (IS_AVAILABLE)
+            FlightRecorderEvents.purchased(sessionId(), room, seller, item, price, moneyLeft);
+    }
+
+    /**
+     * Tells that something that isn't really there showed up for the Player.
+     *
+     * @param room The Room the Player is in.
+     * @param kind What showed up, a door, an NPC or an item.
+     * @param description What it looks like.
+     */
+    public static void hallucinationSpawned(String room, String kind, String description) {
+        if (IS_AVAILABLE)
+            FlightRecorderEvents.hallucinationSpawned(sessionId(), room, kind, description);
+    }
+
+    private static int sessionId() {
+        return threadSessionId.get()[0];
+    }
+
+    private static boolean isFlightRecorderAvailable() {
+        try {
+            Class.forName("jdk.jfr.Event");
+            return true;
+        } catch (ClassNotFoundException | LinkageError e) {
+            return false;
+        }
+    }
+}
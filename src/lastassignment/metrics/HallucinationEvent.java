@@ -0,0 +1,25 @@
+package lastassignment.metrics;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * @version 1.0
+ *
+ * Something that isn't really there showed up for a hallucinating Player.
+ *
+ * @see GameEvents#hallucinationSpawned
+ */
+@Name("lastassignment.Hallucination")
+@Label("Hallucination")
+@Description("Something that isn't really there showed up for a hallucinating player")
+class HallucinationEvent extends GameEvent {
+
+    @Label("Kind")
+    @Description("What showed up, a door, an NPC or an item")
+    String kind;
+
+    @Label("Hallucination")
+    String description;
+}
@@ -0,0 +1,115 @@
+package lastassignment.metrics;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * @version 1.0
+ *
+ * Counts how often values like latencies in nanoseconds occur, in buckets that grow along with the
+ * values: every power of two is split into 8 buckets, so a percentile read from the histogram is at
+ * most an eighth off, however big the values get. Values below 8 each get a bucket of their own.
+ *
+ * Recording a value only increments a counter, without taking any lock, so any number of threads
+ * can record into the same histogram at the same time. Reading it while values are recorded gives
+ * a view that might be missing the values that are being recorded right then.
+ *
+ * @see CommandMetrics
+ */
+public class Histogram {
+
+    private static final int SUB_BUCKET_BITS = 3;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int BUCKETS = (Long.SIZE - SUB_BUCKET_BITS + 1) * SUB_BUCKETS;
+
+    private final AtomicLongArray counts;
+    private final LongAdder count;
+    private final LongAdder sum;
+
+    /**
+     * Creates an empty histogram.
+     */
+    public Histogram() {
+        counts = new AtomicLongArray(BUCKETS);
+        count = new LongAdder();
+        sum = new LongAdder();
+    }
+
+    /**
+     * Records a value.
+     *
+     * @param value The value, negative values are recorded as 0.
+     */
+    public void record(long value) {
+        value = Math.max(0, value);
+        counts.incrementAndGet(bucketOf(value));
+        count.increment();
+        sum.add(value);
+    }
+
+    /**
+     * @return How many values were recorded.
+     */
+    public long getCount() {
+        return count.sum();
+    }
+
+    /**
+     * @return The sum of all values that were recorded.
+     */
+    public long getSum() {
+        return sum.sum();
+    }
+
+    /**
+     * @return The average of all values that were recorded, or 0 if there are none.
+     */
+    public double getMean() {
+        long n = getCount();
+        return n == 0 ? 0 : getSum() / (double)n;
+    }
+
+    /**
+     * Finds the value that the given fraction of all values are at most.
+     *
+     * @param fraction The fraction, for example 0.99 for the 99th percentile.
+     * @return The highest value in the bucket of the percentile, or 0 if no values were recorded.
+     */
+    public long getPercentile(double fraction) {
+        long total = 0;
+        long[] snapshot = new long[BUCKETS];
+        for (int bucket = 0; bucket < BUCKETS; ++bucket) {
+            snapshot[bucket] = counts.get(bucket);
+            total += snapshot[bucket];
+        }
+        if (total == 0)
+            return 0;
+        long rank = Math.max(1, (long)Math.ceil(fraction * total));
+        long seen = 0;
+        for (int bucket = 0; bucket < BUCKETS; ++bucket) {
+            seen += snapshot[bucket];
+            if (seen >= rank)
+                return highestValueIn(bucket);
+        }
+        return highestValueIn(BUCKETS - 1);
+    }
+
+    private static int bucketOf(long value) {
+        if (value < SUB_BUCKETS)
+            return (int)value;
+        int exponent = Long.SIZE - 1 - Long.numberOfLeadingZeros(value);
+        int subBucket = (int)(value >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+        return (exponent - SUB_BUCKET_BITS + 1) * SUB_BUCKETS + subBucket;
+    }
+
+    private static long lowestValueIn(int bucket) {
+        if (bucket < SUB_BUCKETS)
+            return bucket;
+        int exponent = bucket / SUB_BUCKETS + SUB_BUCKET_BITS - 1;
+        return (long)(SUB_BUCKETS + bucket % SUB_BUCKETS) << (exponent - SUB_BUCKET_BITS);
+    }
+
+    private static long highestValueIn(int bucket) {
+        return bucket == BUCKETS - 1 ? Long.MAX_VALUE : lowestValueIn(bucket + 1) - 1;
+    }
+}
@@ -0,0 +1,29 @@
+package lastassignment.metrics;
+
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * @version 1.0
+ *
+ * A Player was loaded from the journal, the duration is how long it took to read and deserialize them.
+ *
+ * @see GameEvents#beginLoad()
+ */
+@Name("lastassignment.Load")
+@Label("Load")
+@Description("A player was read from the journal and deserialized")
+class LoadEvent extends GameEvent {
+
+    @Label("Title")
+    String title;
+
+    @Label("Size")
+    @DataAmount
+    long size;
+
+    @Label("Succeeded")
+    boolean succeeded;
+}
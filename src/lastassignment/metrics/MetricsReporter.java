@@ -0,0 +1,108 @@
+package lastassignment.metrics;
+
+import javax.management.JMException;
+import javax.management.ObjectName;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.Date;
+
+/**
+ * @version 1.0
+ *
+ * Makes the default CommandMetrics visible from outside the game. They are registered with JMX
+ * under "lastassignment:type=CommandMetrics", and written to a text file every minute, and once
+ * more when the game shuts down. Everything runs on a background thread that waits a moment before
+ * it does anything, so that the game starts just as fast as it did without it. The file is only
+ * written once a Command was run, and only when something new was measured.
+ *
+ * @see CommandMetrics
+ */
+public class MetricsReporter {
+
+    /**
+     * Where the metrics are written to, unless told otherwise.
+     */
+    public static final Path DEFAULT_PATH = Paths.get("savedgames", "metrics.txt");
+
+    /**
+     * The name the metrics are registered under with JMX.
+     */
+    public static final String OBJECT_NAME = "lastassignment:type=CommandMetrics";
+
+    private static final long STARTUP_DELAY_MILLIS = 500;
+    private static final long PERIOD_MILLIS = 60000;
+
+    private static boolean isStarted;
+
+    private final Path path;
+    private long reportedCount;
+
+    private MetricsReporter(Path path) {
+        this.path = path;
+    }
+
+    /**
+     * Starts reporting the default CommandMetrics in the background. Only the first call does anything.
+     *
+     * @param path The file to write the metrics to.
+     */
+    public static synchronized void start(Path path) {
+        if (isStarted)
+            return;
+        isStarted = true;
+        MetricsReporter reporter = new MetricsReporter(path);
+        Thread thread = new Thread(reporter::reportLoop, "metrics-reporter");
+        thread.setDaemon(true);
+        thread.start();
+        Runtime.getRuntime().addShutdownHook(new Thread(reporter::write, "metrics-shutdown"));
+    }
+
+    private void reportLoop() {
+        try {
+            Thread.sleep(STARTUP_DELAY_MILLIS);
+            //NOTE: This also loads what CommandMetrics needs to count allocations, which takes tens of
+            //      milliseconds, so that the first Command the player picks doesn't have to.
+            register();
+            while (true) {
+                Thread.sleep(PERIOD_MILLIS);
+                write();
+            }
+        } catch (InterruptedException e) {
+            //NOTE: Only happens when the JVM shuts down, and the shutdown hook writes the last report.
+        }
+    }
+
+    private static void register() {
+        try {
+            ManagementFactory.getPlatformMBeanServer().registerMBean(CommandMetrics.getDefault(), new ObjectName(OBJECT_NAME));
+        } catch (JMException e) {
+            //NOTE: The metrics are still written to the file, they just can't be looked at over JMX.
+        }
+    }
+
+    /**
+     * Writes the metrics to a temporary file, which then replaces the previous report.
+     */
+    private synchronized void write() {
+        CommandMetrics metrics = CommandMetrics.getDefault();
+        long count = metrics.getTotalCount();
+        if (count == reportedCount)
+            return;
+        String report = String.format("Commands run since the game started, as of %s%n%n%s", new Date(), metrics.getReport());
+        try {
+            if (path.getParent() != null)
+                Files.createDirectories(path.getParent());
+            Path temporaryPath = path.resolveSibling(path.getFileName() + ".tmp");
+            Files.write(temporaryPath, report.getBytes(StandardCharsets.UTF_8));
+            Files.move(temporaryPath, path, StandardCopyOption.REPLACE_EXISTING);
+            reportedCount = count;
+        } catch (IOException e) {
+            //NOTE: Nobody asked for the report, so the game carries on, and it is tried again next time.
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package lastassignment.metrics;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * @version 1.0
+ *
+ * The Player bought something, from a Shopkeeper or a VendingMachine.
+ *
+ * @see GameEvents#purchased
+ */
+@Name("lastassignment.Purchase")
+@Label("Purchase")
+@Description("The player bought something from a shopkeeper or a vending machine")
+class PurchaseEvent extends GameEvent {
+
+    @Label("Seller")
+    String seller;
+
+    @Label("Item")
+    String item;
+
+    @Label("Price")
+    double price;
+
+    @Label("Money Left")
+    double moneyLeft;
+}
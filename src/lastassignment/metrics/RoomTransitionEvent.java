@@ -0,0 +1,21 @@
+package lastassignment.metrics;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * @version 1.0
+ *
+ * The Player walked into another Room, the duration is how long it took to move them and to autosave.
+ *
+ * @see GameEvents#beginRoomTransition()
+ */
+@Name("lastassignment.RoomTransition")
+@Label("Room Transition")
+@Description("The player walked into another room, including the autosave")
+class RoomTransitionEvent extends GameEvent {
+
+    @Label("From Room")
+    String fromRoom;
+}
@@ -0,0 +1,29 @@
+package lastassignment.metrics;
+
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * @version 1.0
+ *
+ * The Player was saved to the journal, the duration is how long it took to serialize and write them.
+ *
+ * @see GameEvents#beginSave()
+ */
+@Name("lastassignment.Save")
+@Label("Save")
+@Description("The player was serialized and written to the journal")
+class SaveEvent extends GameEvent {
+
+    @Label("Title")
+    String title;
+
+    @Label("Size")
+    @DataAmount
+    long size;
+
+    @Label("Succeeded")
+    boolean succeeded;
+}
@@ -5,8 +5,11 @@ import lastassignment.Room;
 import lastassignment.utils.Attackable;
 import lastassignment.utils.Console;
 import lastassignment.utils.Interactable;
+import lastassignment.io.SaveReader;
+import lastassignment.io.SaveWriter;
+import lastassignment.world.WorldCopier;
 
-import java.util.Random;
+import java.io.IOException;
 
 /**
  * @author Boris
@@ -24,8 +27,6 @@ import java.util.Random;
  */
 public class CompanionRobot extends FriendlyNPC implements Attackable {
 
-    private static final Random rand = new Random();
-
     private final int number;
     private final int maxHealth;
     private int jokePointer;
@@ -51,6 +52,30 @@ public class CompanionRobot extends FriendlyNPC implements Attackable {
         jokePointer = 0;
     }
 
+    private CompanionRobot(CompanionRobot original, WorldCopier copier) {
+        super(original, copier);
+        this.number = original.number;
+        this.maxHealth = original.maxHealth;
+        jokePointer = original.jokePointer;
+    }
+
+    @Override
+    public CompanionRobot copy(WorldCopier copier) {
+        return new CompanionRobot(this, copier);
+    }
+
+    @Override
+    public void writeState(SaveWriter out) throws IOException {
+        super.writeState(out);
+        out.writeInt(jokePointer);
+    }
+
+    @Override
+    public void readState(SaveReader in) throws IOException {
+        super.readState(in);
+        jokePointer = in.readInt();
+    }
+
     /**
      * Makes the CompanionRobot take damage. If the damage makes the robot's
      * health drop to 0, they die.
@@ -60,13 +85,30 @@ public class CompanionRobot extends FriendlyNPC implements Attackable {
      */
     @Override
     public void getAttackedFor(int damage) {
+        takeHit(damage);
+        printTakingTheHit();
+        if (!this.isAlive())
+            this.die();
+    }
+
+    /**
+     * Lowers the robot's health by the damage of a hit, but not below 0, without any output.
+     *
+     * @param damage Damage the robot should take.
+     */
+    void takeHit(int damage) {
         assert damage >= 0;
         health -= damage;
-        Console.printWithPause("The enemy tries to attack you, but Number %d takes the hit for you!", number);
-        if (!this.isAlive()) {
+        if (health < 0)
             health = 0;
-            this.die();
-        }
+        markDirty();
+    }
+
+    /**
+     * Tells the player that the robot took a hit for them.
+     */
+    void printTakingTheHit() {
+        Console.printWithPause("The enemy tries to attack you, but Number %d takes the hit for you!", number);
     }
 
     /**
@@ -188,7 +230,7 @@ public class CompanionRobot extends FriendlyNPC implements Attackable {
                     statusReport();
                     break;
                 case "2":
-                    tellJoke();
+                    tellJoke(player);
                     break;
                 case "3":
                     smallTalk();
@@ -222,8 +264,10 @@ public class CompanionRobot extends FriendlyNPC implements Attackable {
 
     /**
      * Prints out a random joke.
+     *
+     * @param player The Player listening to the joke.
      */
-    private void tellJoke() {
+    private void tellJoke(Player player) {
 
         switch (jokePointer) {
             case 0:
@@ -297,8 +341,9 @@ public class CompanionRobot extends FriendlyNPC implements Attackable {
         }
         jokePointer += 1;
         jokePointer %= 15;
+        markDirty();
 
-        int laughValue = rand.nextInt(10);
+        int laughValue = player.getRandom().nextInt(10);
         if (laughValue < 6) {
             Console.printWithPause("\"Ha Ha Ha\"");
         } else if (laughValue < 9) {
@@ -3,10 +3,14 @@ package lastassignment.npcs;
 
 import lastassignment.Player;
 import lastassignment.Room;
+import lastassignment.combat.CombatResolver;
+import lastassignment.metrics.Command;
+import lastassignment.metrics.CommandMetrics;
+import lastassignment.metrics.GameEvents;
 import lastassignment.utils.Attackable;
 import lastassignment.utils.Console;
+import lastassignment.world.WorldCopier;
 
-import java.util.Random;
 
 /**
  * @author Boris
@@ -20,6 +24,8 @@ import java.util.Random;
  */
 public class Enemy extends NPC implements Attackable {
 
+    private final double infectionChance;
+
     /**
      * Initializes the enemy without a room, as it can also "belong" to a door.
      * @param description description of the enemy
@@ -29,6 +35,7 @@ public class Enemy extends NPC implements Attackable {
      */
     public Enemy(String description, int health, int damage, boolean infected){
         super(description, health, damage, infected);
+        infectionChance = 0;
     }
 
     /**
@@ -41,6 +48,34 @@ public class Enemy extends NPC implements Attackable {
      */
     public Enemy(String description, int health, int damage, boolean infected, Room room) {
         super(description, health, damage, infected, room);
+        infectionChance = 0;
+    }
+
+    /**
+     * Initializes an enemy that may or may not be infected. Whether it is infected is decided
+     * separately for each session, when the world is copied for it.
+     * @param description description of the enemy
+     * @param health health status of the enemy
+     * @param damage damage the enemy can do
+     * @param infectionChance probability of the enemy being infected in a session
+     * @param room the room the enemy is in
+     * @see WorldCopier
+     */
+    public Enemy(String description, int health, int damage, double infectionChance, Room room) {
+        super(description, health, damage, false, room);
+        this.infectionChance = infectionChance;
+    }
+
+    private Enemy(Enemy original, WorldCopier copier) {
+        super(original, copier);
+        infectionChance = original.infectionChance;
+        if (infectionChance > 0 && copier.random(getDescription()) < infectionChance)
+            getInfected();
+    }
+
+    @Override
+    public Enemy copy(WorldCopier copier) {
+        return new Enemy(this, copier);
     }
 
     /**
@@ -49,16 +84,31 @@ public class Enemy extends NPC implements Attackable {
      */
     @Override
     public void getAttackedFor(int damage) {
+        takeHit(damage);
+        printHit(damage);
+        if (!this.isAlive())
+            die();
+    }
+
+    /**
+     * Lowers the enemy's health by the damage of a hit, but not below 0, without any output.
+     * @param damage damage that will be done to the enemy's health
+     */
+    void takeHit(int damage) {
         assert damage >= 0;
         health -= damage;
         if (health < 0)
             health = 0;
+        markDirty();
+    }
+
+    /**
+     * Tells the player how hard they hit the enemy.
+     * @param damage damage that was done to the enemy's health
+     */
+    void printHit(int damage) {
         Console.printWithPause("You attack the enemy for %s hit points, leaving them with %s hit points",
                 damage, health);
-        if (!this.isAlive()) {
-            health = 0;
-            die();
-        }
     }
 
     /**
@@ -75,12 +125,24 @@ public class Enemy extends NPC implements Attackable {
 
     /**
      * The Enemy initiates combat with the player. The player is given options to attack
-     * or to run away.
+     * or to run away. The rules of the fight are up to a CombatResolver, this only asks
+     * the player what to do every round, while a FightDialog tells them what happened.
      *
      * @param player The Player that the Enemy is attacking.
+     * @see CombatResolver
      */
     public void startFighting(Player player) {
-        if (player.getCompanion() != null) {
+        CommandMetrics.begin();
+        try {
+            fight(player);
+        } finally {
+            CommandMetrics.end(Command.FIGHT);
+        }
+    }
+
+    private void fight(Player player) {
+        CompanionRobot companion = player.getCompanion();
+        if (companion != null) {
             Console.printWithPause("Your companion angrily beeps: \"ProtectProtocol.initiate()\"");
         }
 
@@ -88,36 +150,31 @@ public class Enemy extends NPC implements Attackable {
         Console.printWithPause("The enemy has %d hit points", this.getHealth());
         Console.printLine("");
 
-        boolean playerFled = false;
-        while (!playerFled && player.isAlive() && this.isAlive()) {
+        CombatResolver fight = player.getCombatResolver();
+        if (fight == null || !(fight.getListener() instanceof FightDialog)) {
+            fight = new CombatResolver(new FightDialog(player));
+            player.setCombatResolver(fight);
+        }
+        ((FightDialog)fight.getListener()).setEnemy(this);
+        fight.start(player.getHealth(), player.getDamage(), companion != null ? companion.getHealth() : 0,
+                getHealth(), getDamage(), player.getRandom());
+        String room = player.getCurrentRoom().getDescription();
+        while (!fight.isOver()) {
 
             Console.printLine("What do you do?");
             Console.printLine("  (1) Run away!");
             Console.printLine("  (2) Attack!");
 
             String input = Console.readInput();
+            Object round = GameEvents.beginCombatRound();
             switch (input) {
                 case "1":
-                    Console.printWithPause("You dash away in the most cowardly fashion");
-
-                    if (new Random().nextInt(10) < 8) {
-                        if (player.getCompanion() != null) {
-                            Console.printWithPause("Your robo-companion follows in your step");
-                        }
-
-                        Console.printWithPause("The enemy taunts you as you flee to safety");
-                        playerFled = true;
-                    } else {
-                        Console.printWithPause("But the %s isn't fooled easily.. they catch up to you!");
-                        if (this.isAlive())
-                            player.getAttackedFor(getDamage());
-                    }
-
+                    fight.flee();
+                    GameEvents.endCombatRound(round, room, getDescription(), "flee", fight.getPlayerHealth(), fight.getEnemyHealth());
                     break;
                 case "2":
-                    this.getAttackedFor(player.getDamage());
-                    if (this.isAlive())
-                        player.getAttackedFor(getDamage());
+                    fight.attack();
+                    GameEvents.endCombatRound(round, room, getDescription(), "attack", fight.getPlayerHealth(), fight.getEnemyHealth());
                     break;
             }
         }
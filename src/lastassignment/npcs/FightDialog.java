@@ -0,0 +1,91 @@
+package lastassignment.npcs;
+
+import lastassignment.Player;
+import lastassignment.combat.CombatListener;
+import lastassignment.utils.Console;
+
+/**
+ * @version 1.0
+ *
+ * Tells the player what happens in a fight with an Enemy, as a CombatResolver resolves it,
+ * and applies every hit to the Player, their companion and the Enemy as it lands. A Player keeps
+ * the same FightDialog for all of their fights, it is only told who they are fighting every time.
+ *
+ * @see Enemy
+ * @see lastassignment.combat.CombatResolver
+ */
+class FightDialog implements CombatListener {
+
+    private final Player player;
+    private Enemy enemy;
+
+    /**
+     * @param player The Player in the fights.
+     */
+    FightDialog(Player player) {
+        this.player = player;
+    }
+
+    /**
+     * @param enemy The Enemy the Player is fighting now.
+     */
+    void setEnemy(Enemy enemy) {
+        this.enemy = enemy;
+    }
+
+    @Override
+    public void enemyHit(int damage, int enemyHealth) {
+        enemy.takeHit(damage);
+        assert enemy.getHealth() == enemyHealth;
+        enemy.printHit(damage);
+    }
+
+    @Override
+    public void enemyKnockedOut() {
+        enemy.die();
+    }
+
+    @Override
+    public void fleeAttempted() {
+        Console.printWithPause("You dash away in the most cowardly fashion");
+    }
+
+    @Override
+    public void fled(boolean withCompanion) {
+        if (withCompanion)
+            Console.printWithPause("Your robo-companion follows in your step");
+        Console.printWithPause("The enemy taunts you as you flee to safety");
+    }
+
+    @Override
+    public void caught() {
+        Console.printWithPause("But the %s isn't fooled easily.. they catch up to you!", enemy.getDescription());
+    }
+
+    @Override
+    public void companionHit(int damage, int companionHealth) {
+        CompanionRobot companion = player.getCompanion();
+        companion.takeHit(damage);
+        assert companion.getHealth() == companionHealth;
+        companion.printTakingTheHit();
+    }
+
+    @Override
+    public void companionDestroyed() {
+        player.getCompanion().die();
+        player.loseCompanion();
+    }
+
+    @Override
+    public void playerHit(int damage, int playerHealth) {
+        player.takeHit(damage);
+        assert player.getHealth() == playerHealth;
+        Console.printWithPause("The enemy retaliates for %d hit points, bringing you down to %d hit points!",
+                damage, playerHealth);
+    }
+
+    @Override
+    public void playerKilled() {
+        player.die();
+    }
+}
@@ -4,6 +4,7 @@ import lastassignment.Player;
 import lastassignment.Room;
 import lastassignment.utils.Attackable;
 import lastassignment.utils.Console;
+import lastassignment.world.WorldCopier;
 
 
 /**
@@ -36,6 +37,15 @@ public class FriendlyNPC extends NPC {
         super(description, health, damage, infected, room);
     }
 
+    protected FriendlyNPC(FriendlyNPC original, WorldCopier copier) {
+        super(original, copier);
+    }
+
+    @Override
+    public FriendlyNPC copy(WorldCopier copier) {
+        return new FriendlyNPC(this, copier);
+    }
+
     /**
      * Lets the player interact with the FriendlyNPC and have a conversation with them.
      *
@@ -2,15 +2,19 @@ package lastassignment.npcs;
 
 import lastassignment.Player;
 import lastassignment.utils.Console;
+import lastassignment.utils.SessionRandom;
+import lastassignment.world.WorldCopier;
 
-import java.util.Random;
 
 public class HallucinatedNPC extends NPC {
 
-    public HallucinatedNPC() {
+    /**
+     * @param random Decides what the player sees.
+     */
+    public HallucinatedNPC(SessionRandom random) {
         super("", 1, 1, false);
 
-        switch (new Random().nextInt(20)) {
+        switch (random.nextInt(20)) {
             case 0:
                 setDescription("your mother");
                 break;
@@ -74,11 +78,20 @@ public class HallucinatedNPC extends NPC {
         }
     }
 
+    private HallucinatedNPC(HallucinatedNPC original, WorldCopier copier) {
+        super(original, copier);
+    }
+
+    @Override
+    public HallucinatedNPC copy(WorldCopier copier) {
+        return new HallucinatedNPC(this, copier);
+    }
+
     @Override
     public void interact(Player player) {
         super.interact(player);
         Console.printWithPause("You turn around for a brief second");
-        Console.printWithPause("When you turn back %s is gone");
+        Console.printWithPause("When you turn back %s is gone", getDescription());
     }
 
 }
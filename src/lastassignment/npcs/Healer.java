@@ -4,6 +4,11 @@ import lastassignment.Player;
 import lastassignment.Room;
 import lastassignment.utils.Console;
 import lastassignment.utils.Interactable;
+import lastassignment.world.WorldCopier;
+import lastassignment.io.SaveReader;
+import lastassignment.io.SaveWriter;
+
+import java.io.IOException;
 
 /**
  * @author Boris
@@ -25,6 +30,29 @@ public class Healer extends NPC implements Interactable {
         this.healCharges = 2;
     }
 
+    private Healer(Healer original, WorldCopier copier) {
+        super(original, copier);
+        this.healAmount  = original.healAmount;
+        this.healCharges = original.healCharges;
+    }
+
+    @Override
+    public Healer copy(WorldCopier copier) {
+        return new Healer(this, copier);
+    }
+
+    @Override
+    public void writeState(SaveWriter out) throws IOException {
+        super.writeState(out);
+        out.writeInt(healCharges);
+    }
+
+    @Override
+    public void readState(SaveReader in) throws IOException {
+        super.readState(in);
+        healCharges = in.readInt();
+    }
+
     /**
      * Lets the player interact with the healer and lets the healer heal the player.
      * @param player player that might get healed
@@ -59,6 +87,7 @@ public class Healer extends NPC implements Interactable {
                             Console.printWithPause("You thank the %s for their service", getDescription());
                             player.heal(healAmount);
                             healCharges -= 1;
+                            markDirty();
                             conversationInProgress = false;
                             break;
                         case "2":
@@ -3,10 +3,17 @@ package lastassignment.npcs;
 import lastassignment.Player;
 import lastassignment.Room;
 import lastassignment.items.Clothes;
+import lastassignment.io.SaveReader;
+import lastassignment.io.SaveWriter;
+import lastassignment.io.Saveable;
 import lastassignment.utils.Console;
 import lastassignment.utils.Infectable;
 import lastassignment.utils.Interactable;
+import lastassignment.world.Copyable;
+import lastassignment.world.DirtyTracker;
+import lastassignment.world.WorldCopier;
 
+import java.io.IOException;
 import java.io.Serializable;
 
 /**
@@ -21,7 +28,7 @@ import java.io.Serializable;
  * @see Interactable
  * @see Serializable
  */
-public abstract class NPC implements Infectable, Interactable, Serializable {
+public abstract class NPC implements Infectable, Interactable, Serializable, Copyable, Saveable {
 
     private static final long serialVersionUID = 42L;
 
@@ -34,6 +41,7 @@ public abstract class NPC implements Infectable, Interactable, Serializable {
      */
     protected int health;
 
+    private transient DirtyTracker dirtyTracker;
 
     /**
      * Gives the possibility to initialize an NPC without a room, e.g. for an enemy that "belongs" to AmbushDoor.
@@ -64,6 +72,69 @@ public abstract class NPC implements Infectable, Interactable, Serializable {
         room.addNPC(this);
     }
 
+    /**
+     * Copies an NPC for a new session. The copy is not added to any Room,
+     * since the copied Rooms copy their own list of NPCs.
+     *
+     * @param original The NPC to copy.
+     * @param copier The copier that is copying the whole world.
+     * @see WorldCopier
+     */
+    NPC(NPC original, WorldCopier copier) {
+        copier.register(original, this);
+        this.dirtyTracker = copier.getDirtyTracker();
+        this.description = original.description;
+        this.health = original.health;
+        this.damage = original.damage;
+        this.infected = original.infected;
+    }
+
+    /**
+     * Every NPC needs to be copied for each session, since they can be infected, fought and talked to.
+     *
+     * @param copier The copier that is copying the whole world.
+     * @return A copy of this NPC for a new session.
+     */
+    @Override
+    public abstract NPC copy(WorldCopier copier);
+
+    /**
+     * Tells the DirtyTracker of the session, if any, that the state of the NPC changed.
+     * Subclasses must call this whenever they change something they save in writeState().
+     *
+     * @see DirtyTracker
+     */
+    protected void markDirty() {
+        if (dirtyTracker != null)
+            dirtyTracker.markDirty(this);
+    }
+
+    /**
+     * Writes the description, infection status and health of the NPC.
+     *
+     * @param out Where to write the state to.
+     * @throws IOException If the state could not be written.
+     */
+    @Override
+    public void writeState(SaveWriter out) throws IOException {
+        out.writeString(description);
+        out.writeBoolean(infected);
+        out.writeInt(health);
+    }
+
+    /**
+     * Reads back the description, infection status and health of the NPC.
+     *
+     * @param in Where to read the state from.
+     * @throws IOException If the state could not be read.
+     */
+    @Override
+    public void readState(SaveReader in) throws IOException {
+        description = in.readString();
+        infected = in.readBoolean();
+        health = in.readInt();
+    }
+
     /**
      * Lets the player inspect the NPC.
      * @param player player that inspects
@@ -97,6 +168,7 @@ public abstract class NPC implements Infectable, Interactable, Serializable {
     @Override
     public void getInfected() {
         infected = true;
+        markDirty();
     }
 
     /**
@@ -142,5 +214,6 @@ public abstract class NPC implements Infectable, Interactable, Serializable {
 
     public void setDescription(String description) {
         this.description = description;
+        markDirty();
     }
 }
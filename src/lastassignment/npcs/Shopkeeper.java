@@ -3,10 +3,19 @@ package lastassignment.npcs;
 import lastassignment.Player;
 import lastassignment.Room;
 import lastassignment.items.Item;
+import lastassignment.metrics.Command;
+import lastassignment.metrics.CommandMetrics;
+import lastassignment.metrics.GameEvents;
 import lastassignment.utils.Console;
 import lastassignment.utils.Interactable;
+import lastassignment.io.SaveReader;
+import lastassignment.io.SaveWriter;
+import lastassignment.world.WorldCopier;
 
-import java.util.HashMap;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 
 /**
@@ -32,7 +41,37 @@ public class Shopkeeper extends FriendlyNPC {
      */
     public Shopkeeper(String description, int health, int damage, boolean infected, Room room) {
         super(description, health, damage, infected, room);
-        inventory = new HashMap<>();
+        inventory = new LinkedHashMap<>();
+    }
+
+    private Shopkeeper(Shopkeeper original, WorldCopier copier) {
+        super(original, copier);
+        inventory = new LinkedHashMap<>();
+        for (Map.Entry<Item, Double> entry : original.inventory.entrySet())
+            inventory.put(copier.copy(entry.getKey()), entry.getValue());
+    }
+
+    @Override
+    public Shopkeeper copy(WorldCopier copier) {
+        return new Shopkeeper(this, copier);
+    }
+
+    @Override
+    public void writeState(SaveWriter out) throws IOException {
+        super.writeState(out);
+        out.writeRefs(inventory.keySet());
+        for (double price : inventory.values())
+            out.writeDouble(price);
+    }
+
+    @Override
+    public void readState(SaveReader in) throws IOException {
+        super.readState(in);
+        List<Item> items = new ArrayList<>();
+        in.readRefs(items);
+        inventory.clear();
+        for (Item item : items)
+            inventory.put(item, in.readDouble());
     }
 
     /**
@@ -42,17 +81,22 @@ public class Shopkeeper extends FriendlyNPC {
      */
     @Override
     public void interact(Player player) {
-        super.interact(player);
-        switch (inventory.size()) {
-            case 0:
-                Console.printWithPause("\"Sorry but I'm all out of stock\"");
-                break;
-            case 1:
-                singleItemDialog(player);
-                break;
-            default:
-                multipleItemsDialog(player);
-                break;
+        CommandMetrics.begin();
+        try {
+            super.interact(player);
+            switch (inventory.size()) {
+                case 0:
+                    Console.printWithPause("\"Sorry but I'm all out of stock\"");
+                    break;
+                case 1:
+                    singleItemDialog(player);
+                    break;
+                default:
+                    multipleItemsDialog(player);
+                    break;
+            }
+        } finally {
+            CommandMetrics.end(Command.SHOP);
         }
     }
 
@@ -78,6 +122,8 @@ public class Shopkeeper extends FriendlyNPC {
                     if (player.getMoney() >= price) {
                         player.purchase(item, price);
                         removeItemFromInventory(item);
+                        GameEvents.purchased(player.getCurrentRoom().getDescription(), getDescription(),
+                                item.getDescription(), price, player.getMoney());
                         Console.printWithPause("\"Here ya go sweetie!\" %s while handing you the %s",
                                 getDescription(), item.getDescription());
                         Console.printWithPause("You stuff %s in your pockets", item.getDescription());
@@ -158,6 +204,8 @@ public class Shopkeeper extends FriendlyNPC {
                                         if (player.getMoney() >= prices[i]) {
                                             player.purchase(items[i], prices[i]);
                                             removeItemFromInventory(items[i]);
+                                            GameEvents.purchased(player.getCurrentRoom().getDescription(), getDescription(),
+                                                    items[i].getDescription(), prices[i], player.getMoney());
                                             Console.printWithPause("\"Here ya go sweetie!\" %s says while handing you " +
                                                     "the %s", getDescription(), items[i].getDescription());
                                             Console.printWithPause("You stuff the %s in your pockets",
@@ -244,6 +292,7 @@ public class Shopkeeper extends FriendlyNPC {
      */
     public void addItemToInventory(Item item, double value) {
         inventory.put(item, value);
+        markDirty();
     }
 
     /**
@@ -253,6 +302,7 @@ public class Shopkeeper extends FriendlyNPC {
      */
     public void removeItemFromInventory(Item item) {
         inventory.remove(item);
+        markDirty();
     }
 
     /**
@@ -6,7 +6,10 @@ import lastassignment.utils.Inspectable;
 import lastassignment.Player;
 import lastassignment.Room;
 import lastassignment.utils.Console;
+import lastassignment.utils.Dialogue;
 import lastassignment.utils.Interactable;
+import lastassignment.world.Copyable;
+import lastassignment.world.WorldCopier;
 
 import java.io.Serializable;
 
@@ -25,10 +28,49 @@ import java.io.Serializable;
  * @see Game
  * @see SchoolEntrance
  */
-public class Computer implements Interactable, Serializable {
+public class Computer implements Interactable, Serializable, Copyable {
 
     private static final long serialVersionUID = 42L;
 
+    /**
+     * Printed when the Player finally gets to finish their assignment.
+     */
+    private static final Dialogue ASSIGNMENT_DIALOGUE = new Dialogue(
+            "The computer turns on!",
+            "You log on, and frantically start searching for a backup of your work",
+            "It's right there", "\"Phewww..\" You let out a large sigh", "The computer clock says it's 3am",
+            "Time to get to work", "You still need to actually finish your assignment",
+            "Your fingers start clicking against the cheap keyboard", "", "\"Oh, what the hell?!\"", "",
+            "\"Wait, so if this happens first, then..\"", "", "\"Maybe it would be better if I did it like this..\"",
+            "", "After a couple of hours at the computer, the assignment is finished!",
+            "The computer clock says it's 7am", "You'd better hand it in right away",
+            "You press the submit button, and power off the computer",
+            "Your exhaustion finally catches up to you after all this time",
+            "You contemplate taking a nap in the surprisingly comfy computer chair", "But that would be a bad idea",
+            "You live pretty close anyway", "Time to go home", "You get up from the computer chair");
+
+    /**
+     * Printed when the Player comes back to the Computer after finishing the assignment.
+     */
+    private static final Dialogue ALREADY_FINISHED_DIALOGUE = new Dialogue(
+            "You already finished the assignment",
+            "But I guess there's no hurry to get back home yet",
+            "You turn on the computer",
+            "It takes a minute or two to boot",
+            "You check your email, and your inbox is empty",
+            "You check social media, but none of your friends posted anything",
+            "Fair enough its so late in the night.. what sane person would be awake to post something",
+            "Hehe");
+
+    /**
+     * Printed when the Computer has no power.
+     */
+    private static final Dialogue NO_POWER_DIALOGUE = new Dialogue(
+            "But nothing happens",
+            "You wait for a couple more seconds but the screen is still black",
+            "The computer gives no sign of life, it probably doesn't have any power",
+            "Of course it doesn't.. you think to yourself as you get up from the chair");
+
     private final String description;
     private final ElectricalBox powerSource;
 
@@ -50,6 +92,24 @@ public class Computer implements Interactable, Serializable {
         room.addContents(this);
     }
 
+    /**
+     * Copies a Computer for a new session, along with the ElectricalBox powering it.
+     *
+     * @param original The Computer to copy.
+     * @param copier The copier that is copying the whole world.
+     * @see WorldCopier
+     */
+    private Computer(Computer original, WorldCopier copier) {
+        copier.register(original, this);
+        this.description = original.description;
+        this.powerSource = copier.copy(original.powerSource);
+    }
+
+    @Override
+    public Computer copy(WorldCopier copier) {
+        return new Computer(this, copier);
+    }
+
     /**
      * Prints the Computer's description.
      *
@@ -77,37 +137,13 @@ public class Computer implements Interactable, Serializable {
 
         if (powerSource.isWorking()) {
             if (!player.hasCompletedAssignment()) {
-                Console.printConversationWithPauses(
-                        "The computer turns on!",
-                        "You log on, and frantically start searching for a backup of your work",
-                        "It's right there", "\"Phewww..\" You let out a large sigh", "The computer clock says it's 3am",
-                        "Time to get to work", "You still need to actually finish your assignment",
-                        "Your fingers start clicking against the cheap keyboard", "", "\"Oh, what the hell?!\"", "",
-                        "\"Wait, so if this happens first, then..\"", "", "\"Maybe it would be better if I did it like this..\"",
-                        "", "After a couple of hours at the computer, the assignment is finished!",
-                        "The computer clock says it's 7am", "You'd better hand it in right away",
-                        "You press the submit button, and power off the computer",
-                        "Your exhaustion finally catches up to you after all this time",
-                        "You contemplate taking a nap in the surprisingly comfy computer chair", "But that would be a bad idea",
-                        "You live pretty close anyway", "Time to go home", "You get up from the computer chair");
+                Console.printDialogue(ASSIGNMENT_DIALOGUE);
                 player.setCompletedAssignment();
             } else {
-                Console.printConversationWithPauses(
-                        "You already finished the assignment",
-                        "But I guess there's no hurry to get back home yet",
-                        "You turn on the computer",
-                        "It takes a minute or two to boot",
-                        "You check your email, and your inbox is empty",
-                        "You check social media, but none of your friends posted anything",
-                        "Fair enough its so late in the night.. what sane person would be awake to post something",
-                        "Hehe"
-                );
+                Console.printDialogue(ALREADY_FINISHED_DIALOGUE);
             }
         } else {
-            Console.printConversationWithPauses("But nothing happens",
-                    "You wait for a couple more seconds but the screen is still black",
-                    "The computer gives no sign of life, it probably doesn't have any power",
-                    "Of course it doesn't.. you think to yourself as you get up from the chair");
+            Console.printDialogue(NO_POWER_DIALOGUE);
         }
     }
 }
\ No newline at end of file
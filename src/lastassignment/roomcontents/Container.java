@@ -6,7 +6,14 @@ import lastassignment.Player;
 import lastassignment.items.Item;
 import lastassignment.utils.Console;
 import lastassignment.utils.Interactable;
+import lastassignment.world.Copyable;
+import lastassignment.world.DirtyTracker;
+import lastassignment.world.WorldCopier;
+import lastassignment.io.SaveReader;
+import lastassignment.io.SaveWriter;
+import lastassignment.io.Saveable;
 
+import java.io.IOException;
 import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.List;
@@ -23,12 +30,13 @@ import java.util.List;
  * @see Item
  * @see Room
  */
-public class Container implements Interactable, Serializable {
+public class Container implements Interactable, Serializable, Copyable, Saveable {
 
     private static final long serialVersionUID = 42L;
 
     private final String description;
     private final List<Item> contents;
+    private transient DirtyTracker dirtyTracker;
 
     /**
      * Constructs a Container from a given description.
@@ -41,6 +49,57 @@ public class Container implements Interactable, Serializable {
         contents = new ArrayList<>();
     }
 
+    /**
+     * Copies a Container for a new session, so that taking Items out of it doesn't affect other sessions.
+     *
+     * @param original The Container to copy.
+     * @param copier The copier that is copying the whole world.
+     * @see WorldCopier
+     */
+    private Container(Container original, WorldCopier copier) {
+        copier.register(original, this);
+        this.dirtyTracker = copier.getDirtyTracker();
+        this.description = original.description;
+        contents = new ArrayList<>(original.contents.size());
+        copier.copyAll(original.contents, contents);
+    }
+
+    /**
+     * Tells the DirtyTracker of the session, if any, that the state of the Container changed.
+     */
+    private void markDirty() {
+        if (dirtyTracker != null)
+            dirtyTracker.markDirty(this);
+    }
+
+    @Override
+    public Container copy(WorldCopier copier) {
+        return new Container(this, copier);
+    }
+
+    /**
+     * Writes which Items are in the Container.
+     *
+     * @param out Where to write the state to.
+     * @throws IOException If the state could not be written.
+     */
+    @Override
+    public void writeState(SaveWriter out) throws IOException {
+        out.writeRefs(contents);
+    }
+
+    /**
+     * Reads back which Items are in the Container.
+     *
+     * @param in Where to read the state from.
+     * @throws IOException If the state could not be read.
+     */
+    @Override
+    public void readState(SaveReader in) throws IOException {
+        contents.clear();
+        in.readRefs(contents);
+    }
+
     /**
      * Prints the description of the Container.
      *
@@ -82,6 +141,7 @@ public class Container implements Interactable, Serializable {
                     item.interact(player);
                 }
                 contents.clear();
+                markDirty();
             } else {
                 int selection;
                 try {
@@ -94,6 +154,7 @@ public class Container implements Interactable, Serializable {
                     Item item = contents.get(selection);
                     item.interact(player);
                     contents.remove(item);
+                    markDirty();
                 }
             }
         }
@@ -108,5 +169,6 @@ public class Container implements Interactable, Serializable {
      */
     public void addContents(Item item) {
         contents.add(item);
+        markDirty();
     }
 }
\ No newline at end of file
@@ -6,7 +6,14 @@ import lastassignment.Player;
 import lastassignment.Room;
 import lastassignment.utils.Console;
 import lastassignment.utils.Interactable;
+import lastassignment.world.Copyable;
+import lastassignment.world.DirtyTracker;
+import lastassignment.world.WorldCopier;
+import lastassignment.io.SaveReader;
+import lastassignment.io.SaveWriter;
+import lastassignment.io.Saveable;
 
+import java.io.IOException;
 import java.io.Serializable;
 
 /**
@@ -23,7 +30,7 @@ import java.io.Serializable;
  * @see Game
  * @see Player
  */
-public class ElectricalBox implements Interactable, Serializable {
+public class ElectricalBox implements Interactable, Serializable, Copyable, Saveable {
 
     private static final long serialVersionUID = 42L;
 
@@ -31,6 +38,7 @@ public class ElectricalBox implements Interactable, Serializable {
     private String description;
     private final String workingDescription;
     private final boolean fixable;
+    private transient DirtyTracker dirtyTracker;
 
     /**
      * Constructs a working/non-working fixable/non-fixable ElectricalBox with two descriptions
@@ -67,6 +75,59 @@ public class ElectricalBox implements Interactable, Serializable {
         this(isWorking, fixable, description, description, room);
     }
 
+    /**
+     * Copies an ElectricalBox for a new session, so that fixing it doesn't affect other sessions.
+     *
+     * @param original The ElectricalBox to copy.
+     * @param copier The copier that is copying the whole world.
+     * @see WorldCopier
+     */
+    private ElectricalBox(ElectricalBox original, WorldCopier copier) {
+        copier.register(original, this);
+        this.dirtyTracker = copier.getDirtyTracker();
+        this.description = original.description;
+        this.workingDescription = original.workingDescription;
+        this.isWorking = original.isWorking;
+        this.fixable = original.fixable;
+    }
+
+    /**
+     * Tells the DirtyTracker of the session, if any, that the state of the ElectricalBox changed.
+     */
+    private void markDirty() {
+        if (dirtyTracker != null)
+            dirtyTracker.markDirty(this);
+    }
+
+    @Override
+    public ElectricalBox copy(WorldCopier copier) {
+        return new ElectricalBox(this, copier);
+    }
+
+    /**
+     * Writes whether the ElectricalBox is working.
+     *
+     * @param out Where to write the state to.
+     * @throws IOException If the state could not be written.
+     */
+    @Override
+    public void writeState(SaveWriter out) throws IOException {
+        out.writeBoolean(isWorking);
+        out.writeString(description);
+    }
+
+    /**
+     * Reads back whether the ElectricalBox is working.
+     *
+     * @param in Where to read the state from.
+     * @throws IOException If the state could not be read.
+     */
+    @Override
+    public void readState(SaveReader in) throws IOException {
+        isWorking = in.readBoolean();
+        description = in.readString();
+    }
+
     /**
      * Prints the description of the ElectricalBox.
      *
@@ -126,6 +187,7 @@ public class ElectricalBox implements Interactable, Serializable {
                             Console.printWithPause("The step away from the now functional electrical box");
                             isWorking = true;
                             description = workingDescription;
+                            markDirty();
                             playerResponded = true;
                             break;
                         case "2":
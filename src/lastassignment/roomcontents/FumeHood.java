@@ -5,10 +5,17 @@ import lastassignment.Room;
 import lastassignment.items.*;
 import lastassignment.utils.Console;
 import lastassignment.utils.Interactable;
+import lastassignment.world.Copyable;
+import lastassignment.world.DirtyTracker;
+import lastassignment.world.WorldCopier;
+import lastassignment.io.SaveReader;
+import lastassignment.io.SaveWriter;
+import lastassignment.io.Saveable;
 
+import java.io.IOException;
 import java.io.Serializable;
 
-public class FumeHood implements Interactable, Serializable {
+public class FumeHood implements Interactable, Serializable, Copyable, Saveable {
 
     private static final long serialVersionUID = 42L;
 
@@ -17,6 +24,7 @@ public class FumeHood implements Interactable, Serializable {
     private boolean brewHasBase;
     private boolean brewHasMetal;
     private boolean brewHasOrganic;
+    private transient DirtyTracker dirtyTracker;
 
     public FumeHood(String description, Room room) {
         this.description = description;
@@ -27,6 +35,64 @@ public class FumeHood implements Interactable, Serializable {
         room.addContents(this);
     }
 
+    /**
+     * Copies a FumeHood for a new session, along with whatever is brewing in it.
+     *
+     * @param original The FumeHood to copy.
+     * @param copier The copier that is copying the whole world.
+     * @see WorldCopier
+     */
+    private FumeHood(FumeHood original, WorldCopier copier) {
+        copier.register(original, this);
+        this.dirtyTracker = copier.getDirtyTracker();
+        this.description = original.description;
+        brewHasAcid = original.brewHasAcid;
+        brewHasBase = original.brewHasBase;
+        brewHasMetal = original.brewHasMetal;
+        brewHasOrganic = original.brewHasOrganic;
+    }
+
+    /**
+     * Tells the DirtyTracker of the session, if any, that the state of the FumeHood changed.
+     */
+    private void markDirty() {
+        if (dirtyTracker != null)
+            dirtyTracker.markDirty(this);
+    }
+
+    @Override
+    public FumeHood copy(WorldCopier copier) {
+        return new FumeHood(this, copier);
+    }
+
+    /**
+     * Writes what is brewing in the FumeHood.
+     *
+     * @param out Where to write the state to.
+     * @throws IOException If the state could not be written.
+     */
+    @Override
+    public void writeState(SaveWriter out) throws IOException {
+        out.writeBoolean(brewHasAcid);
+        out.writeBoolean(brewHasBase);
+        out.writeBoolean(brewHasMetal);
+        out.writeBoolean(brewHasOrganic);
+    }
+
+    /**
+     * Reads back what is brewing in the FumeHood.
+     *
+     * @param in Where to read the state from.
+     * @throws IOException If the state could not be read.
+     */
+    @Override
+    public void readState(SaveReader in) throws IOException {
+        brewHasAcid = in.readBoolean();
+        brewHasBase = in.readBoolean();
+        brewHasMetal = in.readBoolean();
+        brewHasOrganic = in.readBoolean();
+    }
+
     @Override
     public void interact(Player player) {
 
@@ -105,6 +171,7 @@ public class FumeHood implements Interactable, Serializable {
                             Console.printWithPause("Its nice how they package the acid in cute little bottles with a lot of skulls and warnings");
                             Console.printWithPause("The mixture starts to bubble intensely as you add it in, and then settles down quickly");
                             brewHasAcid = true;
+                            markDirty();
                         }
                         break;
                     case 2:
@@ -114,6 +181,7 @@ public class FumeHood implements Interactable, Serializable {
                             Console.printWithPause("The bottle holding the base is all corroded, you have to watch out");
                             Console.printWithPause("The mixture fizzes and hisses as you add the base");
                             brewHasBase = true;
+                            markDirty();
                         }
                         break;
                     case 3:
@@ -122,6 +190,7 @@ public class FumeHood implements Interactable, Serializable {
                             Console.printWithPause("You add a piece of some metal into your mixture");
                             Console.printWithPause("The metal dissolves quickly and the mixture changes color");
                             brewHasMetal = true;
+                            markDirty();
                         }
                         break;
                     case 4:
@@ -131,6 +200,7 @@ public class FumeHood implements Interactable, Serializable {
                             Console.printWithPause("It has a very, very long name. Like, stupidly long");
                             Console.printWithPause("The compound dissolves easily into the mixture");
                             brewHasOrganic = true;
+                            markDirty();
                         }
                         break;
                     case 5:
@@ -209,6 +279,7 @@ public class FumeHood implements Interactable, Serializable {
         brewHasBase = false;
         brewHasOrganic = false;
         brewHasMetal = false;
+        markDirty();
 
         return potion;
     }
@@ -6,7 +6,14 @@ import lastassignment.Room;
 import lastassignment.items.BunnyRabbit;
 import lastassignment.utils.Console;
 import lastassignment.utils.Interactable;
+import lastassignment.world.Copyable;
+import lastassignment.world.DirtyTracker;
+import lastassignment.world.WorldCopier;
+import lastassignment.io.SaveReader;
+import lastassignment.io.SaveWriter;
+import lastassignment.io.Saveable;
 
+import java.io.IOException;
 import java.io.Serializable;
 
 /**
@@ -15,11 +22,12 @@ import java.io.Serializable;
  *
  * This RabbitCage initially houses a BunnyRabbit that the player can rescue and take with them.
  */
-public class RabbitCage implements Interactable, Serializable {
+public class RabbitCage implements Interactable, Serializable, Copyable, Saveable {
 
     private static final long serialVersionUID = 42L;
 
     private BunnyRabbit captive;
+    private transient DirtyTracker dirtyTracker;
 
     /**
      * Constructs a RabbitCage with a rabbit that is captive within it.
@@ -33,6 +41,54 @@ public class RabbitCage implements Interactable, Serializable {
         room.addContents(this);
     }
 
+    /**
+     * Copies a RabbitCage for a new session, along with the rabbit inside it.
+     *
+     * @param original The RabbitCage to copy.
+     * @param copier The copier that is copying the whole world.
+     * @see WorldCopier
+     */
+    private RabbitCage(RabbitCage original, WorldCopier copier) {
+        copier.register(original, this);
+        this.dirtyTracker = copier.getDirtyTracker();
+        captive = copier.copy(original.captive);
+    }
+
+    /**
+     * Tells the DirtyTracker of the session, if any, that the state of the RabbitCage changed.
+     */
+    private void markDirty() {
+        if (dirtyTracker != null)
+            dirtyTracker.markDirty(this);
+    }
+
+    @Override
+    public RabbitCage copy(WorldCopier copier) {
+        return new RabbitCage(this, copier);
+    }
+
+    /**
+     * Writes which rabbit is still in the cage.
+     *
+     * @param out Where to write the state to.
+     * @throws IOException If the state could not be written.
+     */
+    @Override
+    public void writeState(SaveWriter out) throws IOException {
+        out.writeRef(captive);
+    }
+
+    /**
+     * Reads back which rabbit is still in the cage.
+     *
+     * @param in Where to read the state from.
+     * @throws IOException If the state could not be read.
+     */
+    @Override
+    public void readState(SaveReader in) throws IOException {
+        captive = in.readRef();
+    }
+
     /**
      * Prints the description of the RabbitCage.
      *
@@ -85,6 +141,7 @@ public class RabbitCage implements Interactable, Serializable {
                 Console.printWithPause("You've gained a new fluffy companion");
                 player.addItemToBackpack(captive);
                 captive = null;
+                markDirty();
             } else {
                 Console.printWithPause("You leave the rabbit in the cage");
                 Console.printWithPause("For all you know it has rabies");
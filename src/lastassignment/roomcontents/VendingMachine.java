@@ -4,6 +4,7 @@ import lastassignment.utils.Inspectable;
 import lastassignment.Player;
 import lastassignment.items.HealingItem;
 import lastassignment.items.Item;
+import lastassignment.metrics.GameEvents;
 import lastassignment.utils.Console;
 import lastassignment.utils.Interactable;
 
@@ -121,6 +122,8 @@ public class VendingMachine implements Interactable, Serializable {
                             playerMadeSelection = true;
                             if (player.getMoney() >= price) {
                                 player.setMoney(player.getMoney() - price);
+                                GameEvents.purchased(player.getCurrentRoom().getDescription(), description,
+                                        item.getDescription(), price, player.getMoney());
                                 Console.printWithPause("You slot the $%.2f into %s and press button %d", price, description, selection);
                                 Console.printWithPause("You have $%.2f left in your wallet", player.getMoney());
                                 Console.printWithPause("The machine buzzers and clanks for a few moments");
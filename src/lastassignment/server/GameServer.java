@@ -0,0 +1,211 @@
+package lastassignment.server;
+
+import lastassignment.Game;
+import lastassignment.io.AutoSaver;
+import lastassignment.io.SaveJournal;
+import lastassignment.metrics.GameEvents;
+import lastassignment.metrics.MetricsReporter;
+import lastassignment.utils.Console;
+import lastassignment.utils.InputExhaustedException;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * @version 1.0
+ *
+ * Hosts many Games at the same time over TCP. Every connection is a separate session
+ * with its own Game, its own Player and its own world, and its own Console channel.
+ * The server can be played with any telnet-like client, for example:
+ *
+ *   telnet localhost 4242
+ *
+ * Each session runs on its own thread, since the game is written as blocking dialogues.
+ * When the JVM supports virtual threads those are used, so that the many sessions that are
+ * just sitting in Console.printWithPause waiting for their player don't hold on to a platform
+ * thread. On older JVMs a cached pool of platform threads is used instead.
+ *
+ * How long every command takes across all sessions can be followed over JMX, or in the report
+ * that is written to savedgames/metrics.txt every minute. Flight recordings of the server show what
+ * happened in every session as events, tagged with the number of the session.
+ *
+ * @see SocketConsoleBackend
+ * @see LoadGenerator
+ * @see MetricsReporter
+ * @see Game
+ */
+public class GameServer {
+
+    /**
+     * The port the server listens on if no other port is given.
+     */
+    public static final int DEFAULT_PORT = 4242;
+
+    private final ServerSocket serverSocket;
+    private final ExecutorService sessionExecutor;
+    private final AtomicInteger sessionCounter;
+    private final AtomicInteger activeSessions;
+
+    /**
+     * Opens the server socket on the loopback interface.
+     *
+     * @param port The port to listen on, or 0 to pick any free port.
+     * @throws IOException If the port could not be opened.
+     */
+    public GameServer(int port) throws IOException {
+        serverSocket = new ServerSocket(port, 128, InetAddress.getLoopbackAddress());
+        sessionExecutor = newSessionExecutor();
+        sessionCounter = new AtomicInteger();
+        activeSessions = new AtomicInteger();
+    }
+
+    /**
+     * @return The port the server is actually listening on.
+     */
+    public int getPort() {
+        return serverSocket.getLocalPort();
+    }
+
+    /**
+     * @return The number of sessions that are currently being played.
+     */
+    public int getActiveSessions() {
+        return activeSessions.get();
+    }
+
+    /**
+     * Accepts connections and starts a new session for each of them,
+     * until the server is closed.
+     */
+    public void serve() {
+        MetricsReporter.start(MetricsReporter.DEFAULT_PATH);
+        Console.printLine("Serving The Last Assignment on port %d", getPort());
+        //NOTE: The server never reads from the terminal, so its log has to be flushed by hand.
+        Console.flush();
+        while (!serverSocket.isClosed()) {
+            try {
+                Socket socket = serverSocket.accept();
+                int sessionId = sessionCounter.incrementAndGet();
+                sessionExecutor.execute(() -> runSession(sessionId, socket));
+            } catch (IOException e) {
+                if (!serverSocket.isClosed()) {
+                    Console.printLine("Could not accept connection: %s", e.getMessage());
+                    Console.flush();
+                }
+            }
+        }
+    }
+
+    /**
+     * Stops accepting new connections. Sessions that are still running are interrupted.
+     */
+    public void close() {
+        try {
+            serverSocket.close();
+        } catch (IOException e) {
+            //NOTE: Nothing we can do about it, we're shutting down anyway.
+        }
+        sessionExecutor.shutdownNow();
+    }
+
+    /**
+     * Plays a whole Game over the given connection. The session ends once the player
+     * wins, dies, gives up, or disconnects. Every session autosaves to its own file, keeps its saves
+     * in its own SaveJournal, so that players never see or overwrite each other's saves, and logs
+     * its commands to its own CommandLog, so that what happened in a session can be replayed later on.
+     * Sessions can't pick up an interrupted game from their log, since the numbers of sessions start
+     * over with every server, so the log could belong to anyone who connected before. For the same
+     * reason the journal and the autosave aren't named after the number of the session: every session
+     * starts out with a brand new journal and autosave file of its own, which are deleted once it is
+     * over, since there is no telling who would get to read them afterwards. The journal is kept open
+     * for as long as the session lasts.
+     *
+     * @param sessionId The number of this session, used for logging.
+     * @param socket The connection to the player.
+     */
+    private void runSession(int sessionId, Socket socket) {
+        activeSessions.incrementAndGet();
+        try (Socket connection = socket) {
+            SocketConsoleBackend backend = new SocketConsoleBackend(connection);
+            Console.setBackend(backend);
+            GameEvents.setSessionId(sessionId);
+            Path journalPath = createSessionFile("journal-" + sessionId + "-", ".sav");
+            AutoSaver autoSaver = new AutoSaver(createSessionFile("autosave-" + sessionId + "-", ".sav"));
+            SaveJournal journal = SaveJournal.open(journalPath);
+            try {
+                Game game = new Game(null, Paths.get("savedgames", "commands-" + sessionId + ".log"), journalPath, false);
+                game.setAutoSaver(autoSaver);
+                game.play();
+                backend.flush();
+            } catch (InputExhaustedException | UncheckedIOException e) {
+                //NOTE: The player disconnected, nothing left to do.
+            } finally {
+                Console.setBackend(null);
+                GameEvents.setSessionId(0);
+                journal.close();
+                deleteSessionFile(journalPath);
+                //NOTE: Nobody else knows the name of the file either, so it is merely left behind if it can't be deleted.
+                autoSaver.delete();
+            }
+        } catch (IOException e) {
+            Console.printLine("Session %d failed: %s", sessionId, e.getMessage());
+            Console.flush();
+        } finally {
+            activeSessions.decrementAndGet();
+        }
+    }
+
+    /**
+     * Creates an empty file in savedgames that no other session, of this server or of any server
+     * that ran before, has ever used.
+     *
+     * @param prefix What the name of the file starts with.
+     * @param suffix What the name of the file ends with.
+     * @return The path of the new file.
+     * @throws IOException If the file could not be created.
+     */
+    private static Path createSessionFile(String prefix, String suffix) throws IOException {
+        Path directory = Paths.get("savedgames");
+        Files.createDirectories(directory);
+        return Files.createTempFile(directory, prefix, suffix);
+    }
+
+    /**
+     * Deletes a file that only the session that is ending had any use for.
+     *
+     * @param path The file to delete.
+     */
+    private static void deleteSessionFile(Path path) {
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            //NOTE: Nobody else knows the name of the file, so it is merely left behind.
+        }
+    }
+
+    /**
+     * @return An executor that runs each task on a new virtual thread if the JVM
+     * supports them, otherwise a cached thread pool of daemon platform threads.
+     */
+    private static ExecutorService newSessionExecutor() {
+        try {
+            //NOTE: Looked up reflectively, because we still compile for Java 8.
+            return (ExecutorService)Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            return Executors.newCachedThreadPool(runnable -> {
+                Thread thread = new Thread(runnable, "game-session");
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+    }
+}
@@ -0,0 +1,146 @@
+package lastassignment.server;
+
+import lastassignment.utils.Console;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * @version 1.0
+ *
+ * Opens a number of simultaneous sessions to a GameServer, plays a harmless loop of
+ * commands in each of them, and reports how long the server took to respond.
+ * The latency of a command is measured from sending the line until the first byte of the
+ * response arrives. Since the server sends a whole frame at once, this covers the full
+ * time the server spent handling the command.
+ *
+ * @see GameServer
+ */
+public class LoadGenerator {
+
+    /**
+     * The loop of commands each session plays. It looks around the starting room, looks
+     * for company and examines the player, so sessions never get into fights or leave the room.
+     */
+    private static final String[] COMMAND_LOOP = { "", "1", "", "0", "3", "", "5", "", "", "", "", "" };
+
+    /**
+     * The commands needed to get through the start menu and the exposition.
+     */
+    private static final String[] INTRO_COMMANDS = {
+            "1", "", "", "", "", "", "", "", "", "", "", "7",
+            "", "", "", "", "", "", "", "", "", "", "", "", "", "", "", "", "", "", "", ""
+    };
+
+    /**
+     * Runs the load test and prints a latency report.
+     *
+     * @param host The host the GameServer runs on.
+     * @param port The port the GameServer listens on.
+     * @param sessions How many sessions to open at the same time.
+     * @param commandsPerSession How many commands to send in every session.
+     * @throws InterruptedException If interrupted while waiting for the sessions to finish.
+     */
+    public static void run(String host, int port, int sessions, int commandsPerSession) throws InterruptedException {
+        List<Thread> threads = new ArrayList<>();
+        long[][] latencies = new long[sessions][];
+
+        long startTime = System.nanoTime();
+        for (int i = 0; i < sessions; ++i) {
+            final int session = i;
+            Thread thread = new Thread(() -> latencies[session] = playSession(host, port, commandsPerSession),
+                    "load-session-" + i);
+            thread.start();
+            threads.add(thread);
+        }
+        for (Thread thread : threads)
+            thread.join();
+        long elapsedNanos = System.nanoTime() - startTime;
+
+        int totalCommands = 0;
+        for (long[] sessionLatencies : latencies)
+            totalCommands += sessionLatencies.length;
+        long[] allLatencies = new long[totalCommands];
+        int offset = 0;
+        for (long[] sessionLatencies : latencies) {
+            System.arraycopy(sessionLatencies, 0, allLatencies, offset, sessionLatencies.length);
+            offset += sessionLatencies.length;
+        }
+        Arrays.sort(allLatencies);
+
+        double seconds = elapsedNanos / 1e9;
+        Console.printLine("%d sessions, %d commands in %.3f s (%.1f commands/s)",
+                sessions, totalCommands, seconds, totalCommands / seconds);
+        if (totalCommands > 0) {
+            Console.printLine("  p50 %.1f us", percentile(allLatencies, 0.50) / 1e3);
+            Console.printLine("  p99 %.1f us", percentile(allLatencies, 0.99) / 1e3);
+            Console.printLine("  max %.1f us", allLatencies[allLatencies.length - 1] / 1e3);
+        }
+    }
+
+    /**
+     * Plays one session against the server.
+     *
+     * @return The latency in nanoseconds of every command that got a response.
+     */
+    private static long[] playSession(String host, int port, int commands) {
+        long[] latencies = new long[commands];
+        int measured = 0;
+        try (Socket socket = new Socket(host, port)) {
+            socket.setTcpNoDelay(true);
+            InputStream in = socket.getInputStream();
+            OutputStream out = socket.getOutputStream();
+            byte[] buffer = new byte[8192];
+
+            if (!awaitResponse(in, buffer))
+                return latencies;
+            for (String command : INTRO_COMMANDS) {
+                send(out, command);
+                if (!awaitResponse(in, buffer))
+                    return Arrays.copyOf(latencies, measured);
+            }
+
+            for (int i = 0; i < commands; ++i) {
+                long sendTime = System.nanoTime();
+                send(out, COMMAND_LOOP[i % COMMAND_LOOP.length]);
+                if (!awaitResponse(in, buffer))
+                    break;
+                latencies[measured++] = System.nanoTime() - sendTime;
+            }
+        } catch (IOException e) {
+            Console.printLine("Session failed: %s", e.getMessage());
+        }
+        return Arrays.copyOf(latencies, measured);
+    }
+
+    private static void send(OutputStream out, String line) throws IOException {
+        out.write((line + "\r\n").getBytes(StandardCharsets.UTF_8));
+        out.flush();
+    }
+
+    /**
+     * Blocks until the server sends something, and then reads everything it sent.
+     *
+     * @return false if the server closed the connection.
+     */
+    private static boolean awaitResponse(InputStream in, byte[] buffer) throws IOException {
+        if (in.read(buffer) < 0)
+            return false;
+        while (in.available() > 0) {
+            if (in.read(buffer) < 0)
+                return false;
+        }
+        return true;
+    }
+
+    private static long percentile(long[] sorted, double fraction) {
+        int index = (int)Math.ceil(fraction * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(index, sorted.length - 1))];
+    }
+}
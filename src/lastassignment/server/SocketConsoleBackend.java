@@ -0,0 +1,84 @@
+package lastassignment.server;
+
+import lastassignment.utils.ConsoleBackend;
+import lastassignment.utils.InputExhaustedException;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * @version 1.0
+ *
+ * A ConsoleBackend that talks to a remote player over a socket, telnet style.
+ * Output is buffered and only sent once the game is waiting for the player's
+ * next input, so a whole menu goes out in one write.
+ *
+ * @see GameServer
+ * @see ConsoleBackend
+ */
+public class SocketConsoleBackend implements ConsoleBackend {
+
+    private final BufferedReader input;
+    private final Writer output;
+
+    /**
+     * @param socket The connection to the remote player.
+     * @throws IOException If the socket streams could not be opened.
+     */
+    public SocketConsoleBackend(Socket socket) throws IOException {
+        input = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+        output = new BufferedWriter(new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Sends all pending output to the player and waits for their next line of input.
+     *
+     * @return The line the player typed in.
+     * @throws InputExhaustedException If the player disconnected.
+     */
+    @Override
+    public String readLine() {
+        try {
+            output.flush();
+            String line = input.readLine();
+            if (line == null)
+                throw new InputExhaustedException("Player disconnected");
+            return line;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public void write(String text) {
+        try {
+            output.write(text);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public boolean discardsOutput() {
+        return false;
+    }
+
+    /**
+     * Sends any output that is still pending.
+     */
+    @Override
+    public void flush() {
+        try {
+            output.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
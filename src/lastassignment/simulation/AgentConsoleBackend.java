@@ -0,0 +1,200 @@
+package lastassignment.simulation;
+
+import lastassignment.Player;
+import lastassignment.utils.ConsoleBackend;
+import lastassignment.utils.InputExhaustedException;
+import lastassignment.utils.SessionRandom;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * @version 1.0
+ *
+ * A ConsoleBackend through which a Policy plays the game, instead of a player at a keyboard.
+ * It never blocks: every time the game asks for input, the backend looks at what was printed
+ * since the last input, and answers right away. Pauses are clicked through, and whenever the
+ * game lists options like "(1) ...", "(0 : nothing)" or "1: tellJoke()", the Policy picks one.
+ *
+ * Along the way, the backend keeps track of what the simulation needs to know: how many turns
+ * the player took in the main menu, how much money they had at the start of each turn, and what
+ * last hurt them, which is what killed them if they die.
+ *
+ * @see Policy
+ * @see Simulator
+ */
+class AgentConsoleBackend implements ConsoleBackend {
+
+    /**
+     * Only shown in the main menu of the game, right before every turn.
+     */
+    private static final String MAIN_MENU_OPTION = "(X) Give up";
+
+    /**
+     * Options that touch the disk, or give up, which would make simulations slow and pointless.
+     */
+    private static final String[] FORBIDDEN_KEYS = { "S", "L", "J", "X" };
+
+    private final StringBuilder screen = new StringBuilder();
+    private final List<String> options = new ArrayList<>();
+    private final List<String> keys = new ArrayList<>();
+    private final Policy policy;
+    private final int maxTurns;
+
+    private SessionRandom random;
+    private Player player;
+    private SimulationResults results;
+    private int turns;
+    private Outcome lastHarm;
+
+    /**
+     * @param policy Picks the options.
+     * @param maxTurns After this many turns in the main menu, the playthrough is stopped.
+     */
+    AgentConsoleBackend(Policy policy, int maxTurns) {
+        this.policy = policy;
+        this.maxTurns = maxTurns;
+    }
+
+    /**
+     * Gets ready for a new playthrough.
+     *
+     * @param player The player that is going to be played.
+     * @param random Decides whatever the Policy leaves to chance.
+     * @param results Where to record the money of the player at every turn.
+     */
+    void start(Player player, SessionRandom random, SimulationResults results) {
+        this.player = player;
+        this.random = random;
+        this.results = results;
+        screen.setLength(0);
+        turns = 0;
+        lastHarm = Outcome.DIED_OTHERWISE;
+    }
+
+    /**
+     * @return How many turns the player took in the main menu so far.
+     */
+    int getTurns() {
+        return turns;
+    }
+
+    /**
+     * @return What would have killed the player, if they died right now.
+     */
+    Outcome getLastHarm() {
+        return lastHarm;
+    }
+
+    /**
+     * Answers the game right away.
+     *
+     * @return An empty line for a pause, or the key of the option the Policy picked.
+     * @throws InputExhaustedException Once the player has had all of their turns.
+     */
+    @Override
+    public String readLine() {
+        try {
+            noteHarm();
+            if (endsWithPause())
+                return "";
+            if (screen.indexOf(MAIN_MENU_OPTION) >= 0) {
+                if (turns == maxTurns)
+                    throw new InputExhaustedException("The player is still playing after " + maxTurns + " turns");
+                results.recordTurn(turns++, player.getMoney());
+            }
+            findOptions();
+            if (keys.isEmpty())
+                return "";
+            return keys.get(policy.choose(options, random));
+        } finally {
+            screen.setLength(0);
+        }
+    }
+
+    @Override
+    public void write(String text) {
+        screen.append(text);
+    }
+
+    @Override
+    public void flush() {}
+
+    /**
+     * @return false, the Policy needs to see the options.
+     */
+    @Override
+    public boolean discardsOutput() {
+        return false;
+    }
+
+    private boolean endsWithPause() {
+        int end = screen.length();
+        return end >= 3 && screen.charAt(end - 1) == '.' && screen.charAt(end - 2) == '.' && screen.charAt(end - 3) == '.';
+    }
+
+    private void noteHarm() {
+        if (screen.indexOf("The enemy retaliates") >= 0)
+            lastHarm = Outcome.KILLED_IN_A_FIGHT;
+        else if (screen.indexOf("Suddenly you collapse") >= 0)
+            lastHarm = Outcome.KILLED_BY_THE_VIRUS;
+        else if (screen.indexOf("damage, bringing you down") >= 0)
+            lastHarm = Outcome.POISONED;
+    }
+
+    /**
+     * Collects the options on screen, with the key to type in for each of them.
+     */
+    private void findOptions() {
+        options.clear();
+        keys.clear();
+        int lineStart = 0;
+        while (lineStart < screen.length()) {
+            int lineEnd = screen.indexOf("\n", lineStart);
+            if (lineEnd < 0)
+                lineEnd = screen.length();
+            String line = screen.substring(lineStart, lineEnd).trim();
+            lineStart = lineEnd + 1;
+
+            String key = null;
+            if (line.startsWith("(")) {
+                //NOTE: "(1) Look around the room", or "(Y)es, this is too much to handle!"
+                key = keyBefore(line, 1, ')');
+            } else if (line.startsWith("\"")) {
+                //NOTE: "1: statusReport()", from the CompanionRobot
+                key = keyBefore(line, 1, ':');
+            }
+            int nothing = line.lastIndexOf("(0 ");
+            if (key == null && nothing >= 0 && nothing + 3 < line.length()
+                    && (line.charAt(nothing + 3) == ':' || line.charAt(nothing + 3) == '-')) {
+                //NOTE: "Which door do you take? (0 : stay here)"
+                key = "0";
+                line = line.substring(nothing);
+            }
+            if (key != null && !isForbidden(key)) {
+                keys.add(key);
+                options.add(line);
+            }
+        }
+    }
+
+    /**
+     * @return The letters or digits from start up to the given character, or null if there is anything else in between.
+     */
+    private static String keyBefore(String line, int start, char end) {
+        int i = start;
+        while (i < line.length() && i < start + 3 && Character.isLetterOrDigit(line.charAt(i)))
+            ++i;
+        if (i == start || i >= line.length() || line.charAt(i) != end)
+            return null;
+        return line.substring(start, i);
+    }
+
+    private static boolean isForbidden(String key) {
+        for (String forbidden : FORBIDDEN_KEYS) {
+            if (forbidden.equals(key))
+                return true;
+        }
+        return false;
+    }
+}
@@ -0,0 +1,31 @@
+package lastassignment.simulation;
+
+/**
+ * @version 1.0
+ *
+ * How a simulated playthrough ended, and if the player died, what killed them.
+ *
+ * @see SimulationResults
+ */
+public enum Outcome {
+
+    WON("won"),
+    KILLED_IN_A_FIGHT("lost a fight, or a door they kicked in"),
+    KILLED_BY_THE_VIRUS("collapsed from the virus"),
+    POISONED("swallowed something they shouldn't have"),
+    DIED_OTHERWISE("died some other way"),
+    UNFINISHED("were still playing when time ran out");
+
+    private final String description;
+
+    Outcome(String description) {
+        this.description = description;
+    }
+
+    /**
+     * @return What happened to the player, for example "collapsed from the virus".
+     */
+    public String getDescription() {
+        return description;
+    }
+}
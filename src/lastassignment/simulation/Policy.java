@@ -0,0 +1,26 @@
+package lastassignment.simulation;
+
+import lastassignment.utils.SessionRandom;
+
+import java.util.List;
+
+/**
+ * @version 1.0
+ *
+ * Decides what a simulated player picks whenever the game offers a choice. A Policy only sees
+ * what a real player would see: the options as they are printed on screen. Options that would
+ * save, load, open the journal or give up are never offered to a Policy.
+ *
+ * @see StandardPolicy
+ * @see Simulator
+ */
+public interface Policy {
+
+    /**
+     * @param options The options the game offers, as printed, for example "(2) Attack!".
+     *                There is always at least one.
+     * @param random The random number generator of the simulated player, for policies that leave something to chance.
+     * @return The index of the option to pick.
+     */
+    int choose(List<String> options, SessionRandom random);
+}
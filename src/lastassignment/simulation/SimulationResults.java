@@ -0,0 +1,155 @@
+package lastassignment.simulation;
+
+import lastassignment.utils.Console;
+
+/**
+ * @version 1.0
+ *
+ * What came out of a batch of simulated playthroughs: how they ended, how many turns it took
+ * to win, and how much money the players had at the start of every turn. Results are only ever
+ * added up, so the results of two batches can be merged into the results of both, in any order,
+ * which is how the Simulator puts together what its threads found.
+ *
+ * @see Simulator
+ * @see Outcome
+ */
+public class SimulationResults {
+
+    private final int maxTurns;
+    private final long[] outcomes;
+    private final long[] winsAfterTurns;
+    private final long[] centsAtTurn;
+    private final long[] playersAtTurn;
+    private long playthroughs;
+
+    /**
+     * @param maxTurns The most turns a playthrough can take.
+     */
+    public SimulationResults(int maxTurns) {
+        this.maxTurns = maxTurns;
+        outcomes = new long[Outcome.values().length];
+        winsAfterTurns = new long[maxTurns + 1];
+        centsAtTurn = new long[maxTurns];
+        playersAtTurn = new long[maxTurns];
+    }
+
+    /**
+     * Records how much money a player had at the start of a turn.
+     *
+     * @param turn The turn, the first one is 0.
+     * @param money The money of the player.
+     */
+    void recordTurn(int turn, double money) {
+        //NOTE: Adding up whole cents, so the sum doesn't depend on the order the results are merged in.
+        centsAtTurn[turn] += Math.round(money * 100);
+        ++playersAtTurn[turn];
+    }
+
+    /**
+     * Records how a playthrough ended.
+     *
+     * @param outcome How it ended.
+     * @param turns How many turns the player took.
+     */
+    void recordPlaythrough(Outcome outcome, int turns) {
+        ++playthroughs;
+        ++outcomes[outcome.ordinal()];
+        if (outcome == Outcome.WON)
+            ++winsAfterTurns[turns];
+    }
+
+    /**
+     * Adds the results of another batch of playthroughs to these.
+     *
+     * @param other Results of playthroughs with the same maximum number of turns.
+     */
+    public void merge(SimulationResults other) {
+        assert other.maxTurns == maxTurns;
+        playthroughs += other.playthroughs;
+        for (int i = 0; i < outcomes.length; ++i)
+            outcomes[i] += other.outcomes[i];
+        for (int turn = 0; turn <= maxTurns; ++turn)
+            winsAfterTurns[turn] += other.winsAfterTurns[turn];
+        for (int turn = 0; turn < maxTurns; ++turn) {
+            centsAtTurn[turn] += other.centsAtTurn[turn];
+            playersAtTurn[turn] += other.playersAtTurn[turn];
+        }
+    }
+
+    /**
+     * @return How many playthroughs there were.
+     */
+    public long getPlaythroughs() {
+        return playthroughs;
+    }
+
+    /**
+     * @param outcome How the playthroughs ended.
+     * @return How many playthroughs ended that way.
+     */
+    public long getCount(Outcome outcome) {
+        return outcomes[outcome.ordinal()];
+    }
+
+    /**
+     * @return The fraction of playthroughs that were won.
+     */
+    public double getWinRate() {
+        return playthroughs == 0 ? 0 : (double)getCount(Outcome.WON) / playthroughs;
+    }
+
+    /**
+     * @param fraction Between 0 and 1, for example 0.5 for the median.
+     * @return The number of turns within which that fraction of the won playthroughs were won, or -1 if none were.
+     */
+    public int getTurnsToWin(double fraction) {
+        long wins = getCount(Outcome.WON);
+        if (wins == 0)
+            return -1;
+        long seen = 0;
+        for (int turn = 0; turn <= maxTurns; ++turn) {
+            seen += winsAfterTurns[turn];
+            if (seen > 0 && seen >= fraction * wins)
+                return turn;
+        }
+        return maxTurns;
+    }
+
+    /**
+     * @param turn The turn, the first one is 0.
+     * @return The average money of the players that made it to that turn, or 0 if none did.
+     */
+    public double getAverageMoneyAt(int turn) {
+        return playersAtTurn[turn] == 0 ? 0 : centsAtTurn[turn] / 100.0 / playersAtTurn[turn];
+    }
+
+    /**
+     * @param turn The turn, the first one is 0.
+     * @return How many players made it to that turn.
+     */
+    public long getPlayersAt(int turn) {
+        return playersAtTurn[turn];
+    }
+
+    /**
+     * Prints how the playthroughs ended, how long winning took, and how the money of the players developed.
+     */
+    public void report() {
+        Console.printLine("%d playthroughs, %.1f%% won", playthroughs, getWinRate() * 100);
+        for (Outcome outcome : Outcome.values()) {
+            long count = getCount(outcome);
+            if (count > 0)
+                Console.printLine("  %6.2f%% %s", 100.0 * count / playthroughs, outcome.getDescription());
+        }
+        if (getCount(Outcome.WON) > 0)
+            Console.printLine("Turns to win: %d fastest, %d median, %d for 90%%",
+                    getTurnsToWin(0), getTurnsToWin(0.5), getTurnsToWin(0.9));
+        Console.printLine("Money at the start of a turn:");
+        int step = Math.max(1, maxTurns / 10);
+        for (int turn = 0; turn < maxTurns; turn += step) {
+            if (playersAtTurn[turn] > 0)
+                Console.printLine("  turn %4d: $%6.2f on average, %d players still playing",
+                        turn, getAverageMoneyAt(turn), playersAtTurn[turn]);
+        }
+    }
+}
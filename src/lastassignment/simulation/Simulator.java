@@ -0,0 +1,150 @@
+package lastassignment.simulation;
+
+import lastassignment.Game;
+import lastassignment.Player;
+import lastassignment.io.AutoSaveWriter;
+import lastassignment.io.AutoSaver;
+import lastassignment.utils.Console;
+import lastassignment.utils.ConsoleBackend;
+import lastassignment.utils.InputExhaustedException;
+import lastassignment.utils.SessionRandom;
+import lastassignment.world.WorldCopier;
+import lastassignment.world.WorldTemplate;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * @version 1.0
+ *
+ * Plays the game over and over without anyone at the keyboard, to see how hard it is: how often
+ * players win, what kills them, how long winning takes and what happens to their money. Every
+ * playthrough gets its own copy of the world, and a Policy makes all of the choices, through an
+ * AgentConsoleBackend that answers the game without ever waiting. Playthroughs don't save, load,
+ * or write config files, and they only autosave when given an AutoSaveWriter, so they never touch
+ * the disk by themselves. They share nothing that changes, so they are spread over as many threads
+ * as there are cores on a fork/join pool.
+ *
+ * Everything is decided by the seed: playthrough number i always plays out the same, no matter
+ * how many threads there are, so the results of a simulation only depend on its seed.
+ *
+ * @see Policy
+ * @see SimulationResults
+ */
+public class Simulator {
+
+    /**
+     * A task plays this many playthroughs itself, instead of splitting them up any further.
+     */
+    private static final int PLAYTHROUGHS_PER_TASK = 16;
+
+    private final WorldTemplate template;
+    private final Policy policy;
+    private final int maxTurns;
+    private AutoSaveWriter autoSaveWriter;
+
+    /**
+     * @param template The world to play in.
+     * @param policy Makes the choices in every playthrough.
+     * @param maxTurns After this many turns in the main menu, a playthrough is stopped as unfinished.
+     */
+    public Simulator(WorldTemplate template, Policy policy, int maxTurns) {
+        this.template = template;
+        this.policy = policy;
+        this.maxTurns = maxTurns;
+    }
+
+    /**
+     * Autosaves every playthrough whenever the player enters a Room, the same way a session is
+     * autosaved, for example to collect saves from all kinds of points in the game.
+     *
+     * @param autoSaveWriter Where to hand the autosaves to, or null to not autosave.
+     */
+    public void setAutoSaveWriter(AutoSaveWriter autoSaveWriter) {
+        this.autoSaveWriter = autoSaveWriter;
+    }
+
+    /**
+     * Plays a number of playthroughs, spread over the given number of threads.
+     *
+     * @param playthroughs How many playthroughs to play.
+     * @param seed Decides everything that happens in the playthroughs.
+     * @param threads How many threads to play on.
+     * @return What came out of all of the playthroughs.
+     */
+    public SimulationResults run(int playthroughs, long seed, int threads) {
+        ForkJoinPool pool = new ForkJoinPool(threads);
+        try {
+            return pool.invoke(new PlaythroughTask(seed, 0, playthroughs));
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * Plays the playthroughs numbered from (inclusive) to (exclusive) on the calling thread.
+     */
+    private SimulationResults play(long seed, int from, int to) {
+        SimulationResults results = new SimulationResults(maxTurns);
+        AgentConsoleBackend agent = new AgentConsoleBackend(policy, maxTurns);
+        ConsoleBackend previousBackend = Console.getBackend();
+        Console.setBackend(agent);
+        try {
+            for (int playthrough = from; playthrough < to; ++playthrough)
+                playOnce(agent, new SessionRandom(seed + playthrough).nextLong(), results);
+        } finally {
+            Console.setBackend(previousBackend);
+        }
+        return results;
+    }
+
+    private void playOnce(AgentConsoleBackend agent, long seed, SimulationResults results) {
+        WorldCopier copier = new WorldCopier(seed);
+        Player player = new Player(template.instantiate(copier));
+        player.setWorldCopier(copier);
+        //NOTE: The agent gets its own generator, so its choices don't shift the rolls of the game.
+        agent.start(player, new SessionRandom(~seed), results);
+
+        Game game = new Game(player);
+        if (autoSaveWriter != null)
+            game.setAutoSaver(new AutoSaver(AutoSaver.DEFAULT_PATH, autoSaveWriter));
+        Outcome outcome;
+        try {
+            game.play();
+            outcome = player.hasWon() ? Outcome.WON : agent.getLastHarm();
+        } catch (InputExhaustedException e) {
+            outcome = Outcome.UNFINISHED;
+        }
+        results.recordPlaythrough(outcome, agent.getTurns());
+    }
+
+    /**
+     * Splits its playthroughs in half until there are few enough to play them right away.
+     */
+    private class PlaythroughTask extends RecursiveTask<SimulationResults> {
+
+        private static final long serialVersionUID = 1L;
+
+        private final long seed;
+        private final int from;
+        private final int to;
+
+        PlaythroughTask(long seed, int from, int to) {
+            this.seed = seed;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected SimulationResults compute() {
+            if (to - from <= PLAYTHROUGHS_PER_TASK)
+                return play(seed, from, to);
+            int middle = (from + to) >>> 1;
+            PlaythroughTask firstHalf = new PlaythroughTask(seed, from, middle);
+            firstHalf.fork();
+            SimulationResults results = new PlaythroughTask(seed, middle, to).compute();
+            results.merge(firstHalf.join());
+            return results;
+        }
+    }
+}
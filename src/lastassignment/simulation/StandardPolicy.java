@@ -0,0 +1,40 @@
+package lastassignment.simulation;
+
+import lastassignment.utils.SessionRandom;
+
+import java.util.List;
+
+/**
+ * @version 1.0
+ *
+ * The policies the simulator comes with.
+ *
+ * @see Policy
+ */
+public enum StandardPolicy implements Policy {
+
+    /**
+     * Picks any of the options, each one equally likely.
+     */
+    RANDOM {
+        @Override
+        public int choose(List<String> options, SessionRandom random) {
+            return random.nextInt(options.size());
+        }
+    },
+
+    /**
+     * Never runs away from a fight, and kicks in every door it can, but picks anything else at random.
+     */
+    FIGHTER {
+        @Override
+        public int choose(List<String> options, SessionRandom random) {
+            for (int i = 0; i < options.size(); ++i) {
+                String option = options.get(i);
+                if (option.endsWith("Attack!") || option.endsWith("Crack the door open!"))
+                    return i;
+            }
+            return random.nextInt(options.size());
+        }
+    }
+}
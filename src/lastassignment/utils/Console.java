@@ -1,17 +1,60 @@
 package lastassignment.utils;
 
-import java.util.Scanner;
+import java.util.function.Supplier;
 
 /**
  * @author Boris
  * @author Jana
- * @version 5.0
+ * @version 6.0
  *
  * Helper class that simplifies the scanner use throughout this programm.
  * It can read inputs as strings and integers and print output in different ways.
+ * All of the actual reading and writing is done by a ConsoleBackend, which is
+ * the terminal by default, but can be swapped out for a script.
+ *
+ * @see ConsoleBackend
  */
 public class Console {
-    private static final Scanner scanner = new Scanner(System.in);
+    private static final String LINE_SEPARATOR = System.lineSeparator();
+
+    private static final ConsoleBackend defaultBackend = new StandardConsoleBackend();
+    private static final ThreadLocal<ConsoleBackend> threadBackend = new ThreadLocal<>();
+    private static final ThreadLocal<StringBuilder> threadFormatBuffer = ThreadLocal.withInitial(StringBuilder::new);
+    private static final ThreadLocal<long[]> threadInputWaitNanos = ThreadLocal.withInitial(() -> new long[1]);
+
+    /**
+     * Changes where the Console reads its input from and writes its output to.
+     * The change only applies to the calling thread, so that each game session
+     * running on its own thread can have its own channel.
+     *
+     * @param newBackend The new backend, or null to go back to the terminal.
+     * @see ConsoleBackend
+     */
+    public static void setBackend(ConsoleBackend newBackend) {
+        if (newBackend == null)
+            threadBackend.remove();
+        else
+            threadBackend.set(newBackend);
+    }
+
+    /**
+     * @return The backend the Console is currently using on the calling thread.
+     */
+    public static ConsoleBackend getBackend() {
+        ConsoleBackend backend = threadBackend.get();
+        if (backend == null)
+            return defaultBackend;
+        return backend;
+    }
+
+    /**
+     * Sends out any output the backend of the calling thread is still holding on to.
+     * Output is sent out by itself before every read, so this is only needed once
+     * there's nothing more to read, for example when the game is over.
+     */
+    public static void flush() {
+        getBackend().flush();
+    }
 
     /**
      * Reads a string from the input scanner.
@@ -19,12 +62,26 @@ public class Console {
      * @return Returns player input if available, otherwise empty string.
      */
     public static String readString() {
-        if (scanner.hasNextLine()) {
-            return scanner.nextLine().trim();
+        long[] inputWaitNanos = threadInputWaitNanos.get();
+        long startTime = System.nanoTime();
+        String line = getBackend().readLine();
+        inputWaitNanos[0] += System.nanoTime() - startTime;
+        if (line != null) {
+            return line.trim();
         }
         return "";
     }
 
+    /**
+     * Gets how long the calling thread spent waiting for input so far, so that how long the game
+     * itself took can be told apart from how long the player took.
+     *
+     * @return The time spent in readString in nanoseconds, over the whole life of the thread.
+     */
+    public static long getInputWaitNanos() {
+        return threadInputWaitNanos.get()[0];
+    }
+
     /**
      * Reads an integer from the scanner.
      *
@@ -54,7 +111,10 @@ public class Console {
      * Since this is shorter and more consistent looking with other output.
      */
     public static void print(String format, Object... args) {
-        System.out.printf(format, args);
+        ConsoleBackend backend = getBackend();
+        if (backend.discardsOutput())
+            return;
+        backend.write(format(format, args));
     }
 
     /**
@@ -64,8 +124,12 @@ public class Console {
      * @param args Optional formatting parameters.
      */
     public static void printLine(String format, Object... args) {
-        String output = String.format(format, args);
-        System.out.println(output);
+        ConsoleBackend backend = getBackend();
+        if (backend.discardsOutput())
+            return;
+        //NOTE: Two writes into the backend's buffer are cheaper than concatenating a new string.
+        backend.write(format(format, args));
+        backend.write(LINE_SEPARATOR);
     }
 
     /**
@@ -76,11 +140,28 @@ public class Console {
      * @param args Optional formatting parameters.
      */
     public static void printWithPause(String format, Object... args) {
-        String output = String.format(format, args) + " ...";
-        System.out.print(output);
+        ConsoleBackend backend = getBackend();
+        if (!backend.discardsOutput()) {
+            backend.write(format(format, args));
+            backend.write(" ...");
+        }
         readString();
     }
 
+    /**
+     * Prints a block of text that was put together ahead of time, like a map, as it is and in one
+     * write. The text is only put together if the output isn't thrown away anyway.
+     *
+     * @param text Puts the text together, which may span many lines.
+     */
+    public static void printBlock(Supplier<String> text) {
+        ConsoleBackend backend = getBackend();
+        if (backend.discardsOutput())
+            return;
+        backend.write(text.get());
+        backend.write(LINE_SEPARATOR);
+    }
+
     /**
      * Prints out a list of conversation lines, each followed by "...",
      * and the player must input anything after each of the lines.
@@ -91,4 +172,39 @@ public class Console {
         for (String line: lines)
             printWithPause(line);
     }
-}
\ No newline at end of file
+
+    /**
+     * Prints out a dialogue that was put together ahead of time, line by line,
+     * and the player must input anything after each of the lines.
+     *
+     * @param dialogue The dialogue to print.
+     * @see Dialogue
+     */
+    public static void printDialogue(Dialogue dialogue) {
+        for (String line : dialogue.getLinesWithPauses()) {
+            ConsoleBackend backend = getBackend();
+            if (!backend.discardsOutput())
+                backend.write(line);
+            readString();
+        }
+    }
+
+    /**
+     * Formats the given string, but skips formatting entirely if there is nothing to format.
+     * Format strings are only parsed the first time they are used, and are rendered into
+     * a buffer that is reused by every call on the same thread.
+     *
+     * @param format The format string.
+     * @param args The formatting parameters.
+     * @return The formatted string.
+     * @see Template
+     */
+    private static String format(String format, Object... args) {
+        if (args.length == 0 && format.indexOf('%') < 0)
+            return format;
+        StringBuilder buffer = threadFormatBuffer.get();
+        buffer.setLength(0);
+        Template.of(format).renderTo(buffer, args);
+        return buffer.toString();
+    }
+}
@@ -0,0 +1,42 @@
+package lastassignment.utils;
+
+/**
+ * @version 1.0
+ *
+ * A ConsoleBackend is where the Console gets its input from, and where it sends its output to.
+ * By default the Console talks to the terminal, but it can just as well be driven by a script
+ * or a network connection.
+ *
+ * @see Console
+ * @see StandardConsoleBackend
+ * @see ScriptedConsoleBackend
+ */
+public interface ConsoleBackend {
+
+    /**
+     * Reads the next line of input.
+     *
+     * @return The next line, without the line terminator, or null if there is no more input.
+     */
+    String readLine();
+
+    /**
+     * Writes some already formatted text to the output.
+     *
+     * @param text The text to write, this may contain line terminators.
+     */
+    void write(String text);
+
+    /**
+     * Makes sure everything passed to write() so far actually reaches the output.
+     * Backends are free to hold on to output until the next readLine(), so that a whole
+     * menu is sent out at once, this has to be called when no more input will be read.
+     */
+    void flush();
+
+    /**
+     * @return true iff everything passed to write() is thrown away anyway.
+     * The Console uses this to skip formatting output that nobody will ever see.
+     */
+    boolean discardsOutput();
+}
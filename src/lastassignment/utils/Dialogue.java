@@ -0,0 +1,33 @@
+package lastassignment.utils;
+
+/**
+ * @version 1.0
+ *
+ * A fixed dialogue made up of lines the player has to click through one by one, put together
+ * once ahead of time. Every line is formatted and has its "..." attached when the dialogue is
+ * created, so printing it again later is nothing more than writing out the lines.
+ *
+ * @see Console#printDialogue(Dialogue)
+ */
+public class Dialogue {
+
+    private final String[] linesWithPauses;
+
+    /**
+     * @param lines The lines of the dialogue, which are format strings just like the ones
+     *              passed to Console.printConversationWithPauses.
+     */
+    public Dialogue(String... lines) {
+        linesWithPauses = new String[lines.length];
+        for (int i = 0; i < lines.length; ++i)
+            linesWithPauses[i] = Template.of(lines[i]).render() + " ...";
+    }
+
+    /**
+     * Gets the lines of the dialogue, each already followed by "...".
+     * @return linesWithPauses
+     */
+    String[] getLinesWithPauses() {
+        return linesWithPauses;
+    }
+}
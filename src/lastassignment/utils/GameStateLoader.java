@@ -2,6 +2,7 @@ package lastassignment.utils;
 
 import lastassignment.Game;
 import lastassignment.Player;
+import lastassignment.io.AutoSaver;
 import lastassignment.io.Serializer;
 
 import java.io.IOException;
@@ -22,12 +23,25 @@ public class GameStateLoader {
     public static void loadFrom(Game game, String filename){
         Player player;
         try {
-            player = Serializer.loadPlayer(filename);
+            player = Serializer.loadPlayer(filename, game.getSaveJournalPath());
             game.setPlayer(player);
         } catch (IOException e) {
-            System.out.println("Could not load from the file");
-        } catch (ClassNotFoundException e) {
-            System.out.println("The savefile could not be used to load the state of Player");
+            Console.printLine("Could not load from the file");
+        }
+    }
+
+    /**
+     * Loads the latest autosave of the given Game.
+     * @param game The game it will be loaded into.
+     */
+    public static void loadAutosave(Game game) {
+        AutoSaver autoSaver = game.getAutoSaver();
+        if (autoSaver == null)
+            return;
+        try {
+            game.setPlayer(autoSaver.load());
+        } catch (IOException e) {
+            Console.printLine("Could not load from the file");
         }
     }
 }
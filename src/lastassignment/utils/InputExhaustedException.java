@@ -0,0 +1,29 @@
+package lastassignment.utils;
+
+/**
+ * @version 1.0
+ *
+ * Thrown by a ConsoleBackend when the game asks for input that will never come, for example
+ * when a script has run out of lines, or when a remote player has disconnected.
+ * This is how such a playthrough ends if the Player neither wins nor dies.
+ *
+ * @see ScriptedConsoleBackend
+ */
+public class InputExhaustedException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * @param linesConsumed The number of lines that were read before the script ran out.
+     */
+    public InputExhaustedException(int linesConsumed) {
+        super("Script ran out of input after " + linesConsumed + " lines");
+    }
+
+    /**
+     * @param message Describes why there is no more input, for example because the player disconnected.
+     */
+    public InputExhaustedException(String message) {
+        super(message);
+    }
+}
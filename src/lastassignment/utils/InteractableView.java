@@ -0,0 +1,105 @@
+package lastassignment.utils;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * @version 1.0
+ *
+ * The Interactables a player gets to choose from in a dialog, like the contents of a Room or the
+ * Items in their backpack. The view reads straight from wherever the Interactables are kept instead
+ * of copying them, and Interactables that only the player sees, like hallucinations, are laid over
+ * the end of it. Taking an Interactable out of the view takes it out of wherever it is kept right
+ * away, so there is nothing left to reconcile once the dialog is over, however many there are.
+ *
+ * @param <T> The type of the Interactables.
+ * @see Interactable
+ */
+public class InteractableView<T extends Interactable> extends AbstractList<T> {
+
+    private final Collection<? extends T> source;
+    private final Consumer<? super T> removeFromSource;
+    private List<T> overlay;
+
+    /**
+     * @param source Where the Interactables are kept, this is read from directly.
+     * @param removeFromSource Takes an Interactable out of the source, or null if taking one out of
+     *                         the view shouldn't change the source.
+     */
+    public InteractableView(Collection<? extends T> source, Consumer<? super T> removeFromSource) {
+        this.source = source;
+        this.removeFromSource = removeFromSource;
+        this.overlay = Collections.emptyList();
+    }
+
+    /**
+     * Lays an Interactable over the end of the view, which only exists in the view.
+     *
+     * @param interactable The Interactable, for example a hallucination.
+     */
+    public void overlay(T interactable) {
+        if (overlay.isEmpty())
+            overlay = new ArrayList<>();
+        overlay.add(interactable);
+    }
+
+    @Override
+    public T get(int index) {
+        int sourceSize = source.size();
+        if (index >= sourceSize)
+            return overlay.get(index - sourceSize);
+        if (source instanceof List)
+            return ((List<? extends T>)source).get(index);
+        Iterator<? extends T> iterator = source.iterator();
+        for (int i = 0; i < index; ++i)
+            iterator.next();
+        return iterator.next();
+    }
+
+    @Override
+    public int size() {
+        return source.size() + overlay.size();
+    }
+
+    @Override
+    public Iterator<T> iterator() {
+        return new Iterator<T>() {
+
+            private final Iterator<? extends T> sourceIterator = source.iterator();
+            private final Iterator<T> overlayIterator = overlay.iterator();
+
+            @Override
+            public boolean hasNext() {
+                return sourceIterator.hasNext() || overlayIterator.hasNext();
+            }
+
+            @Override
+            public T next() {
+                return sourceIterator.hasNext() ? sourceIterator.next() : overlayIterator.next();
+            }
+        };
+    }
+
+    /**
+     * Takes an Interactable out of the view, and out of the source if it is kept there.
+     *
+     * @param object The Interactable.
+     * @return true if the Interactable was in the view.
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public boolean remove(Object object) {
+        if (overlay.remove(object))
+            return true;
+        if (!source.contains(object))
+            return false;
+        if (removeFromSource != null)
+            removeFromSource.accept((T)object);
+        return true;
+    }
+}
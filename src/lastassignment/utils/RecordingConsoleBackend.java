@@ -0,0 +1,69 @@
+package lastassignment.utils;
+
+import lastassignment.io.CommandLog;
+
+import java.util.List;
+
+/**
+ * @version 1.0
+ *
+ * A ConsoleBackend that sits in front of another one and appends every line the player types in
+ * to a CommandLog. It can also start out by replaying commands that were logged before, to bring a
+ * game back to where it was. Output is thrown away up to the last replayed command, so once the
+ * replay is done the player only sees what the last command printed, which ends with the menu they
+ * were looking at when the game was interrupted, and picks up from there.
+ *
+ * @see CommandLog
+ * @see ConsoleBackend
+ */
+public class RecordingConsoleBackend implements ConsoleBackend {
+
+    private final ConsoleBackend backend;
+    private final CommandLog log;
+    private final List<String> replay;
+    private int nextReplayed;
+
+    /**
+     * @param backend Where the player actually types in commands, and sees the output.
+     * @param log Where every command is logged to.
+     * @param replay The commands to replay before the player gets to type anything in.
+     */
+    public RecordingConsoleBackend(ConsoleBackend backend, CommandLog log, List<String> replay) {
+        this.backend = backend;
+        this.log = log;
+        this.replay = replay;
+        this.nextReplayed = 0;
+    }
+
+    @Override
+    public String readLine() {
+        String line = isReplaying() ? replay.get(nextReplayed++) : backend.readLine();
+        if (line != null)
+            log.append(line);
+        return line;
+    }
+
+    @Override
+    public void write(String text) {
+        if (!isReplaying())
+            backend.write(text);
+    }
+
+    @Override
+    public void flush() {
+        if (!isReplaying())
+            backend.flush();
+    }
+
+    @Override
+    public boolean discardsOutput() {
+        return isReplaying() || backend.discardsOutput();
+    }
+
+    /**
+     * @return true while there are still logged commands left to replay.
+     */
+    public boolean isReplaying() {
+        return nextReplayed < replay.size();
+    }
+}
@@ -0,0 +1,84 @@
+package lastassignment.utils;
+
+import java.io.PrintStream;
+import java.util.List;
+
+/**
+ * @version 1.0
+ *
+ * A ConsoleBackend that plays back a fixed list of input lines, as if a very fast
+ * player was typing them in. Output is either written to a given PrintStream or,
+ * if there is none, thrown away entirely. Output is collected until the next line of
+ * the script is read, and then printed all at once.
+ *
+ * Once the script runs out of lines an InputExhaustedException is thrown, so that
+ * the game loop can't get stuck waiting for input that will never come.
+ *
+ * @see ConsoleBackend
+ * @see InputExhaustedException
+ */
+public class ScriptedConsoleBackend implements ConsoleBackend {
+
+    private final List<String> script;
+    private final PrintStream output;
+    private final StringBuilder pendingOutput;
+    private int nextLine;
+
+    /**
+     * Constructs a ScriptedConsoleBackend which throws away all output.
+     *
+     * @param script The lines of input to play back, in order.
+     */
+    public ScriptedConsoleBackend(List<String> script) {
+        this(script, null);
+    }
+
+    /**
+     * @param script The lines of input to play back, in order.
+     * @param output Where to write output to, or null to throw it away.
+     */
+    public ScriptedConsoleBackend(List<String> script, PrintStream output) {
+        this.script = script;
+        this.output = output;
+        this.pendingOutput = new StringBuilder();
+        this.nextLine = 0;
+    }
+
+    /**
+     * @return The next line of the script.
+     * @throws InputExhaustedException if the whole script was already played back.
+     */
+    @Override
+    public String readLine() {
+        flush();
+        if (nextLine >= script.size())
+            throw new InputExhaustedException(nextLine);
+        return script.get(nextLine++);
+    }
+
+    @Override
+    public void write(String text) {
+        if (output != null)
+            pendingOutput.append(text);
+    }
+
+    @Override
+    public void flush() {
+        if (pendingOutput.length() > 0) {
+            output.print(pendingOutput);
+            pendingOutput.setLength(0);
+        }
+    }
+
+    @Override
+    public boolean discardsOutput() {
+        return output == null;
+    }
+
+    /**
+     * @return The number of lines that have been played back so far.
+     */
+    public int getLinesConsumed() {
+        return nextLine;
+    }
+}
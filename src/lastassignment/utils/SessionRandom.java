@@ -0,0 +1,71 @@
+package lastassignment.utils;
+
+import java.io.Serializable;
+
+/**
+ * @version 1.0
+ *
+ * The random number generator of a single game session, which decides everything that happens
+ * by chance while playing: whether an Enemy jumps the player, whether fleeing works, and what the
+ * player sees while hallucinating. Unlike java.util.Random it isn't synchronized and never touches
+ * shared state, since a session is only ever played on one thread, and its whole state is a single
+ * long, which is written into save files. A loaded game therefore rolls the same numbers the saved
+ * game would have rolled, and so does every session started from the same seed.
+ *
+ * The numbers come from SplitMix64, the same generator that java.util.SplittableRandom uses.
+ *
+ * @see lastassignment.Player#getRandom()
+ */
+public class SessionRandom implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private static final long GAMMA = 0x9E3779B97F4A7C15L;
+
+    private long state;
+
+    /**
+     * @param seed The seed that decides every number this generator rolls.
+     */
+    public SessionRandom(long seed) {
+        state = seed;
+    }
+
+    /**
+     * @return The next random long, any of them equally likely.
+     */
+    public long nextLong() {
+        long z = (state += GAMMA);
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    /**
+     * Rolls a number between 0 and bound. The bounds the game uses are tiny, so the bias of
+     * scaling 32 random bits down to the bound is far too small to ever notice.
+     *
+     * @param bound How many different numbers there are to pick from, at least 1.
+     * @return A random number between 0 (inclusive) and bound (exclusive).
+     */
+    public int nextInt(int bound) {
+        assert bound > 0;
+        return (int)(((nextLong() >>> 32) * bound) >>> 32);
+    }
+
+    /**
+     * @return Everything there is to know about the generator, to be restored later with setState().
+     */
+    public long getState() {
+        return state;
+    }
+
+    /**
+     * Puts the generator back to where it was, for example when loading a save.
+     *
+     * @param state A state returned by getState().
+     */
+    public void setState(long state) {
+        this.state = state;
+    }
+}
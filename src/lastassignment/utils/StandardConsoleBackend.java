@@ -0,0 +1,77 @@
+package lastassignment.utils;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.FileDescriptor;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.Charset;
+
+/**
+ * @version 2.0
+ *
+ * The default ConsoleBackend, which reads from System.in and writes to the standard output.
+ * Output is buffered and only written out once the game waits for the player's next input,
+ * so a whole menu reaches the terminal in a single write, instead of one write per line.
+ *
+ * @see ConsoleBackend
+ * @see Console
+ */
+public class StandardConsoleBackend implements ConsoleBackend {
+
+    private static final int BUFFER_SIZE = 8192;
+
+    //NOTE: Only whole lines are read, and a Scanner would look up the number format of the locale before the menu is printed.
+    private final BufferedReader input = new BufferedReader(new InputStreamReader(System.in, Charset.defaultCharset()));
+    //NOTE: Goes straight to the file descriptor, System.out would lock and flush on every line anyway.
+    private final Writer output = new BufferedWriter(
+            new OutputStreamWriter(new FileOutputStream(FileDescriptor.out), Charset.defaultCharset()), BUFFER_SIZE);
+
+    /**
+     * Writes out all pending output, and waits for the player to type in a line.
+     *
+     * @return The next line typed in by the player, or null if System.in was closed.
+     */
+    @Override
+    public String readLine() {
+        flush();
+        try {
+            return input.readLine();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * @param text The text to print to the standard output.
+     */
+    @Override
+    public void write(String text) {
+        try {
+            output.write(text);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public void flush() {
+        try {
+            output.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * @return false, the terminal shows everything.
+     */
+    @Override
+    public boolean discardsOutput() {
+        return false;
+    }
+}
@@ -0,0 +1,224 @@
+package lastassignment.utils;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.text.DecimalFormatSymbols;
+import java.util.ArrayList;
+import java.util.Formattable;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * @version 1.0
+ *
+ * A format string that was parsed once, and can then be rendered over and over without parsing it
+ * again and without creating a Formatter each time. Templates understand the handful of conversions
+ * the game actually uses: %s, %d, %.Nf, %% and %n, without any flags or widths. Anything else, and
+ * any argument the template can't render exactly like String.format would, is simply handed over to
+ * String.format, so a Template always prints the same thing String.format would.
+ *
+ * Templates are cached by their format string, the menus and dialogues of the game only ever use
+ * a few hundred different ones.
+ *
+ * @see Console
+ */
+public class Template {
+
+    /**
+     * Once this many templates are cached, new format strings are no longer cached, in case
+     * someone keeps building new format strings on the fly.
+     */
+    private static final int MAX_CACHED_TEMPLATES = 1024;
+
+    private static final Map<String, Template> cache = new ConcurrentHashMap<>();
+
+    /**
+     * Whether numbers can be written out by hand in the default locale, or have to go through String.format.
+     * Looking up the locale loads a lot of locale data, which the start menu doesn't need, so it is only
+     * done once the first number is formatted.
+     */
+    private static class Digits {
+        static final boolean ARE_PLAIN;
+        static {
+            DecimalFormatSymbols symbols = DecimalFormatSymbols.getInstance(Locale.getDefault(Locale.Category.FORMAT));
+            ARE_PLAIN = symbols.getZeroDigit() == '0' && symbols.getDecimalSeparator() == '.' && symbols.getMinusSign() == '-';
+        }
+    }
+
+    private static final char STRING = 's';
+    private static final char INTEGER = 'd';
+    private static final char FIXED = 'f';
+
+    private final String format;
+    private final String[] literals;
+    private final char[] conversions;
+    private final int[] precisions;
+    private final boolean isSupported;
+
+    /**
+     * Gets the parsed template for a format string, parsing it if this is the first time it is used.
+     *
+     * @param format The format string, as it would be passed to String.format.
+     * @return The parsed template.
+     */
+    public static Template of(String format) {
+        Template template = cache.get(format);
+        if (template == null) {
+            template = new Template(format);
+            if (cache.size() < MAX_CACHED_TEMPLATES)
+                cache.put(format, template);
+        }
+        return template;
+    }
+
+    /**
+     * Parses a format string into the literal text between the conversions, and the conversions themselves.
+     *
+     * @param format The format string, as it would be passed to String.format.
+     */
+    private Template(String format) {
+        this.format = format;
+        List<String> literalList = new ArrayList<>();
+        List<Character> conversionList = new ArrayList<>();
+        List<Integer> precisionList = new ArrayList<>();
+        boolean supported = true;
+
+        StringBuilder literal = new StringBuilder();
+        int i = 0;
+        while (i < format.length()) {
+            char c = format.charAt(i++);
+            if (c != '%') {
+                literal.append(c);
+                continue;
+            }
+            if (i >= format.length()) {
+                supported = false;
+                break;
+            }
+            char next = format.charAt(i++);
+            if (next == '%') {
+                literal.append('%');
+            } else if (next == 'n') {
+                literal.append(System.lineSeparator());
+            } else if (next == STRING || next == INTEGER) {
+                literalList.add(literal.toString());
+                literal.setLength(0);
+                conversionList.add(next);
+                precisionList.add(-1);
+            } else if (next == '.') {
+                int precisionStart = i;
+                while (i < format.length() && Character.isDigit(format.charAt(i)))
+                    ++i;
+                if (i == precisionStart || i >= format.length() || format.charAt(i) != FIXED || i - precisionStart > 2) {
+                    supported = false;
+                    break;
+                }
+                literalList.add(literal.toString());
+                literal.setLength(0);
+                conversionList.add(FIXED);
+                precisionList.add(Integer.parseInt(format.substring(precisionStart, i)));
+                ++i;
+            } else {
+                supported = false;
+                break;
+            }
+        }
+        literalList.add(literal.toString());
+
+        isSupported = supported;
+        literals = literalList.toArray(new String[0]);
+        conversions = new char[conversionList.size()];
+        precisions = new int[precisionList.size()];
+        for (int c = 0; c < conversions.length; ++c) {
+            conversions[c] = conversionList.get(c);
+            precisions[c] = precisionList.get(c);
+        }
+    }
+
+    /**
+     * Renders the template with the given arguments, and appends the result to a StringBuilder.
+     *
+     * @param out Where to append the rendered text.
+     * @param args The arguments, exactly as they would be passed to String.format.
+     */
+    public void renderTo(StringBuilder out, Object... args) {
+        if (!canRender(args)) {
+            out.append(String.format(format, args));
+            return;
+        }
+        out.append(literals[0]);
+        for (int i = 0; i < conversions.length; ++i) {
+            Object arg = args[i];
+            switch (conversions[i]) {
+                case STRING:
+                    out.append(arg);
+                    break;
+                case INTEGER:
+                    out.append(((Number)arg).longValue());
+                    break;
+                case FIXED:
+                    appendFixed(out, ((Number)arg).doubleValue(), precisions[i]);
+                    break;
+            }
+            out.append(literals[i + 1]);
+        }
+    }
+
+    /**
+     * Renders the template with the given arguments.
+     *
+     * @param args The arguments, exactly as they would be passed to String.format.
+     * @return The rendered text.
+     */
+    public String render(Object... args) {
+        if (conversions.length == 0 && isSupported)
+            return literals[0];
+        StringBuilder out = new StringBuilder(format.length() + 16 * args.length);
+        renderTo(out, args);
+        return out.toString();
+    }
+
+    /**
+     * Appends a number with a fixed number of decimals, rounded the same way String.format rounds them:
+     * half up, starting from the shortest decimal representation of the number.
+     */
+    private static void appendFixed(StringBuilder out, double value, int precision) {
+        //NOTE: String.format keeps the sign of numbers that round to 0, and of -0.0, BigDecimal doesn't.
+        if (value < 0 || (value == 0 && 1 / value < 0))
+            out.append('-');
+        BigDecimal decimal = new BigDecimal(Double.toString(Math.abs(value)));
+        out.append(decimal.setScale(precision, RoundingMode.HALF_UP).toPlainString());
+    }
+
+    /**
+     * Checks whether the arguments are ones the template can render by itself, exactly the way String.format would.
+     */
+    private boolean canRender(Object[] args) {
+        if (!isSupported || args.length < conversions.length)
+            return false;
+        for (int i = 0; i < conversions.length; ++i) {
+            Object arg = args[i];
+            switch (conversions[i]) {
+                case STRING:
+                    //NOTE: Formattable objects decide for themselves how they are formatted.
+                    if (arg instanceof Formattable)
+                        return false;
+                    break;
+                case INTEGER:
+                    if (!Digits.ARE_PLAIN || !(arg instanceof Integer || arg instanceof Long || arg instanceof Short || arg instanceof Byte))
+                        return false;
+                    break;
+                case FIXED:
+                    if (!Digits.ARE_PLAIN || !(arg instanceof Double || arg instanceof Float))
+                        return false;
+                    double value = ((Number)arg).doubleValue();
+                    if (Double.isNaN(value) || Double.isInfinite(value))
+                        return false;
+                    break;
+            }
+        }
+        return true;
+    }
+}
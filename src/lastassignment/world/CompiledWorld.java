@@ -0,0 +1,205 @@
+package lastassignment.world;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * @version 1.0
+ *
+ * The precompiled binary form of a world file. It holds exactly the same statements as the text
+ * form, but every string is stored only once, and nothing has to be tokenized or parsed when it is
+ * loaded. A compiled world looks like this:
+ *
+ *   magic number, format version, CRC32 of the text form it was compiled from
+ *   the number of strings, followed by every string
+ *   the number of statements, followed by every statement:
+ *     its line in the text form, its kind, its name, the number of arguments, and the tagged arguments
+ *
+ * Strings, names and kinds are stored as indexes into the strings. All numbers except decimal
+ * numbers are stored as variable length integers.
+ *
+ * @see WorldLoader
+ * @see WorldStatement
+ */
+class CompiledWorld implements WorldStatement.Handler {
+
+    private static final int MAGIC = 0x544C4157; //NOTE: "TLAW"
+    private static final short VERSION = 1;
+
+    private static final byte STRING = 0;
+    private static final byte NAME = 1;
+    private static final byte INTEGER = 2;
+    private static final byte DECIMAL = 3;
+    private static final byte TRUE = 4;
+    private static final byte FALSE = 5;
+
+    private final List<String> strings;
+    private final Map<String, Integer> stringIndexes;
+    private final ByteArrayOutputStream statements;
+    private int statementCount;
+
+    /**
+     * Starts compiling a new world. Statements are added with handle(), and the finished
+     * compiled world is written out with toByteArray().
+     */
+    CompiledWorld() {
+        strings = new ArrayList<>();
+        stringIndexes = new HashMap<>();
+        statements = new ByteArrayOutputStream();
+    }
+
+    @Override
+    public void handle(WorldStatement statement) {
+        writeVarint(statements, statement.line);
+        writeVarint(statements, indexOf(statement.kind));
+        writeVarint(statements, statement.name == null ? 0 : indexOf(statement.name) + 1);
+        writeVarint(statements, statement.args.length);
+        for (Object arg : statement.args) {
+            if (arg instanceof String) {
+                statements.write(STRING);
+                writeVarint(statements, indexOf((String)arg));
+            } else if (arg instanceof WorldStatement.Name) {
+                statements.write(NAME);
+                writeVarint(statements, indexOf(((WorldStatement.Name)arg).name));
+            } else if (arg instanceof Integer) {
+                int value = (Integer)arg;
+                statements.write(INTEGER);
+                writeVarint(statements, (value << 1) ^ (value >> 31));
+            } else if (arg instanceof Double) {
+                long bits = Double.doubleToLongBits((Double)arg);
+                statements.write(DECIMAL);
+                for (int shift = 56; shift >= 0; shift -= 8)
+                    statements.write((int)(bits >>> shift));
+            } else {
+                statements.write((Boolean)arg ? TRUE : FALSE);
+            }
+        }
+        ++statementCount;
+    }
+
+    /**
+     * @param sourceChecksum The CRC32 of the text form this world was compiled from.
+     * @return The compiled world.
+     */
+    byte[] toByteArray(int sourceChecksum) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(statements.size() + 32 * strings.size());
+        ByteBuffer header = ByteBuffer.allocate(10);
+        header.putInt(MAGIC);
+        header.putShort(VERSION);
+        header.putInt(sourceChecksum);
+        out.write(header.array(), 0, header.capacity());
+        writeVarint(out, strings.size());
+        for (String string : strings) {
+            byte[] bytes = string.getBytes(StandardCharsets.UTF_8);
+            writeVarint(out, bytes.length);
+            out.write(bytes, 0, bytes.length);
+        }
+        writeVarint(out, statementCount);
+        byte[] statementBytes = statements.toByteArray();
+        out.write(statementBytes, 0, statementBytes.length);
+        return out.toByteArray();
+    }
+
+    /**
+     * Reads the checksum of the text form a compiled world was compiled from, so that a compiled world
+     * that is out of date can be recognized before it is loaded.
+     *
+     * @param compiled The compiled world.
+     * @return The CRC32 of the text form, or 0 if this isn't a compiled world of the current version.
+     */
+    static int getSourceChecksum(ByteBuffer compiled) {
+        if (compiled.remaining() < 10 || compiled.getInt(compiled.position()) != MAGIC
+                || compiled.getShort(compiled.position() + 4) != VERSION)
+            return 0;
+        return compiled.getInt(compiled.position() + 6);
+    }
+
+    /**
+     * Reads back every statement of a compiled world, and hands them over one by one.
+     *
+     * @param compiled The compiled world, from its position up to its limit.
+     * @param handler Where to hand the statements over to.
+     * @throws IOException If the compiled world is damaged.
+     */
+    static void read(ByteBuffer compiled, WorldStatement.Handler handler) throws IOException {
+        ByteBuffer in = compiled.duplicate();
+        try {
+            if (in.getInt() != MAGIC || in.getShort() != VERSION)
+                throw new IOException("Not a compiled world of version " + VERSION);
+            in.getInt();
+
+            String[] strings = new String[readVarint(in)];
+            for (int i = 0; i < strings.length; ++i) {
+                int length = readVarint(in);
+                if (in.hasArray()) {
+                    strings[i] = new String(in.array(), in.arrayOffset() + in.position(), length, StandardCharsets.UTF_8);
+                    in.position(in.position() + length);
+                } else {
+                    byte[] bytes = new byte[length];
+                    in.get(bytes);
+                    strings[i] = new String(bytes, StandardCharsets.UTF_8);
+                }
+            }
+
+            int statementCount = readVarint(in);
+            for (int s = 0; s < statementCount; ++s) {
+                int line = readVarint(in);
+                String kind = strings[readVarint(in)];
+                int nameIndex = readVarint(in);
+                Object[] args = new Object[readVarint(in)];
+                for (int a = 0; a < args.length; ++a) {
+                    byte tag = in.get();
+                    switch (tag) {
+                        case STRING: args[a] = strings[readVarint(in)]; break;
+                        case NAME: args[a] = new WorldStatement.Name(strings[readVarint(in)]); break;
+                        case INTEGER: int value = readVarint(in); args[a] = (value >>> 1) ^ -(value & 1); break;
+                        case DECIMAL: args[a] = Double.longBitsToDouble(in.getLong()); break;
+                        case TRUE: args[a] = Boolean.TRUE; break;
+                        case FALSE: args[a] = Boolean.FALSE; break;
+                        default: throw new IOException("Unknown argument type " + tag);
+                    }
+                }
+                handler.handle(new WorldStatement(kind, nameIndex == 0 ? null : strings[nameIndex - 1], args, line));
+            }
+        } catch (BufferUnderflowException | IndexOutOfBoundsException e) {
+            //NOTE: Running off the end of the buffer, or an index out of bounds, both mean the file is damaged.
+            throw new IOException("Compiled world is damaged", e);
+        }
+    }
+
+    private int indexOf(String string) {
+        Integer index = stringIndexes.get(string);
+        if (index == null) {
+            index = strings.size();
+            strings.add(string);
+            stringIndexes.put(string, index);
+        }
+        return index;
+    }
+
+    private static void writeVarint(ByteArrayOutputStream out, int value) {
+        while ((value & ~0x7F) != 0) {
+            out.write((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.write(value);
+    }
+
+    private static int readVarint(ByteBuffer in) throws IOException {
+        int value = 0;
+        for (int shift = 0; shift < 32; shift += 7) {
+            byte b = in.get();
+            value |= (b & 0x7F) << shift;
+            if (b >= 0)
+                return value;
+        }
+        throw new IOException("Variable length integer is too long");
+    }
+}
@@ -0,0 +1,24 @@
+package lastassignment.world;
+
+/**
+ * @version 1.0
+ *
+ * Copyable objects hold state that changes while the game is played, and so every
+ * session needs its own copy of them. Objects which are not Copyable never change
+ * once the world has been built, so all sessions can safely share a single instance.
+ *
+ * @see WorldCopier
+ * @see WorldTemplate
+ */
+public interface Copyable {
+
+    /**
+     * Creates a copy of this object for a new session. Any other world objects
+     * this object refers to must be copied through the given WorldCopier, so that
+     * every object is copied exactly once and references between them are kept intact.
+     *
+     * @param copier The copier that is copying the whole world.
+     * @return The copy.
+     */
+    Object copy(WorldCopier copier);
+}
@@ -0,0 +1,47 @@
+package lastassignment.world;
+
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Set;
+
+/**
+ * @version 1.0
+ *
+ * Keeps track of which objects in a session's world changed since they were last saved, so
+ * that saving only has to look at those. Every copy made by a WorldCopier starts out dirty,
+ * and marks itself dirty again whenever its saved state changes.
+ *
+ * @see WorldCopier#getDirtyTracker()
+ */
+public class DirtyTracker {
+
+    private Set<Object> dirtyObjects;
+
+    public DirtyTracker() {
+        dirtyObjects = newIdentitySet();
+    }
+
+    /**
+     * Remembers that the state of an object changed.
+     *
+     * @param object The object that changed.
+     */
+    public void markDirty(Object object) {
+        dirtyObjects.add(object);
+    }
+
+    /**
+     * Takes all of the objects that changed since the last call, and starts over with a clean slate.
+     *
+     * @return The objects that changed.
+     */
+    public Set<Object> takeDirtyObjects() {
+        Set<Object> taken = dirtyObjects;
+        dirtyObjects = newIdentitySet();
+        return taken;
+    }
+
+    private static Set<Object> newIdentitySet() {
+        return Collections.newSetFromMap(new IdentityHashMap<>());
+    }
+}
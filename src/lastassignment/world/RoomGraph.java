@@ -0,0 +1,232 @@
+package lastassignment.world;
+
+import lastassignment.Room;
+import lastassignment.doors.Door;
+
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * @version 1.0
+ *
+ * The Rooms of a session's world and the visible Doors between them, numbered with dense IDs so
+ * that the world can be walked through with plain array reads. Every Room copied by a WorldCopier
+ * gets the next room ID the moment it is copied. Doors get the next door ID the first time the
+ * graph sees them, which is when the doors of one of their Rooms are first asked for.
+ *
+ * The adjacency of a Room, the IDs of its visible doors, is only built once it is first needed,
+ * since that means copying the doors of the Room. After that it is kept up to date in place: a Room
+ * tells its graph whenever a door is added to it, like when a HiddenDoor is revealed, and whenever
+ * its doors are replaced, like when a save is loaded. Doors also tell the graph whenever their own
+ * state changes, since that might open or close them. Every such change bumps the version of the
+ * graph, so anything computed from the graph can tell when it is out of date.
+ *
+ * @see WorldCopier#getRoomGraph()
+ * @see Room#getDoors()
+ * @see TravelPlanner
+ */
+public class RoomGraph {
+
+    private static final int INITIAL_CAPACITY = 4;
+    private static final int[] NO_DOORS = new int[0];
+
+    private final Map<Object, Integer> ids;
+    private Room[] rooms;
+    private int roomCount;
+    private Door[] doors;
+    private int[] doorRooms;
+    private int doorCount;
+    private int[][] adjacency;
+    private int[] degrees;
+    private int version;
+
+    /**
+     * Creates an empty graph. It starts out small, since most sessions only ever get to see a few Rooms.
+     */
+    public RoomGraph() {
+        ids = new IdentityHashMap<>(INITIAL_CAPACITY);
+        rooms = new Room[INITIAL_CAPACITY];
+        doors = new Door[INITIAL_CAPACITY];
+        doorRooms = new int[2 * INITIAL_CAPACITY];
+        adjacency = new int[INITIAL_CAPACITY][];
+        degrees = new int[INITIAL_CAPACITY];
+    }
+
+    /**
+     * Gives a Room the next room ID, if it doesn't have one yet.
+     *
+     * @param room The Room to add.
+     * @return The ID of the Room.
+     */
+    public int addRoom(Room room) {
+        Integer id = ids.get(room);
+        if (id != null)
+            return id;
+        if (roomCount == rooms.length) {
+            rooms = Arrays.copyOf(rooms, roomCount * 2);
+            adjacency = Arrays.copyOf(adjacency, roomCount * 2);
+            degrees = Arrays.copyOf(degrees, roomCount * 2);
+        }
+        rooms[roomCount] = room;
+        ids.put(room, roomCount);
+        return roomCount++;
+    }
+
+    /**
+     * Tells the graph that a door was added to a Room.
+     *
+     * @param room The Room the door was added to.
+     * @param door The new door.
+     */
+    public void doorAdded(Room room, Door door) {
+        int roomId = addRoom(room);
+        //NOTE: If the adjacency wasn't built yet, it will pick up the new door once it is.
+        if (adjacency[roomId] != null) {
+            if (degrees[roomId] == adjacency[roomId].length)
+                adjacency[roomId] = Arrays.copyOf(adjacency[roomId], Math.max(4, degrees[roomId] * 2));
+            adjacency[roomId][degrees[roomId]++] = addDoor(door);
+        }
+        ++version;
+    }
+
+    /**
+     * Tells the graph that all the doors of a Room were replaced, so its adjacency has to be built again.
+     *
+     * @param room The Room whose doors were replaced.
+     */
+    public void doorsReplaced(Room room) {
+        int roomId = addRoom(room);
+        adjacency[roomId] = null;
+        degrees[roomId] = 0;
+        ++version;
+    }
+
+    /**
+     * Tells the graph that the state of one of the doors changed, for example that it was unlocked.
+     */
+    public void doorChanged() {
+        ++version;
+    }
+
+    /**
+     * Gets the number of changes made to the graph since it was created.
+     * @return version
+     */
+    public int getVersion() {
+        return version;
+    }
+
+    /**
+     * @return The number of Rooms that have an ID.
+     */
+    public int getRoomCount() {
+        return roomCount;
+    }
+
+    /**
+     * @param roomId The ID of a Room.
+     * @return The Room with that ID.
+     */
+    public Room getRoom(int roomId) {
+        return rooms[roomId];
+    }
+
+    /**
+     * @param room A Room.
+     * @return The ID of the Room, or -1 if it isn't part of this graph.
+     */
+    public int getRoomId(Room room) {
+        Integer id = ids.get(room);
+        return id == null ? -1 : id;
+    }
+
+    /**
+     * @return The number of Doors that have an ID.
+     */
+    public int getDoorCount() {
+        return doorCount;
+    }
+
+    /**
+     * @param doorId The ID of a Door.
+     * @return The Door with that ID.
+     */
+    public Door getDoor(int doorId) {
+        return doors[doorId];
+    }
+
+    /**
+     * @param doorId The ID of a Door.
+     * @return The ID of the first Room the Door connects to.
+     */
+    public int getRoom1Id(int doorId) {
+        return doorRooms[2 * doorId];
+    }
+
+    /**
+     * @param doorId The ID of a Door.
+     * @param roomId The ID of the Room on one side of the Door.
+     * @return The ID of the Room on the other side of the Door.
+     */
+    public int getOtherSide(int doorId, int roomId) {
+        int room1Id = doorRooms[2 * doorId];
+        return room1Id == roomId ? doorRooms[2 * doorId + 1] : room1Id;
+    }
+
+    /**
+     * @param roomId The ID of a Room.
+     * @return The number of visible Doors in the Room.
+     */
+    public int getDegree(int roomId) {
+        buildAdjacency(roomId);
+        return degrees[roomId];
+    }
+
+    /**
+     * @param roomId The ID of a Room.
+     * @param index Which of the visible Doors of the Room, between 0 and getDegree(roomId).
+     * @return The ID of the Door.
+     */
+    public int getDoorId(int roomId, int index) {
+        buildAdjacency(roomId);
+        return adjacency[roomId][index];
+    }
+
+    /**
+     * @param roomId The ID of a Room.
+     * @param index Which of the visible Doors of the Room, between 0 and getDegree(roomId).
+     * @return The ID of the Room on the other side of the Door.
+     */
+    public int getNeighbour(int roomId, int index) {
+        return getOtherSide(getDoorId(roomId, index), roomId);
+    }
+
+    private void buildAdjacency(int roomId) {
+        if (adjacency[roomId] != null)
+            return;
+        //NOTE: For a Room that hasn't been used yet, this is what copies its doors.
+        List<Door> roomDoors = rooms[roomId].getDoors();
+        int[] doorIds = roomDoors.isEmpty() ? NO_DOORS : new int[roomDoors.size()];
+        for (int i = 0; i < doorIds.length; ++i)
+            doorIds[i] = addDoor(roomDoors.get(i));
+        adjacency[roomId] = doorIds;
+        degrees[roomId] = doorIds.length;
+    }
+
+    private int addDoor(Door door) {
+        Integer id = ids.get(door);
+        if (id != null)
+            return id;
+        if (doorCount == doors.length) {
+            doors = Arrays.copyOf(doors, doorCount * 2);
+            doorRooms = Arrays.copyOf(doorRooms, doorCount * 4);
+        }
+        doors[doorCount] = door;
+        doorRooms[2 * doorCount] = addRoom(door.getRoom1());
+        doorRooms[2 * doorCount + 1] = addRoom(door.getRoom2());
+        ids.put(door, doorCount);
+        return doorCount++;
+    }
+}
@@ -0,0 +1,259 @@
+package lastassignment.world;
+
+import lastassignment.Player;
+import lastassignment.Room;
+import lastassignment.doors.Door;
+import lastassignment.doors.LockedDoor;
+import lastassignment.items.Inventory;
+import lastassignment.items.Item;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * @version 1.0
+ *
+ * Finds the shortest way from one Room to another, through doors the Player can walk through
+ * without anything getting in their way. LockedDoors are only used if they are unlocked or the
+ * Player has the Key, OneWayDoors only in the direction they open, AmbushDoors only once their
+ * Enemy is defeated, and HiddenDoors only once they are revealed.
+ *
+ * Which doors can be walked through in which direction is worked out once, and laid out as one
+ * compact array of the ways out of every Room, so searching only ever reads through plain arrays.
+ * The doors all cost the same to walk through, so a breadth first search finds the shortest paths.
+ * The search from a Room finds the shortest paths from it to every other Room at once, and is kept
+ * around, so over time this builds up the shortest paths between all pairs of Rooms. They are only
+ * thrown away when the RoomGraph changes, which happens when a door is added or changes its state,
+ * or when the Player picks up or loses the Key to a LockedDoor.
+ *
+ * @see RoomGraph
+ * @see Door#canTravelThrough
+ */
+public class TravelPlanner {
+
+    /**
+     * How many entries the cached searches can hold in total, so that huge worlds don't run out of memory.
+     */
+    private static final int MAX_CACHED_ENTRIES = 1 << 24;
+
+    private static final int UNREACHED = -1;
+    private static final int START = -2;
+
+    private final RoomGraph graph;
+    private final Player player;
+    private int cachedVersion;
+    private int roomCount;
+    private int[] firstExit;
+    private int[] exitDoors;
+    private int[] exitRooms;
+    private Map<Item, Integer> keyIndexes;
+    private boolean[] hadKeys;
+    private int[] keyStamps;
+    private int keyStamp;
+    private int[][] searches;
+    private int cachedEntries;
+    private int[] queue;
+
+    /**
+     * @param graph The Rooms and Doors to find paths through.
+     * @param player The Player who would travel, since LockedDoors depend on the Keys they have.
+     */
+    public TravelPlanner(RoomGraph graph, Player player) {
+        this.graph = graph;
+        this.player = player;
+        cachedVersion = graph.getVersion() - 1;
+    }
+
+    /**
+     * Gets the RoomGraph this planner finds paths through.
+     * @return graph
+     */
+    public RoomGraph getGraph() {
+        return graph;
+    }
+
+    /**
+     * Finds the shortest way from one Room to another.
+     *
+     * @param from The Room to start from.
+     * @param to The Room to get to.
+     * @return The Doors to walk through one after the other, or null if there is no way to get there.
+     */
+    public List<Door> findPath(Room from, Room to) {
+        int fromId = graph.addRoom(from);
+        int toId = graph.addRoom(to);
+        refresh();
+        int[] doorIds = new int[Math.max(1, roomCount)];
+        int length = findPath(fromId, toId, doorIds);
+        if (length < 0)
+            return null;
+        List<Door> path = new ArrayList<>(length);
+        for (int i = 0; i < length; ++i)
+            path.add(graph.getDoor(doorIds[i]));
+        return path;
+    }
+
+    /**
+     * Finds the shortest way from one Room to another, using the IDs of the RoomGraph.
+     *
+     * @param fromId The ID of the Room to start from.
+     * @param toId The ID of the Room to get to.
+     * @param doorIds Where to put the IDs of the Doors to walk through. It must have room for one door per Room.
+     * @return The number of Doors to walk through, or -1 if there is no way to get there.
+     */
+    public int findPath(int fromId, int toId, int[] doorIds) {
+        refresh();
+        if (fromId >= roomCount || toId >= roomCount)
+            return fromId == toId ? 0 : -1;
+        int[] reachedThrough = search(fromId);
+        if (reachedThrough[toId] == UNREACHED)
+            return -1;
+
+        int length = 0;
+        for (int room = toId; reachedThrough[room] != START; room = graph.getOtherSide(reachedThrough[room], room))
+            ++length;
+        int room = toId;
+        for (int i = length - 1; i >= 0; --i) {
+            doorIds[i] = reachedThrough[room];
+            room = graph.getOtherSide(doorIds[i], room);
+        }
+        return length;
+    }
+
+    /**
+     * Searches outward from a Room, unless that was already done since the graph last changed.
+     *
+     * @return For every Room, the ID of the Door it was first reached through.
+     */
+    private int[] search(int startId) {
+        if (searches[startId] != null)
+            return searches[startId];
+        if (cachedEntries + roomCount > MAX_CACHED_ENTRIES) {
+            Arrays.fill(searches, null);
+            cachedEntries = 0;
+        }
+
+        int[] reachedThrough = new int[roomCount];
+        Arrays.fill(reachedThrough, UNREACHED);
+        reachedThrough[startId] = START;
+        queue[0] = startId;
+        int head = 0;
+        int tail = 1;
+        while (head < tail) {
+            int room = queue[head++];
+            for (int exit = firstExit[room]; exit < firstExit[room + 1]; ++exit) {
+                int nextRoom = exitRooms[exit];
+                if (reachedThrough[nextRoom] == UNREACHED) {
+                    reachedThrough[nextRoom] = exitDoors[exit];
+                    queue[tail++] = nextRoom;
+                }
+            }
+        }
+
+        searches[startId] = reachedThrough;
+        cachedEntries += roomCount;
+        return reachedThrough;
+    }
+
+    /**
+     * Throws away every cached search if the graph or the Player's Keys changed since they were made,
+     * and works out again which doors can be walked through in which direction.
+     */
+    private void refresh() {
+        if (graph.getVersion() == cachedVersion && !keysChanged())
+            return;
+
+        //NOTE: Asking for the doors of every Room gives every Room that can be reached an ID.
+        for (int room = 0; room < graph.getRoomCount(); ++room)
+            graph.getDegree(room);
+        roomCount = graph.getRoomCount();
+
+        int doorCount = graph.getDoorCount();
+        boolean[] passable = new boolean[2 * doorCount];
+        keyIndexes = new IdentityHashMap<>();
+        for (int id = 0; id < doorCount; ++id) {
+            Door door = graph.getDoor(id);
+            passable[2 * id] = door.canTravelThrough(player, door.getRoom1());
+            passable[2 * id + 1] = door.canTravelThrough(player, door.getRoom2());
+            if (door instanceof LockedDoor && ((LockedDoor)door).isLocked() && !keyIndexes.containsKey(((LockedDoor)door).getKey()))
+                keyIndexes.put(((LockedDoor)door).getKey(), keyIndexes.size());
+        }
+        keyStamps = new int[keyIndexes.size()];
+        keyStamp = 0;
+        hadKeys = heldKeys();
+
+        //NOTE: The first pass only counts the exits, so that the arrays can be made just big enough.
+        firstExit = new int[roomCount + 1];
+        int exitCount = 0;
+        for (int pass = 0; pass < 2; ++pass) {
+            exitCount = 0;
+            for (int room = 0; room < roomCount; ++room) {
+                firstExit[room] = exitCount;
+                int degree = graph.getDegree(room);
+                for (int i = 0; i < degree; ++i) {
+                    int door = graph.getDoorId(room, i);
+                    if (!passable[2 * door + (graph.getRoom1Id(door) == room ? 0 : 1)])
+                        continue;
+                    if (pass == 1) {
+                        exitDoors[exitCount] = door;
+                        exitRooms[exitCount] = graph.getOtherSide(door, room);
+                    }
+                    ++exitCount;
+                }
+            }
+            if (pass == 0) {
+                exitDoors = new int[exitCount];
+                exitRooms = new int[exitCount];
+            }
+        }
+        firstExit[roomCount] = exitCount;
+
+        searches = new int[roomCount][];
+        cachedEntries = 0;
+        queue = new int[roomCount];
+        cachedVersion = graph.getVersion();
+    }
+
+    /**
+     * @return true if the Player picked up or lost the Key to some door that is still locked.
+     */
+    private boolean keysChanged() {
+        if (keyStamps.length == 0)
+            return false;
+        markHeldKeys();
+        for (int i = 0; i < keyStamps.length; ++i) {
+            if ((keyStamps[i] == keyStamp) != hadKeys[i])
+                return true;
+        }
+        return false;
+    }
+
+    /**
+     * @return For every Key to a locked door, whether the Player has it.
+     */
+    private boolean[] heldKeys() {
+        markHeldKeys();
+        boolean[] held = new boolean[keyStamps.length];
+        for (int i = 0; i < keyStamps.length; ++i)
+            held[i] = keyStamps[i] == keyStamp;
+        return held;
+    }
+
+    /**
+     * Stamps every Key to a locked door that the Player has, going through the inventory only once.
+     */
+    private void markHeldKeys() {
+        ++keyStamp;
+        Inventory inventory = player.getItemsInBackpack();
+        if (inventory.count(Inventory.Slot.KEYS) == 0)
+            return;
+        for (Item item : inventory) {
+            Integer index = keyIndexes.get(item);
+            if (index != null)
+                keyStamps[index] = keyStamp;
+        }
+    }
+}
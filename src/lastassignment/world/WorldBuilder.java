@@ -0,0 +1,313 @@
+package lastassignment.world;
+
+import lastassignment.Room;
+import lastassignment.doors.AmbushDoor;
+import lastassignment.doors.BreakableDoor;
+import lastassignment.doors.Door;
+import lastassignment.doors.HiddenDoor;
+import lastassignment.doors.LockedDoor;
+import lastassignment.doors.OneWayDoor;
+import lastassignment.doors.SchoolEntrance;
+import lastassignment.items.BunnyRabbit;
+import lastassignment.items.Clothes;
+import lastassignment.items.DamagingItem;
+import lastassignment.items.Hallucinogen;
+import lastassignment.items.HealingItem;
+import lastassignment.items.Item;
+import lastassignment.items.Key;
+import lastassignment.items.LostWallet;
+import lastassignment.items.StrengthPotion;
+import lastassignment.items.Vaccine;
+import lastassignment.items.VirusMedicine;
+import lastassignment.items.Weapon;
+import lastassignment.npcs.CompanionRobot;
+import lastassignment.npcs.Enemy;
+import lastassignment.npcs.FriendlyNPC;
+import lastassignment.npcs.Healer;
+import lastassignment.npcs.Shopkeeper;
+import lastassignment.roomcontents.Computer;
+import lastassignment.roomcontents.Container;
+import lastassignment.roomcontents.ElectricalBox;
+import lastassignment.roomcontents.FumeHood;
+import lastassignment.roomcontents.Notes;
+import lastassignment.roomcontents.RabbitCage;
+import lastassignment.roomcontents.VendingMachine;
+import lastassignment.utils.Interactable;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * @version 1.0
+ *
+ * Builds a world out of the statements of a world file, one statement at a time, by calling
+ * the same constructors and methods the world would be built with in code. Every statement
+ * either creates something, like a Room, a Door or an NPC, or puts things together, like
+ * putting an Item into a Room, or stocking a VendingMachine.
+ *
+ * @see WorldStatement
+ * @see WorldLoader
+ */
+class WorldBuilder implements WorldStatement.Handler {
+
+    private final String source;
+    private final Map<String, Object> named;
+    private Room startingRoom;
+
+    /**
+     * @param source The name of the world file, for error messages.
+     */
+    WorldBuilder(String source) {
+        this.source = source;
+        named = new HashMap<>();
+    }
+
+    /**
+     * Gets the Room chosen by the "start" statement.
+     *
+     * @return The room the Player starts in.
+     * @throws IOException If the world file has no "start" statement.
+     */
+    Room getStartingRoom() throws IOException {
+        if (startingRoom == null)
+            throw new IOException(source + ": the world has no starting room");
+        return startingRoom;
+    }
+
+    @Override
+    public void handle(WorldStatement statement) throws IOException {
+        Arguments args = new Arguments(statement);
+        Object created = execute(statement.kind, args);
+        args.expectEnd();
+        if (statement.name != null) {
+            if (created == null)
+                throw args.error("a \"" + statement.kind + "\" can't be given a name");
+            if (named.put(statement.name, created) != null)
+                throw args.error("\"" + statement.name + "\" was already defined");
+        }
+    }
+
+    /**
+     * Executes a single statement.
+     *
+     * @return Whatever the statement created, or null if it didn't create anything.
+     */
+    private Object execute(String kind, Arguments args) throws IOException {
+        switch (kind) {
+            case "room":
+                return new Room(args.string());
+
+            case "door": {
+                String description = args.string();
+                String descriptionFromRoom2 = args.optionalString(description);
+                return new Door(description, descriptionFromRoom2, args.get(Room.class), args.get(Room.class));
+            }
+            case "one-way-door": {
+                String description = args.string();
+                String descriptionFromRoom2 = args.optionalString(description);
+                return new OneWayDoor(description, descriptionFromRoom2, args.get(Room.class), args.get(Room.class));
+            }
+            case "locked-door": {
+                String description = args.string();
+                String descriptionFromRoom2 = args.optionalString(description);
+                return new LockedDoor(description, descriptionFromRoom2,
+                        args.get(Room.class), args.get(Room.class), args.get(Key.class));
+            }
+            case "ambush-door": {
+                String description = args.string();
+                String descriptionFromRoom2 = args.optionalString(description);
+                return new AmbushDoor(description, descriptionFromRoom2,
+                        args.get(Room.class), args.get(Room.class), args.get(Enemy.class));
+            }
+            case "breakable-door": {
+                String description = args.string();
+                String descriptionFromRoom2 = args.optionalString(description);
+                return new BreakableDoor(description, descriptionFromRoom2,
+                        args.get(Room.class), args.get(Room.class), args.integer());
+            }
+            case "hidden-door": {
+                String hiddenDescription = args.string();
+                String revealedDescription = args.string();
+                String hiddenDescriptionFromRoom2 = args.optionalString(hiddenDescription);
+                String revealedDescriptionFromRoom2 = args.optionalString(revealedDescription);
+                return new HiddenDoor(hiddenDescription, revealedDescription,
+                        hiddenDescriptionFromRoom2, revealedDescriptionFromRoom2,
+                        args.get(Room.class), args.get(Room.class));
+            }
+            case "school-entrance":
+                return new SchoolEntrance(args.get(Room.class), args.get(Room.class));
+
+            case "key":
+                return new Key(args.string());
+            case "map":
+                return new lastassignment.items.Map(args.string());
+            case "clothes":
+                return new Clothes(args.string(), args.bool());
+            case "weapon":
+                return new Weapon(args.string(), args.integer());
+            case "vaccine":
+                return new Vaccine(args.string());
+            case "virus-medicine":
+                return new VirusMedicine(args.string(), args.integer());
+            case "healing-item":
+                return new HealingItem(args.string(), args.string(), args.integer());
+            case "damaging-item":
+                return new DamagingItem(args.string(), args.string(), args.integer());
+            case "strength-potion":
+                return new StrengthPotion(args.string(), args.string(), args.integer());
+            case "hallucinogen":
+                return new Hallucinogen(args.string(), args.string());
+            case "lost-wallet":
+                return new LostWallet(args.string(), args.number());
+            case "bunny-rabbit":
+                return new BunnyRabbit(args.string());
+
+            case "enemy": {
+                String description = args.string();
+                int health = args.integer();
+                int damage = args.integer();
+                if (args.isNext(Boolean.class)) {
+                    boolean infected = args.bool();
+                    if (!args.hasNext())
+                        return new Enemy(description, health, damage, infected);
+                    return new Enemy(description, health, damage, infected, args.get(Room.class));
+                }
+                double infectionChance = args.number();
+                return new Enemy(description, health, damage, infectionChance, args.get(Room.class));
+            }
+            case "friendly-npc":
+                return new FriendlyNPC(args.string(), args.integer(), args.integer(), args.bool(), args.get(Room.class));
+            case "healer":
+                return new Healer(args.string(), args.integer(), args.integer(), args.bool(), args.get(Room.class));
+            case "shopkeeper":
+                return new Shopkeeper(args.string(), args.integer(), args.integer(), args.bool(), args.get(Room.class));
+            case "companion-robot":
+                return new CompanionRobot(args.integer(), args.integer(), args.integer(), args.get(Room.class));
+
+            case "container":
+                return new Container(args.string());
+            case "notes":
+                return new Notes(args.string(), args.remainingStrings());
+            case "vending-machine":
+                return new VendingMachine(args.string(), args.string());
+            case "electrical-box": {
+                boolean isWorking = args.bool();
+                boolean fixable = args.bool();
+                String brokenDescription = args.string();
+                if (args.isNext(String.class))
+                    return new ElectricalBox(isWorking, fixable, brokenDescription, args.string(), args.get(Room.class));
+                return new ElectricalBox(isWorking, fixable, brokenDescription, args.get(Room.class));
+            }
+            case "computer":
+                return new Computer(args.string(), args.get(ElectricalBox.class), args.get(Room.class));
+            case "fume-hood":
+                return new FumeHood(args.string(), args.get(Room.class));
+            case "rabbit-cage":
+                return new RabbitCage(args.get(BunnyRabbit.class), args.get(Room.class));
+
+            case "put": {
+                Object target = args.get(Object.class);
+                if (target instanceof Room)
+                    ((Room)target).addContents(args.get(Interactable.class));
+                else if (target instanceof Container)
+                    ((Container)target).addContents(args.get(Item.class));
+                else
+                    throw args.error("things can only be put into a room or a container");
+                return null;
+            }
+            case "stock":
+                args.get(VendingMachine.class).addItem(args.get(HealingItem.class), args.number());
+                return null;
+            case "sell":
+                args.get(Shopkeeper.class).addItemToInventory(args.get(Item.class), args.number());
+                return null;
+            case "start":
+                startingRoom = args.get(Room.class);
+                return null;
+
+            default:
+                throw args.error("unknown kind of statement \"" + kind + "\"");
+        }
+    }
+
+    /**
+     * Goes through the arguments of a statement one by one, checking that each one is what it should be.
+     */
+    private class Arguments {
+
+        private final WorldStatement statement;
+        private int next;
+
+        Arguments(WorldStatement statement) {
+            this.statement = statement;
+        }
+
+        boolean hasNext() {
+            return next < statement.args.length;
+        }
+
+        boolean isNext(Class<?> type) {
+            return hasNext() && type.isInstance(statement.args[next]);
+        }
+
+        String string() throws IOException {
+            return take(String.class, "a string");
+        }
+
+        String optionalString(String otherwise) throws IOException {
+            return isNext(String.class) ? string() : otherwise;
+        }
+
+        String[] remainingStrings() throws IOException {
+            String[] strings = new String[statement.args.length - next];
+            for (int i = 0; i < strings.length; ++i)
+                strings[i] = string();
+            return strings;
+        }
+
+        int integer() throws IOException {
+            return take(Integer.class, "a whole number");
+        }
+
+        double number() throws IOException {
+            return take(Number.class, "a number").doubleValue();
+        }
+
+        boolean bool() throws IOException {
+            return take(Boolean.class, "true or false");
+        }
+
+        /**
+         * Takes a reference to something created earlier, which must be of the given type.
+         */
+        <T> T get(Class<T> type) throws IOException {
+            WorldStatement.Name name = take(WorldStatement.Name.class, "a name");
+            Object object = named.get(name.name);
+            if (object == null)
+                throw error("\"" + name + "\" is not defined");
+            if (!type.isInstance(object))
+                throw error("\"" + name + "\" is not a " + type.getSimpleName());
+            return type.cast(object);
+        }
+
+        void expectEnd() throws IOException {
+            if (hasNext())
+                throw error("too many arguments for \"" + statement.kind + "\"");
+        }
+
+        private <T> T take(Class<T> type, String expected) throws IOException {
+            if (!hasNext())
+                throw error("\"" + statement.kind + "\" is missing " + expected);
+            Object arg = statement.args[next];
+            if (!type.isInstance(arg))
+                throw error("argument " + (next + 1) + " of \"" + statement.kind + "\" should be " + expected);
+            ++next;
+            return type.cast(arg);
+        }
+
+        IOException error(String message) {
+            return new IOException(source + ":" + statement.line + ": " + message);
+        }
+    }
+}
@@ -0,0 +1,157 @@
+package lastassignment.world;
+
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * @version 1.0
+ *
+ * Copies a world object graph for a new session. Only Copyable objects are actually
+ * copied, everything else is immutable and is shared between the original and the copy.
+ * Each object is copied at most once, so references between objects in the copy mirror
+ * the references in the original exactly.
+ *
+ * Copies must register themselves with register() before copying anything they refer to,
+ * so that cycles (Rooms refer to Doors which refer back to the Rooms) terminate. Rooms copy
+ * their contents lazily, the first time they are used, so a copier lives as long as the
+ * session it copies the world for. Copies that can change hold on to the copier's DirtyTracker,
+ * to tell it when they do. Copied Rooms also join the copier's RoomGraph.
+ *
+ * @see Copyable
+ * @see DirtyTracker
+ * @see RoomGraph
+ * @see WorldTemplate
+ */
+public class WorldCopier {
+
+    private final Map<Object, Object> copies;
+    private final Map<Object, Object> originals;
+    private final DirtyTracker dirtyTracker;
+    private final RoomGraph roomGraph;
+    private final long seed;
+    private WorldTemplate template;
+
+    /**
+     * Creates a copier with a random seed, so that every session turns out a little different.
+     */
+    public WorldCopier() {
+        this(ThreadLocalRandom.current().nextLong());
+    }
+
+    /**
+     * @param seed The seed that decides everything random about the copied world.
+     */
+    public WorldCopier(long seed) {
+        copies = new IdentityHashMap<>();
+        originals = new IdentityHashMap<>();
+        dirtyTracker = new DirtyTracker();
+        roomGraph = new RoomGraph();
+        this.seed = seed;
+    }
+
+    /**
+     * @return The seed that decides everything random about the copied world.
+     */
+    public long getSeed() {
+        return seed;
+    }
+
+    /**
+     * @return The template this copier copied the world from, or null if it didn't copy one yet.
+     */
+    public WorldTemplate getTemplate() {
+        return template;
+    }
+
+    void setTemplate(WorldTemplate template) {
+        this.template = template;
+    }
+
+    /**
+     * @return The tracker of which copies changed since they were last saved.
+     */
+    public DirtyTracker getDirtyTracker() {
+        return dirtyTracker;
+    }
+
+    /**
+     * @return The Rooms and visible Doors of the copied world.
+     */
+    public RoomGraph getRoomGraph() {
+        return roomGraph;
+    }
+
+    /**
+     * Picks a random number for a decision that should differ between sessions, like whether
+     * an Enemy is infected. The same seed and key always give the same number, no matter in
+     * which order the world gets copied, so a world restored from a save makes the same
+     * decisions as the world that was saved.
+     *
+     * @param key Identifies the decision, for example the description of the Enemy.
+     * @return A random number between 0 (inclusive) and 1 (exclusive).
+     */
+    public double random(String key) {
+        //NOTE: SplitMix64 finalizer, so that similar keys still give unrelated numbers.
+        long z = seed + key.hashCode() * 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        z = z ^ (z >>> 31);
+        return (z >>> 11) * 0x1.0p-53;
+    }
+
+    /**
+     * @param original The object to copy.
+     * @return The copy of the object for this session, or the object itself if it is immutable.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T copy(T original) {
+        if (!(original instanceof Copyable))
+            return original;
+        Object copy = copies.get(original);
+        if (copy == null)
+            copy = ((Copyable)original).copy(this);
+        return (T)copy;
+    }
+
+    /**
+     * @param original An object from the original world.
+     * @return The copy of the object, or null if it hasn't been copied (yet).
+     */
+    public Object getExistingCopy(Object original) {
+        return copies.get(original);
+    }
+
+    /**
+     * @param copy A copy made by this copier.
+     * @return The object it was copied from, or null if it isn't a copy made by this copier.
+     */
+    public Object getOriginal(Object copy) {
+        return originals.get(copy);
+    }
+
+    /**
+     * Copies every element of a list into another list.
+     *
+     * @param from The original list.
+     * @param to The list to add the copies to.
+     */
+    public <T> void copyAll(List<? extends T> from, List<T> to) {
+        for (T element : from)
+            to.add(copy(element));
+    }
+
+    /**
+     * Remembers that the given copy belongs to the given original. New copies count as dirty,
+     * since they haven't been saved yet.
+     *
+     * @param original The original object.
+     * @param copy Its copy.
+     */
+    public void register(Object original, Object copy) {
+        copies.put(original, copy);
+        originals.put(copy, original);
+        dirtyTracker.markDirty(copy);
+    }
+}
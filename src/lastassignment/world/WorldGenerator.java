@@ -0,0 +1,229 @@
+package lastassignment.world;
+
+import lastassignment.Room;
+import lastassignment.doors.AmbushDoor;
+import lastassignment.doors.BreakableDoor;
+import lastassignment.doors.Door;
+import lastassignment.doors.HiddenDoor;
+import lastassignment.doors.LockedDoor;
+import lastassignment.doors.OneWayDoor;
+import lastassignment.doors.SchoolEntrance;
+import lastassignment.items.HealingItem;
+import lastassignment.items.Item;
+import lastassignment.items.Key;
+import lastassignment.items.LostWallet;
+import lastassignment.items.VirusMedicine;
+import lastassignment.items.Weapon;
+import lastassignment.npcs.Enemy;
+import lastassignment.npcs.FriendlyNPC;
+import lastassignment.npcs.Healer;
+import lastassignment.npcs.Shopkeeper;
+import lastassignment.roomcontents.Computer;
+import lastassignment.roomcontents.Container;
+import lastassignment.roomcontents.ElectricalBox;
+
+import java.util.Random;
+
+/**
+ * @version 1.0
+ *
+ * Generates a university of any size, to see how the game holds up with far more Rooms than the
+ * hand-built world has. The same number of rooms and the same seed always give the same world,
+ * so a save made in a generated world can be loaded by generating the world again.
+ *
+ * The Player starts outside, and goes in through the SchoolEntrance into the main hall. Every other
+ * Room hangs off a Room that was generated before it, through a plain Door, a LockedDoor, a
+ * BreakableDoor or an AmbushDoor. The Key to a LockedDoor is always put somewhere before it, so
+ * every Room, including the one with the Computer, can be reached without going through the door the
+ * Key is for. On top of that, some Rooms get extra ways to nearby Rooms, through plain Doors,
+ * OneWayDoors and HiddenDoors. Rooms are also filled with Containers, Items and NPCs.
+ *
+ * @see WorldTemplate#generated(int, long)
+ * @see lastassignment.utils.GameInitializer
+ */
+public class WorldGenerator {
+
+    /**
+     * The smallest world that can be generated: outside, the main hall and the computer room.
+     */
+    public static final int MIN_ROOMS = 3;
+
+    /**
+     * The biggest world that can be generated, which already takes a few gigabytes of memory.
+     */
+    public static final int MAX_ROOMS = 1000000;
+
+    /**
+     * Extra doors only ever lead to one of this many Rooms generated right before, so they stay local.
+     */
+    private static final int NEIGHBOURHOOD = 32;
+
+    private static final String[] ROOM_ADJECTIVES = {
+            "a dusty", "a cramped", "a brightly lit", "a dimly lit", "a quiet", "a messy", "a chilly", "a stuffy"
+    };
+    private static final String[] ROOM_KINDS = {
+            "classroom", "lecture hall", "hallway", "lab", "office", "break room", "storage room", "study room"
+    };
+    private static final String[] ENEMIES = {
+            "a coughing student", "a feverish professor", "a sneezing janitor", "a pale lab assistant"
+    };
+    private static final String[] FRIENDS = {
+            "a lost looking student", "a tired teaching assistant", "a cheerful cleaner", "a bored security guard"
+    };
+    private static final String[] CONTAINERS = {
+            "a locker", "a cardboard box", "a filing cabinet", "a desk drawer"
+    };
+
+    private final Random random;
+    private final Room[] rooms;
+
+    private WorldGenerator(int roomCount, long seed) {
+        random = new Random(seed);
+        rooms = new Room[roomCount - 1];
+    }
+
+    /**
+     * Generates a new world.
+     *
+     * @param roomCount How many Rooms the world should have, from MIN_ROOMS up to MAX_ROOMS.
+     * @param seed Decides everything about the world.
+     * @return The Room outside of the university, where the Player starts.
+     * @throws IllegalArgumentException If roomCount is less than MIN_ROOMS, or more than MAX_ROOMS.
+     */
+    public static Room generate(int roomCount, long seed) {
+        if (roomCount < MIN_ROOMS)
+            throw new IllegalArgumentException("A world needs at least " + MIN_ROOMS + " rooms, not " + roomCount);
+        if (roomCount > MAX_ROOMS)
+            throw new IllegalArgumentException("A world can have at most " + MAX_ROOMS + " rooms, not " + roomCount);
+        return new WorldGenerator(roomCount, seed).generate();
+    }
+
+    private Room generate() {
+        Room outside = new Room("the entrance to the university building");
+        rooms[0] = new Room("the main hall of the university building");
+        new SchoolEntrance(outside, rooms[0]);
+
+        for (int i = 1; i < rooms.length; ++i) {
+            rooms[i] = new Room(String.format("%s %s numbered %d",
+                    pick(ROOM_ADJECTIVES), pick(ROOM_KINDS), i));
+            //NOTE: Favours recent Rooms, so the world gets long corridors as well as busy hubs.
+            int parent = random.nextBoolean() ? i - 1 - random.nextInt(Math.min(i, NEIGHBOURHOOD)) : random.nextInt(i);
+            connect(parent, i);
+        }
+        for (int extra = rooms.length / 4; extra > 0; --extra) {
+            int i = 1 + random.nextInt(rooms.length - 1);
+            connectNearby(i - 1 - random.nextInt(Math.min(i, NEIGHBOURHOOD)), i);
+        }
+        for (int i = 1; i < rooms.length - 1; ++i)
+            populate(rooms[i]);
+
+        Room computerRoom = rooms[rooms.length - 1];
+        ElectricalBox box = new ElectricalBox(true, false, "a humming electrical box", computerRoom);
+        new Computer("computer that still seems to work", box, computerRoom);
+        return outside;
+    }
+
+    /**
+     * Connects a Room to the Room it hangs off, with a door that can always be gotten through somehow.
+     */
+    private void connect(int parent, int child) {
+        Room room1 = rooms[parent];
+        Room room2 = rooms[child];
+        int kind = random.nextInt(100);
+        if (kind < 65) {
+            new Door(doorTo("A door", child), doorTo("A door", parent), room1, room2);
+        } else if (kind < 80) {
+            Key key = new Key("key labelled \"" + child + "\"");
+            new LockedDoor(doorTo("A locked door", child), doorTo("A door", parent), room1, room2, key);
+            hide(key, rooms[random.nextInt(child)]);
+        } else if (kind < 90) {
+            new BreakableDoor(doorTo("A rotting door", child), doorTo("A rotting door", parent), room1, room2,
+                    1 + random.nextInt(3));
+        } else {
+            Enemy enemy = new Enemy(pick(ENEMIES), 5 + random.nextInt(6), 1 + random.nextInt(3), false);
+            new AmbushDoor(doorTo("A guarded door", child), doorTo("A door", parent), room1, room2, enemy);
+        }
+    }
+
+    /**
+     * Adds another way between two Rooms that are already connected somehow.
+     */
+    private void connectNearby(int near, int far) {
+        Room room1 = rooms[near];
+        Room room2 = rooms[far];
+        int kind = random.nextInt(3);
+        if (kind == 0) {
+            new Door(doorTo("A side door", far), doorTo("A side door", near), room1, room2);
+        } else if (kind == 1) {
+            new OneWayDoor(doorTo("A swinging door", far), doorTo("A door without a handle", near), room1, room2);
+        } else {
+            new HiddenDoor("a bookcase", "a bookcase hiding the way to room " + far,
+                    "a loose wall panel", "a wall panel hiding the way to room " + near, room1, room2);
+        }
+    }
+
+    /**
+     * Puts a few NPCs, Containers and Items into a Room.
+     */
+    private void populate(Room room) {
+        int chance = random.nextInt(100);
+        if (chance < 20)
+            new Enemy(pick(ENEMIES), 6 + random.nextInt(8), 1 + random.nextInt(4), 0.5, room);
+        else if (chance < 28)
+            new FriendlyNPC(pick(FRIENDS), 10, 1, false, room);
+        else if (chance < 30)
+            new Healer("a nurse in a face mask", 10, 1, false, room);
+        else if (chance < 31)
+            newShopkeeper(room);
+
+        chance = random.nextInt(100);
+        if (chance < 25) {
+            Container container = new Container(pick(CONTAINERS));
+            for (int items = 1 + random.nextInt(2); items > 0; --items)
+                container.addContents(newItem());
+            room.addContents(container);
+        } else if (chance < 40) {
+            room.addContents(newItem());
+        }
+    }
+
+    private void newShopkeeper(Room room) {
+        Shopkeeper shopkeeper = new Shopkeeper("a student selling things out of a backpack", 10, 1, false, room);
+        shopkeeper.addItemToInventory(new HealingItem("energy bar", "eat", 4), 2.5);
+        shopkeeper.addItemToInventory(new Weapon("a heavy textbook", 3), 6.0);
+    }
+
+    private Item newItem() {
+        switch (random.nextInt(4)) {
+            case 0:
+                return new Weapon("a broken chair leg", 2 + random.nextInt(4));
+            case 1:
+                return new HealingItem("half-eaten sandwich", "eat", 2 + random.nextInt(4));
+            case 2:
+                return new VirusMedicine("a bottle of cough syrup", 3 + random.nextInt(4));
+            default:
+                return new LostWallet("dropped wallet", random.nextInt(2000) / 100.0);
+        }
+    }
+
+    /**
+     * Puts a Key into a Room, or into a Container in that Room.
+     */
+    private void hide(Key key, Room room) {
+        if (random.nextBoolean()) {
+            room.addContents(key);
+        } else {
+            Container container = new Container(pick(CONTAINERS));
+            container.addContents(key);
+            room.addContents(container);
+        }
+    }
+
+    private String doorTo(String door, int room) {
+        return room == 0 ? door + " to the main hall" : door + " to room " + room;
+    }
+
+    private String pick(String[] choices) {
+        return choices[random.nextInt(choices.length)];
+    }
+}
@@ -0,0 +1,174 @@
+package lastassignment.world;
+
+import lastassignment.Room;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.CRC32;
+
+/**
+ * @version 1.0
+ *
+ * Loads a world from a world file, instead of building it in code. A world file comes in two forms:
+ * the text form, which is what gets edited, and a precompiled binary form, which loads much faster.
+ * The compiled form remembers the checksum of the text it was compiled from, and is only used as
+ * long as it still matches the text. Otherwise the text form is parsed instead, so editing the
+ * world file never requires recompiling anything, compiling it again just makes loading fast again.
+ *
+ * The default world is the university, which is stored next to this class as university.world
+ * and university.world.bin. The compiled form is memory mapped if it is a file of its own.
+ *
+ * @see WorldParser
+ * @see CompiledWorld
+ * @see WorldBuilder
+ */
+public class WorldLoader {
+
+    /**
+     * The name of the resource holding the text form of the default world.
+     */
+    public static final String DEFAULT_WORLD = "university.world";
+
+    /**
+     * What is appended to the name of a world file to get the name of its compiled form.
+     */
+    public static final String COMPILED_EXTENSION = ".bin";
+
+    /**
+     * Loads the default world, from its compiled form if that is up to date.
+     *
+     * @return The room the Player starts in, from which every other Room can be reached.
+     * @throws IOException If the world file is missing, or isn't a valid world file.
+     */
+    public static Room loadDefault() throws IOException {
+        return loadDefaultTemplate().getStartingRoom();
+    }
+
+    /**
+     * Loads the default world, from its compiled form if that is up to date, into a template
+     * that remembers the checksum of the world file it was built from.
+     *
+     * @return The template of the default world.
+     * @throws IOException If the world file is missing, or isn't a valid world file.
+     */
+    public static WorldTemplate loadDefaultTemplate() throws IOException {
+        byte[] text = readResource(DEFAULT_WORLD);
+        if (text == null)
+            throw new IOException("The world file " + DEFAULT_WORLD + " is missing");
+        int checksum = checksum(text);
+        ByteBuffer compiled = mapResource(DEFAULT_WORLD + COMPILED_EXTENSION);
+        if (compiled != null && CompiledWorld.getSourceChecksum(compiled) == checksum)
+            return new WorldTemplate(loadCompiled(compiled, DEFAULT_WORLD), checksum);
+        return new WorldTemplate(loadText(text, DEFAULT_WORLD), checksum);
+    }
+
+    /**
+     * Loads a world from the text form of a world file.
+     *
+     * @param text The contents of the world file.
+     * @param source The name of the world file, for error messages.
+     * @return The room the Player starts in.
+     * @throws IOException If the world file isn't valid.
+     */
+    public static Room loadText(byte[] text, String source) throws IOException {
+        WorldBuilder builder = new WorldBuilder(source);
+        new WorldParser(source, builder).parse(newReader(text));
+        return builder.getStartingRoom();
+    }
+
+    /**
+     * Loads a world from the compiled form of a world file.
+     *
+     * @param compiled The compiled world file, from its position up to its limit.
+     * @param source The name of the world file it was compiled from, for error messages.
+     * @return The room the Player starts in.
+     * @throws IOException If the compiled world is damaged, or the world in it isn't valid.
+     */
+    public static Room loadCompiled(ByteBuffer compiled, String source) throws IOException {
+        WorldBuilder builder = new WorldBuilder(source);
+        CompiledWorld.read(compiled, builder);
+        return builder.getStartingRoom();
+    }
+
+    /**
+     * Compiles the text form of a world file into its binary form. The world is also built once
+     * along the way, so that a world file with mistakes in it never gets compiled.
+     *
+     * @param textFile The text form of the world file.
+     * @param compiledFile Where to write the compiled form to.
+     * @throws IOException If the world file could not be read, isn't valid, or the compiled form could not be written.
+     */
+    public static void compile(Path textFile, Path compiledFile) throws IOException {
+        byte[] text = Files.readAllBytes(textFile);
+        String source = textFile.getFileName().toString();
+        WorldBuilder builder = new WorldBuilder(source);
+        CompiledWorld compiled = new CompiledWorld();
+        new WorldParser(source, statement -> {
+            builder.handle(statement);
+            compiled.handle(statement);
+        }).parse(newReader(text));
+        builder.getStartingRoom();
+        Files.write(compiledFile, compiled.toByteArray(checksum(text)));
+    }
+
+    private static BufferedReader newReader(byte[] text) {
+        return new BufferedReader(new InputStreamReader(new ByteArrayInputStream(text), StandardCharsets.UTF_8));
+    }
+
+    private static int checksum(byte[] text) {
+        CRC32 crc = new CRC32();
+        crc.update(text, 0, text.length);
+        //NOTE: 0 stands for "not a compiled world", so it can never be a valid checksum.
+        return (int)crc.getValue() == 0 ? 1 : (int)crc.getValue();
+    }
+
+    /**
+     * Maps a resource stored next to this class into memory, so that it is only read as far as it is
+     * used, straight from the page cache. Resources inside a jar can't be mapped, those are read instead.
+     *
+     * @return The contents of the resource, or null if there is no such resource.
+     */
+    static ByteBuffer mapResource(String name) throws IOException {
+        URL url = WorldLoader.class.getResource(name);
+        if (url == null)
+            return null;
+        if (!url.getProtocol().equals("file")) {
+            byte[] contents = readResource(name);
+            return contents == null ? null : ByteBuffer.wrap(contents);
+        }
+        try (FileChannel channel = FileChannel.open(Paths.get(url.toURI()), StandardOpenOption.READ)) {
+            return channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        } catch (URISyntaxException e) {
+            throw new IOException("Can't map " + url, e);
+        }
+    }
+
+    /**
+     * @return The contents of a resource stored next to this class, or null if there is no such resource.
+     */
+    static byte[] readResource(String name) throws IOException {
+        try (InputStream in = WorldLoader.class.getResourceAsStream(name)) {
+            if (in == null)
+                return null;
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            byte[] buffer = new byte[8192];
+            int read;
+            while ((read = in.read(buffer)) > 0)
+                out.write(buffer, 0, read);
+            return out.toByteArray();
+        }
+    }
+}
@@ -0,0 +1,368 @@
+package lastassignment.world;
+
+import lastassignment.Player;
+import lastassignment.Room;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * @version 1.0
+ *
+ * The map of the world as far as the Player has explored it, drawn as a grid of boxes, one per Room.
+ * Rooms the Player has been in show what they are, Rooms they have only seen a door to show up as
+ * unexplored, and the rest of the world doesn't show up at all. Doors between Rooms that ended up
+ * next to each other are drawn between their boxes, and the Room the Player is in is marked with @.
+ *
+ * Doors don't have a direction, so every Room is given a cell of the grid the first time it shows
+ * up, as close as possible to the Room it was seen from, and keeps that cell for good. The boxes of
+ * the Rooms are only drawn once and kept around, and the map itself is kept around too, so showing
+ * it only redraws the boxes of Rooms whose state changed since it was last shown, like the Room the
+ * Player just walked into. That stays the same however much of the world was explored already,
+ * only when the map grows past its edges is it drawn from scratch, on a bigger canvas that leaves
+ * room for it to grow into.
+ *
+ * @see RoomGraph
+ * @see lastassignment.items.Map
+ */
+public class WorldMap {
+
+    private static final int BOX_WIDTH = 16;
+    private static final int BOX_HEIGHT = 4;
+    private static final int LABEL_WIDTH = BOX_WIDTH - 2;
+    private static final int TILE_WIDTH = BOX_WIDTH + 2;
+    private static final int TILE_HEIGHT = BOX_HEIGHT + 1;
+
+    /**
+     * The least number of cells the canvas leaves free on every side whenever it has to grow.
+     */
+    private static final int MARGIN = 4;
+
+    //NOTE: East, south, west and north, which is the order the cells next to a Room are tried in.
+    private static final int[] STEP_X = { 1, 0, -1, 0 };
+    private static final int[] STEP_Y = { 0, 1, 0, -1 };
+
+    private static final char[] UNEXPLORED_BOX = unexploredBox();
+    private static final String LINE_SEPARATOR = System.lineSeparator();
+
+    private final RoomGraph graph;
+    private final Player player;
+    private final BitSet visited;
+    private final BitSet placed;
+    private final BitSet changed;
+    private final Map<Long, Integer> cells;
+    private int[] cellX;
+    private int[] cellY;
+    private int[] degrees;
+    private char[][] boxes;
+    private int syncedVisits;
+    private int syncedVersion;
+    private int currentRoomId;
+    private int minX;
+    private int minY;
+    private int maxX;
+    private int maxY;
+    private char[] canvas;
+    private int canvasX;
+    private int canvasY;
+    private int canvasColumns;
+    private int canvasRows;
+    private boolean needsRedraw;
+    private long redrawnBoxes;
+    private final StringBuilder text;
+
+    /**
+     * @param graph The Rooms and Doors of the world.
+     * @param player The Player whose explored part of the world is drawn.
+     */
+    public WorldMap(RoomGraph graph, Player player) {
+        this.graph = graph;
+        this.player = player;
+        visited = new BitSet();
+        placed = new BitSet();
+        changed = new BitSet();
+        cells = new HashMap<>();
+        cellX = new int[16];
+        cellY = new int[16];
+        degrees = new int[16];
+        boxes = new char[16][];
+        syncedVersion = graph.getVersion();
+        currentRoomId = -1;
+        text = new StringBuilder();
+    }
+
+    /**
+     * Gets the RoomGraph this map is drawn from.
+     * @return graph
+     */
+    public RoomGraph getGraph() {
+        return graph;
+    }
+
+    /**
+     * Gets how many boxes were drawn onto the map so far, which is how much work drawing it took.
+     * @return redrawn boxes
+     */
+    public long getRedrawnBoxes() {
+        return redrawnBoxes;
+    }
+
+    /**
+     * Brings the map up to date with where the Player has been, and draws it.
+     *
+     * @return The map, one line of text per line of the map.
+     */
+    public String render() {
+        sync();
+        draw();
+        text.setLength(0);
+        int width = canvasColumns * TILE_WIDTH;
+        int left = (minX - canvasX) * TILE_WIDTH;
+        int top = (minY - canvasY) * TILE_HEIGHT;
+        //NOTE: The gaps after the last column and row of boxes are left out.
+        int columns = (maxX - minX + 1) * TILE_WIDTH - 2;
+        int rows = (maxY - minY + 1) * TILE_HEIGHT - 1;
+        text.ensureCapacity(rows * (columns + LINE_SEPARATOR.length()));
+        for (int row = 0; row < rows; ++row) {
+            if (row > 0)
+                text.append(LINE_SEPARATOR);
+            text.append(canvas, (top + row) * width + left, columns);
+        }
+        return text.toString();
+    }
+
+    /**
+     * Finds the Rooms the Player walked into since the map was last drawn, and the Rooms whose doors changed.
+     */
+    private void sync() {
+        Set<Room> visitedRooms = player.getVisitedRooms();
+        if (visitedRooms.size() > syncedVisits) {
+            int seenFrom = currentRoomId;
+            int index = 0;
+            for (Room room : visitedRooms) {
+                if (index++ < syncedVisits)
+                    continue;
+                int roomId = graph.addRoom(room);
+                visit(roomId, seenFrom);
+                seenFrom = roomId;
+            }
+            syncedVisits = visitedRooms.size();
+        }
+        if (graph.getVersion() != syncedVersion) {
+            //NOTE: Only a door that was added or taken away changes the map, not one that was unlocked.
+            for (int roomId = visited.nextSetBit(0); roomId >= 0; roomId = visited.nextSetBit(roomId + 1)) {
+                if (graph.getDegree(roomId) != degrees[roomId]) {
+                    placeNeighbours(roomId);
+                    needsRedraw = true;
+                }
+            }
+            syncedVersion = graph.getVersion();
+        }
+        int roomId = graph.addRoom(player.getCurrentRoom());
+        if (roomId != currentRoomId) {
+            place(roomId, currentRoomId);
+            if (currentRoomId >= 0)
+                changed.set(currentRoomId);
+            changed.set(roomId);
+            currentRoomId = roomId;
+        }
+    }
+
+    private void visit(int roomId, int seenFrom) {
+        place(roomId, seenFrom);
+        visited.set(roomId);
+        changed.set(roomId);
+        placeNeighbours(roomId);
+    }
+
+    private void placeNeighbours(int roomId) {
+        int degree = graph.getDegree(roomId);
+        for (int i = 0; i < degree; ++i)
+            place(graph.getNeighbour(roomId, i), roomId);
+        degrees[roomId] = degree;
+    }
+
+    /**
+     * Gives a Room the free cell closest to the Room it was seen from, if it doesn't have a cell yet.
+     * The cells right next to that Room are tried first, then ever bigger rings of cells around it.
+     *
+     * @param roomId The ID of the Room.
+     * @param seenFrom The ID of the Room it was seen from, or -1 to put it as close to the middle as possible.
+     */
+    private void place(int roomId, int seenFrom) {
+        ensureCapacity(roomId + 1);
+        if (placed.get(roomId))
+            return;
+        int x = seenFrom >= 0 ? cellX[seenFrom] : 0;
+        int y = seenFrom >= 0 ? cellY[seenFrom] : 0;
+        if (seenFrom < 0 && placeAt(roomId, x, y))
+            return;
+        for (int radius = 1; ; ++radius) {
+            for (int step = 0; step < STEP_X.length; ++step) {
+                if (placeAt(roomId, x + radius * STEP_X[step], y + radius * STEP_Y[step]))
+                    return;
+            }
+            for (int dx = -radius; dx <= radius; ++dx) {
+                if (placeAt(roomId, x + dx, y - radius) || placeAt(roomId, x + dx, y + radius))
+                    return;
+            }
+            for (int dy = 1 - radius; dy < radius; ++dy) {
+                if (placeAt(roomId, x - radius, y + dy) || placeAt(roomId, x + radius, y + dy))
+                    return;
+            }
+        }
+    }
+
+    private boolean placeAt(int roomId, int x, int y) {
+        if (cells.putIfAbsent(((long)x << 32) | (y & 0xffffffffL), roomId) != null)
+            return false;
+        if (placed.isEmpty()) {
+            minX = maxX = x;
+            minY = maxY = y;
+        } else {
+            minX = Math.min(minX, x);
+            minY = Math.min(minY, y);
+            maxX = Math.max(maxX, x);
+            maxY = Math.max(maxY, y);
+        }
+        cellX[roomId] = x;
+        cellY[roomId] = y;
+        placed.set(roomId);
+        changed.set(roomId);
+        if (x < canvasX || y < canvasY || x >= canvasX + canvasColumns || y >= canvasY + canvasRows)
+            needsRedraw = true;
+        return true;
+    }
+
+    private void ensureCapacity(int roomCount) {
+        if (roomCount <= cellX.length)
+            return;
+        int capacity = Math.max(roomCount, cellX.length * 2);
+        cellX = Arrays.copyOf(cellX, capacity);
+        cellY = Arrays.copyOf(cellY, capacity);
+        degrees = Arrays.copyOf(degrees, capacity);
+        boxes = Arrays.copyOf(boxes, capacity);
+    }
+
+    /**
+     * Draws the boxes of the Rooms whose state changed onto the canvas, or every box onto a new
+     * canvas if the map outgrew the old one or was thrown out of date.
+     */
+    private void draw() {
+        if (needsRedraw) {
+            int marginX = Math.max(MARGIN, (maxX - minX + 1) / 2);
+            int marginY = Math.max(MARGIN, (maxY - minY + 1) / 2);
+            canvasX = minX - marginX;
+            canvasY = minY - marginY;
+            canvasColumns = maxX - minX + 1 + 2 * marginX;
+            canvasRows = maxY - minY + 1 + 2 * marginY;
+            canvas = new char[canvasColumns * TILE_WIDTH * canvasRows * TILE_HEIGHT];
+            Arrays.fill(canvas, ' ');
+            for (int roomId = placed.nextSetBit(0); roomId >= 0; roomId = placed.nextSetBit(roomId + 1))
+                drawBox(roomId);
+            needsRedraw = false;
+        } else {
+            for (int roomId = changed.nextSetBit(0); roomId >= 0; roomId = changed.nextSetBit(roomId + 1))
+                drawBox(roomId);
+        }
+        changed.clear();
+    }
+
+    private void drawBox(int roomId) {
+        int width = canvasColumns * TILE_WIDTH;
+        int left = (cellX[roomId] - canvasX) * TILE_WIDTH;
+        int top = (cellY[roomId] - canvasY) * TILE_HEIGHT;
+        char[] box = UNEXPLORED_BOX;
+        if (visited.get(roomId)) {
+            if (boxes[roomId] == null)
+                boxes[roomId] = visitedBox(graph.getRoom(roomId).getDescription());
+            box = boxes[roomId];
+        }
+        for (int row = 0; row < BOX_HEIGHT; ++row)
+            System.arraycopy(box, row * BOX_WIDTH, canvas, (top + row) * width + left, BOX_WIDTH);
+        if (roomId == currentRoomId)
+            canvas[top * width + left + BOX_WIDTH / 2] = '@';
+        ++redrawnBoxes;
+        if (!visited.get(roomId))
+            return;
+
+        //NOTE: Doors are drawn into the gap between two boxes, so drawing a box never paints over them.
+        int degree = graph.getDegree(roomId);
+        for (int i = 0; i < degree; ++i) {
+            int neighbour = graph.getNeighbour(roomId, i);
+            int dx = cellX[neighbour] - cellX[roomId];
+            int dy = cellY[neighbour] - cellY[roomId];
+            int door;
+            if (dy == 0 && (dx == 1 || dx == -1)) {
+                door = (top + 1) * width + (dx == 1 ? left + BOX_WIDTH : left - 2);
+                canvas[door] = '=';
+                canvas[door + 1] = '=';
+                canvas[door + width] = '=';
+                canvas[door + width + 1] = '=';
+            } else if (dx == 0 && (dy == 1 || dy == -1)) {
+                door = (dy == 1 ? top + BOX_HEIGHT : top - 1) * width + left + BOX_WIDTH / 2 - 1;
+                canvas[door] = '|';
+                canvas[door + 1] = '|';
+            }
+        }
+    }
+
+    /**
+     * Draws the box of a Room the Player has been in, with what the Room is written into it.
+     * Whatever doesn't fit is cut off and marked with a ~.
+     */
+    private static char[] visitedBox(String description) {
+        char[] box = emptyBox('-', '|');
+        String label = withoutArticle(description);
+        int start = 0;
+        for (int line = 1; line < BOX_HEIGHT - 1 && start < label.length(); ++line) {
+            //NOTE: The last line leaves room for the ~ if the rest doesn't fit on it.
+            int width = line == BOX_HEIGHT - 2 && label.length() - start > LABEL_WIDTH ? LABEL_WIDTH - 1 : LABEL_WIDTH;
+            int end = Math.min(label.length(), start + width);
+            if (end < label.length()) {
+                int space = label.lastIndexOf(' ', end);
+                if (space > start)
+                    end = space;
+            }
+            label.getChars(start, end, box, line * BOX_WIDTH + 1);
+            start = end;
+            while (start < label.length() && label.charAt(start) == ' ')
+                ++start;
+        }
+        if (start < label.length())
+            box[(BOX_HEIGHT - 1) * BOX_WIDTH - 2] = '~';
+        return box;
+    }
+
+    private static char[] unexploredBox() {
+        char[] box = emptyBox('.', ':');
+        box[BOX_HEIGHT / 2 * BOX_WIDTH + BOX_WIDTH / 2 - 1] = '?';
+        return box;
+    }
+
+    private static char[] emptyBox(char horizontal, char vertical) {
+        char[] box = new char[BOX_WIDTH * BOX_HEIGHT];
+        Arrays.fill(box, ' ');
+        for (int column = 1; column < BOX_WIDTH - 1; ++column) {
+            box[column] = horizontal;
+            box[(BOX_HEIGHT - 1) * BOX_WIDTH + column] = horizontal;
+        }
+        for (int row = 0; row < BOX_HEIGHT; ++row) {
+            boolean corner = row == 0 || row == BOX_HEIGHT - 1;
+            box[row * BOX_WIDTH] = corner ? '+' : vertical;
+            box[row * BOX_WIDTH + BOX_WIDTH - 1] = corner ? '+' : vertical;
+        }
+        return box;
+    }
+
+    private static String withoutArticle(String description) {
+        for (String article : new String[] { "a ", "an ", "the " }) {
+            if (description.regionMatches(true, 0, article, 0, article.length()))
+                return description.substring(article.length());
+        }
+        return description;
+    }
+}
@@ -0,0 +1,186 @@
+package lastassignment.world;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * @version 1.0
+ *
+ * Reads the text form of a world file, and hands every statement over as soon as it was read,
+ * without ever holding on to the whole file. A statement starts at the beginning of a line, and
+ * continues on the indented lines below it. Everything after a # is a comment.
+ *
+ *   mainHall = room "the main hall of the university building"
+ *   door "A small blue door labelled \"East\""
+ *       "A small blue door labelled \"Main Hall\""
+ *       mainHall eastHallway
+ *
+ * @see WorldStatement
+ * @see WorldLoader
+ */
+class WorldParser {
+
+    private final String source;
+    private final WorldStatement.Handler handler;
+    private final Map<String, String> strings;
+
+    private String pendingKind;
+    private String pendingName;
+    private final List<Object> pendingArgs;
+    private int pendingLine;
+
+    /**
+     * @param source The name of the world file, for error messages.
+     * @param handler Where to hand the statements over to.
+     */
+    WorldParser(String source, WorldStatement.Handler handler) {
+        this.source = source;
+        this.handler = handler;
+        strings = new HashMap<>();
+        pendingArgs = new ArrayList<>();
+    }
+
+    /**
+     * Reads every statement in the world file.
+     *
+     * @param in The world file.
+     * @throws IOException If the file could not be read, or isn't a valid world file.
+     */
+    void parse(BufferedReader in) throws IOException {
+        int lineNumber = 0;
+        String line;
+        while ((line = in.readLine()) != null) {
+            ++lineNumber;
+            boolean isContinuation = !line.isEmpty() && Character.isWhitespace(line.charAt(0));
+            List<String> tokens = tokenize(line, lineNumber);
+            if (tokens.isEmpty())
+                continue;
+            if (isContinuation) {
+                if (pendingKind == null)
+                    throw error(lineNumber, "indented line doesn't continue any statement");
+                for (String token : tokens)
+                    pendingArgs.add(toArgument(token, lineNumber));
+            } else {
+                finishStatement();
+                startStatement(tokens, lineNumber);
+            }
+        }
+        finishStatement();
+    }
+
+    private void startStatement(List<String> tokens, int lineNumber) throws IOException {
+        int first = 0;
+        if (tokens.size() >= 2 && tokens.get(1).equals("=")) {
+            pendingName = tokens.get(0);
+            if (!isName(pendingName))
+                throw error(lineNumber, "\"" + pendingName + "\" is not a valid name");
+            first = 2;
+        }
+        if (first >= tokens.size() || !isName(tokens.get(first)))
+            throw error(lineNumber, "expected what kind of statement this is");
+        pendingKind = tokens.get(first);
+        pendingLine = lineNumber;
+        for (int i = first + 1; i < tokens.size(); ++i)
+            pendingArgs.add(toArgument(tokens.get(i), lineNumber));
+    }
+
+    private void finishStatement() throws IOException {
+        if (pendingKind == null)
+            return;
+        WorldStatement statement = new WorldStatement(pendingKind, pendingName, pendingArgs.toArray(), pendingLine);
+        pendingKind = null;
+        pendingName = null;
+        pendingArgs.clear();
+        handler.handle(statement);
+    }
+
+    /**
+     * Splits a line into its tokens. Quoted strings are kept as a single token, quotes included,
+     * with their escape sequences already resolved.
+     */
+    private List<String> tokenize(String line, int lineNumber) throws IOException {
+        List<String> tokens = new ArrayList<>();
+        int i = 0;
+        while (i < line.length()) {
+            char c = line.charAt(i);
+            if (Character.isWhitespace(c)) {
+                ++i;
+            } else if (c == '#') {
+                break;
+            } else if (c == '"') {
+                StringBuilder string = new StringBuilder("\"");
+                ++i;
+                while (true) {
+                    if (i >= line.length())
+                        throw error(lineNumber, "string is missing its closing quote");
+                    c = line.charAt(i++);
+                    if (c == '"')
+                        break;
+                    if (c == '\\') {
+                        if (i >= line.length())
+                            throw error(lineNumber, "string is missing its closing quote");
+                        c = line.charAt(i++);
+                        switch (c) {
+                            case 'n': c = '\n'; break;
+                            case 't': c = '\t'; break;
+                            case '"': case '\\': break;
+                            default: throw error(lineNumber, "unknown escape sequence \\" + c);
+                        }
+                    }
+                    string.append(c);
+                }
+                tokens.add(string.toString());
+            } else if (c == '=') {
+                tokens.add("=");
+                ++i;
+            } else {
+                int start = i;
+                while (i < line.length() && !Character.isWhitespace(line.charAt(i)) && "\"#=".indexOf(line.charAt(i)) < 0)
+                    ++i;
+                tokens.add(line.substring(start, i));
+            }
+        }
+        return tokens;
+    }
+
+    private Object toArgument(String token, int lineNumber) throws IOException {
+        if (token.startsWith("\"")) {
+            //NOTE: The same text often shows up more than once, it only needs to be kept around once.
+            String string = token.substring(1);
+            String existing = strings.putIfAbsent(string, string);
+            return existing != null ? existing : string;
+        }
+        if (token.equals("true"))
+            return Boolean.TRUE;
+        if (token.equals("false"))
+            return Boolean.FALSE;
+        if (isName(token))
+            return new WorldStatement.Name(token);
+        try {
+            if (token.indexOf('.') >= 0)
+                return Double.parseDouble(token);
+            return Integer.parseInt(token);
+        } catch (NumberFormatException e) {
+            throw error(lineNumber, "\"" + token + "\" is not a valid argument");
+        }
+    }
+
+    private static boolean isName(String token) {
+        if (token.isEmpty() || !Character.isLetter(token.charAt(0)))
+            return false;
+        for (int i = 1; i < token.length(); ++i) {
+            char c = token.charAt(i);
+            if (!Character.isLetterOrDigit(c) && c != '-' && c != '_')
+                return false;
+        }
+        return true;
+    }
+
+    private IOException error(int lineNumber, String message) {
+        return new IOException(source + ":" + lineNumber + ": " + message);
+    }
+}
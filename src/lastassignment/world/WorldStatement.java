@@ -0,0 +1,57 @@
+package lastassignment.world;
+
+import java.io.IOException;
+
+/**
+ * @version 1.0
+ *
+ * A single statement of a world file, like "mainHall = room "the main hall"" or "put mainHall dustyMap".
+ * The arguments are Strings for quoted text, Names for references to things created by earlier
+ * statements, Integers, Doubles and Booleans.
+ *
+ * @see WorldParser
+ * @see WorldBuilder
+ */
+class WorldStatement {
+
+    /**
+     * Receives statements one by one, as soon as they are read.
+     */
+    interface Handler {
+        void handle(WorldStatement statement) throws IOException;
+    }
+
+    /**
+     * A reference to something created by an earlier statement.
+     */
+    static final class Name {
+        final String name;
+
+        Name(String name) {
+            this.name = name;
+        }
+
+        @Override
+        public String toString() {
+            return name;
+        }
+    }
+
+    final String kind;
+    final String name;
+    final Object[] args;
+    final int line;
+
+    /**
+     * @param kind What the statement does, like "room" or "put".
+     * @param name The name given to whatever the statement creates, or null.
+     * @param args The arguments of the statement.
+     * @param line The line of the world file the statement starts on, for error messages.
+     */
+    WorldStatement(String kind, String name, Object[] args, int line) {
+        this.kind = kind;
+        this.name = name;
+        this.args = args;
+        this.line = line;
+    }
+}
@@ -0,0 +1,247 @@
+package lastassignment.world;
+
+import lastassignment.Room;
+import lastassignment.doors.Door;
+import lastassignment.utils.GameInitializer;
+import lastassignment.utils.Interactable;
+
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * @version 1.0
+ *
+ * A world that is built only once and then used as a template for every new session.
+ * The template itself is never played in. Each session gets a copy of the mutable parts
+ * of the world (Rooms, Doors, NPCs, Containers, ...), while everything that can never
+ * change (descriptions, Notes, Keys, Weapons, VendingMachines, ...) is shared between
+ * all sessions. The copy is made copy-on-write: a Room only copies its NPCs, contents
+ * and doors once the session first looks at them, so creating a session costs next to
+ * nothing, and a session never pays for the parts of the world it never reaches.
+ *
+ * @see WorldCopier
+ * @see Copyable
+ * @see GameInitializer
+ * @see WorldGenerator
+ */
+public class WorldTemplate {
+
+    private static final Object defaultTemplateLock = new Object();
+    private static volatile WorldTemplate defaultTemplate;
+    /**
+     * How many generated worlds are kept around at most, since a big one takes up a lot of memory.
+     */
+    private static final int MAX_CACHED_GENERATED_TEMPLATES = 4;
+
+    /**
+     * The generated worlds that were used most recently, the one used longest ago first.
+     */
+    private static final Map<GeneratedWorld, WorldTemplate> generatedTemplates =
+            new LinkedHashMap<GeneratedWorld, WorldTemplate>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<GeneratedWorld, WorldTemplate> eldest) {
+                    return size() > MAX_CACHED_GENERATED_TEMPLATES;
+                }
+            };
+
+    private final Room startingRoom;
+    private final int generatedRooms;
+    private final long generatorSeed;
+    private final int sourceChecksum;
+
+    /**
+     * @param startingRoom The room the Player starts in, from which the whole world can be reached.
+     */
+    public WorldTemplate(Room startingRoom) {
+        this(startingRoom, 0);
+    }
+
+    /**
+     * @param startingRoom The room the Player starts in, from which the whole world can be reached.
+     * @param sourceChecksum The checksum of the world file the world was built from, or 0 if it wasn't built from one.
+     */
+    public WorldTemplate(Room startingRoom, int sourceChecksum) {
+        this(startingRoom, 0, 0, sourceChecksum);
+    }
+
+    private WorldTemplate(Room startingRoom, int generatedRooms, long generatorSeed, int sourceChecksum) {
+        this.startingRoom = startingRoom;
+        this.generatedRooms = generatedRooms;
+        this.generatorSeed = generatorSeed;
+        this.sourceChecksum = sourceChecksum;
+    }
+
+    /**
+     * @return The template for the normal university world, which is built on first use.
+     * @see GameInitializer
+     */
+    public static WorldTemplate getDefault() {
+        //NOTE: This has a lock of its own, so that generating a world never has to wait for the university.
+        synchronized (defaultTemplateLock) {
+            if (defaultTemplate == null)
+                defaultTemplate = GameInitializer.buildWorldTemplate();
+            return defaultTemplate;
+        }
+    }
+
+    /**
+     * Starts building the template for the normal university world in the background, so that it is
+     * most likely ready by the time the player picked how to play, if it isn't built already. Building it the first time is slow
+     * because nearly every class of the game gets loaded along the way, but the player spends much
+     * longer than that reading the start menu. Whoever needs the template before it is ready waits for it.
+     */
+    public static void preloadDefault() {
+        if (defaultTemplate != null)
+            return;
+        Thread preloader = new Thread(() -> {
+            try {
+                getDefault();
+            } catch (RuntimeException e) {
+                //NOTE: Whoever needs the template next tries again, and gets to report what went wrong.
+            }
+        }, "world-preloader");
+        preloader.setDaemon(true);
+        preloader.start();
+    }
+
+    /**
+     * Gets the template for a generated world. The last few are kept around, since generating
+     * a big world takes a while, and every session in it shares the same template. Sessions
+     * playing in different worlds at the same time then don't keep generating them again.
+     *
+     * @param rooms How many Rooms the world has.
+     * @param seed The seed the world is generated from.
+     * @return The template for the generated world.
+     * @see WorldGenerator
+     */
+    public static synchronized WorldTemplate generated(int rooms, long seed) {
+        GeneratedWorld world = new GeneratedWorld(rooms, seed);
+        WorldTemplate template = generatedTemplates.get(world);
+        if (template == null) {
+            template = new WorldTemplate(WorldGenerator.generate(rooms, seed), rooms, seed, 0);
+            generatedTemplates.put(world, template);
+        }
+        return template;
+    }
+
+    /**
+     * @return How many Rooms the world was generated with, or 0 if it wasn't generated.
+     */
+    public int getGeneratedRooms() {
+        return generatedRooms;
+    }
+
+    /**
+     * @return The seed the world was generated from, or 0 if it wasn't generated.
+     */
+    public long getGeneratorSeed() {
+        return generatorSeed;
+    }
+
+    /**
+     * @return The starting room of the template itself, which must never be played in.
+     */
+    Room getStartingRoom() {
+        return startingRoom;
+    }
+
+    /**
+     * @return The checksum of the world file the world was built from, which changes whenever
+     * anything in the file is edited, or 0 if the world wasn't built from a world file.
+     */
+    public int getSourceChecksum() {
+        return sourceChecksum;
+    }
+
+    /**
+     * Creates a fresh copy of the world for a new session.
+     *
+     * @return The starting room of the new copy.
+     */
+    public Room instantiate() {
+        return instantiate(new WorldCopier());
+    }
+
+    /**
+     * Creates a fresh copy of the world for a new session.
+     *
+     * @param copier The copier to copy the world with, which the session needs to hold on to.
+     * @return The starting room of the new copy.
+     */
+    public Room instantiate(WorldCopier copier) {
+        copier.setTemplate(this);
+        return copier.copy(startingRoom);
+    }
+
+    /**
+     * Creates a fresh copy of the world for a new session, and copies every part of it right away.
+     *
+     * @return The starting room of the new copy.
+     */
+    public Room instantiateFully() {
+        return instantiateFully(new WorldCopier());
+    }
+
+    /**
+     * Creates a fresh copy of the world for a new session, and copies every part of it right away.
+     * Everything is copied in the same order every time, starting from the starting room.
+     *
+     * @param copier The copier to copy the world with.
+     * @return The starting room of the new copy.
+     */
+    public Room instantiateFully(WorldCopier copier) {
+        Room start = instantiate(copier);
+        Deque<Room> unvisited = new ArrayDeque<>();
+        Set<Room> visited = Collections.newSetFromMap(new IdentityHashMap<>());
+        unvisited.add(start);
+        visited.add(start);
+        while (!unvisited.isEmpty()) {
+            Room room = unvisited.poll();
+            room.getNPCs();
+            for (Interactable content : room.getContents()) {
+                if (content instanceof Door)
+                    visitOtherSide((Door)content, room, unvisited, visited);
+            }
+            for (Door door : room.getDoors())
+                visitOtherSide(door, room, unvisited, visited);
+        }
+        return start;
+    }
+
+    private static void visitOtherSide(Door door, Room room, Deque<Room> unvisited, Set<Room> visited) {
+        Room otherRoom = door.getOtherSide(room);
+        if (otherRoom != null && visited.add(otherRoom))
+            unvisited.add(otherRoom);
+    }
+
+    /**
+     * What a generated world is generated from.
+     */
+    private static class GeneratedWorld {
+        final int rooms;
+        final long seed;
+
+        GeneratedWorld(int rooms, long seed) {
+            this.rooms = rooms;
+            this.seed = seed;
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            if (!(other instanceof GeneratedWorld))
+                return false;
+            GeneratedWorld world = (GeneratedWorld)other;
+            return rooms == world.rooms && seed == world.seed;
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * rooms + Long.hashCode(seed);
+        }
+    }
+}